@@ -0,0 +1,42 @@
+package com.example.libraryManagementSystem.benchmarks;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of {@code benchmarks.jar}: the JMH command line, with the GC profiler on and the
+ * results written as JSON unless the command line says otherwise.
+ * <p>
+ * The GC profiler adds the allocation rate per operation ({@code gc.alloc.rate.norm}) and the
+ * collection counts to every result; {@link ResultComparison} compares two result files.
+ */
+public final class BenchmarkRunner {
+
+    static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+
+        if (!options.contains("-rf"))
+            options.addAll(List.of("-rf", "json"));
+        if (!options.contains("-rff"))
+            options.addAll(List.of("-rff", DEFAULT_RESULT_FILE));
+        if (!hasGcProfiler(options))
+            options.addAll(List.of("-prof", "gc"));
+
+        Main.main(options.toArray(String[]::new));
+    }
+
+    private static boolean hasGcProfiler(List<String> options) {
+        for (int i = 0; i < options.size() - 1; i++)
+            if (options.get(i).equals("-prof") && options.get(i + 1).startsWith("gc"))
+                return true;
+        return false;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.libraryManagementSystem.benchmarks;
+
+import com.example.libraryManagementSystem.model.Author;
+import com.example.libraryManagementSystem.model.Book;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding book pages in the formats the REST API negotiates: JSON, Smile and CBOR,
+ * each with an {@link ObjectMapper} from the builder the application's message converters use.
+ * The size of the encoded page is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryFormatBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    @Param({"5", "50", "500"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private JavaType pageType;
+    private List<Book> books;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+        pageType = objectMapper.getTypeFactory().constructCollectionType(List.class, Book.class);
+
+        books = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Author author = Author.builder().id((long) i % 10).name("Author " + i % 10)
+                    .birthDate(LocalDate.of(1920, 1, 1)).nationality("Egyptian").build();
+            books.add(Book.builder().id((long) i).title(LibraryData.title(i)).isbn(LibraryData.isbn(i))
+                    .publicationDate(LocalDate.of(1990, 1, 1).plusDays(i))
+                    .genre(LibraryData.GENRES[i % LibraryData.GENRES.length]).available(i % 2 == 0).author(author).build());
+        }
+        encoded = objectMapper.writeValueAsBytes(books);
+        System.out.printf("%n%s page of %d books: %d bytes%n", format, pageSize, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encodeBooks() throws IOException {
+        return objectMapper.writeValueAsBytes(books);
+    }
+
+    @Benchmark
+    public List<Book> decodeBooks() throws IOException {
+        return objectMapper.readValue(encoded, pageType);
+    }
+}
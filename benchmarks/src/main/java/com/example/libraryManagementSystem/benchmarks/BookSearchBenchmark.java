@@ -0,0 +1,64 @@
+package com.example.libraryManagementSystem.benchmarks;
+
+import com.example.libraryManagementSystem.model.Author;
+import com.example.libraryManagementSystem.model.Book;
+import com.example.libraryManagementSystem.service.BookService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BookService#searchBooks} by title, ISBN and author name over a seeded catalogue.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookSearchBenchmark {
+
+    @Param({"1000", "10000"})
+    public int books;
+
+    private ConfigurableApplicationContext context;
+    private BookService bookService;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = LibraryContext.start();
+        List<Author> authors = LibraryData.authors(context, 100);
+        LibraryData.books(context, authors, books);
+        bookService = context.getBean(BookService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<List<Book>> searchByTitle() {
+        return bookService.searchBooks(LibraryData.title(nextBook()), null, null);
+    }
+
+    @Benchmark
+    public ResponseEntity<List<Book>> searchByIsbn() {
+        return bookService.searchBooks(null, LibraryData.isbn(nextBook()), null);
+    }
+
+    @Benchmark
+    public ResponseEntity<List<Book>> searchByAuthor() {
+        return bookService.searchBooks(null, null, "Author " + nextBook() % 100);
+    }
+
+    // Walks the catalogue with a stride, so consecutive searches do not hit the same rows
+    private int nextBook() {
+        next = (next + 7919) % books;
+        return next;
+    }
+}
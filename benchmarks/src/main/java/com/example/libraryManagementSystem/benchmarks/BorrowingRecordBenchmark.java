@@ -0,0 +1,64 @@
+package com.example.libraryManagementSystem.benchmarks;
+
+import com.example.libraryManagementSystem.dto.BorrowingRecordDTO;
+import com.example.libraryManagementSystem.model.Book;
+import com.example.libraryManagementSystem.model.BorrowingRecord;
+import com.example.libraryManagementSystem.model.Customer;
+import com.example.libraryManagementSystem.service.BorrowingRecordService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BorrowingRecordService#addRecord}: the whole loan write, with its statistics delta and
+ * outbox event, in one transaction.
+ * <p>
+ * A customer can borrow a book only once, so every invocation takes the next unused
+ * customer and book pair; the seeded data leaves room for a million loans.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BorrowingRecordBenchmark {
+
+    private static final int BOOKS = 1000;
+    private static final int CUSTOMERS = 1000;
+
+    private ConfigurableApplicationContext context;
+    private BorrowingRecordService recordService;
+    private long[] bookIds;
+    private long[] customerIds;
+    private int loans;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = LibraryContext.start();
+        List<Book> books = LibraryData.books(context, LibraryData.authors(context, 50), BOOKS);
+        List<Customer> customers = LibraryData.customers(context, CUSTOMERS);
+        bookIds = books.stream().mapToLong(Book::getId).toArray();
+        customerIds = customers.stream().mapToLong(Customer::getId).toArray();
+        recordService = context.getBean(BorrowingRecordService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<BorrowingRecord> addRecord() {
+        int loan = loans++;
+        BorrowingRecordDTO record = new BorrowingRecordDTO(
+                customerIds[loan % CUSTOMERS],
+                bookIds[loan / CUSTOMERS % BOOKS],
+                "2024-03-01",
+                "2024-03-15");
+        return recordService.addRecord(record);
+    }
+}
@@ -0,0 +1,290 @@
+package com.example.libraryManagementSystem.benchmarks;
+
+import com.example.libraryManagementSystem.benchmarks.LoadScenario.LoadData;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * HTTP concurrency test: keeps {@code connections} requests open against the application at once,
+ * to compare its platform and virtual thread modes ({@code spring.threads.virtual.enabled}) and
+ * the reactive catalog API.
+ * <p>
+ * Arrivals follow a closed model: each of {@code connections} simulated users sends a request,
+ * waits for the response, pauses for {@code think} and sends the next one. With no think time,
+ * the default, every user has a request in flight at all times, so the server holds
+ * {@code connections} requests and connections at once, and the throughput is what it sustains
+ * at that concurrency. Latencies run from sending: a closed-model user has no schedule to fall
+ * behind, so response and service times are the same. The users start evenly spread over the
+ * {@code ramp}, which is not measured.
+ * <p>
+ * The application runs in its own JVM, started with {@link LibraryServer}. On a machine allowing
+ * 20,000 open files per process, the 10,000 sockets of each side would not fit in one.
+ * <p>
+ * Options are {@code key=value} arguments:
+ * <ul>
+ *     <li>{@code connections}: simulated users, 10000 by default</li>
+ *     <li>{@code threads}: {@code platform} (default) or {@code virtual}, the server's request threads</li>
+ *     <li>{@code api}: {@code mvc} (default) for the Tomcat endpoints, or {@code reactive} for the same
+ *     reads on the catalog's Netty server, where {@code threads} makes no difference</li>
+ *     <li>{@code duration}, {@code ramp} and {@code think}: ISO-8601 durations, {@code PT1M}, {@code PT1M} and {@code PT0S} by default</li>
+ *     <li>{@code mix}: scenario weights, {@code browse:70,search:30} by default; only these two, the
+ *     others need the ids of rows seeded in the server's JVM</li>
+ *     <li>{@code authors}, {@code books}: seeded rows, 100 and 20000 by default</li>
+ *     <li>{@code timeout}: per read of a response, {@code PT30S} by default</li>
+ *     <li>{@code server-jvm}: options of the server's JVM, {@code -Xmx1g} by default</li>
+ *     <li>{@code seed}: of the scenario choice, 42 by default</li>
+ * </ul>
+ * Arguments starting with {@code --} are passed on to the application, such as
+ * {@code --library.db-limiter.max-waiting=10000}.
+ */
+public final class ConcurrencyTest {
+
+    private static final Map<String, String> DEFAULTS = Map.ofEntries(
+            Map.entry("connections", "10000"),
+            Map.entry("threads", "platform"),
+            Map.entry("api", "mvc"),
+            Map.entry("duration", "PT1M"),
+            Map.entry("ramp", "PT1M"),
+            Map.entry("think", "PT0S"),
+            Map.entry("mix", "browse:70,search:30"),
+            Map.entry("authors", "100"),
+            Map.entry("books", "20000"),
+            Map.entry("timeout", "PT30S"),
+            Map.entry("server-jvm", "-Xmx1g"));
+
+    private final int connections;
+    private final boolean virtualThreads;
+    private final boolean reactive;
+    private final Duration duration;
+    private final Duration ramp;
+    private final Duration think;
+    private final LoadScenario[] scenarios;
+    private final double[] cumulativeWeights;
+    private final Duration timeout;
+    private final long seed;
+
+    private final Map<LoadScenario, LoadStats> stats = new EnumMap<>(LoadScenario.class);
+    private final AtomicLong[] sent = new AtomicLong[LoadScenario.values().length];
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    private ConcurrencyTest(Map<String, String> options) {
+        this.connections = Integer.parseInt(options.get("connections"));
+        this.virtualThreads = switch (options.get("threads")) {
+            case "platform" -> false;
+            case "virtual" -> true;
+            default -> throw new IllegalArgumentException("threads must be platform or virtual");
+        };
+        this.reactive = switch (options.get("api")) {
+            case "mvc" -> false;
+            case "reactive" -> true;
+            default -> throw new IllegalArgumentException("api must be mvc or reactive");
+        };
+        this.duration = Duration.parse(options.get("duration"));
+        this.ramp = Duration.parse(options.get("ramp"));
+        this.think = Duration.parse(options.get("think"));
+        this.timeout = Duration.parse(options.get("timeout"));
+        this.seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        if (connections <= 0 || duration.isNegative() || duration.isZero() || ramp.isNegative() || think.isNegative())
+            throw new IllegalArgumentException("connections and duration must be positive, ramp and think not negative");
+
+        String[] weights = options.get("mix").split(",");
+        this.scenarios = new LoadScenario[weights.length];
+        this.cumulativeWeights = new double[weights.length];
+        double total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            String[] weight = weights[i].split(":");
+            scenarios[i] = LoadScenario.fromOption(weight[0].trim());
+            if (scenarios[i] != LoadScenario.BROWSE_BOOKS && scenarios[i] != LoadScenario.SEARCH_BOOKS)
+                throw new IllegalArgumentException("Only browse and search can be mixed, got " + weight[0].trim());
+            total += Double.parseDouble(weight[1].trim());
+            cumulativeWeights[i] = total;
+            stats.put(scenarios[i], new LoadStats(scenarios[i]));
+        }
+        for (int i = 0; i < sent.length; i++)
+            sent[i] = new AtomicLong();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(DEFAULTS);
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                applicationArgs.add(arg);
+                continue;
+            }
+            String[] option = arg.split("=", 2);
+            if (option.length != 2)
+                throw new IllegalArgumentException("Expected key=value, got " + arg);
+            options.put(option[0], option[1]);
+        }
+        ConcurrencyTest concurrencyTest = new ConcurrencyTest(options);
+
+        Process server = concurrencyTest.startServer(options, applicationArgs);
+        try {
+            URI api = awaitServer(server, concurrencyTest.reactive);
+            LoadData data = new LoadData(Integer.parseInt(options.get("authors")), Integer.parseInt(options.get("books")),
+                    new long[0], new long[0]);
+
+            System.out.println(concurrencyTest.reactive
+                    ? "Reactive catalog listening on " + api
+                    : "Application listening on " + api + " with " + options.get("threads") + " threads");
+            System.out.printf("Holding %d connections (think time %s) for %s after a %s ramp%n",
+                    concurrencyTest.connections, concurrencyTest.think, concurrencyTest.duration, concurrencyTest.ramp);
+            concurrencyTest.run(api, data);
+            concurrencyTest.report();
+        } finally {
+            server.destroy();
+            if (!server.waitFor(30, TimeUnit.SECONDS))
+                server.destroyForcibly();
+        }
+    }
+
+    private Process startServer(Map<String, String> options, List<String> applicationArgs) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        if (!options.get("server-jvm").isBlank())
+            command.addAll(List.of(options.get("server-jvm").trim().split("\\s+")));
+        command.addAll(List.of("-cp", System.getProperty("java.class.path"), LibraryServer.class.getName(),
+                "authors=" + options.get("authors"),
+                "books=" + options.get("books"),
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                // Tomcat's default of 8192 would leave the rest in the accept queue
+                "--server.tomcat.max-connections=" + (connections + 1000),
+                // Idle users keep their connections, as browsers and proxies holding them open would
+                "--server.tomcat.keep-alive-timeout=-1",
+                "--server.tomcat.max-keep-alive-requests=-1"));
+        command.addAll(applicationArgs);
+        return new ProcessBuilder(command).redirectErrorStream(true).start();
+    }
+
+    /**
+     * Waits for the server to report its addresses and returns the one under test, then keeps
+     * copying its output to this one, so its warnings are seen and it never blocks on a full pipe.
+     */
+    private static URI awaitServer(Process server, boolean reactive) throws IOException {
+        BufferedReader output = new BufferedReader(new InputStreamReader(server.getInputStream(), StandardCharsets.UTF_8));
+        URI catalogApi = null;
+        String line;
+        while ((line = output.readLine()) != null) {
+            if (line.startsWith("Catalog listening on ")) {
+                catalogApi = URI.create(line.substring("Catalog listening on ".length()));
+            } else if (line.startsWith("Application listening on ")) {
+                Thread copier = new Thread(() -> {
+                    try {
+                        output.lines().forEach(serverLine -> System.out.println("[server] " + serverLine));
+                    } catch (UncheckedIOException e) {
+                        // The server was stopped
+                    }
+                }, "server-output");
+                copier.setDaemon(true);
+                copier.start();
+                return reactive ? catalogApi : URI.create(line.substring("Application listening on ".length()));
+            } else {
+                System.out.println("[server] " + line);
+            }
+        }
+        throw new IllegalStateException("The server exited with " + server.onExit().join().exitValue() + " before it was ready");
+    }
+
+    private void run(URI api, LoadData data) throws InterruptedException {
+        long start = System.nanoTime();
+        long measuredFrom = start + ramp.toNanos();
+        long end = measuredFrom + duration.toNanos();
+
+        List<Thread> users = new ArrayList<>(connections);
+        for (int user = 0; user < connections; user++) {
+            long startAt = start + ramp.toNanos() * user / connections;
+            Random random = new Random(seed + user);
+            users.add(Thread.ofVirtual().name("user-" + user)
+                    .start(() -> user(api, data, random, startAt, measuredFrom, end)));
+        }
+
+        long deadline = end + timeout.toNanos() + TimeUnit.SECONDS.toNanos(5);
+        for (Thread user : users)
+            if (!user.join(Duration.ofNanos(Math.max(1, deadline - System.nanoTime()))))
+                break;
+        long stillRunning = users.stream().filter(Thread::isAlive).count();
+        if (stillRunning > 0)
+            System.out.println("Stopped waiting for " + stillRunning + " users still in a request");
+        users.forEach(Thread::interrupt);
+    }
+
+    private void user(URI api, LoadData data, Random random, long startAt, long measuredFrom, long end) {
+        waitUntil(startAt);
+        try (KeepAliveConnection connection = new KeepAliveConnection(api, timeout)) {
+            while (System.nanoTime() < end && !Thread.currentThread().isInterrupted()) {
+                LoadScenario scenario = nextScenario(random);
+                URI uri = scenario.request(api, data, sent[scenario.ordinal()].getAndIncrement()).build().uri();
+
+                peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                long sentNanos = System.nanoTime();
+                String error;
+                try {
+                    int status = connection.get(uri);
+                    error = status >= 400 ? String.valueOf(status) : null;
+                } catch (IOException e) {
+                    error = e.getClass().getSimpleName();
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+
+                // Requests completing within the measured window count, whenever they were sent
+                long completedNanos = System.nanoTime();
+                if (completedNanos >= measuredFrom && completedNanos < end)
+                    stats.get(scenario).record(sentNanos, sentNanos, completedNanos, error);
+
+                if (!think.isZero())
+                    waitUntil(Math.min(end, System.nanoTime() + think.toNanos()));
+            }
+        }
+    }
+
+    private void report() {
+        double seconds = duration.toNanos() / 1e9;
+        System.out.println();
+        LoadStats.printHeader(System.out);
+        long total = 0;
+        long errors = 0;
+        for (LoadStats scenarioStats : stats.values()) {
+            scenarioStats.print(System.out, seconds);
+            total += scenarioStats.requests();
+            errors += scenarioStats.errors();
+        }
+        System.out.printf("%nTotal %.1f requests/s, %.1f of them answered without error, with %d users on %s;"
+                        + " at most %d requests in flight%n",
+                total / seconds, (total - errors) / seconds, connections,
+                reactive ? "the reactive catalog" : (virtualThreads ? "virtual" : "platform") + " threads",
+                peakInFlight.get());
+    }
+
+    private LoadScenario nextScenario(Random random) {
+        double pick = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        for (int i = 0; i < scenarios.length; i++)
+            if (pick < cumulativeWeights[i])
+                return scenarios[i];
+        return scenarios[scenarios.length - 1];
+    }
+
+    private static void waitUntil(long due) {
+        long remaining;
+        while ((remaining = due - System.nanoTime()) > 0)
+            LockSupport.parkNanos(remaining);
+    }
+}
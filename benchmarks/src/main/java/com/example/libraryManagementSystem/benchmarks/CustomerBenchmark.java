@@ -0,0 +1,49 @@
+package com.example.libraryManagementSystem.benchmarks;
+
+import com.example.libraryManagementSystem.dto.CustomerDTO;
+import com.example.libraryManagementSystem.model.Customer;
+import com.example.libraryManagementSystem.service.CustomerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CustomerService#addCustomer}, which is dominated by hashing the password; see
+ * {@link PasswordEncodingBenchmark} for the hash alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private int customers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = LibraryContext.start();
+        customerService = context.getBean(CustomerService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<Customer> addCustomer() {
+        int customer = customers++;
+        return customerService.addCustomer(new CustomerDTO(
+                "Customer " + customer,
+                "customer" + customer + "@example.com",
+                LibraryData.phoneNumber(customer),
+                customer + " Nile Street",
+                PasswordEncodingBenchmark.PASSWORD));
+    }
+}
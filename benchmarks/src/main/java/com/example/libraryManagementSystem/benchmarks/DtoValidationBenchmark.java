@@ -0,0 +1,72 @@
+package com.example.libraryManagementSystem.benchmarks;
+
+import com.example.libraryManagementSystem.dto.BookDTO;
+import com.example.libraryManagementSystem.dto.BorrowingRecordDTO;
+import com.example.libraryManagementSystem.dto.CustomerDTO;
+import com.example.libraryManagementSystem.model.Author;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation of the request DTOs, as {@code @Valid} runs it on every write request; invalid
+ * DTOs also pay for building the violation messages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private BookDTO book;
+    private CustomerDTO customer;
+    private CustomerDTO invalidCustomer;
+    private BorrowingRecordDTO record;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        Author author = Author.builder().id(1L).name("Naguib Mahfouz").birthDate(LocalDate.of(1911, 12, 11)).nationality("Egyptian").build();
+        book = new BookDTO("Palace Walk", "1956-01-01", "9780385264662", "Drama", true, author);
+        customer = new CustomerDTO("Amira Hassan", "amira@example.com", "01012345678", "12 Nile Street", PasswordEncodingBenchmark.PASSWORD);
+        invalidCustomer = new CustomerDTO("", "not-an-email", "123", "12 Nile Street", "weak");
+        record = new BorrowingRecordDTO(1L, 2L, "2024-03-01", "2024-03-15");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<BookDTO>> validateBook() {
+        return validator.validate(book);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CustomerDTO>> validateCustomer() {
+        return validator.validate(customer);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CustomerDTO>> validateInvalidCustomer() {
+        return validator.validate(invalidCustomer);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<BorrowingRecordDTO>> validateRecord() {
+        return validator.validate(record);
+    }
+}
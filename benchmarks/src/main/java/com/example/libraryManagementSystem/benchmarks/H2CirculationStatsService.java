@@ -0,0 +1,69 @@
+package com.example.libraryManagementSystem.benchmarks;
+
+import com.example.libraryManagementSystem.archive.LoanArchive;
+import com.example.libraryManagementSystem.model.BorrowingRecord;
+import com.example.libraryManagementSystem.repository.BookLoanStatRepository;
+import com.example.libraryManagementSystem.repository.BookRepository;
+import com.example.libraryManagementSystem.repository.CustomerLoanStatRepository;
+import com.example.libraryManagementSystem.repository.GenreMonthLoanStatRepository;
+import com.example.libraryManagementSystem.service.CirculationStatsService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Applies the statistics delta of a new loan with {@code MERGE}, since H2 does not support the
+ * {@code ON CONFLICT ... DO UPDATE} upserts the summary table repositories use. It updates the same
+ * three rows, so {@code addRecord} does the same database work as on PostgreSQL. Only the delta
+ * of a new loan is replaced; the benchmarks do not call the others.
+ */
+@Primary
+public class H2CirculationStatsService extends CirculationStatsService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int genreMonthSlots;
+
+    public H2CirculationStatsService(BookLoanStatRepository bookStatRepository,
+                                     CustomerLoanStatRepository customerStatRepository,
+                                     GenreMonthLoanStatRepository genreMonthStatRepository,
+                                     BookRepository bookRepository,
+                                     LoanArchive loanArchive,
+                                     JdbcTemplate jdbcTemplate,
+                                     PlatformTransactionManager transactionManager,
+                                     Clock clock,
+                                     @Value("${library.stats.genre-month-slots:8}") int genreMonthSlots) {
+        super(bookStatRepository, customerStatRepository, genreMonthStatRepository, bookRepository,
+                loanArchive, jdbcTemplate, transactionManager, clock, genreMonthSlots);
+        this.jdbcTemplate = jdbcTemplate;
+        this.genreMonthSlots = genreMonthSlots;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void loanAdded(BorrowingRecord record) {
+        jdbcTemplate.update("""
+                MERGE INTO book_loan_stat t USING (VALUES (CAST(? AS BIGINT))) s (book_id) ON t.book_id = s.book_id
+                WHEN MATCHED THEN UPDATE SET loan_count = t.loan_count + 1
+                WHEN NOT MATCHED THEN INSERT (book_id, loan_count) VALUES (s.book_id, 1)
+                """, record.getBook().getId());
+        jdbcTemplate.update("""
+                MERGE INTO customer_loan_stat t USING (VALUES (CAST(? AS BIGINT))) s (customer_id) ON t.customer_id = s.customer_id
+                WHEN MATCHED THEN UPDATE SET loan_count = t.loan_count + 1, open_loans = t.open_loans + 1
+                WHEN NOT MATCHED THEN INSERT (customer_id, loan_count, open_loans) VALUES (s.customer_id, 1, 1)
+                """, record.getCustomer().getId());
+        String genre = record.getBook().getGenre() == null ? "Unknown" : record.getBook().getGenre();
+        jdbcTemplate.update("""
+                MERGE INTO genre_month_loan_stat t USING (VALUES (CAST(? AS VARCHAR), CAST(? AS DATE), CAST(? AS INTEGER))) s (genre, month, slot)
+                ON t.genre = s.genre AND t.month = s.month AND t.slot = s.slot
+                WHEN MATCHED THEN UPDATE SET loan_count = t.loan_count + 1
+                WHEN NOT MATCHED THEN INSERT (id, genre, month, slot, loan_count)
+                    VALUES (NEXT VALUE FOR genre_month_loan_stat_sequence, s.genre, s.month, s.slot, 1)
+                """, genre, record.getBorrowDate().withDayOfMonth(1), ThreadLocalRandom.current().nextInt(genreMonthSlots));
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.libraryManagementSystem.benchmarks;
+
+import com.example.libraryManagementSystem.model.Author;
+import com.example.libraryManagementSystem.model.Book;
+import com.example.libraryManagementSystem.model.BorrowingRecord;
+import com.example.libraryManagementSystem.model.Customer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the pages the list endpoints return, with an {@link ObjectMapper} set up
+ * the way Spring Boot sets up the one used by the controllers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"5", "50", "500"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private List<Book> books;
+    private List<BorrowingRecord> records;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        books = new ArrayList<>(pageSize);
+        records = new ArrayList<>(pageSize);
+
+        for (int i = 0; i < pageSize; i++) {
+            Author author = Author.builder().id((long) i % 10).name("Author " + i % 10)
+                    .birthDate(LocalDate.of(1920, 1, 1)).nationality("Egyptian").build();
+            Book book = Book.builder().id((long) i).title(LibraryData.title(i)).isbn(LibraryData.isbn(i))
+                    .publicationDate(LocalDate.of(1990, 1, 1).plusDays(i))
+                    .genre(LibraryData.GENRES[i % LibraryData.GENRES.length]).available(i % 2 == 0).author(author).build();
+            Customer customer = Customer.builder().id((long) i).name("Customer " + i).email("customer" + i + "@example.com")
+                    .phoneNumber(LibraryData.phoneNumber(i)).address(i + " Nile Street").password("hash").build();
+            books.add(book);
+            records.add(BorrowingRecord.builder().id((long) i).book(book).customer(customer)
+                    .borrowDate(LocalDate.of(2024, 3, 1)).returnDate(LocalDate.of(2024, 3, 15))
+                    .updatedAt(Instant.parse("2024-03-01T10:00:00Z")).build());
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeBooks() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(books);
+    }
+
+    @Benchmark
+    public byte[] serializeRecords() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(records);
+    }
+}
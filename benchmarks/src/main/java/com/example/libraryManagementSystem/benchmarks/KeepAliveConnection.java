@@ -0,0 +1,157 @@
+package com.example.libraryManagementSystem.benchmarks;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * One HTTP/1.1 keep-alive connection sending {@code GET} requests one after the other, for
+ * {@link ConcurrencyTest}. Unlike {@code HttpClient}, whose pool hands an idle connection to
+ * whichever request comes next, every simulated user keeps its own socket, so the server sees as
+ * many open connections as there are users. Response bodies are read and discarded.
+ * <p>
+ * Blocking, meant to run on a virtual thread. Reopens the socket when the server closed it.
+ */
+final class KeepAliveConnection implements AutoCloseable {
+
+    private final InetSocketAddress address;
+    private final String host;
+    private final int timeoutMillis;
+
+    private Socket socket;
+    private InputStream in;
+    private OutputStream out;
+
+    KeepAliveConnection(URI api, Duration timeout) {
+        this.address = new InetSocketAddress(api.getHost(), api.getPort());
+        this.host = api.getHost() + ":" + api.getPort();
+        this.timeoutMillis = (int) timeout.toMillis();
+    }
+
+    /**
+     * Sends the request and returns the response status. No read may take longer than the
+     * timeout; after a failure the connection is closed and the next call opens a new one.
+     */
+    int get(URI uri) throws IOException {
+        boolean reused = socket != null;
+        try {
+            if (socket == null)
+                open();
+            return exchange(uri);
+        } catch (EOFException e) {
+            close();
+            // The server closed an idle connection just as the request went out
+            if (!reused)
+                throw e;
+            open();
+            return exchange(uri);
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (socket != null) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // Closing anyway
+            }
+            socket = null;
+        }
+    }
+
+    private void open() throws IOException {
+        socket = new Socket();
+        socket.connect(address, timeoutMillis);
+        socket.setSoTimeout(timeoutMillis);
+        socket.setTcpNoDelay(true);
+        in = new BufferedInputStream(socket.getInputStream());
+        out = socket.getOutputStream();
+    }
+
+    private int exchange(URI uri) throws IOException {
+        String target = uri.getRawQuery() == null ? uri.getRawPath() : uri.getRawPath() + "?" + uri.getRawQuery();
+        out.write(("GET " + target + " HTTP/1.1\r\nHost: " + host + "\r\nAccept: application/json\r\n\r\n")
+                .getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+
+        String statusLine = readLine();
+        String[] status = statusLine.split(" ", 3);
+        if (status.length < 2 || !status[0].startsWith("HTTP/1."))
+            throw new IOException("Not an HTTP response: " + statusLine);
+
+        long contentLength = -1;
+        boolean chunked = false;
+        boolean closing = false;
+        String header;
+        while (!(header = readLine()).isEmpty()) {
+            int colon = header.indexOf(':');
+            if (colon < 0)
+                continue;
+            String name = header.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+            String value = header.substring(colon + 1).trim().toLowerCase(Locale.ROOT);
+            switch (name) {
+                case "content-length" -> contentLength = Long.parseLong(value);
+                case "transfer-encoding" -> chunked = value.contains("chunked");
+                case "connection" -> closing = value.contains("close");
+                default -> {
+                }
+            }
+        }
+
+        if (chunked) {
+            long size;
+            while ((size = Long.parseLong(readLine().split(";", 2)[0].trim(), 16)) > 0) {
+                skip(size);
+                readLine();
+            }
+            // Trailers, if any, up to the empty line
+            String trailer;
+            do {
+                trailer = readLine();
+            } while (!trailer.isEmpty());
+        } else if (contentLength > 0) {
+            skip(contentLength);
+        }
+
+        if (closing)
+            close();
+        return Integer.parseInt(status[1]);
+    }
+
+    private String readLine() throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(64);
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b < 0)
+                throw new EOFException("Connection closed by the server");
+            if (b != '\r')
+                line.write(b);
+        }
+        return line.toString(StandardCharsets.US_ASCII);
+    }
+
+    private void skip(long bytes) throws IOException {
+        while (bytes > 0) {
+            long skipped = in.skip(bytes);
+            if (skipped <= 0) {
+                if (in.read() < 0)
+                    throw new EOFException("Connection closed by the server");
+                skipped = 1;
+            }
+            bytes -= skipped;
+        }
+    }
+}
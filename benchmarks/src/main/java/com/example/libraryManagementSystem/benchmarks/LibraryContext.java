@@ -0,0 +1,114 @@
+package com.example.libraryManagementSystem.benchmarks;
+
+import com.example.libraryManagementSystem.LibraryManagementSystemApplication;
+import com.example.libraryManagementSystem.catalog.CatalogServer;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Starts the application against a fresh in-memory H2 database in PostgreSQL mode.
+ * <p>
+ * Every context gets its own database, so benchmarks running one after the other in the same JVM
+ * never see each other's rows. The PostgreSQL-only statements on the measured paths are replaced:
+ * the outbox poller's advisory lock by {@link H2Functions} and the statistics upserts by
+ * {@link H2CirculationStatsService}. For the JMH benchmarks caching is off, so they measure the
+ * service and database work and not cache hits, and there is no web server.
+ */
+final class LibraryContext {
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    private LibraryContext() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        return start(WebApplicationType.NONE, "--spring.cache.type=none");
+    }
+
+    /**
+     * Starts the application with its web server on a free port and its own cache settings, for
+     * driving it over HTTP; the port is {@code local.server.port} in the environment. The reactive
+     * catalog gets a free port too, see {@link #catalogApi}.
+     * {@code extraArgs} are further {@code --key=value} arguments for the application.
+     */
+    static ConfigurableApplicationContext startServer(String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of("--server.port=0", "--library.catalog.port=0"));
+        args.addAll(List.of(extraArgs));
+        return start(WebApplicationType.SERVLET, args.toArray(String[]::new));
+    }
+
+    static URI api(ConfigurableApplicationContext context) {
+        return URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/v1/library");
+    }
+
+    static URI catalogApi(ConfigurableApplicationContext context) {
+        return URI.create("http://localhost:" + context.getBean(CatalogServer.class).getPort() + "/api/v1/library");
+    }
+
+    /**
+     * The JDBC URL of an H2 database in PostgreSQL mode, such as {@code mem:library1} or
+     * {@code file:/tmp/library}.
+     */
+    static String h2Url(String database) {
+        return "jdbc:h2:" + database
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;NON_KEYWORDS=MONTH,KEY,VALUE"
+                + ";INIT=CREATE ALIAS IF NOT EXISTS pg_try_advisory_xact_lock FOR '"
+                + H2Functions.class.getName() + ".tryAdvisoryXactLock'";
+    }
+
+    private static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... extraArgs) {
+        String database = "library" + DATABASES.incrementAndGet();
+
+        // The schema is created by the Flyway migrations, as in production
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", h2Url("mem:" + database));
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        // The same in-memory database, which Hikari's open connections keep alive
+        properties.put("spring.r2dbc.url", "r2dbc:h2:mem:///" + database);
+        properties.put("spring.r2dbc.username", "sa");
+        properties.put("spring.r2dbc.password", "");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("logging.level.root", "WARN");
+        properties.put("library.partitioning.enabled", "false");
+        properties.put("library.archive.directory", archiveDirectory().toString());
+        // Replacing the defaults above; a repeated argument would be read as a list
+        for (String arg : extraArgs) {
+            String[] property = arg.substring(2).split("=", 2);
+            properties.put(property[0], property.length == 2 ? property[1] : "");
+        }
+
+        List<String> args = new ArrayList<>();
+        properties.forEach((key, value) -> args.add("--" + key + "=" + value));
+        return new SpringApplicationBuilder(LibraryManagementSystemApplication.class, H2CirculationStatsService.class)
+                // With -Dspring.aot.enabled=true the bean definitions generated for this class are used
+                // instead, without the H2 overrides, which is enough for StartupTest's reads
+                .main(LibraryManagementSystemApplication.class)
+                .web(webApplicationType)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                // As command line arguments, so they take precedence over application.yaml
+                .run(args.toArray(String[]::new));
+    }
+
+    private static Path archiveDirectory() {
+        try {
+            return Files.createTempDirectory("library-benchmark-archive");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
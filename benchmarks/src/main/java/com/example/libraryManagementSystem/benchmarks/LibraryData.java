@@ -0,0 +1,92 @@
+package com.example.libraryManagementSystem.benchmarks;
+
+import com.example.libraryManagementSystem.model.Author;
+import com.example.libraryManagementSystem.model.Book;
+import com.example.libraryManagementSystem.model.Customer;
+import com.example.libraryManagementSystem.repository.AuthorRepository;
+import com.example.libraryManagementSystem.repository.BookRepository;
+import com.example.libraryManagementSystem.repository.CustomerRepository;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds the benchmark database with deterministic authors, books and customers, written straight
+ * through the repositories.
+ */
+final class LibraryData {
+
+    static final String[] GENRES = {"Drama", "Poetry", "Science", "History", "Fantasy", "Biography"};
+
+    // A placeholder in BCrypt format; nothing logs in, and seeding does not pay for hashing
+    private static final String PASSWORD_HASH = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z5Vh4Z5z5Z5Z5Z5Z5Z5Z5Z5W";
+
+    private LibraryData() {
+    }
+
+    static List<Author> authors(ApplicationContext context, int count) {
+        List<Author> authors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+            authors.add(Author
+                    .builder()
+                    .name("Author " + i)
+                    .birthDate(LocalDate.of(1900, 1, 1).plusDays(i * 97L % 30_000))
+                    .nationality(i % 3 == 0 ? "Egyptian" : "British")
+                    .build());
+        return context.getBean(AuthorRepository.class).saveAll(authors);
+    }
+
+    static List<Book> books(ApplicationContext context, List<Author> authors, int count) {
+        // Books cascade persist to their author, so the authors have to be attached to the same session
+        return new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).execute(status -> {
+            List<Author> managedAuthors = context.getBean(AuthorRepository.class)
+                    .findAllById(authors.stream().map(Author::getId).toList());
+            return context.getBean(BookRepository.class).saveAll(newBooks(managedAuthors, count));
+        });
+    }
+
+    private static List<Book> newBooks(List<Author> authors, int count) {
+        List<Book> books = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+            books.add(Book
+                    .builder()
+                    .title(title(i))
+                    .publicationDate(LocalDate.of(1950, 1, 1).plusDays(i * 13L % 25_000))
+                    .isbn(isbn(i))
+                    .genre(GENRES[i % GENRES.length])
+                    .available(true)
+                    .author(authors.get(i % authors.size()))
+                    .build());
+        return books;
+    }
+
+    static List<Customer> customers(ApplicationContext context, int count) {
+        List<Customer> customers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+            customers.add(Customer
+                    .builder()
+                    .name("Customer " + i)
+                    .email("customer" + i + "@example.com")
+                    .phoneNumber(phoneNumber(i))
+                    .address(i + " Nile Street")
+                    .password(PASSWORD_HASH)
+                    .build());
+        return context.getBean(CustomerRepository.class).saveAll(customers);
+    }
+
+    static String title(int i) {
+        return "Title " + i;
+    }
+
+    static String isbn(int i) {
+        return String.format("978%010d", i);
+    }
+
+    static String phoneNumber(int i) {
+        return String.format("010%08d", i);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.libraryManagementSystem.benchmarks;
+
+import com.example.libraryManagementSystem.model.Author;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Starts the application on the same setup as {@link LoadTest} and seeds its catalogue, for a load
+ * generator running in another process. {@link ConcurrencyTest} forks it, so client and server
+ * each get their own file descriptor limit. Prints {@code Catalog listening on <url>} for the
+ * reactive catalog and then {@code Application listening on <url>} once it is ready, and stops
+ * when its standard input is closed.
+ * <p>
+ * Options are {@code key=value} arguments, {@code authors} and {@code books}, 100 and 20000 by
+ * default; arguments starting with {@code --} are passed on to the application.
+ */
+public final class LibraryServer {
+
+    private LibraryServer() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(Map.of("authors", "100", "books", "20000"));
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                applicationArgs.add(arg);
+                continue;
+            }
+            String[] option = arg.split("=", 2);
+            if (option.length != 2)
+                throw new IllegalArgumentException("Expected key=value, got " + arg);
+            options.put(option[0], option[1]);
+        }
+
+        try (ConfigurableApplicationContext context = LibraryContext.startServer(applicationArgs.toArray(String[]::new))) {
+            List<Author> authors = LibraryData.authors(context, Integer.parseInt(options.get("authors")));
+            LibraryData.books(context, authors, Integer.parseInt(options.get("books")));
+
+            System.out.println("Catalog listening on " + LibraryContext.catalogApi(context));
+            System.out.println("Application listening on " + LibraryContext.api(context));
+            System.out.flush();
+            // Returns -1 once the parent process closes the pipe or exits
+            while (System.in.read() != -1) {
+                // Nothing is expected on the input
+            }
+        }
+    }
+}
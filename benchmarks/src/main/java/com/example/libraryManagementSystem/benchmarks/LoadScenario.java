@@ -0,0 +1,108 @@
+package com.example.libraryManagementSystem.benchmarks;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * The requests {@link LoadTest} sends, one endpoint each. The {@code n}th request of a scenario is
+ * built from {@code n} alone, so runs with the same options send the same requests.
+ */
+enum LoadScenario {
+
+    BROWSE_BOOKS("browse", "GET /books") {
+        @Override
+        HttpRequest.Builder request(URI api, LoadData data, long n) {
+            int pages = Math.max(1, data.books() / BROWSE_PAGE_SIZE);
+            return get(api, "/books?pageSize=" + BROWSE_PAGE_SIZE + "&pageNumber=" + n * 7919 % pages);
+        }
+    },
+
+    SEARCH_BOOKS("search", "GET /books/search") {
+        @Override
+        HttpRequest.Builder request(URI api, LoadData data, long n) {
+            int book = (int) (n * 7919 % data.books());
+            String query = switch ((int) (n % 3)) {
+                case 0 -> "title=" + encode(LibraryData.title(book));
+                case 1 -> "isbn=" + LibraryData.isbn(book);
+                default -> "authorName=" + encode("Author " + book % data.authors());
+            };
+            return get(api, "/books/search?" + query);
+        }
+    },
+
+    CHECKOUT("checkout", "POST /borrowings") {
+        @Override
+        HttpRequest.Builder request(URI api, LoadData data, long n) {
+            // Every checkout takes a book nobody borrowed yet; past the catalogue they fail as unavailable
+            long bookId = data.bookIds()[(int) (n % data.bookIds().length)];
+            long customerId = data.customerIds()[(int) (n % data.customerIds().length)];
+            LocalDate borrowDate = LocalDate.now();
+            return post(api, "/borrowings", """
+                    {"customerId":%d,"bookId":%d,"borrowDate":"%s","returnDate":"%s"}"""
+                    .formatted(customerId, bookId, borrowDate, borrowDate.plusDays(14)));
+        }
+    },
+
+    REGISTER_CUSTOMER("register", "POST /customers") {
+        @Override
+        HttpRequest.Builder request(URI api, LoadData data, long n) {
+            // Numbered after the seeded customers, so the email and phone number are new
+            long customer = data.customerIds().length + n;
+            return post(api, "/customers", """
+                    {"name":"Load Customer %d","email":"load%d@example.com","phoneNumber":"%s","address":"%d Nile Street","password":"%s"}"""
+                    .formatted(customer, customer, LibraryData.phoneNumber((int) customer), customer, PASSWORD));
+        }
+    };
+
+    static final int BROWSE_PAGE_SIZE = 20;
+
+    private static final String PASSWORD = "Str0ng!Passw0rd";
+
+    private final String option;
+    private final String endpoint;
+
+    LoadScenario(String option, String endpoint) {
+        this.option = option;
+        this.endpoint = endpoint;
+    }
+
+    String option() {
+        return option;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    abstract HttpRequest.Builder request(URI api, LoadData data, long n);
+
+    static LoadScenario fromOption(String option) {
+        for (LoadScenario scenario : values())
+            if (scenario.option.equals(option))
+                return scenario;
+        throw new IllegalArgumentException("Unknown scenario " + option + ", expected browse, search, checkout or register");
+    }
+
+    private static HttpRequest.Builder get(URI api, String path) {
+        return HttpRequest.newBuilder(URI.create(api + path)).GET();
+    }
+
+    private static HttpRequest.Builder post(URI api, String path, String json) {
+        return HttpRequest.newBuilder(URI.create(api + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * What the requests refer to: the seeded catalogue and customers.
+     */
+    record LoadData(int authors, int books, long[] bookIds, long[] customerIds) {
+    }
+}
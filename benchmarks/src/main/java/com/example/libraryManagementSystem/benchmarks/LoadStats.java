@@ -0,0 +1,82 @@
+package com.example.libraryManagementSystem.benchmarks;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies of one scenario's measured requests, in microseconds.
+ * <p>
+ * The response time runs from when the request was due by the arrival schedule, the service time
+ * from when it was actually sent. The two only differ when the generator fell behind, and then
+ * the response time is the one a user would have seen: a generator that only measures from
+ * sending hides exactly the requests that queued behind a stall (coordinated omission).
+ */
+final class LoadStats {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final LoadScenario scenario;
+    private final Histogram responseTimes = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+    private final Histogram serviceTimes = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    LoadStats(LoadScenario scenario) {
+        this.scenario = scenario;
+    }
+
+    LoadScenario scenario() {
+        return scenario;
+    }
+
+    void record(long dueNanos, long sentNanos, long completedNanos, String error) {
+        responseTimes.recordValue(Math.max(0, (completedNanos - dueNanos) / 1_000));
+        serviceTimes.recordValue(Math.max(0, (completedNanos - sentNanos) / 1_000));
+        if (error != null)
+            errors.computeIfAbsent(error, key -> new LongAdder()).increment();
+    }
+
+    long requests() {
+        return responseTimes.getTotalCount();
+    }
+
+    long errors() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    static void printHeader(PrintStream out) {
+        out.printf("%-20s %9s %8s %9s %9s %9s %9s %9s %9s %9s  %s%n", "Endpoint", "Requests", "Req/s",
+                "p50 ms", "p99 ms", "p999 ms", "Max ms", "Svc p50", "Svc p99", "Svc p999", "Errors");
+    }
+
+    void print(PrintStream out, double seconds) {
+        out.printf("%-20s %9d %8.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f  %s%n", scenario.endpoint(),
+                requests(), requests() / seconds,
+                millis(responseTimes, 50), millis(responseTimes, 99), millis(responseTimes, 99.9),
+                responseTimes.getMaxValue() / 1_000.0,
+                millis(serviceTimes, 50), millis(serviceTimes, 99), millis(serviceTimes, 99.9),
+                errors.isEmpty() ? "-" : new TreeMap<>(errors));
+    }
+
+    /**
+     * Writes the full response time distribution in the HdrHistogram percentile format, in
+     * milliseconds, for plotting or comparing runs.
+     */
+    void writeDistribution(Path directory) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(scenario.option() + ".hgrm")))) {
+            responseTimes.outputPercentileDistribution(out, 1_000.0);
+        }
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1_000.0;
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.libraryManagementSystem.benchmarks;
+
+import com.example.libraryManagementSystem.benchmarks.LoadScenario.LoadData;
+import com.example.libraryManagementSystem.model.Author;
+import com.example.libraryManagementSystem.model.Book;
+import com.example.libraryManagementSystem.model.Customer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * HTTP load test of the REST API: starts the application on a free port against an in-memory H2
+ * database (see {@link LibraryContext}), seeds it, and sends a mix of {@link LoadScenario}s at a
+ * fixed arrival rate.
+ * <p>
+ * The arrivals follow an open model: requests are due on a schedule set by {@code rate} alone and
+ * are sent without waiting for earlier responses, the way independent users arrive. A slow server
+ * therefore builds up requests in flight instead of quietly lowering the load, and every latency
+ * is measured from when its request was due (see {@link LoadStats}). Requests due in the
+ * {@code warmup} are sent but not measured.
+ * <p>
+ * Options are {@code key=value} arguments:
+ * <ul>
+ *     <li>{@code rate}: requests per second over all scenarios, 100 by default</li>
+ *     <li>{@code duration} and {@code warmup}: ISO-8601 durations, {@code PT1M} and {@code PT10S} by default</li>
+ *     <li>{@code arrivals}: {@code poisson} (default) for random gaps averaging the rate, or {@code uniform}</li>
+ *     <li>{@code mix}: scenario weights, {@code browse:50,search:30,checkout:10,register:10} by default</li>
+ *     <li>{@code authors}, {@code books}, {@code customers}: seeded rows, 100, 20000 and 1000 by default;
+ *     each checkout takes an unborrowed book, so keep {@code books} above the checkouts of a run</li>
+ *     <li>{@code timeout}: per request, {@code PT10S} by default</li>
+ *     <li>{@code output}: directory for the response time distributions, {@code load-results} by default</li>
+ *     <li>{@code seed}: of the scenario choice and gaps, 42 by default</li>
+ * </ul>
+ */
+public final class LoadTest {
+
+    private static final Map<String, String> DEFAULTS = Map.of(
+            "rate", "100",
+            "duration", "PT1M",
+            "warmup", "PT10S",
+            "arrivals", "poisson",
+            "mix", "browse:50,search:30,checkout:10,register:10",
+            "authors", "100",
+            "books", "20000",
+            "customers", "1000",
+            "timeout", "PT10S",
+            "output", "load-results");
+
+    private final double rate;
+    private final Duration duration;
+    private final Duration warmup;
+    private final boolean poisson;
+    private final LoadScenario[] scenarios;
+    private final double[] cumulativeWeights;
+    private final Duration timeout;
+    private final Random random;
+
+    private final Map<LoadScenario, LoadStats> stats = new EnumMap<>(LoadScenario.class);
+    private final Set<CompletableFuture<?>> inFlight = ConcurrentHashMap.newKeySet();
+    private long maxLagNanos;
+
+    private LoadTest(Map<String, String> options) {
+        this.rate = Double.parseDouble(options.get("rate"));
+        this.duration = Duration.parse(options.get("duration"));
+        this.warmup = Duration.parse(options.get("warmup"));
+        this.poisson = switch (options.get("arrivals")) {
+            case "poisson" -> true;
+            case "uniform" -> false;
+            default -> throw new IllegalArgumentException("arrivals must be poisson or uniform");
+        };
+        this.timeout = Duration.parse(options.get("timeout"));
+        this.random = new Random(Long.parseLong(options.getOrDefault("seed", "42")));
+        if (rate <= 0 || duration.isNegative() || duration.isZero() || warmup.isNegative())
+            throw new IllegalArgumentException("rate and duration must be positive and warmup not negative");
+
+        String[] weights = options.get("mix").split(",");
+        this.scenarios = new LoadScenario[weights.length];
+        this.cumulativeWeights = new double[weights.length];
+        double total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            String[] weight = weights[i].split(":");
+            scenarios[i] = LoadScenario.fromOption(weight[0].trim());
+            total += Double.parseDouble(weight[1].trim());
+            cumulativeWeights[i] = total;
+            stats.put(scenarios[i], new LoadStats(scenarios[i]));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            String[] option = arg.split("=", 2);
+            if (option.length != 2)
+                throw new IllegalArgumentException("Expected key=value, got " + arg);
+            options.put(option[0], option[1]);
+        }
+        LoadTest loadTest = new LoadTest(options);
+
+        try (ConfigurableApplicationContext context = LibraryContext.startServer()) {
+            LoadData data = seed(context, Integer.parseInt(options.get("authors")),
+                    Integer.parseInt(options.get("books")), Integer.parseInt(options.get("customers")));
+            URI api = LibraryContext.api(context);
+
+            System.out.println("Application listening on " + api);
+            System.out.printf("Sending %.1f requests/s (%s arrivals) for %s after a %s warmup%n",
+                    loadTest.rate, options.get("arrivals"), loadTest.duration, loadTest.warmup);
+            loadTest.run(api, data);
+            loadTest.report(Path.of(options.get("output")));
+        }
+    }
+
+    private static LoadData seed(ConfigurableApplicationContext context, int authorCount, int bookCount, int customerCount) {
+        List<Author> authors = LibraryData.authors(context, authorCount);
+        List<Book> books = LibraryData.books(context, authors, bookCount);
+        List<Customer> customers = LibraryData.customers(context, customerCount);
+        return new LoadData(authorCount, bookCount,
+                books.stream().mapToLong(Book::getId).toArray(),
+                customers.stream().mapToLong(Customer::getId).toArray());
+    }
+
+    private void run(URI api, LoadData data) throws InterruptedException {
+        ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "load-test-client");
+            thread.setDaemon(true);
+            return thread;
+        });
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .executor(executor)
+                .build();
+
+        long[] sent = new long[LoadScenario.values().length];
+        long start = System.nanoTime();
+        long measuredFrom = start + warmup.toNanos();
+        long end = measuredFrom + duration.toNanos();
+
+        for (long due = start; due < end; due += nextGapNanos()) {
+            maxLagNanos = Math.max(maxLagNanos, waitUntil(due));
+
+            LoadScenario scenario = nextScenario();
+            HttpRequest request = scenario.request(api, data, sent[scenario.ordinal()]++).timeout(timeout).build();
+            LoadStats scenarioStats = due >= measuredFrom ? stats.get(scenario) : null;
+            long dueNanos = due;
+            long sentNanos = System.nanoTime();
+
+            CompletableFuture<?> response = client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((result, failure) -> {
+                        if (scenarioStats != null)
+                            scenarioStats.record(dueNanos, sentNanos, System.nanoTime(), error(result, failure));
+                        return null;
+                    });
+            inFlight.add(response);
+            response.whenComplete((result, failure) -> inFlight.remove(response));
+        }
+
+        try {
+            CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new))
+                    .get(timeout.toMillis() + 5_000, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            System.out.println("Stopped waiting for " + inFlight.size() + " requests still in flight");
+        }
+        executor.shutdownNow();
+    }
+
+    private void report(Path output) throws Exception {
+        double seconds = duration.toNanos() / 1e9;
+        System.out.println();
+        LoadStats.printHeader(System.out);
+        long total = 0;
+        for (LoadStats scenarioStats : stats.values()) {
+            scenarioStats.print(System.out, seconds);
+            total += scenarioStats.requests();
+        }
+        System.out.printf("%nTotal %.1f requests/s of %.1f scheduled; largest generator lag %.2f ms%n",
+                total / seconds, rate, maxLagNanos / 1e6);
+
+        Files.createDirectories(output);
+        for (LoadStats scenarioStats : stats.values())
+            scenarioStats.writeDistribution(output);
+        System.out.println("Response time distributions written to " + output.toAbsolutePath());
+    }
+
+    private LoadScenario nextScenario() {
+        double pick = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        for (int i = 0; i < scenarios.length; i++)
+            if (pick < cumulativeWeights[i])
+                return scenarios[i];
+        return scenarios[scenarios.length - 1];
+    }
+
+    private long nextGapNanos() {
+        double meanNanos = 1e9 / rate;
+        return Math.max(1, (long) (poisson ? -Math.log(1 - random.nextDouble()) * meanNanos : meanNanos));
+    }
+
+    /**
+     * Parks until {@code due} and returns how late the generator is, which is zero unless it
+     * could not keep up with the schedule.
+     */
+    private static long waitUntil(long due) {
+        long remaining;
+        while ((remaining = due - System.nanoTime()) > 0)
+            LockSupport.parkNanos(remaining);
+        return -remaining;
+    }
+
+    private static String error(HttpResponse<?> response, Throwable failure) {
+        if (failure != null) {
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+            return cause.getClass().getSimpleName();
+        }
+        return response.statusCode() >= 400 ? String.valueOf(response.statusCode()) : null;
+    }
+}
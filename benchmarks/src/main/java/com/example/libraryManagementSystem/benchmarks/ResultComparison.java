@@ -0,0 +1,87 @@
+package com.example.libraryManagementSystem.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON result files, usually from two commits, benchmark by benchmark:
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.example.libraryManagementSystem.benchmarks.ResultComparison before.json after.json
+ * </pre>
+ * Prints the score and the bytes allocated per operation of both runs, and the change of the
+ * score. Benchmarks found in only one file are listed with the other side empty.
+ */
+public final class ResultComparison {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    private ResultComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: ResultComparison <before.json> <after.json>");
+            System.exit(2);
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, JsonNode> before = byBenchmark(objectMapper.readTree(new File(args[0])));
+        Map<String, JsonNode> after = byBenchmark(objectMapper.readTree(new File(args[1])));
+
+        Map<String, JsonNode> all = new LinkedHashMap<>(before);
+        after.forEach(all::putIfAbsent);
+
+        System.out.printf("%-70s %14s %14s %9s %14s %14s%n", "Benchmark", "Before", "After", "Change", "Before B/op", "After B/op");
+        for (String benchmark : all.keySet()) {
+            JsonNode old = before.get(benchmark);
+            JsonNode current = after.get(benchmark);
+            String unit = (current != null ? current : old).path("primaryMetric").path("scoreUnit").asText();
+
+            System.out.printf("%-70s %14s %14s %9s %14s %14s%n",
+                    benchmark + " (" + unit + ")",
+                    format(score(old)), format(score(current)), change(score(old), score(current)),
+                    format(allocation(old)), format(allocation(current)));
+        }
+    }
+
+    private static Map<String, JsonNode> byBenchmark(JsonNode results) {
+        Map<String, JsonNode> benchmarks = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            StringBuilder key = new StringBuilder(shortName(result.path("benchmark").asText()));
+            result.path("params").fields().forEachRemaining(param ->
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            benchmarks.put(key.toString(), result);
+        }
+        return benchmarks;
+    }
+
+    private static String shortName(String benchmark) {
+        String prefix = ResultComparison.class.getPackageName() + ".";
+        return benchmark.startsWith(prefix) ? benchmark.substring(prefix.length()) : benchmark;
+    }
+
+    private static Double score(JsonNode result) {
+        return result == null ? null : result.path("primaryMetric").path("score").asDouble();
+    }
+
+    private static Double allocation(JsonNode result) {
+        if (result == null || !result.path("secondaryMetrics").has(ALLOCATION_METRIC))
+            return null;
+        return result.path("secondaryMetrics").path(ALLOCATION_METRIC).path("score").asDouble();
+    }
+
+    private static String format(Double value) {
+        return value == null ? "-" : String.format("%.3f", value);
+    }
+
+    private static String change(Double before, Double after) {
+        if (before == null || after == null || before == 0)
+            return "-";
+        return String.format("%+.1f%%", (after - before) / before * 100);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.libraryManagementSystem.benchmarks;
+
+import com.example.libraryManagementSystem.model.Author;
+import com.sun.management.OperatingSystemMXBean;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures what a client browsing the same catalogue pages again costs: the bytes of each response
+ * body and the time and CPU per request, for the book reads answered in full, answered gzipped,
+ * and revalidated with the ETag of an earlier answer. The application runs in this JVM with its
+ * web server and caches, as in {@link LoadTest}, so the CPU time is that of client and server
+ * together. Each mode sends its requests once unmeasured first, so the pages are cached and the
+ * code paths compiled.
+ * <p>
+ * Options are {@code key=value} arguments: {@code requests} per request and mode, 500 by default,
+ * and {@code authors} and {@code books} seeded, 100 and 20000.
+ */
+public final class RevalidationTest {
+
+    private static final Map<String, String> DEFAULTS = Map.of(
+            "requests", "500",
+            "authors", "100",
+            "books", "20000");
+
+    private static final List<String> PATHS = List.of(
+            "/books?pageSize=5",
+            "/books?pageSize=50",
+            "/books?pageSize=500",
+            "/books/search?authorName=Author%207",
+            "/books/42");
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private RevalidationTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            String[] option = arg.split("=", 2);
+            if (option.length != 2)
+                throw new IllegalArgumentException("Expected key=value, got " + arg);
+            options.put(option[0], option[1]);
+        }
+        int requests = Integer.parseInt(options.get("requests"));
+
+        try (ConfigurableApplicationContext context = LibraryContext.startServer()) {
+            List<Author> authors = LibraryData.authors(context, Integer.parseInt(options.get("authors")));
+            LibraryData.books(context, authors, Integer.parseInt(options.get("books")));
+            URI api = LibraryContext.api(context);
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+            System.out.printf("%-38s %-12s %12s %10s %14s%n", "request", "mode", "body bytes", "ms", "CPU us");
+            for (String path : PATHS) {
+                HttpRequest plain = HttpRequest.newBuilder(URI.create(api + path)).timeout(TIMEOUT).build();
+                HttpResponse<byte[]> first = client.send(plain, HttpResponse.BodyHandlers.ofByteArray());
+                if (first.statusCode() != 200)
+                    throw new IllegalStateException(path + " answered " + first.statusCode());
+                String eTag = first.headers().firstValue("ETag")
+                        .orElseThrow(() -> new IllegalStateException(path + " answered without an ETag"));
+
+                measure(client, path, "full", plain, requests);
+                measure(client, path, "gzip", HttpRequest.newBuilder(plain.uri()).timeout(TIMEOUT)
+                        .header("Accept-Encoding", "gzip").build(), requests);
+                measure(client, path, "revalidated", HttpRequest.newBuilder(plain.uri()).timeout(TIMEOUT)
+                        .header("Accept-Encoding", "gzip").header("If-None-Match", eTag).build(), requests);
+            }
+        }
+    }
+
+    private static void measure(HttpClient client, String path, String mode, HttpRequest request, int requests) throws Exception {
+        OperatingSystemMXBean os = (OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        for (int i = 0; i < requests; i++)
+            client.send(request, HttpResponse.BodyHandlers.discarding());
+
+        long bytes = 0;
+        long cpuStart = os.getProcessCpuTime();
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            // The body as sent, the client does not decompress it
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200 && response.statusCode() != 304)
+                throw new IllegalStateException(path + " answered " + response.statusCode());
+            bytes += response.body().length;
+        }
+        double millis = (System.nanoTime() - start) / 1e6 / requests;
+        double cpuMicros = (os.getProcessCpuTime() - cpuStart) / 1e3 / requests;
+
+        System.out.printf("%-38s %-12s %12d %10.2f %14.0f%n", path, mode, bytes / requests, millis, cpuMicros);
+    }
+}
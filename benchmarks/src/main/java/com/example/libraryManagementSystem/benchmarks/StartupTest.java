@@ -0,0 +1,194 @@
+package com.example.libraryManagementSystem.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long the application takes to restart against a database whose schema already
+ * exists, the way it is restarted on every deploy or scale-out. Each run forks a fresh
+ * {@link LibraryServer} JVM on a file-based H2 database, seeded once before the first measured
+ * run, and records the time from launching the JVM to the server listening and to the first
+ * answered request, and the resident set size of the server after that request.
+ * <p>
+ * The schema modes compared are {@code update}, Hibernate introspecting and updating the schema
+ * with Flyway off as the application used to, {@code validate}, the default, with Flyway checking
+ * its history and Hibernate validating the mapping, and {@code none}, with Flyway only. The
+ * startup modes add the {@code prod} profile to {@code validate}: {@code prod} alone, {@code cds}
+ * with an AppCDS archive, {@code aot} with the bean definitions generated at build time, and
+ * {@code aot-cds} with both. The archives are recorded by a training run of their mode before the
+ * measured runs; the {@code aot} modes need the application built with {@code mvn -Pstartup
+ * install}. Runs of the modes take turns, so a slower stretch of the machine does not fall on
+ * one mode only.
+ * <p>
+ * Options are {@code key=value} arguments: {@code modes}, {@code runs} per mode, and
+ * {@code authors} and {@code books} seeded.
+ */
+public final class StartupTest {
+
+    private static final Map<String, String> DEFAULTS = Map.of(
+            "modes", "update,validate,none,prod,cds,aot,aot-cds",
+            "runs", "5",
+            "authors", "100",
+            "books", "20000");
+
+    private static final List<String> PROD = List.of("--spring.profiles.active=prod");
+    private static final List<String> AOT = List.of("-Dspring.aot.enabled=true");
+
+    private static final Map<String, Mode> MODES = Map.of(
+            "update", new Mode(List.of(), List.of("--spring.flyway.enabled=false", "--spring.jpa.hibernate.ddl-auto=update"), false),
+            "validate", new Mode(List.of(), List.of(), false),
+            "none", new Mode(List.of(), List.of("--spring.jpa.hibernate.ddl-auto=none"), false),
+            "prod", new Mode(List.of(), PROD, false),
+            "cds", new Mode(List.of(), PROD, true),
+            "aot", new Mode(AOT, PROD, false),
+            "aot-cds", new Mode(AOT, PROD, true));
+
+    private static final String AOT_INITIALIZER =
+            "com.example.libraryManagementSystem.LibraryManagementSystemApplication__ApplicationContextInitializer";
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    private StartupTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            String[] option = arg.split("=", 2);
+            if (option.length != 2)
+                throw new IllegalArgumentException("Expected key=value, got " + arg);
+            options.put(option[0], option[1]);
+        }
+        List<String> modes = Arrays.asList(options.get("modes").split(","));
+        for (String mode : modes) {
+            if (!MODES.containsKey(mode))
+                throw new IllegalArgumentException("Unknown mode " + mode + ", expected one of " + MODES.keySet());
+            if (MODES.get(mode).jvmArgs().containsAll(AOT) && !isPresent(AOT_INITIALIZER))
+                throw new IllegalStateException("The " + mode + " mode needs the application built with mvn -Pstartup install");
+        }
+        int runs = Integer.parseInt(options.get("runs"));
+
+        Path directory = Files.createTempDirectory("library-startup");
+        String database = LibraryContext.h2Url("file:" + directory.resolve("library").toAbsolutePath());
+        System.out.println("Seeding " + options.get("books") + " books into " + directory);
+        start(database, List.of(), List.of(), options.get("authors"), options.get("books"));
+
+        Map<String, List<String>> jvmArgs = new HashMap<>();
+        for (String mode : modes) {
+            List<String> modeJvmArgs = new ArrayList<>(MODES.get(mode).jvmArgs());
+            if (MODES.get(mode).archived()) {
+                Path archive = directory.resolve(mode + ".jsa");
+                System.out.println("Recording the class archive of " + mode);
+                List<String> trainingJvmArgs = new ArrayList<>(modeJvmArgs);
+                trainingJvmArgs.add("-XX:ArchiveClassesAtExit=" + archive);
+                start(database, trainingJvmArgs, MODES.get(mode).applicationArgs(), "0", "0");
+                modeJvmArgs.add("-XX:SharedArchiveFile=" + archive);
+            }
+            jvmArgs.put(mode, modeJvmArgs);
+        }
+
+        Map<String, List<Startup>> startups = new LinkedHashMap<>();
+        for (int run = 0; run < runs; run++)
+            for (String mode : modes)
+                startups.computeIfAbsent(mode, key -> new ArrayList<>())
+                        .add(start(database, jvmArgs.get(mode), MODES.get(mode).applicationArgs(), "0", "0"));
+
+        System.out.printf("%nMedians of %d runs%n%-10s %12s %16s %10s%n", runs, "mode", "listening ms", "first reply ms", "RSS MB");
+        for (Map.Entry<String, List<Startup>> entry : startups.entrySet()) {
+            List<Startup> results = entry.getValue();
+            System.out.printf("%-10s %12.0f %16.0f %10.0f%n", entry.getKey(),
+                    median(results.stream().mapToDouble(Startup::listeningMillis).toArray()),
+                    median(results.stream().mapToDouble(Startup::firstReplyMillis).toArray()),
+                    median(results.stream().mapToDouble(startup -> startup.rssKilobytes() / 1024.0).toArray()));
+        }
+    }
+
+    private static Startup start(String database, List<String> jvmArgs, List<String> applicationArgs,
+                                 String authors, String books) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.addAll(List.of("-cp", System.getProperty("java.class.path"), LibraryServer.class.getName(),
+                "authors=" + authors, "books=" + books, "--spring.datasource.url=" + database));
+        command.addAll(applicationArgs);
+
+        long launched = System.nanoTime();
+        Process server = new ProcessBuilder(command).redirectErrorStream(true).start();
+        try {
+            URI api = awaitServer(server);
+            long listening = System.nanoTime();
+
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(api + "/books?pageSize=1"))
+                    .timeout(TIMEOUT).build(), HttpResponse.BodyHandlers.discarding());
+            long firstReply = System.nanoTime();
+            if (response.statusCode() >= 500)
+                throw new IllegalStateException("First request answered " + response.statusCode());
+
+            return new Startup((listening - launched) / 1e6, (firstReply - launched) / 1e6, rssKilobytes(server.pid()));
+        } finally {
+            server.getOutputStream().close();
+            if (!server.waitFor(TIMEOUT.toSeconds(), TimeUnit.SECONDS))
+                server.destroyForcibly();
+        }
+    }
+
+    private static URI awaitServer(Process server) throws IOException {
+        BufferedReader output = new BufferedReader(new InputStreamReader(server.getInputStream(), StandardCharsets.UTF_8));
+        String line;
+        while ((line = output.readLine()) != null) {
+            if (line.startsWith("Application listening on ")) {
+                // Keeps draining the output so the server never blocks on a full pipe
+                Thread.ofVirtual().start(() -> output.lines().forEach(ignored -> {
+                }));
+                return URI.create(line.substring("Application listening on ".length()));
+            }
+            System.out.println(line);
+        }
+        throw new IllegalStateException("Server exited with " + server.onExit().join().exitValue() + " before listening");
+    }
+
+    private static long rssKilobytes(long pid) throws IOException {
+        for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status")))
+            if (line.startsWith("VmRSS:"))
+                return Long.parseLong(line.replaceAll("\\D", ""));
+        return 0;
+    }
+
+    private static boolean isPresent(String className) {
+        try {
+            Class.forName(className, false, StartupTest.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static double median(double[] values) {
+        Arrays.sort(values);
+        int middle = values.length / 2;
+        return values.length % 2 == 1 ? values[middle] : (values[middle - 1] + values[middle]) / 2;
+    }
+
+    private record Mode(List<String> jvmArgs, List<String> applicationArgs, boolean archived) {
+    }
+
+    private record Startup(double listeningMillis, double firstReplyMillis, long rssKilobytes) {
+    }
+}
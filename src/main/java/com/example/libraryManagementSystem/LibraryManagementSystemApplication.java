@@ -1,11 +1,18 @@
 package com.example.libraryManagementSystem;
 
+import com.example.libraryManagementSystem.configuration.LibraryRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-@EnableCaching
+// Just outside the CacheMissMarker aspect, which tells cache hits from misses in the traces
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+@EnableScheduling
+@ImportRuntimeHints(LibraryRuntimeHints.class)
 public class LibraryManagementSystemApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,60 @@
+package com.example.libraryManagementSystem.analytics;
+
+/**
+ * An immutable run of loans in record id order, one primitive array per column. Dates are epoch
+ * days, {@link #NO_DAY} standing for a loan not returned yet; customers and genres are codes into
+ * the dictionaries of the {@link LoanColumns} holding the chunk.
+ * <p>
+ * The smallest and largest borrow day let a scan skip chunks outside its range, and read chunks
+ * entirely inside it without testing every row.
+ */
+final class LoanChunk {
+
+    static final int NO_DAY = Integer.MIN_VALUE;
+
+    final long[] recordIds;
+    final long[] bookIds;
+    final int[] customers;
+    final int[] borrowDays;
+    final int[] dueDays;
+    final int[] returnedDays;
+    final int[] genres;
+    final int minBorrowDay;
+    final int maxBorrowDay;
+
+    LoanChunk(long[] recordIds, long[] bookIds, int[] customers, int[] borrowDays,
+              int[] dueDays, int[] returnedDays, int[] genres) {
+        this.recordIds = recordIds;
+        this.bookIds = bookIds;
+        this.customers = customers;
+        this.borrowDays = borrowDays;
+        this.dueDays = dueDays;
+        this.returnedDays = returnedDays;
+        this.genres = genres;
+
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int day : borrowDays) {
+            min = Math.min(min, day);
+            max = Math.max(max, day);
+        }
+        this.minBorrowDay = min;
+        this.maxBorrowDay = max;
+    }
+
+    int size() {
+        return recordIds.length;
+    }
+
+    long lastRecordId() {
+        return recordIds[recordIds.length - 1];
+    }
+
+    boolean overlaps(int fromDay, int toDay) {
+        return minBorrowDay <= toDay && maxBorrowDay >= fromDay;
+    }
+
+    boolean within(int fromDay, int toDay) {
+        return minBorrowDay >= fromDay && maxBorrowDay <= toDay;
+    }
+}
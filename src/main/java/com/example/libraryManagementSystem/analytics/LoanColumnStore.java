@@ -0,0 +1,303 @@
+package com.example.libraryManagementSystem.analytics;
+
+import com.example.libraryManagementSystem.archive.ArchivedLoan;
+import com.example.libraryManagementSystem.archive.LoanArchive;
+import com.example.libraryManagementSystem.archive.LoanSegment;
+import com.example.libraryManagementSystem.dto.GenreLoanDurationDTO;
+import com.example.libraryManagementSystem.dto.SegmentLateReturnsDTO;
+import com.example.libraryManagementSystem.dto.WeekdayLoansDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.example.libraryManagementSystem.analytics.LoanChunk.NO_DAY;
+
+/**
+ * Keeps a columnar copy of {@code borrowing_record} joined with the book genre in memory, so
+ * analytics over the whole loan history run as parallel scans over primitive arrays instead of as
+ * queries against the desk's tables.
+ * <p>
+ * A full rebuild reads every current and archived loan. Between rebuilds, {@link #refresh()} reads
+ * the loans updated since the previous run, the same way the fine accrual does: only up to
+ * {@code commit-lag} ago, so transactions still open are picked up by a later run. Changed loans
+ * replace their rows and new ones are appended; only the chunks they fall in are copied and the
+ * rest are shared with the previous {@link LoanColumns}. Deleted loans and changed book genres are
+ * picked up by the next full rebuild; archived loans stay, since they are the same loans.
+ */
+@Slf4j
+@Component
+public class LoanColumnStore {
+
+    static final String UNKNOWN_GENRE = "Unknown";
+
+    private static final String LOAN_COLUMNS = """
+            SELECT r.id, r.customer_id, r.book_id, r.borrow_date, r.return_date, r.returned_date, b.genre
+            FROM borrowing_record r
+            LEFT JOIN book b ON b.id = r.book_id""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LoanArchive loanArchive;
+    private final Clock clock;
+    private final ForkJoinPool pool;
+    private final Duration commitLag;
+    private final int chunkRows;
+    private final int[] segmentBounds;
+
+    // Held while loans are read; a virtual thread waiting on JDBC would pin its carrier inside synchronized
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Only used by rebuild and refresh under the lock
+    private Dictionaries dictionaries;
+
+    private volatile LoanColumns columns = LoanColumns.EMPTY;
+
+    public LoanColumnStore(JdbcTemplate jdbcTemplate,
+                           LoanArchive loanArchive,
+                           Clock clock,
+                           @Value("${library.analytics.parallelism:4}") int parallelism,
+                           @Value("${library.analytics.commit-lag:PT5M}") Duration commitLag,
+                           @Value("${library.analytics.chunk-rows:65536}") int chunkRows,
+                           @Value("${library.analytics.segment-bounds:5,20}") int[] segmentBounds) {
+        for (int i = 0; i < segmentBounds.length; i++)
+            if (segmentBounds[i] < 2 || (i > 0 && segmentBounds[i] <= segmentBounds[i - 1]))
+                throw new IllegalArgumentException("library.analytics.segment-bounds must be increasing loan counts above 1");
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.loanArchive = loanArchive;
+        this.clock = clock;
+        this.pool = new ForkJoinPool(parallelism);
+        this.commitLag = commitLag;
+        this.chunkRows = chunkRows;
+        this.segmentBounds = segmentBounds.clone();
+    }
+
+    public LoanColumns getColumns() {
+        return columns;
+    }
+
+    public List<WeekdayLoansDTO> loansPerWeekday(LocalDate from, LocalDate to) {
+        LoanColumns snapshot = columns;
+        return pool.submit(() -> snapshot.loansPerWeekday(from, to)).join();
+    }
+
+    public List<GenreLoanDurationDTO> averageLoanDaysPerGenre(LocalDate from, LocalDate to) {
+        LoanColumns snapshot = columns;
+        return pool.submit(() -> snapshot.averageLoanDaysPerGenre(from, to)).join();
+    }
+
+    public List<SegmentLateReturnsDTO> lateReturnRatePerSegment(LocalDate from, LocalDate to) {
+        LoanColumns snapshot = columns;
+        LocalDate today = LocalDate.now(clock);
+        return pool.submit(() -> snapshot.lateReturnRatePerSegment(from, to, today)).join();
+    }
+
+    @Scheduled(fixedDelayString = "${library.analytics.refresh-interval:PT1M}")
+    public void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Refreshing the analytics columns failed, keeping the previous ones", e);
+        }
+    }
+
+    @Scheduled(cron = "${library.analytics.rebuild-cron:0 45 4 * * *}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Rebuilding the analytics columns failed, keeping the previous ones", e);
+        }
+    }
+
+    /**
+     * Reloads every current and archived loan and publishes new columns.
+     */
+    public LoanColumns rebuild() {
+        lock.lock();
+        try {
+            Instant changedUntil = clock.instant().minus(commitLag);
+            // Replaced only once the new columns are published, the old ones still use the old codes
+            Dictionaries rebuilt = new Dictionaries();
+
+            LoanRows rows = new LoanRows();
+            if (!loanArchive.getSegments().isEmpty()) {
+                Map<Long, Integer> bookGenres = new HashMap<>();
+                jdbcTemplate.query("SELECT id, genre FROM book",
+                        (RowCallbackHandler) rs -> bookGenres.put(rs.getLong(1), rebuilt.genreCode(rs.getString(2))));
+                for (LoanSegment segment : loanArchive.getSegments()) {
+                    for (ArchivedLoan loan : readAll(segment)) {
+                        Integer genre = bookGenres.get(loan.bookId());
+                        rows.add(loan.id(), loan.bookId(), rebuilt.customerCode(loan.customerId()),
+                                day(loan.borrowDate()), day(loan.returnDate()), day(loan.returnedDate()),
+                                genre == null ? rebuilt.genreCode(null) : genre);
+                    }
+                }
+            }
+            // Read after the archive: a loan archived in between is in both, and the copies are equal
+            jdbcTemplate.query(LOAN_COLUMNS, (RowCallbackHandler) rs -> rebuilt.addRow(rows, rs));
+
+            dictionaries = rebuilt;
+            publish(rows.sortedById().toChunks(chunkRows).toArray(LoanChunk[]::new), changedUntil);
+            log.info("Rebuilt the analytics columns with {} loans of {} customers in {} genres",
+                    columns.getRowCount(), rebuilt.customerCodes.size(), rebuilt.genres.size());
+            return columns;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Applies the loans updated since the previous run and publishes new columns; falls back to a
+     * full rebuild before the first one.
+     */
+    public void refresh() {
+        lock.lock();
+        try {
+            if (dictionaries == null) {
+                rebuild();
+                return;
+            }
+
+            LoanColumns previous = columns;
+            Instant changedUntil = clock.instant().minus(commitLag);
+            if (!changedUntil.isAfter(previous.getChangedUntil()))
+                return;
+
+            LoanRows changed = new LoanRows();
+            jdbcTemplate.query(LOAN_COLUMNS + " WHERE r.updated_at > ? AND r.updated_at <= ?",
+                    (RowCallbackHandler) rs -> dictionaries.addRow(changed, rs),
+                    Timestamp.from(previous.getChangedUntil()), Timestamp.from(changedUntil));
+
+            LoanChunk[] chunks = changed.size == 0 ? previous.chunks() : merge(previous.chunks(), changed.sortedById());
+            publish(chunks, changedUntil);
+            log.debug("Refreshed the analytics columns with {} changed loans up to {}", changed.size, changedUntil);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Merges changed loans, sorted by id, into the chunks: each chunk takes the changes up to its
+     * last id, and the last one also takes the newer loans and is cut again into full chunks.
+     * Chunks without changes are reused as they are.
+     */
+    private LoanChunk[] merge(LoanChunk[] chunks, LoanRows changes) {
+        if (chunks.length == 0)
+            return changes.toChunks(chunkRows).toArray(LoanChunk[]::new);
+
+        List<LoanChunk> merged = new ArrayList<>(chunks.length + 1);
+        int next = 0;
+
+        for (int k = 0; k < chunks.length; k++) {
+            LoanChunk chunk = chunks[k];
+            boolean last = k == chunks.length - 1;
+            int end = next;
+            while (end < changes.size && (last || changes.recordIds[end] <= chunk.lastRecordId()))
+                end++;
+
+            if (end == next) {
+                merged.add(chunk);
+                continue;
+            }
+
+            LoanRows rows = new LoanRows();
+            int row = 0;
+            while (row < chunk.size() || next < end) {
+                if (next == end || (row < chunk.size() && chunk.recordIds[row] < changes.recordIds[next])) {
+                    rows.add(chunk, row++);
+                } else {
+                    if (row < chunk.size() && chunk.recordIds[row] == changes.recordIds[next])
+                        row++;
+                    rows.add(changes, next++);
+                }
+            }
+
+            if (last)
+                merged.addAll(rows.toChunks(chunkRows));
+            else
+                merged.add(rows.toChunk(0, rows.size));
+        }
+
+        return merged.toArray(LoanChunk[]::new);
+    }
+
+    private void publish(LoanChunk[] chunks, Instant changedUntil) {
+        columns = new LoanColumns(chunks, dictionaries.genres.toArray(String[]::new),
+                Arrays.copyOf(dictionaries.customerIds, dictionaries.customerCodes.size()),
+                segmentBounds, changedUntil, clock.instant());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private static int day(LocalDate date) {
+        return date == null ? NO_DAY : (int) date.toEpochDay();
+    }
+
+    private static List<ArchivedLoan> readAll(LoanSegment segment) {
+        try {
+            return segment.readAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archive segment " + segment.getPath(), e);
+        }
+    }
+
+    /**
+     * Genre and customer codes in order of first appearance. Codes are only ever added, so chunks
+     * built earlier stay valid.
+     */
+    private static final class Dictionaries {
+
+        private final Map<String, Integer> genreCodes = new HashMap<>();
+        private final List<String> genres = new ArrayList<>();
+        private final Map<Long, Integer> customerCodes = new HashMap<>();
+        private long[] customerIds = new long[16];
+
+        void addRow(LoanRows rows, ResultSet rs) throws SQLException {
+            rows.add(rs.getLong(1), rs.getLong(3), customerCode(rs.getLong(2)),
+                    day(rs.getObject(4, LocalDate.class)), day(rs.getObject(5, LocalDate.class)),
+                    day(rs.getObject(6, LocalDate.class)), genreCode(rs.getString(7)));
+        }
+
+        int genreCode(String genre) {
+            String name = genre == null || genre.isBlank() ? UNKNOWN_GENRE : genre;
+            return genreCodes.computeIfAbsent(name, key -> {
+                genres.add(key);
+                return genres.size() - 1;
+            });
+        }
+
+        int customerCode(long customerId) {
+            return customerCodes.computeIfAbsent(customerId, key -> {
+                int code = customerCodes.size();
+                if (code == customerIds.length)
+                    customerIds = Arrays.copyOf(customerIds, code * 2);
+                customerIds[code] = key;
+                return code;
+            });
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.libraryManagementSystem.analytics;
+
+import com.example.libraryManagementSystem.dto.GenreLoanDurationDTO;
+import com.example.libraryManagementSystem.dto.SegmentLateReturnsDTO;
+import com.example.libraryManagementSystem.dto.WeekdayLoansDTO;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.example.libraryManagementSystem.analytics.LoanChunk.NO_DAY;
+
+/**
+ * An immutable columnar copy of the loans, published by {@link LoanColumnStore}. Chunks that a
+ * refresh did not touch are shared with the previous copy.
+ * <p>
+ * Every aggregation scans the chunks in parallel, each into its own small array of counters that
+ * are added up at the end, so scans never contend with each other or with a refresh.
+ */
+public final class LoanColumns {
+
+    static final LoanColumns EMPTY = new LoanColumns(new LoanChunk[0], new String[0], new long[0], new int[0],
+            Instant.EPOCH, Instant.EPOCH);
+
+    private final LoanChunk[] chunks;
+    private final String[] genres;
+    private final long[] customerIds;
+    private final int[] segmentBounds;
+    private final int[] customerSegments;
+    private final int rowCount;
+    private final Instant changedUntil;
+    private final Instant refreshedAt;
+
+    LoanColumns(LoanChunk[] chunks, String[] genres, long[] customerIds, int[] segmentBounds,
+                Instant changedUntil, Instant refreshedAt) {
+        this.chunks = chunks;
+        this.genres = genres;
+        this.customerIds = customerIds;
+        this.segmentBounds = segmentBounds;
+        this.changedUntil = changedUntil;
+        this.refreshedAt = refreshedAt;
+
+        // A customer's segment follows their number of loans over the whole history
+        int[] customerLoans = new int[customerIds.length];
+        int rows = 0;
+        for (LoanChunk chunk : chunks) {
+            for (int customer : chunk.customers)
+                customerLoans[customer]++;
+            rows += chunk.size();
+        }
+        this.rowCount = rows;
+        this.customerSegments = new int[customerIds.length];
+        for (int customer = 0; customer < customerLoans.length; customer++)
+            customerSegments[customer] = segmentOf(customerLoans[customer]);
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Loans updated up to this instant are included.
+     */
+    public Instant getChangedUntil() {
+        return changedUntil;
+    }
+
+    public Instant getRefreshedAt() {
+        return refreshedAt;
+    }
+
+    LoanChunk[] chunks() {
+        return chunks;
+    }
+
+    String[] genres() {
+        return genres;
+    }
+
+    long[] customerIds() {
+        return customerIds;
+    }
+
+    /**
+     * Loans borrowed on each day of the week, Monday first.
+     */
+    List<WeekdayLoansDTO> loansPerWeekday(LocalDate from, LocalDate to) {
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+
+        long[] loans = Arrays.stream(chunks).parallel()
+                .filter(chunk -> chunk.overlaps(fromDay, toDay))
+                .map(chunk -> {
+                    long[] counts = new long[7];
+                    int[] borrowDays = chunk.borrowDays;
+                    boolean within = chunk.within(fromDay, toDay);
+                    for (int row = 0; row < borrowDays.length; row++) {
+                        int day = borrowDays[row];
+                        if (within || (day >= fromDay && day <= toDay))
+                            counts[weekday(day)]++;
+                    }
+                    return counts;
+                })
+                .reduce(new long[7], LoanColumns::sum);
+
+        List<WeekdayLoansDTO> weekdays = new ArrayList<>(7);
+        for (int day = 0; day < 7; day++)
+            weekdays.add(new WeekdayLoansDTO(DayOfWeek.of(day + 1), loans[day]));
+        return weekdays;
+    }
+
+    /**
+     * Average days between borrowing and returning, per genre, over the returned loans borrowed in
+     * the range; genres without returned loans are left out.
+     */
+    List<GenreLoanDurationDTO> averageLoanDaysPerGenre(LocalDate from, LocalDate to) {
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        int genreCount = genres.length;
+
+        // Returned loans and their total days, interleaved per genre
+        long[] totals = Arrays.stream(chunks).parallel()
+                .filter(chunk -> chunk.overlaps(fromDay, toDay))
+                .map(chunk -> {
+                    long[] counts = new long[genreCount * 2];
+                    int[] borrowDays = chunk.borrowDays;
+                    int[] returnedDays = chunk.returnedDays;
+                    int[] genreCodes = chunk.genres;
+                    boolean within = chunk.within(fromDay, toDay);
+                    for (int row = 0; row < borrowDays.length; row++) {
+                        int day = borrowDays[row];
+                        if (returnedDays[row] != NO_DAY && (within || (day >= fromDay && day <= toDay))) {
+                            counts[genreCodes[row] * 2]++;
+                            counts[genreCodes[row] * 2 + 1] += returnedDays[row] - day;
+                        }
+                    }
+                    return counts;
+                })
+                .reduce(new long[genreCount * 2], LoanColumns::sum);
+
+        List<GenreLoanDurationDTO> durations = new ArrayList<>();
+        for (int genre = 0; genre < genreCount; genre++) {
+            long returned = totals[genre * 2];
+            if (returned > 0)
+                durations.add(new GenreLoanDurationDTO(genres[genre], returned, (double) totals[genre * 2 + 1] / returned));
+        }
+        durations.sort((a, b) -> a.getGenre().compareTo(b.getGenre()));
+        return durations;
+    }
+
+    /**
+     * Share of loans returned late, per customer segment, over the loans borrowed in the range that
+     * were due before today. A loan still open past its return date counts as late.
+     */
+    List<SegmentLateReturnsDTO> lateReturnRatePerSegment(LocalDate from, LocalDate to, LocalDate today) {
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        int todayDay = (int) today.toEpochDay();
+        int segmentCount = segmentBounds.length + 1;
+
+        // Due and late loans, interleaved per segment
+        long[] totals = Arrays.stream(chunks).parallel()
+                .filter(chunk -> chunk.overlaps(fromDay, toDay))
+                .map(chunk -> {
+                    long[] counts = new long[segmentCount * 2];
+                    int[] borrowDays = chunk.borrowDays;
+                    int[] dueDays = chunk.dueDays;
+                    int[] returnedDays = chunk.returnedDays;
+                    int[] customers = chunk.customers;
+                    boolean within = chunk.within(fromDay, toDay);
+                    for (int row = 0; row < borrowDays.length; row++) {
+                        int day = borrowDays[row];
+                        if (dueDays[row] >= todayDay || !(within || (day >= fromDay && day <= toDay)))
+                            continue;
+                        int segment = customerSegments[customers[row]];
+                        counts[segment * 2]++;
+                        if (returnedDays[row] == NO_DAY || returnedDays[row] > dueDays[row])
+                            counts[segment * 2 + 1]++;
+                    }
+                    return counts;
+                })
+                .reduce(new long[segmentCount * 2], LoanColumns::sum);
+
+        List<SegmentLateReturnsDTO> segments = new ArrayList<>(segmentCount);
+        for (int segment = 0; segment < segmentCount; segment++) {
+            long due = totals[segment * 2];
+            long late = totals[segment * 2 + 1];
+            segments.add(new SegmentLateReturnsDTO(segmentLabel(segment), due, late, due == 0 ? 0 : (double) late / due));
+        }
+        return segments;
+    }
+
+    private int segmentOf(int loans) {
+        int segment = 0;
+        while (segment < segmentBounds.length && loans >= segmentBounds[segment])
+            segment++;
+        return segment;
+    }
+
+    private String segmentLabel(int segment) {
+        int lower = segment == 0 ? 1 : segmentBounds[segment - 1];
+        if (segment == segmentBounds.length)
+            return lower + "+ Loans";
+        return lower + "-" + (segmentBounds[segment] - 1) + " Loans";
+    }
+
+    // 1970-01-01 was a Thursday, index 3 counting from Monday
+    private static int weekday(int epochDay) {
+        return Math.floorMod(epochDay + 3, 7);
+    }
+
+    private static long[] sum(long[] a, long[] b) {
+        long[] total = new long[a.length];
+        for (int i = 0; i < total.length; i++)
+            total[i] = a[i] + b[i];
+        return total;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.libraryManagementSystem.analytics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A growable column buffer that loans are collected in before they are cut into
+ * {@link LoanChunk}s.
+ */
+final class LoanRows {
+
+    long[] recordIds = new long[1024];
+    long[] bookIds = new long[1024];
+    int[] customers = new int[1024];
+    int[] borrowDays = new int[1024];
+    int[] dueDays = new int[1024];
+    int[] returnedDays = new int[1024];
+    int[] genres = new int[1024];
+    int size;
+
+    void add(long recordId, long bookId, int customer, int borrowDay, int dueDay, int returnedDay, int genre) {
+        if (size == recordIds.length)
+            grow();
+        recordIds[size] = recordId;
+        bookIds[size] = bookId;
+        customers[size] = customer;
+        borrowDays[size] = borrowDay;
+        dueDays[size] = dueDay;
+        returnedDays[size] = returnedDay;
+        genres[size] = genre;
+        size++;
+    }
+
+    void add(LoanChunk chunk, int row) {
+        add(chunk.recordIds[row], chunk.bookIds[row], chunk.customers[row], chunk.borrowDays[row],
+                chunk.dueDays[row], chunk.returnedDays[row], chunk.genres[row]);
+    }
+
+    void add(LoanRows rows, int row) {
+        add(rows.recordIds[row], rows.bookIds[row], rows.customers[row], rows.borrowDays[row],
+                rows.dueDays[row], rows.returnedDays[row], rows.genres[row]);
+    }
+
+    /**
+     * The rows in record id order with one row per id; of rows sharing an id, the last added wins.
+     */
+    LoanRows sortedById() {
+        long[] ids = Arrays.copyOf(recordIds, size);
+        Arrays.parallelSort(ids);
+        int distinct = 0;
+        for (int i = 0; i < ids.length; i++)
+            if (i == 0 || ids[i] != ids[i - 1])
+                ids[distinct++] = ids[i];
+
+        LoanRows sorted = new LoanRows();
+        sorted.recordIds = Arrays.copyOf(ids, distinct);
+        sorted.bookIds = new long[distinct];
+        sorted.customers = new int[distinct];
+        sorted.borrowDays = new int[distinct];
+        sorted.dueDays = new int[distinct];
+        sorted.returnedDays = new int[distinct];
+        sorted.genres = new int[distinct];
+        sorted.size = distinct;
+
+        for (int row = 0; row < size; row++) {
+            int position = Arrays.binarySearch(sorted.recordIds, recordIds[row]);
+            sorted.bookIds[position] = bookIds[row];
+            sorted.customers[position] = customers[row];
+            sorted.borrowDays[position] = borrowDays[row];
+            sorted.dueDays[position] = dueDays[row];
+            sorted.returnedDays[position] = returnedDays[row];
+            sorted.genres[position] = genres[row];
+        }
+        return sorted;
+    }
+
+    LoanChunk toChunk(int from, int to) {
+        return new LoanChunk(
+                Arrays.copyOfRange(recordIds, from, to),
+                Arrays.copyOfRange(bookIds, from, to),
+                Arrays.copyOfRange(customers, from, to),
+                Arrays.copyOfRange(borrowDays, from, to),
+                Arrays.copyOfRange(dueDays, from, to),
+                Arrays.copyOfRange(returnedDays, from, to),
+                Arrays.copyOfRange(genres, from, to));
+    }
+
+    List<LoanChunk> toChunks(int chunkRows) {
+        List<LoanChunk> chunks = new ArrayList<>(size / chunkRows + 1);
+        for (int from = 0; from < size; from += chunkRows)
+            chunks.add(toChunk(from, Math.min(size, from + chunkRows)));
+        return chunks;
+    }
+
+    private void grow() {
+        int capacity = recordIds.length * 2;
+        recordIds = Arrays.copyOf(recordIds, capacity);
+        bookIds = Arrays.copyOf(bookIds, capacity);
+        customers = Arrays.copyOf(customers, capacity);
+        borrowDays = Arrays.copyOf(borrowDays, capacity);
+        dueDays = Arrays.copyOf(dueDays, capacity);
+        returnedDays = Arrays.copyOf(returnedDays, capacity);
+        genres = Arrays.copyOf(genres, capacity);
+    }
+}
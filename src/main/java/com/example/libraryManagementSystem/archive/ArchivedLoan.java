@@ -0,0 +1,23 @@
+package com.example.libraryManagementSystem.archive;
+
+import com.example.libraryManagementSystem.dto.ClosedLoan;
+
+import java.time.LocalDate;
+
+/**
+ * A returned loan as stored in an archive segment.
+ */
+public record ArchivedLoan(
+        long id,
+        long customerId,
+        long bookId,
+        LocalDate borrowDate,
+        LocalDate returnDate,
+        LocalDate returnedDate
+) {
+
+    public static ArchivedLoan of(ClosedLoan loan) {
+        return new ArchivedLoan(loan.getId(), loan.getCustomerId(), loan.getBookId(),
+                loan.getBorrowDate(), loan.getReturnDate(), loan.getReturnedDate());
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.libraryManagementSystem.archive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Variable-length integer encoding and per-column compression used by archive segments. Columns
+ * are stored as deltas, so most values take one or two bytes before compression.
+ */
+final class ColumnCodec {
+
+    private ColumnCodec() {
+    }
+
+    static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    static void writeSignedVarLong(ByteArrayOutputStream out, long value) {
+        writeVarLong(out, (value << 1) ^ (value >> 63));
+    }
+
+    static byte[] compress(byte[] column) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(column);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, column.length / 4));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished())
+                out.write(buffer, 0, deflater.deflate(buffer));
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    static byte[] decompress(byte[] compressed, int length) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] column = new byte[length];
+            int read = 0;
+            while (read < length && !inflater.finished())
+                read += inflater.inflate(column, read, length - read);
+            if (read != length)
+                throw new IOException("Truncated segment column");
+            return column;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt segment column", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Sequential reader over an uncompressed column.
+     */
+    static final class Reader {
+
+        private final byte[] column;
+        private int position;
+
+        Reader(byte[] column) {
+            this.column = column;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = column[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        long readSignedVarLong() {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+}
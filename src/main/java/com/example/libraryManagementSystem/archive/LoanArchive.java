@@ -0,0 +1,176 @@
+package com.example.libraryManagementSystem.archive;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * The directory of archive segments. Segments are only ever added: each archival run writes new
+ * ones next to the old, under a temporary name, and renames them into place once they are on disk.
+ * <p>
+ * With several nodes the directory is shared, and segments written by another node are picked up
+ * by listing it again before each lookup. Segment names carry the archival cutoff and a random
+ * UUID, so no two writers ever pick the same name, and a rename never replaces a segment.
+ */
+@Slf4j
+@Component
+public class LoanArchive {
+
+    // Numbered segments of earlier versions match too
+    private static final Pattern SEGMENT_NAME = Pattern.compile("loans-[0-9a-f-]+\\.seg");
+
+    private final Path directory;
+    private final List<LoanSegment> segments = new CopyOnWriteArrayList<>();
+    private final Set<Path> known = new HashSet<>();
+    // Guards known and the directory scans; not synchronized, the file IO would pin a virtual thread
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public LoanArchive(@Value("${library.archive.directory:data/loan-archive}") Path directory) {
+        this.directory = directory;
+    }
+
+    @PostConstruct
+    public void load() throws IOException {
+        lock.lock();
+        try {
+            Files.createDirectories(directory);
+            segments.clear();
+            known.clear();
+            refresh();
+
+            log.info("Loaded {} archive segments from {}", segments.size(), directory);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Opens the segments added to the directory since the last scan, by this node or another.
+     */
+    public void refresh() throws IOException {
+        lock.lock();
+        try {
+            List<Path> files;
+            try (Stream<Path> listing = Files.list(directory)) {
+                files = listing.filter(file -> SEGMENT_NAME.matcher(file.getFileName().toString()).matches())
+                        .filter(file -> !known.contains(file))
+                        .sorted()
+                        .toList();
+            }
+
+            for (Path file : files) {
+                try {
+                    segments.add(LoanSegment.open(file));
+                    known.add(file);
+                } catch (IOException e) {
+                    log.error("Skipping unreadable archive segment {}", file, e);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes the loans archived with the given cutoff as a new segment.
+     */
+    public LoanSegment append(LocalDate returnedBefore, List<ArchivedLoan> loans) throws IOException {
+        String name = "loans-" + returnedBefore.format(DateTimeFormatter.BASIC_ISO_DATE) + "-" + UUID.randomUUID() + ".seg";
+        Path temporary = directory.resolve(name + ".tmp");
+        Path target = directory.resolve(name);
+
+        LoanSegment.write(temporary, loans);
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        // Without REPLACE_EXISTING, so an existing segment is never overwritten
+        Files.move(temporary, target);
+
+        lock.lock();
+        try {
+            LoanSegment segment = LoanSegment.open(target);
+            segments.add(segment);
+            known.add(target);
+            return segment;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<ArchivedLoan> findByCustomer(long customerId) {
+        rescan();
+        List<ArchivedLoan> loans = new ArrayList<>();
+        for (LoanSegment segment : segments)
+            loans.addAll(read(segment, () -> segment.findByCustomer(customerId)));
+        return loans;
+    }
+
+    /**
+     * The loans of all the given customers, listing the directory once and reading each segment
+     * that holds any of them once.
+     */
+    public List<ArchivedLoan> findByCustomers(long[] customerIds) {
+        rescan();
+        List<ArchivedLoan> loans = new ArrayList<>();
+        for (LoanSegment segment : segments)
+            loans.addAll(read(segment, () -> segment.findByCustomers(customerIds)));
+        return loans;
+    }
+
+    public List<ArchivedLoan> findByBook(long bookId) {
+        rescan();
+        List<ArchivedLoan> loans = new ArrayList<>();
+        for (LoanSegment segment : segments)
+            loans.addAll(read(segment, () -> segment.findByBook(bookId)));
+        return loans;
+    }
+
+    public List<LoanSegment> getSegments() {
+        rescan();
+        return List.copyOf(segments);
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    private void rescan() {
+        try {
+            refresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list archive directory " + directory, e);
+        }
+    }
+
+    private static List<ArchivedLoan> read(LoanSegment segment, SegmentLookup lookup) {
+        try {
+            return lookup.find();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archive segment " + segment.getPath(), e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface SegmentLookup {
+        List<ArchivedLoan> find() throws IOException;
+    }
+}
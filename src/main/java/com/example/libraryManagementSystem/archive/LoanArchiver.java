@@ -0,0 +1,130 @@
+package com.example.libraryManagementSystem.archive;
+
+import com.example.libraryManagementSystem.dto.ClosedLoan;
+import com.example.libraryManagementSystem.exceptionhandling.BadRequestException;
+import com.example.libraryManagementSystem.repository.BorrowingRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves loans returned more than {@code library.archive.age-months} ago out of
+ * {@code borrowing_record} into archive segments, one segment per chunk.
+ * <p>
+ * A chunk is deleted from the table only after its segment is safely on disk. If the run stops in
+ * between, the chunk is archived again next time; the history merges duplicates by loan id.
+ * <p>
+ * Only one node archives at a time, and never during a statistics rebuild: the run holds a
+ * transaction-scoped advisory lock, and each chunk is deleted in a transaction of its own, so the
+ * deletes commit as the run goes.
+ */
+@Slf4j
+@Component
+public class LoanArchiver {
+
+    public static final long ARCHIVER_LOCK_KEY = 7_294_117_003L;
+
+    private final BorrowingRecordRepository recordRepository;
+    private final LoanArchive archive;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate chunkTransactionTemplate;
+    private final CacheManager cacheManager;
+    private final Clock clock;
+    private final int ageMonths;
+    private final int segmentRows;
+
+    private final AtomicBoolean archiving = new AtomicBoolean();
+
+    public LoanArchiver(BorrowingRecordRepository recordRepository,
+                        LoanArchive archive,
+                        PlatformTransactionManager transactionManager,
+                        CacheManager cacheManager,
+                        Clock clock,
+                        @Value("${library.archive.age-months:24}") int ageMonths,
+                        @Value("${library.archive.segment-rows:100000}") int segmentRows) {
+        this.recordRepository = recordRepository;
+        this.archive = archive;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.cacheManager = cacheManager;
+        this.clock = clock;
+        this.ageMonths = ageMonths;
+        this.segmentRows = segmentRows;
+    }
+
+    @Scheduled(cron = "${library.archive.cron:0 0 4 * * SUN}")
+    public void scheduledArchival() {
+        try {
+            archiveClosedLoans();
+        } catch (BadRequestException e) {
+            log.info("Skipping scheduled archival: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Archives every loan returned before the cutoff and returns how many were moved.
+     */
+    public int archiveClosedLoans() {
+        if (!archiving.compareAndSet(false, true))
+            throw new BadRequestException("An Archival Is Already Running!");
+
+        try {
+            Integer archived = transactionTemplate.execute(status -> {
+                if (!recordRepository.tryLock(ARCHIVER_LOCK_KEY))
+                    throw new BadRequestException("The Loan Archive Is In Use By An Archival Or A Statistics Rebuild!");
+                return archive();
+            });
+
+            if (archived != null && archived > 0) {
+                Cache records = cacheManager.getCache("records");
+                if (records != null)
+                    records.clear();
+            }
+
+            return archived == null ? 0 : archived;
+        } finally {
+            archiving.set(false);
+        }
+    }
+
+    private int archive() {
+        LocalDate returnedBefore = LocalDate.now(clock).minusMonths(ageMonths);
+        int archived = 0;
+        long afterId = 0;
+        List<ClosedLoan> chunk;
+
+        try {
+            do {
+                chunk = recordRepository.findClosedLoans(returnedBefore, afterId, segmentRows);
+                if (chunk.isEmpty())
+                    break;
+
+                archive.append(returnedBefore, chunk.stream().map(ArchivedLoan::of).toList());
+
+                List<Long> ids = chunk.stream().map(ClosedLoan::getId).toList();
+                Integer deleted = chunkTransactionTemplate.execute(status -> recordRepository.deleteClosedLoans(ids));
+                archived += deleted == null ? 0 : deleted;
+                afterId = ids.get(ids.size() - 1);
+            } while (chunk.size() == segmentRows);
+
+            log.info("Archived {} loans returned before {}", archived, returnedBefore);
+            return archived;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write archive segment", e);
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package com.example.libraryManagementSystem.archive;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * An immutable file of archived loans, stored column by column.
+ * <p>
+ * Rows are sorted by customer and loan id. Each column is delta-encoded with variable-length
+ * integers and compressed on its own; a posting list maps every book to its rows. Opening a segment
+ * only reads the two indexes (customer ranges and book postings) into memory; the columns are read
+ * and decoded when a lookup hits the segment.
+ *
+ * <pre>
+ * int magic, int version, int rows
+ * 7 x (int rawLength, int compressedLength, byte[] compressed):
+ *     customer id, loan id, book id, borrow date, return date, returned date, book postings
+ * </pre>
+ */
+public final class LoanSegment {
+
+    static final int MAGIC = 0x4C534547;
+    static final int VERSION = 1;
+
+    private static final int COLUMNS = 6;
+    private static final int CUSTOMER = 0;
+    private static final int BOOK_POSTINGS = 6;
+    private static final int HEADER_BYTES = 12;
+
+    private final Path path;
+    private final int rows;
+    private final long[] blockOffsets;
+    private final int[] rawLengths;
+    private final int[] compressedLengths;
+
+    // Distinct customers in ascending (row) order and where each one's rows start, plus a final sentinel
+    private final long[] customerKeys;
+    private final int[] customerStarts;
+
+    // Distinct books in ascending order and their rows, as slices of bookRows
+    private final long[] bookKeys;
+    private final int[] bookStarts;
+    private final int[] bookRows;
+
+    private LoanSegment(Path path, int rows, long[] blockOffsets, int[] rawLengths, int[] compressedLengths,
+                        long[] customerKeys, int[] customerStarts, long[] bookKeys, int[] bookStarts, int[] bookRows) {
+        this.path = path;
+        this.rows = rows;
+        this.blockOffsets = blockOffsets;
+        this.rawLengths = rawLengths;
+        this.compressedLengths = compressedLengths;
+        this.customerKeys = customerKeys;
+        this.customerStarts = customerStarts;
+        this.bookKeys = bookKeys;
+        this.bookStarts = bookStarts;
+        this.bookRows = bookRows;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Writes the loans as a new segment. The caller is responsible for making the file visible
+     * atomically.
+     */
+    public static void write(Path target, List<ArchivedLoan> loans) throws IOException {
+        List<ArchivedLoan> sorted = new ArrayList<>(loans);
+        sorted.sort(Comparator.comparingLong(ArchivedLoan::customerId).thenComparingLong(ArchivedLoan::id));
+
+        ByteArrayOutputStream[] columns = new ByteArrayOutputStream[COLUMNS];
+        for (int i = 0; i < COLUMNS; i++)
+            columns[i] = new ByteArrayOutputStream();
+
+        long previousCustomer = 0;
+        long previousId = 0;
+        long previousBorrowDay = 0;
+        for (ArchivedLoan loan : sorted) {
+            long borrowDay = loan.borrowDate().toEpochDay();
+            long returnDay = loan.returnDate().toEpochDay();
+            ColumnCodec.writeVarLong(columns[0], loan.customerId() - previousCustomer);
+            ColumnCodec.writeSignedVarLong(columns[1], loan.id() - previousId);
+            ColumnCodec.writeVarLong(columns[2], loan.bookId());
+            ColumnCodec.writeSignedVarLong(columns[3], borrowDay - previousBorrowDay);
+            ColumnCodec.writeSignedVarLong(columns[4], returnDay - borrowDay);
+            ColumnCodec.writeSignedVarLong(columns[5], loan.returnedDate().toEpochDay() - returnDay);
+            previousCustomer = loan.customerId();
+            previousId = loan.id();
+            previousBorrowDay = borrowDay;
+        }
+
+        try (OutputStream file = Files.newOutputStream(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(sorted.size());
+            for (ByteArrayOutputStream column : columns)
+                writeBlock(out, column.toByteArray());
+            writeBlock(out, bookPostings(sorted));
+        }
+    }
+
+    private static byte[] bookPostings(List<ArchivedLoan> sorted) {
+        Integer[] order = new Integer[sorted.size()];
+        for (int i = 0; i < order.length; i++)
+            order[i] = i;
+        Arrays.sort(order, Comparator.comparingLong((Integer row) -> sorted.get(row).bookId()).thenComparingInt(row -> row));
+
+        ByteArrayOutputStream postings = new ByteArrayOutputStream();
+        int i = 0;
+        long previousBook = 0;
+        while (i < order.length) {
+            long book = sorted.get(order[i]).bookId();
+            int end = i;
+            while (end < order.length && sorted.get(order[end]).bookId() == book)
+                end++;
+
+            ColumnCodec.writeVarLong(postings, book - previousBook);
+            ColumnCodec.writeVarLong(postings, end - i);
+            int previousRow = 0;
+            for (int j = i; j < end; j++) {
+                ColumnCodec.writeVarLong(postings, order[j] - previousRow);
+                previousRow = order[j];
+            }
+            previousBook = book;
+            i = end;
+        }
+        return postings.toByteArray();
+    }
+
+    private static void writeBlock(DataOutputStream out, byte[] raw) throws IOException {
+        byte[] compressed = ColumnCodec.compress(raw);
+        out.writeInt(raw.length);
+        out.writeInt(compressed.length);
+        out.write(compressed);
+    }
+
+    /**
+     * Opens a segment, reading its header and indexes.
+     */
+    public static LoanSegment open(Path path) throws IOException {
+        long[] offsets = new long[COLUMNS + 1];
+        int[] rawLengths = new int[COLUMNS + 1];
+        int[] compressedLengths = new int[COLUMNS + 1];
+        byte[] customerColumn;
+        byte[] postingsColumn;
+        int rows;
+
+        try (InputStream file = Files.newInputStream(path);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file))) {
+            if (in.readInt() != MAGIC)
+                throw new IOException(path + " is not a loan segment");
+            if (in.readInt() != VERSION)
+                throw new IOException(path + " has an unsupported segment version");
+            rows = in.readInt();
+
+            byte[][] blocks = new byte[COLUMNS + 1][];
+            long offset = HEADER_BYTES;
+            for (int i = 0; i <= COLUMNS; i++) {
+                rawLengths[i] = in.readInt();
+                compressedLengths[i] = in.readInt();
+                offsets[i] = offset + 8;
+                offset = offsets[i] + compressedLengths[i];
+                if (i == CUSTOMER || i == BOOK_POSTINGS)
+                    blocks[i] = in.readNBytes(compressedLengths[i]);
+                else
+                    in.skipNBytes(compressedLengths[i]);
+            }
+            customerColumn = ColumnCodec.decompress(blocks[CUSTOMER], rawLengths[CUSTOMER]);
+            postingsColumn = ColumnCodec.decompress(blocks[BOOK_POSTINGS], rawLengths[BOOK_POSTINGS]);
+        }
+
+        // Customer ranges, from the sorted customer column
+        long[] customerKeys = new long[rows];
+        int[] customerStarts = new int[rows + 1];
+        int customers = 0;
+        ColumnCodec.Reader customerReader = new ColumnCodec.Reader(customerColumn);
+        long customer = 0;
+        for (int row = 0; row < rows; row++) {
+            long delta = customerReader.readVarLong();
+            customer += delta;
+            if (row == 0 || delta != 0) {
+                customerKeys[customers] = customer;
+                customerStarts[customers++] = row;
+            }
+        }
+        customerStarts[customers] = rows;
+
+        // Book postings
+        long[] bookKeys = new long[rows];
+        int[] bookStarts = new int[rows + 1];
+        int[] bookRows = new int[rows];
+        int books = 0;
+        int posting = 0;
+        ColumnCodec.Reader postingsReader = new ColumnCodec.Reader(postingsColumn);
+        long book = 0;
+        while (posting < rows) {
+            book += postingsReader.readVarLong();
+            int count = (int) postingsReader.readVarLong();
+            bookKeys[books] = book;
+            bookStarts[books++] = posting;
+            int row = 0;
+            for (int j = 0; j < count; j++) {
+                row += (int) postingsReader.readVarLong();
+                bookRows[posting++] = row;
+            }
+        }
+        bookStarts[books] = rows;
+
+        return new LoanSegment(path, rows, offsets, rawLengths, compressedLengths,
+                Arrays.copyOf(customerKeys, customers), Arrays.copyOf(customerStarts, customers + 1),
+                Arrays.copyOf(bookKeys, books), Arrays.copyOf(bookStarts, books + 1), bookRows);
+    }
+
+    public List<ArchivedLoan> findByCustomer(long customerId) throws IOException {
+        int index = Arrays.binarySearch(customerKeys, customerId);
+        if (index < 0)
+            return List.of();
+
+        int[] matches = new int[customerStarts[index + 1] - customerStarts[index]];
+        for (int i = 0; i < matches.length; i++)
+            matches[i] = customerStarts[index] + i;
+        return readRows(matches);
+    }
+
+    /**
+     * The loans of all the given customers, read with one pass over the columns.
+     */
+    public List<ArchivedLoan> findByCustomers(long[] customerIds) throws IOException {
+        long[] sorted = customerIds.clone();
+        Arrays.sort(sorted);
+
+        int[] matches = new int[rows];
+        int count = 0;
+        for (int c = 0; c < sorted.length; c++) {
+            if (c > 0 && sorted[c] == sorted[c - 1])
+                continue;
+            int index = Arrays.binarySearch(customerKeys, sorted[c]);
+            if (index >= 0)
+                for (int row = customerStarts[index]; row < customerStarts[index + 1]; row++)
+                    matches[count++] = row;
+        }
+        return count == 0 ? List.of() : readRows(Arrays.copyOf(matches, count));
+    }
+
+    public List<ArchivedLoan> findByBook(long bookId) throws IOException {
+        int index = Arrays.binarySearch(bookKeys, bookId);
+        if (index < 0)
+            return List.of();
+
+        return readRows(Arrays.copyOfRange(bookRows, bookStarts[index], bookStarts[index + 1]));
+    }
+
+    public List<ArchivedLoan> readAll() throws IOException {
+        int[] all = new int[rows];
+        for (int row = 0; row < rows; row++)
+            all[row] = row;
+        return readRows(all);
+    }
+
+    /**
+     * Decodes the data columns and returns the given rows, which must be in ascending order.
+     */
+    private List<ArchivedLoan> readRows(int[] matches) throws IOException {
+        ColumnCodec.Reader[] readers = new ColumnCodec.Reader[COLUMNS];
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            for (int i = 0; i < COLUMNS; i++) {
+                ByteBuffer block = ByteBuffer.allocate(compressedLengths[i]);
+                while (block.hasRemaining())
+                    if (channel.read(block, blockOffsets[i] + block.position()) < 0)
+                        throw new IOException("Truncated segment " + path);
+                readers[i] = new ColumnCodec.Reader(ColumnCodec.decompress(block.array(), rawLengths[i]));
+            }
+        }
+
+        List<ArchivedLoan> loans = new ArrayList<>(matches.length);
+        long customer = 0;
+        long id = 0;
+        long borrowDay = 0;
+        int next = 0;
+        for (int row = 0; row < rows && next < matches.length; row++) {
+            customer += readers[0].readVarLong();
+            id += readers[1].readSignedVarLong();
+            long book = readers[2].readVarLong();
+            borrowDay += readers[3].readSignedVarLong();
+            long returnDay = borrowDay + readers[4].readSignedVarLong();
+            long returnedDay = returnDay + readers[5].readSignedVarLong();
+
+            if (row == matches[next]) {
+                loans.add(new ArchivedLoan(id, customer, book, LocalDate.ofEpochDay(borrowDay),
+                        LocalDate.ofEpochDay(returnDay), LocalDate.ofEpochDay(returnedDay)));
+                next++;
+            }
+        }
+        return loans;
+    }
+}
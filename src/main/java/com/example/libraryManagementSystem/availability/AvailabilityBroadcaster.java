@@ -0,0 +1,200 @@
+package com.example.libraryManagementSystem.availability;
+
+import com.example.libraryManagementSystem.exceptionhandling.BadRequestException;
+import com.example.libraryManagementSystem.model.Book;
+import com.example.libraryManagementSystem.outbox.DomainEvent;
+import com.example.libraryManagementSystem.outbox.EventType;
+import com.example.libraryManagementSystem.repository.BookRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans book availability changes out to the connected stream clients.
+ * <p>
+ * The single change source is the outbox table, read on every node by {@link AvailabilityFeed}:
+ * every {@code Book} event is turned into a {@link BookAvailability} and offered to the clients
+ * watching that book on this node, found through an index
+ * from book id to streams, so the cost of a change depends on its watchers, not on the number of
+ * connections. Offering only touches the client's buffer; the writes to the sockets happen on a
+ * small sender pool.
+ */
+@Slf4j
+@Component
+public class AvailabilityBroadcaster {
+
+    private final BookRepository bookRepository;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final Executor senders;
+    private final Duration streamTimeout;
+    private final int maxStreams;
+    private final int maxBooksPerStream;
+
+    private final Map<Long, Set<AvailabilityStream>> streamsByBook = new ConcurrentHashMap<>();
+    private final Set<AvailabilityStream> streams = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger openStreams = new AtomicInteger();
+
+    @Autowired
+    public AvailabilityBroadcaster(BookRepository bookRepository,
+                                   ObjectMapper objectMapper,
+                                   Clock clock,
+                                   @Value("${library.availability.sender-threads:4}") int senderThreads,
+                                   @Value("${library.availability.stream-timeout:PT30M}") Duration streamTimeout,
+                                   @Value("${library.availability.max-streams:10000}") int maxStreams,
+                                   @Value("${library.availability.max-books-per-stream:500}") int maxBooksPerStream) {
+        this(bookRepository, objectMapper, clock, Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "availability-sender");
+            thread.setDaemon(true);
+            return thread;
+        }), streamTimeout, maxStreams, maxBooksPerStream);
+    }
+
+    AvailabilityBroadcaster(BookRepository bookRepository,
+                            ObjectMapper objectMapper,
+                            Clock clock,
+                            Executor senders,
+                            Duration streamTimeout,
+                            int maxStreams,
+                            int maxBooksPerStream) {
+        this.bookRepository = bookRepository;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.senders = senders;
+        this.streamTimeout = streamTimeout;
+        this.maxStreams = maxStreams;
+        this.maxBooksPerStream = maxBooksPerStream;
+    }
+
+    /**
+     * Opens a stream for the given books. The client first receives their current availability,
+     * then every change to them.
+     */
+    public SseEmitter subscribe(Collection<Long> requestedBookIds) {
+        Set<Long> bookIds = requestedBookIds == null ? new LinkedHashSet<>() : new LinkedHashSet<>(requestedBookIds);
+        bookIds.remove(null);
+
+        if (bookIds.isEmpty())
+            throw new BadRequestException("At Least One Book Id Is Required!");
+
+        if (bookIds.size() > maxBooksPerStream)
+            throw new BadRequestException("A Stream Can Watch At Most " + maxBooksPerStream + " Books!");
+
+        if (openStreams.incrementAndGet() > maxStreams) {
+            openStreams.decrementAndGet();
+            throw new BadRequestException("Too Many Availability Streams Are Open, Try Again Later!");
+        }
+
+        SseEmitter emitter = newEmitter(streamTimeout);
+        AvailabilityStream stream = new AvailabilityStream(emitter, Set.copyOf(bookIds), senders, this::unregister);
+
+        emitter.onCompletion(stream::close);
+        emitter.onTimeout(stream::close);
+        emitter.onError(error -> stream.close());
+
+        // Register before reading the snapshot so no change falls between the two
+        register(stream);
+        try {
+            for (Book book : bookRepository.findAllById(bookIds))
+                stream.offerSnapshot(new BookAvailability(book.getId(), book.isAvailable(), false, clock.instant(), 0L));
+        } catch (RuntimeException e) {
+            stream.close();
+            throw e;
+        }
+
+        return emitter;
+    }
+
+    public void onDomainEvent(DomainEvent event) {
+        if (!EventType.BOOK_ADDED.getAggregateType().equals(event.aggregateType()))
+            return;
+
+        BookAvailability change;
+        try {
+            if (!streamsByBook.containsKey(Long.valueOf(event.aggregateId())))
+                return;
+            change = toAvailability(event);
+        } catch (JsonProcessingException | RuntimeException e) {
+            // A malformed payload must not hold back the feed, the next change will correct it
+            log.warn("Skipping outbox event {} for the availability stream", event.id(), e);
+            return;
+        }
+
+        for (AvailabilityStream stream : streamsByBook.getOrDefault(change.bookId(), Set.of()))
+            stream.offer(change);
+    }
+
+    @Scheduled(fixedDelayString = "${library.availability.heartbeat-interval:PT15S}")
+    public void sendHeartbeats() {
+        // Also how streams of clients that silently went away get noticed and closed
+        for (AvailabilityStream stream : streams)
+            stream.heartbeat();
+    }
+
+    public int getOpenStreams() {
+        return openStreams.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (AvailabilityStream stream : streams)
+            stream.close();
+        if (senders instanceof ExecutorService executor)
+            executor.shutdownNow();
+    }
+
+    SseEmitter newEmitter(Duration timeout) {
+        return new SseEmitter(timeout.toMillis());
+    }
+
+    private BookAvailability toAvailability(DomainEvent event) throws JsonProcessingException {
+        long bookId = Long.parseLong(event.aggregateId());
+
+        if (EventType.BOOK_DELETED.getEventName().equals(event.eventType()))
+            return new BookAvailability(bookId, false, true, event.occurredAt(), event.id());
+
+        JsonNode payload = objectMapper.readTree(event.payload());
+        return new BookAvailability(bookId, payload.path("available").asBoolean(), false, event.occurredAt(), event.id());
+    }
+
+    private void register(AvailabilityStream stream) {
+        streams.add(stream);
+        for (Long bookId : stream.getBookIds())
+            streamsByBook.compute(bookId, (id, watchers) -> {
+                Set<AvailabilityStream> updated = watchers == null ? ConcurrentHashMap.newKeySet() : watchers;
+                updated.add(stream);
+                return updated;
+            });
+    }
+
+    private void unregister(AvailabilityStream stream) {
+        if (!streams.remove(stream))
+            return;
+
+        openStreams.decrementAndGet();
+        for (Long bookId : stream.getBookIds())
+            streamsByBook.computeIfPresent(bookId, (id, watchers) -> {
+                watchers.remove(stream);
+                return watchers.isEmpty() ? null : watchers;
+            });
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.libraryManagementSystem.availability;
+
+import com.example.libraryManagementSystem.model.OutboxEvent;
+import com.example.libraryManagementSystem.outbox.DomainEvent;
+import com.example.libraryManagementSystem.outbox.EventType;
+import com.example.libraryManagementSystem.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads the {@code Book} events of the outbox table into this node's {@link AvailabilityBroadcaster}.
+ * Every node reads them itself, from a cursor of its own, so a stream gets the changes whichever
+ * node it is connected to; the outbox poller runs on one node at a time and would only reach the
+ * streams of that node. The cursor starts at the newest event, since new streams get the current
+ * state when they connect.
+ * <p>
+ * Ids are taken from the sequence before the commit, so an event can become visible after one
+ * with a higher id was read. The cursor only moves past events written more than
+ * {@code library.availability.commit-lag} ago; the newer ones are read again on the next poll, and
+ * those already delivered are skipped.
+ */
+@Slf4j
+@Component
+public class AvailabilityFeed {
+
+    private final OutboxEventRepository repository;
+    private final AvailabilityBroadcaster broadcaster;
+    private final Clock clock;
+    private final int batchSize;
+    private final Duration commitLag;
+
+    // Only touched by the scheduled poll
+    private final Set<Long> delivered = new HashSet<>();
+    private Long cursor;
+
+    public AvailabilityFeed(OutboxEventRepository repository,
+                            AvailabilityBroadcaster broadcaster,
+                            Clock clock,
+                            @Value("${library.availability.batch-size:500}") int batchSize,
+                            @Value("${library.availability.commit-lag:PT30S}") Duration commitLag) {
+        this.repository = repository;
+        this.broadcaster = broadcaster;
+        this.clock = clock;
+        this.batchSize = batchSize;
+        this.commitLag = commitLag;
+    }
+
+    @Scheduled(fixedDelayString = "${library.availability.poll-interval:PT1S}")
+    public void poll() {
+        try {
+            if (cursor == null) {
+                Long newest = repository.findMaxId();
+                cursor = newest == null ? 0L : newest;
+                return;
+            }
+            readAfterCursor();
+        } catch (DataAccessException e) {
+            // The changes are still in the table for the next poll
+            log.debug("Skipped an availability poll: {}", e.getMessage());
+        }
+    }
+
+    private void readAfterCursor() {
+        Instant settledBefore = clock.instant().minus(commitLag);
+        boolean settled = true;
+        long afterId = cursor;
+        List<OutboxEvent> batch;
+
+        do {
+            batch = repository.findAfter(afterId, EventType.BOOK_ADDED.getAggregateType(), PageRequest.of(0, batchSize));
+            for (OutboxEvent event : batch) {
+                if (delivered.add(event.getId()))
+                    broadcaster.onDomainEvent(DomainEvent.of(event));
+
+                settled &= event.getCreatedAt().isBefore(settledBefore);
+                if (settled)
+                    cursor = event.getId();
+                afterId = event.getId();
+            }
+        } while (batch.size() == batchSize);
+
+        long settledCursor = cursor;
+        delivered.removeIf(id -> id <= settledCursor);
+    }
+}
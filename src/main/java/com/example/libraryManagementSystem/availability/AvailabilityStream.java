@@ -0,0 +1,144 @@
+package com.example.libraryManagementSystem.availability;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * One connected client. Changes are buffered per book and a newer change replaces an unsent older
+ * one, so the buffer never holds more than one entry per watched book however slow the client is;
+ * a slow client just skips the intermediate states. Sending happens on the broadcaster's executor,
+ * at most one drain per stream at a time, which keeps the events of a stream in order.
+ */
+@Slf4j
+class AvailabilityStream {
+
+    static final String EVENT_NAME = "availability";
+
+    private final SseEmitter emitter;
+    private final Set<Long> bookIds;
+    private final Executor executor;
+    private final Consumer<AvailabilityStream> onClose;
+
+    private final Map<Long, BookAvailability> pending = new LinkedHashMap<>();
+    private final Set<Long> changedSinceConnect = new HashSet<>();
+    private boolean heartbeatDue;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    AvailabilityStream(SseEmitter emitter, Set<Long> bookIds, Executor executor, Consumer<AvailabilityStream> onClose) {
+        this.emitter = emitter;
+        this.bookIds = bookIds;
+        this.executor = executor;
+        this.onClose = onClose;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    Set<Long> getBookIds() {
+        return bookIds;
+    }
+
+    void offer(BookAvailability change) {
+        synchronized (this) {
+            changedSinceConnect.add(change.bookId());
+            pending.put(change.bookId(), change);
+        }
+        scheduleDrain();
+    }
+
+    /**
+     * Queues the state read when the client connected, unless a change for that book already
+     * arrived, since the snapshot may be older than it.
+     */
+    void offerSnapshot(BookAvailability current) {
+        synchronized (this) {
+            if (changedSinceConnect.contains(current.bookId()))
+                return;
+            pending.putIfAbsent(current.bookId(), current);
+        }
+        scheduleDrain();
+    }
+
+    void heartbeat() {
+        synchronized (this) {
+            heartbeatDue = true;
+        }
+        scheduleDrain();
+    }
+
+    synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    void close() {
+        if (closed.compareAndSet(false, true)) {
+            onClose.accept(this);
+            emitter.complete();
+        }
+    }
+
+    private void scheduleDrain() {
+        if (!closed.get() && draining.compareAndSet(false, true))
+            executor.execute(this::drain);
+    }
+
+    private void drain() {
+        try {
+            while (!closed.get()) {
+                List<BookAvailability> batch;
+                boolean heartbeat;
+                synchronized (this) {
+                    batch = new ArrayList<>(pending.values());
+                    pending.clear();
+                    heartbeat = heartbeatDue && batch.isEmpty();
+                    heartbeatDue = false;
+                }
+
+                if (batch.isEmpty() && !heartbeat)
+                    break;
+
+                if (heartbeat)
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+
+                for (BookAvailability change : batch)
+                    emitter.send(toEvent(change));
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client went away or the emitter already completed
+            log.debug("Closing availability stream: {}", e.toString());
+            close();
+        } finally {
+            draining.set(false);
+        }
+
+        // A change may have been queued after the last check and before the flag was cleared
+        synchronized (this) {
+            if (pending.isEmpty() && !heartbeatDue)
+                return;
+        }
+        scheduleDrain();
+    }
+
+    private static SseEmitter.SseEventBuilder toEvent(BookAvailability change) {
+        SseEmitter.SseEventBuilder event = SseEmitter.event()
+                .name(EVENT_NAME)
+                .data(change, MediaType.APPLICATION_JSON);
+        if (change.eventId() > 0)
+            event.id(String.valueOf(change.eventId()));
+        return event;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.libraryManagementSystem.availability;
+
+import java.time.Instant;
+
+/**
+ * The availability of one book as pushed to stream clients. {@code eventId} is the outbox event the
+ * change came from, or {@code 0} for the snapshot sent when a client connects.
+ */
+public record BookAvailability(
+        long bookId,
+        boolean available,
+        boolean deleted,
+        Instant changedAt,
+        long eventId
+) {
+}
@@ -0,0 +1,223 @@
+package com.example.libraryManagementSystem.bookindex;
+
+import com.example.libraryManagementSystem.dto.BookFilterKeys;
+import com.example.libraryManagementSystem.model.Author;
+import com.example.libraryManagementSystem.model.Book;
+import com.example.libraryManagementSystem.repository.BookRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-process secondary index of the books by genre, by author nationality and by availability,
+ * one {@link CompressedBitmap} of book ids per value. Filters intersect the bitmaps and page the
+ * ids without touching the database.
+ * <p>
+ * Book and author writes change the index once their transaction commits. The index is loaded at
+ * startup and reloaded every {@code library.book-index.reload-interval}, which is also how writes
+ * made on other nodes reach it; changes committed while a reload runs are replayed onto the
+ * reloaded index.
+ */
+@Slf4j
+@Component
+public class BookBitmapIndex {
+
+    private final BookRepository bookRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private Bitmaps bitmaps = new Bitmaps();
+    private List<Consumer<Bitmaps>> changesDuringReload;
+
+    public BookBitmapIndex(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${library.book-index.reload-interval:PT10M}",
+            initialDelayString = "${library.book-index.reload-interval:PT10M}")
+    public void scheduledReload() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("Reloading the book bitmap index failed, keeping the current one", e);
+        }
+    }
+
+    /**
+     * Rebuilds the index from the book table.
+     */
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            if (changesDuringReload != null)
+                return;
+            changesDuringReload = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Bitmaps reloaded = new Bitmaps();
+        try {
+            for (BookFilterKeys book : bookRepository.findAllFilterKeys())
+                reloaded.put(book.getId(), book.getGenre(), book.getNationality(), Boolean.TRUE.equals(book.getAvailable()));
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            changesDuringReload = null;
+            lock.writeLock().unlock();
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            changesDuringReload.forEach(change -> change.accept(reloaded));
+            changesDuringReload = null;
+            bitmaps = reloaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Loaded {} books into the bitmap index", reloaded.all.cardinality());
+    }
+
+    public void bookSaved(Book book) {
+        long id = book.getId();
+        String genre = book.getGenre();
+        String nationality = book.getAuthor() == null ? null : book.getAuthor().getNationality();
+        boolean available = book.isAvailable();
+        afterCommit(bitmaps -> bitmaps.put(id, genre, nationality, available));
+    }
+
+    public void bookDeleted(long id) {
+        afterCommit(bitmaps -> bitmaps.remove(id));
+    }
+
+    public void authorSaved(Author author) {
+        List<Long> bookIds = bookRepository.findIdsByAuthorId(author.getId());
+        if (bookIds.isEmpty())
+            return;
+
+        String nationality = author.getNationality();
+        afterCommit(bitmaps -> {
+            for (long bookId : bookIds)
+                bitmaps.setNationality(bookId, nationality);
+        });
+    }
+
+    /**
+     * Ids of the books matching every given filter, in id order; a null filter matches all books.
+     */
+    public BookIdPage filter(String genre, String nationality, Boolean available, long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            List<CompressedBitmap> matching = new ArrayList<>(3);
+            matching.add(genre == null ? bitmaps.all : bitmaps.byGenre.getOrDefault(genre, Bitmaps.EMPTY));
+            if (nationality != null)
+                matching.add(bitmaps.byNationality.getOrDefault(nationality, Bitmaps.EMPTY));
+            if (available != null)
+                matching.add(available ? bitmaps.available : bitmaps.unavailable);
+
+            CompressedBitmap result = matching.size() == 1 ? matching.get(0) : CompressedBitmap.and(matching);
+            int[] ids = result.page(offset, limit);
+
+            List<Long> bookIds = new ArrayList<>(ids.length);
+            for (int id : ids)
+                bookIds.add((long) id);
+            return new BookIdPage(bookIds, result.cardinality());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void afterCommit(Consumer<Bitmaps> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    private void apply(Consumer<Bitmaps> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(bitmaps);
+            if (changesDuringReload != null)
+                changesDuringReload.add(change);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static final class Bitmaps {
+
+        private static final CompressedBitmap EMPTY = new CompressedBitmap();
+
+        private final Map<String, CompressedBitmap> byGenre = new HashMap<>();
+        private final Map<String, CompressedBitmap> byNationality = new HashMap<>();
+        private final CompressedBitmap available = new CompressedBitmap();
+        private final CompressedBitmap unavailable = new CompressedBitmap();
+        private final CompressedBitmap all = new CompressedBitmap();
+
+        void put(long bookId, String genre, String nationality, boolean isAvailable) {
+            remove(bookId);
+            int id = toInt(bookId);
+            all.add(id);
+            (isAvailable ? available : unavailable).add(id);
+            if (genre != null)
+                byGenre.computeIfAbsent(genre, key -> new CompressedBitmap()).add(id);
+            if (nationality != null)
+                byNationality.computeIfAbsent(nationality, key -> new CompressedBitmap()).add(id);
+        }
+
+        void setNationality(long bookId, String nationality) {
+            int id = toInt(bookId);
+            if (!all.contains(id))
+                return;
+            removeFrom(byNationality, id);
+            if (nationality != null)
+                byNationality.computeIfAbsent(nationality, key -> new CompressedBitmap()).add(id);
+        }
+
+        void remove(long bookId) {
+            int id = toInt(bookId);
+            if (!all.remove(id))
+                return;
+            available.remove(id);
+            unavailable.remove(id);
+            removeFrom(byGenre, id);
+            removeFrom(byNationality, id);
+        }
+
+        // There are only a handful of genres and nationalities, so trying each bitmap is cheap
+        private static void removeFrom(Map<String, CompressedBitmap> bitmaps, int id) {
+            bitmaps.values().removeIf(bitmap -> bitmap.remove(id) && bitmap.isEmpty());
+        }
+
+        private static int toInt(long bookId) {
+            if (bookId < 0 || bookId > Integer.MAX_VALUE)
+                throw new IllegalArgumentException("Book id " + bookId + " is out of the bitmap index's range");
+            return (int) bookId;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.libraryManagementSystem.bookindex;
+
+import java.util.List;
+
+/**
+ * One page of the ids matching a filter, and how many ids match in total.
+ */
+public record BookIdPage(List<Long> bookIds, long totalMatches) {
+}
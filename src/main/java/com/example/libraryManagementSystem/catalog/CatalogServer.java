@@ -0,0 +1,54 @@
+package com.example.libraryManagementSystem.catalog;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * A Netty server for the reactive catalog API, next to the application's Tomcat. Its event loop
+ * threads only run while there is something to read or write, so a client reading its response
+ * slowly holds a connection but no thread, and the database is only read as fast as the client
+ * takes the results.
+ */
+@Slf4j
+public class CatalogServer {
+
+    private final HttpHandler httpHandler;
+    private final int port;
+    private final int compressionMinSize;
+    private DisposableServer server;
+
+    /**
+     * Responses of at least {@code compressionMinSize} bytes are gzipped for clients accepting it,
+     * none when it is negative.
+     */
+    public CatalogServer(HttpHandler httpHandler, int port, int compressionMinSize) {
+        this.httpHandler = httpHandler;
+        this.port = port;
+        this.compressionMinSize = compressionMinSize;
+    }
+
+    public void start() {
+        HttpServer httpServer = HttpServer.create().port(port);
+        if (compressionMinSize >= 0)
+            httpServer = httpServer.compress(compressionMinSize);
+        server = httpServer
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        log.info("Reactive catalog listening on port {}", server.port());
+    }
+
+    public void stop() {
+        if (server != null)
+            server.disposeNow();
+    }
+
+    /**
+     * The port it listens on, also when it was started on port 0.
+     */
+    public int getPort() {
+        return server.port();
+    }
+}
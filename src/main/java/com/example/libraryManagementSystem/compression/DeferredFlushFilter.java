@@ -0,0 +1,107 @@
+package com.example.libraryManagementSystem.compression;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Holds back the flushes Spring MVC makes after writing a body of one of the compressed types, so
+ * a response that fits in Tomcat's output buffer is sent once the request completes, with its
+ * {@code Content-Length}. Tomcat only applies {@code server.compression.min-response-size} to
+ * responses whose length it knows; flushed ones go out chunked and are gzipped however small.
+ * Responses of other types, such as the availability event streams, are flushed as before.
+ */
+public class DeferredFlushFilter extends OncePerRequestFilter {
+
+    private final Set<String> mimeTypes;
+
+    public DeferredFlushFilter(Set<String> mimeTypes) {
+        this.mimeTypes = mimeTypes;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        filterChain.doFilter(request, new DeferredFlushResponse(response));
+    }
+
+    private class DeferredFlushResponse extends HttpServletResponseWrapper {
+
+        private ServletOutputStream outputStream;
+
+        DeferredFlushResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null)
+                outputStream = new DeferredFlushOutputStream(super.getOutputStream());
+            return outputStream;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (!deferred())
+                super.flushBuffer();
+        }
+
+        private boolean deferred() {
+            String contentType = getContentType();
+            if (contentType == null)
+                return false;
+            int parameters = contentType.indexOf(';');
+            String mimeType = parameters < 0 ? contentType : contentType.substring(0, parameters);
+            return mimeTypes.contains(mimeType.trim().toLowerCase(Locale.ROOT));
+        }
+
+        private class DeferredFlushOutputStream extends ServletOutputStream {
+
+            private final ServletOutputStream delegate;
+
+            DeferredFlushOutputStream(ServletOutputStream delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                delegate.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                delegate.write(b, off, len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                if (!deferred())
+                    delegate.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                delegate.close();
+            }
+
+            @Override
+            public boolean isReady() {
+                return delegate.isReady();
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                delegate.setWriteListener(writeListener);
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.libraryManagementSystem.configuration;
+
+import com.example.libraryManagementSystem.compression.DeferredFlushFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(value = "server.compression.enabled", havingValue = "true")
+public class CompressionConfig {
+
+    @Bean
+    public FilterRegistrationBean<DeferredFlushFilter> deferredFlushFilter(ServerProperties serverProperties) {
+        Set<String> mimeTypes = Arrays.stream(serverProperties.getCompression().getMimeTypes())
+                .map(mimeType -> mimeType.trim().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        FilterRegistrationBean<DeferredFlushFilter> registration =
+                new FilterRegistrationBean<>(new DeferredFlushFilter(mimeTypes));
+        registration.addUrlPatterns("/api/v1/library/*");
+        return registration;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.libraryManagementSystem.configuration;
+
+import com.example.libraryManagementSystem.dblimit.ConcurrencyLimitingDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+// Platform threads are already capped by Tomcat's pool; only virtual threads can outnumber the connections
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(value = "library.db-limiter.enabled", havingValue = "true", matchIfMissing = true)
+public class DatabaseLimiterConfig {
+
+    // Static, so the data source is wrapped however early it is created
+    @Bean
+    public static BeanPostProcessor concurrencyLimitingDataSourcePostProcessor(
+            // As many as the pool has connections, so callers wait here and not in the pool
+            @Value("${library.db-limiter.max-concurrent:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrent,
+            @Value("${library.db-limiter.max-waiting:1000}") int maxWaiting,
+            @Value("${library.db-limiter.acquire-timeout:PT3S}") Duration acquireTimeout) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConcurrencyLimitingDataSource))
+                    return new ConcurrencyLimitingDataSource(dataSource, maxConcurrent, maxWaiting, acquireTimeout);
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder databaseLimiterMetrics(DataSource dataSource) throws SQLException {
+        // Possibly inside the SQL profiling data source
+        ConcurrencyLimitingDataSource limiter = dataSource.unwrap(ConcurrencyLimitingDataSource.class);
+        return registry -> {
+            Gauge.builder("library.db.limiter.active", limiter, ConcurrencyLimitingDataSource::getActive)
+                    .description("Database connections open through the limiter")
+                    .register(registry);
+            Gauge.builder("library.db.limiter.waiting", limiter, ConcurrencyLimitingDataSource::getWaiting)
+                    .description("Callers waiting for a database connection")
+                    .register(registry);
+            FunctionCounter.builder("library.db.limiter.rejected", limiter, ConcurrencyLimitingDataSource::getRejected)
+                    .description("Calls answered without a database connection because it was busy")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.libraryManagementSystem.configuration;
+
+import com.example.libraryManagementSystem.idempotency.DatabaseIdempotencyStore;
+import com.example.libraryManagementSystem.idempotency.IdempotencyFilter;
+import com.example.libraryManagementSystem.idempotency.IdempotencyStore;
+import com.example.libraryManagementSystem.idempotency.IdempotencyStorePurger;
+import com.example.libraryManagementSystem.idempotency.InMemoryIdempotencyStore;
+import com.example.libraryManagementSystem.repository.IdempotencyRecordRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(value = "library.idempotency.enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyConfig {
+
+    @Bean
+    @ConditionalOnProperty(value = "library.idempotency.store", havingValue = "memory", matchIfMissing = true)
+    public IdempotencyStore inMemoryIdempotencyStore(
+            @Value("${library.idempotency.shards:16}") int shards,
+            @Value("${library.idempotency.max-entries-per-shard:4096}") int maxEntriesPerShard,
+            Clock clock) {
+        return new InMemoryIdempotencyStore(shards, maxEntriesPerShard, clock);
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "library.idempotency.store", havingValue = "database")
+    public IdempotencyStore databaseIdempotencyStore(IdempotencyRecordRepository repository, Clock clock) {
+        return new DatabaseIdempotencyStore(repository, clock);
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+            IdempotencyStore store,
+            @Value("${library.idempotency.ttl:PT24H}") Duration ttl,
+            @Value("${library.idempotency.max-body-size:1048576}") int maxBodySize,
+            @Value("${library.idempotency.max-request-size:1048576}") int maxRequestSize,
+            Clock clock) {
+        FilterRegistrationBean<IdempotencyFilter> registration =
+                new FilterRegistrationBean<>(new IdempotencyFilter(store, ttl, maxBodySize, maxRequestSize, clock));
+        registration.addUrlPatterns("/api/v1/library/*");
+        return registration;
+    }
+
+    @Bean
+    public IdempotencyStorePurger idempotencyStorePurger(IdempotencyStore store) {
+        return new IdempotencyStorePurger(store);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.libraryManagementSystem.configuration;
+
+import com.example.libraryManagementSystem.jfr.ContinuousRecording;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(value = "library.jfr.continuous.enabled", havingValue = "true", matchIfMissing = true)
+public class JfrConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ContinuousRecording continuousRecording(
+            @Value("${library.jfr.continuous.max-age:PT6H}") Duration maxAge,
+            @Value("${library.jfr.continuous.max-size:268435456}") long maxSize,
+            @Value("${library.jfr.continuous.dump-file:data/jfr/continuous.jfr}") Path dumpFile) {
+        return new ContinuousRecording(maxAge, maxSize, dumpFile);
+    }
+}
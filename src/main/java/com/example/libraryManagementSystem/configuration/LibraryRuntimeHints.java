@@ -0,0 +1,83 @@
+package com.example.libraryManagementSystem.configuration;
+
+import com.example.libraryManagementSystem.availability.BookAvailability;
+import com.example.libraryManagementSystem.dto.AlsoBorrowedDTO;
+import com.example.libraryManagementSystem.dto.AuthorDTO;
+import com.example.libraryManagementSystem.dto.BookDTO;
+import com.example.libraryManagementSystem.dto.BorrowingRecordDTO;
+import com.example.libraryManagementSystem.dto.CustomerDTO;
+import com.example.libraryManagementSystem.dto.CustomerSummaryDTO;
+import com.example.libraryManagementSystem.dto.FineBalanceDTO;
+import com.example.libraryManagementSystem.dto.GenreLoanDurationDTO;
+import com.example.libraryManagementSystem.dto.LoanHistoryDTO;
+import com.example.libraryManagementSystem.dto.RecordingDTO;
+import com.example.libraryManagementSystem.dto.SegmentLateReturnsDTO;
+import com.example.libraryManagementSystem.dto.SpanDTO;
+import com.example.libraryManagementSystem.dto.TraceSummaryDTO;
+import com.example.libraryManagementSystem.dto.WeekdayLoansDTO;
+import com.example.libraryManagementSystem.model.Author;
+import com.example.libraryManagementSystem.model.Book;
+import com.example.libraryManagementSystem.model.BorrowingRecord;
+import com.example.libraryManagementSystem.model.Customer;
+import com.example.libraryManagementSystem.outbox.DomainEvent;
+import com.example.libraryManagementSystem.outbox.LoanEventPayload;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.stream.Stream;
+
+/**
+ * What a native image of the application needs beyond the hints Spring AOT derives from the bean
+ * definitions, the repositories and the controller signatures, and those Spring Security and
+ * Hibernate ship themselves.
+ * <p>
+ * Lombok leaves nothing to hint at: its getters, setters, builders and constructors are ordinary
+ * methods in the compiled classes, covered by the reflection registered for their types. The
+ * {@code @ManyToOne} associations are eager, so Hibernate never needs the lazy-loading proxy
+ * classes it cannot generate in a native image.
+ */
+public class LibraryRuntimeHints implements RuntimeHintsRegistrar {
+
+    // Mapped by Hibernate through their fields, and also written as JSON by the outbox and the reactive catalog
+    private static final Class<?>[] ENTITIES = {Author.class, Book.class, Customer.class, BorrowingRecord.class};
+
+    // Read and written by Jackson. The outbox, the availability stream and the catalog write theirs
+    // outside any controller signature, where AOT would not find them
+    private static final Class<?>[] JSON_TYPES = {
+            AuthorDTO.class, BookDTO.class, CustomerDTO.class, BorrowingRecordDTO.class,
+            AlsoBorrowedDTO.class, CustomerSummaryDTO.class, FineBalanceDTO.class, LoanHistoryDTO.class,
+            GenreLoanDurationDTO.class, SegmentLateReturnsDTO.class, WeekdayLoansDTO.class,
+            RecordingDTO.class, SpanDTO.class, TraceSummaryDTO.class,
+            BookAvailability.class, DomainEvent.class, LoanEventPayload.class};
+
+    // The SQL profile and the connection limiter hand out JDK proxies over these
+    private static final Class<?>[] JDBC_PROXIES = {
+            Connection.class, Statement.class, PreparedStatement.class, CallableStatement.class, ResultSet.class};
+
+    private final BindingReflectionHintsRegistrar bindingHints = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> entity : ENTITIES)
+            hints.reflection().registerType(entity,
+                    MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS);
+
+        bindingHints.registerReflectionHints(hints.reflection(),
+                Stream.concat(Stream.of(ENTITIES), Stream.of(JSON_TYPES)).toArray(Class<?>[]::new));
+
+        for (Class<?> jdbcType : JDBC_PROXIES)
+            hints.proxies().registerJdkProxy(jdbcType);
+
+        // Spring Boot only includes the migrations in the default db/migration location
+        hints.resources().registerPattern("db/migration/*/*.sql");
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.libraryManagementSystem.configuration;
+
+import com.example.libraryManagementSystem.catalog.CatalogServer;
+import com.example.libraryManagementSystem.controller.BookCatalogHandler;
+import com.example.libraryManagementSystem.exceptionhandling.CatalogExceptionHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(value = "library.catalog.enabled", havingValue = "true", matchIfMissing = true)
+public class ReactiveCatalogConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public CatalogServer catalogServer(BookCatalogHandler bookCatalogHandler,
+                                       ObjectMapper objectMapper,
+                                       ServerProperties serverProperties,
+                                       @Value("${library.catalog.port:8001}") int port) {
+        // The MVC API's object mapper, so both write books the same way
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .exceptionHandler(new CatalogExceptionHandler())
+                .build();
+        // Compressed like the responses of the application's Tomcat
+        Compression compression = serverProperties.getCompression();
+        int compressionMinSize = compression.getEnabled() ? (int) compression.getMinResponseSize().toBytes() : -1;
+        return new CatalogServer(RouterFunctions.toHttpHandler(bookCatalogHandler.routes(), strategies), port, compressionMinSize);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.libraryManagementSystem.configuration;
+
+import com.example.libraryManagementSystem.sqlprofile.ProfilingDataSource;
+import com.example.libraryManagementSystem.sqlprofile.SqlProfileFilter;
+import com.example.libraryManagementSystem.sqlprofile.SqlProfileLogger;
+import io.micrometer.tracing.Tracer;
+import io.opentelemetry.api.trace.Span;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.function.SingletonSupplier;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+@Configuration
+@ConditionalOnProperty(value = "library.sql-profile.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlProfileConfig {
+
+    // Static, so the data source is wrapped however early it is created
+    @Bean
+    public static BeanPostProcessor profilingDataSourcePostProcessor(ObjectProvider<Tracer> tracers) {
+        // Only looked up within a traced request, long after startup
+        Supplier<Tracer> tracer = SingletonSupplier.of(tracers::getObject);
+        Supplier<Tracer> currentTracer = () -> Span.current().getSpanContext().isValid() ? tracer.get() : Tracer.NOOP;
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProfilingDataSource))
+                    return new ProfilingDataSource(dataSource, currentTracer);
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public SqlProfileLogger sqlProfileLogger(@Value("${library.sql-profile.log-queue-size:1024}") int queueSize) {
+        return new SqlProfileLogger(queueSize);
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlProfileFilter> sqlProfileFilter(
+            SqlProfileLogger profileLogger,
+            @Value("${library.sql-profile.slow-request-threshold:PT0.5S}") Duration slowRequestThreshold,
+            @Value("${library.sql-profile.sample-rate:0.01}") double sampleRate,
+            @Value("${library.sql-profile.slowest-statements:3}") int slowestStatements,
+            @Value("${library.sql-profile.expose-header:false}") boolean exposeHeader) {
+        FilterRegistrationBean<SqlProfileFilter> registration = new FilterRegistrationBean<>(
+                new SqlProfileFilter(profileLogger, slowRequestThreshold, sampleRate, slowestStatements, exposeHeader));
+        registration.addUrlPatterns("/api/v1/library/*");
+        return registration;
+    }
+}
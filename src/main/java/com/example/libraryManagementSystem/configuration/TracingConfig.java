@@ -0,0 +1,25 @@
+package com.example.libraryManagementSystem.configuration;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.ObservationFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+@Configuration
+public class TracingConfig {
+
+    // Names the controller method on the request span; high cardinality, so it stays out of the metrics
+    @Bean
+    public ObservationFilter handlerObservationFilter() {
+        return context -> {
+            if (context instanceof ServerRequestObservationContext request
+                    && request.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler)
+                context.addHighCardinalityKeyValue(KeyValue.of("handler",
+                        handler.getBeanType().getSimpleName() + "." + handler.getMethod().getName()));
+            return context;
+        };
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.libraryManagementSystem.controller;
+
+import com.example.libraryManagementSystem.dto.GenreLoanDurationDTO;
+import com.example.libraryManagementSystem.dto.SegmentLateReturnsDTO;
+import com.example.libraryManagementSystem.dto.WeekdayLoansDTO;
+import com.example.libraryManagementSystem.service.AnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Lazy
+@RestController
+@RequestMapping("/api/v1/library/analytics")
+@RequiredArgsConstructor
+public class AnalyticsRestController {
+
+    private final AnalyticsService analyticsService;
+
+
+    @Operation(summary = "Get loans per weekday", description = "Count the loans borrowed on each day of the week within a borrow date range, the whole history by default", tags = {"Analytics"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Loan counts retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Bad request"),
+            @ApiResponse(responseCode = "404", description = "No loans in the range")
+    })
+    @GetMapping("/loans/weekdays")
+    public ResponseEntity<List<WeekdayLoansDTO>> getLoansPerWeekday(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return analyticsService.getLoansPerWeekday(from, to);
+    }
+
+
+    @Operation(summary = "Get average loan duration per genre", description = "Average days between borrowing and returning, per genre, over the returned loans borrowed within a range", tags = {"Analytics"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Loan durations retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Bad request"),
+            @ApiResponse(responseCode = "404", description = "No returned loans in the range")
+    })
+    @GetMapping("/genres/loan-duration")
+    public ResponseEntity<List<GenreLoanDurationDTO>> getAverageLoanDaysPerGenre(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return analyticsService.getAverageLoanDaysPerGenre(from, to);
+    }
+
+
+    @Operation(summary = "Get late-return rate per customer segment", description = "Share of due loans returned late, or still open, per segment of customers by number of loans", tags = {"Analytics"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Late-return rates retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Bad request"),
+            @ApiResponse(responseCode = "404", description = "No due loans in the range")
+    })
+    @GetMapping("/segments/late-returns")
+    public ResponseEntity<List<SegmentLateReturnsDTO>> getLateReturnRatePerSegment(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return analyticsService.getLateReturnRatePerSegment(from, to);
+    }
+
+
+    @Operation(summary = "Rebuild analytics", description = "Reload the in-memory analytics columns from all current and archived loans", tags = {"Analytics"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rebuild finished")
+    })
+    @PostMapping("/rebuild")
+    public ResponseEntity<String> rebuild() {
+        return analyticsService.rebuild();
+    }
+}
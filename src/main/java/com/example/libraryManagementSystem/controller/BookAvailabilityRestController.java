@@ -0,0 +1,36 @@
+package com.example.libraryManagementSystem.controller;
+
+import com.example.libraryManagementSystem.availability.AvailabilityBroadcaster;
+import com.example.libraryManagementSystem.availability.BookAvailability;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/library/books/availability")
+@RequiredArgsConstructor
+public class BookAvailabilityRestController {
+
+    private final AvailabilityBroadcaster availabilityBroadcaster;
+
+
+    @Operation(summary = "Stream book availability", description = "Open a Server-Sent Events stream with the current availability of the given books followed by every change to it", tags = {"Books"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Availability stream opened",
+                    content = {@Content(mediaType = "text/event-stream",
+                            schema = @Schema(implementation = BookAvailability.class))}),
+            @ApiResponse(responseCode = "400", description = "No book ids, too many book ids or too many open streams")
+    })
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAvailability(@RequestParam(required = false) List<Long> bookIds) {
+        return availabilityBroadcaster.subscribe(bookIds);
+    }
+}
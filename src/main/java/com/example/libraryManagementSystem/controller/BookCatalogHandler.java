@@ -0,0 +1,78 @@
+package com.example.libraryManagementSystem.controller;
+
+import com.example.libraryManagementSystem.model.Book;
+import com.example.libraryManagementSystem.service.BookCatalogService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The reactive catalog API: the book reads of {@link BookRestController} on the same paths, served
+ * by {@link com.example.libraryManagementSystem.catalog.CatalogServer} on its own port. Results
+ * are a JSON array by default, or one book per line with {@code Accept: application/x-ndjson}.
+ * Either way they are written as they are read from the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookCatalogHandler {
+
+    private final BookCatalogService bookCatalogService;
+
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .GET("/api/v1/library/books", this::getBooks)
+                .GET("/api/v1/library/books/search", this::searchBooks)
+                .GET("/api/v1/library/books/{id}", this::getBookById)
+                .build();
+    }
+
+    public Mono<ServerResponse> getBooks(ServerRequest request) {
+        return books(request, bookCatalogService.getBooks(
+                intParam(request, "pageNumber", 0),
+                intParam(request, "pageSize", 5),
+                request.queryParam("field").orElse("id")));
+    }
+
+    public Mono<ServerResponse> searchBooks(ServerRequest request) {
+        return books(request, bookCatalogService.searchBooks(
+                request.queryParam("title").orElse(null),
+                request.queryParam("isbn").orElse(null),
+                request.queryParam("authorName").orElse(null)));
+    }
+
+    public Mono<ServerResponse> getBookById(ServerRequest request) {
+        long id;
+        try {
+            id = Long.parseLong(request.pathVariable("id"));
+        } catch (NumberFormatException e) {
+            return Mono.error(new ServerWebInputException("Invalid book id: " + request.pathVariable("id")));
+        }
+        return bookCatalogService.getBookById(id)
+                .flatMap(book -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(book));
+    }
+
+    private static Mono<ServerResponse> books(ServerRequest request, Flux<Book> books) {
+        boolean ndjson = request.headers().accept().stream().anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype);
+        return ServerResponse.ok()
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(books, Book.class);
+    }
+
+    private static int intParam(ServerRequest request, String name, int defaultValue) {
+        String value = request.queryParam(name).orElse(null);
+        if (value == null)
+            return defaultValue;
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new ServerWebInputException("Invalid " + name + ": " + value);
+        }
+    }
+}
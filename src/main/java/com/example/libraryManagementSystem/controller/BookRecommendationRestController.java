@@ -0,0 +1,38 @@
+package com.example.libraryManagementSystem.controller;
+
+import com.example.libraryManagementSystem.dto.AlsoBorrowedDTO;
+import com.example.libraryManagementSystem.service.RecommendationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/library/books")
+@RequiredArgsConstructor
+public class BookRecommendationRestController {
+
+    private final RecommendationService recommendationService;
+
+
+    @Operation(summary = "Get books borrowed together", description = "Retrieve the books most often borrowed by the customers who borrowed this book", tags = {"Books"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Books retrieved successfully",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = AlsoBorrowedDTO.class))}),
+            @ApiResponse(responseCode = "400", description = "Bad request"),
+            @ApiResponse(responseCode = "404", description = "Book not found or no books borrowed together with it")
+    })
+    @GetMapping("/{id}/also-borrowed")
+    public ResponseEntity<List<AlsoBorrowedDTO>> getAlsoBorrowed(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "10", required = false) int limit) {
+        return recommendationService.getAlsoBorrowed(id, limit);
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.libraryManagementSystem.controller;
 
 import com.example.libraryManagementSystem.dto.BookDTO;
+import com.example.libraryManagementSystem.httpcache.CatalogResponses;
 import com.example.libraryManagementSystem.model.Book;
 import com.example.libraryManagementSystem.service.BookService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -12,6 +13,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
 
 import java.util.List;
 
@@ -21,6 +23,7 @@ import java.util.List;
 public class BookRestController {
 
     private final BookService bookService;
+    private final CatalogResponses catalogResponses;
 
 
     @Operation(summary = "Get all books", description = "Retrieve all books paginated and sorted by a specified field", tags = {"Books"})
@@ -28,14 +31,16 @@ public class BookRestController {
             @ApiResponse(responseCode = "200", description = "List of books retrieved successfully",
                     content = {@Content(mediaType = "application/json",
                             schema = @Schema(implementation = Book.class))}),
+            @ApiResponse(responseCode = "304", description = "Not modified"),
             @ApiResponse(responseCode = "404", description = "No Books found")
     })
     @GetMapping
     public ResponseEntity<List<Book>> getBooks(
             @RequestParam(defaultValue = "0", required = false) int pageNumber,
             @RequestParam(defaultValue = "5", required = false) int pageSize,
-            @RequestParam(defaultValue = "id", required = false) String field) {
-        return bookService.getBooks(pageNumber, pageSize, field);
+            @RequestParam(defaultValue = "id", required = false) String field,
+            NativeWebRequest request) {
+        return catalogResponses.withFormat(bookService.getBooks(pageNumber, pageSize, field), request);
     }
 
 
@@ -44,6 +49,7 @@ public class BookRestController {
             @ApiResponse(responseCode = "200", description = "Books found",
                     content = {@Content(mediaType = "application/json",
                             schema = @Schema(implementation = Book.class))}),
+            @ApiResponse(responseCode = "304", description = "Not modified"),
             @ApiResponse(responseCode = "400", description = "Bad request"),
             @ApiResponse(responseCode = "404", description = "Books not found")
     })
@@ -51,8 +57,28 @@ public class BookRestController {
     public ResponseEntity<List<Book>> searchBooks(
             @RequestParam(required = false) String title,
             @RequestParam(required = false) String isbn,
-            @RequestParam(required = false) String authorName) {
-        return bookService.searchBooks(title, isbn, authorName);
+            @RequestParam(required = false) String authorName,
+            NativeWebRequest request) {
+        return catalogResponses.withFormat(bookService.searchBooks(title, isbn, authorName), request);
+    }
+
+
+    @Operation(summary = "Filter books", description = "Page the books matching a genre, an author nationality and an availability, in id order", tags = {"Books"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Books found",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Book.class))}),
+            @ApiResponse(responseCode = "400", description = "Bad request"),
+            @ApiResponse(responseCode = "404", description = "Books not found")
+    })
+    @GetMapping("/filter")
+    public ResponseEntity<List<Book>> filterBooks(
+            @RequestParam(required = false) String genre,
+            @RequestParam(required = false) String nationality,
+            @RequestParam(required = false) Boolean available,
+            @RequestParam(defaultValue = "0", required = false) int pageNumber,
+            @RequestParam(defaultValue = "5", required = false) int pageSize) {
+        return bookService.filterBooks(genre, nationality, available, pageNumber, pageSize);
     }
 
 
@@ -61,11 +87,12 @@ public class BookRestController {
             @ApiResponse(responseCode = "200", description = "Book found",
                     content = {@Content(mediaType = "application/json",
                             schema = @Schema(implementation = Book.class))}),
+            @ApiResponse(responseCode = "304", description = "Not modified"),
             @ApiResponse(responseCode = "404", description = "Book not found")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<Book> getBookById(@PathVariable Long id) {
-        return bookService.getBookById(id);
+    public ResponseEntity<Book> getBookById(@PathVariable Long id, NativeWebRequest request) {
+        return catalogResponses.withFormat(bookService.getBookById(id), request);
     }
 
 
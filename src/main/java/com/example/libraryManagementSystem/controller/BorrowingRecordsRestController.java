@@ -10,9 +10,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -39,7 +41,7 @@ public class BorrowingRecordsRestController {
     }
 
 
-    @Operation(summary = "Search borrowing records", description = "Search for borrowing records by customer ID or book ID", tags = {"Borrowing Records"})
+    @Operation(summary = "Search borrowing records", description = "Search for borrowing records by customer ID or book ID, optionally within a range of borrow dates", tags = {"Borrowing Records"})
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Borrowing records found",
                     content = {@Content(mediaType = "application/json",
@@ -50,8 +52,10 @@ public class BorrowingRecordsRestController {
     @GetMapping("/search")
     public ResponseEntity<List<BorrowingRecord>> searchRecords(
             @RequestParam(required = false) Long customerId,
-            @RequestParam(required = false) Long bookId) {
-        return recordService.searchRecords(customerId, bookId);
+            @RequestParam(required = false) Long bookId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate borrowedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate borrowedTo) {
+        return recordService.searchRecords(customerId, bookId, borrowedFrom, borrowedTo);
     }
 
 
@@ -95,6 +99,19 @@ public class BorrowingRecordsRestController {
         return recordService.updateRecord(id, recordDTO);
     }
 
+    @Operation(summary = "Return a borrowed book", description = "Close a borrowing record by recording today as its returned date", tags = {"Borrowing Records"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Borrowing record closed successfully",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BorrowingRecord.class))}),
+            @ApiResponse(responseCode = "400", description = "Book already returned"),
+            @ApiResponse(responseCode = "404", description = "Borrowing record not found")
+    })
+    @PutMapping("/{id}/return")
+    public ResponseEntity<BorrowingRecord> returnRecord(@PathVariable Long id) {
+        return recordService.returnRecord(id);
+    }
+
     @Operation(summary = "Delete a borrowing record", description = "Delete a borrowing record by its ID", tags = {"Borrowing Records"})
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Borrowing record deleted successfully"),
@@ -0,0 +1,36 @@
+package com.example.libraryManagementSystem.controller;
+
+import com.example.libraryManagementSystem.dto.CustomerSummaryDTO;
+import com.example.libraryManagementSystem.service.CustomerSummaryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/library/customers")
+@RequiredArgsConstructor
+public class CustomerSummaryRestController {
+
+    private final CustomerSummaryService customerSummaryService;
+
+
+    @Operation(summary = "Get customer summary", description = "Retrieve a customer's active, overdue and lifetime loan counts and their most recent loans", tags = {"Customers"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Summary retrieved successfully",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = CustomerSummaryDTO.class))}),
+            @ApiResponse(responseCode = "400", description = "Bad request"),
+            @ApiResponse(responseCode = "404", description = "Customer not found")
+    })
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<CustomerSummaryDTO> getSummary(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "5", required = false) int recentLoans) {
+        return customerSummaryService.getSummary(id, recentLoans);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.libraryManagementSystem.controller;
+
+import com.example.libraryManagementSystem.dto.FineBalanceDTO;
+import com.example.libraryManagementSystem.service.FineService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/library/fines")
+@RequiredArgsConstructor
+public class FineRestController {
+
+    private final FineService fineService;
+
+
+    @Operation(summary = "Get customer fine balance", description = "Retrieve the late fees a customer owes as of today", tags = {"Fines"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Fine balance retrieved successfully",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = FineBalanceDTO.class))}),
+            @ApiResponse(responseCode = "404", description = "Customer not found")
+    })
+    @GetMapping("/customers/{customerId}")
+    public ResponseEntity<FineBalanceDTO> getBalance(@PathVariable Long customerId) {
+        return fineService.getBalance(customerId);
+    }
+
+
+    @Operation(summary = "Run the fine accrual", description = "Apply the loan changes since the last run to the fines ledger now", tags = {"Fines"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Fine accrual finished")
+    })
+    @PostMapping("/accrue")
+    public ResponseEntity<String> runAccrual() {
+        return fineService.runAccrual();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.libraryManagementSystem.controller;
+
+import com.example.libraryManagementSystem.dto.LoanHistoryDTO;
+import com.example.libraryManagementSystem.service.LoanHistoryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/library/borrowings/history")
+@RequiredArgsConstructor
+public class LoanHistoryRestController {
+
+    private final LoanHistoryService loanHistoryService;
+
+
+    @Operation(summary = "Get loan history", description = "Retrieve all loans of a customer or a book, current and archived, newest first", tags = {"Borrowing Records"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Loan history retrieved successfully",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = LoanHistoryDTO.class))}),
+            @ApiResponse(responseCode = "400", description = "Bad request"),
+            @ApiResponse(responseCode = "404", description = "No loans found")
+    })
+    @GetMapping
+    public ResponseEntity<List<LoanHistoryDTO>> getHistory(
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) Long bookId,
+            @RequestParam(defaultValue = "0", required = false) int pageNumber,
+            @RequestParam(defaultValue = "5", required = false) int pageSize) {
+        return loanHistoryService.getHistory(customerId, bookId, pageNumber, pageSize);
+    }
+
+
+    @Operation(summary = "Archive closed loans", description = "Move old returned loans to the archive now instead of waiting for the scheduled run", tags = {"Borrowing Records"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Archival finished"),
+            @ApiResponse(responseCode = "400", description = "An archival is already running")
+    })
+    @PostMapping("/archive")
+    public ResponseEntity<String> archiveClosedLoans() {
+        return loanHistoryService.archiveClosedLoans();
+    }
+}
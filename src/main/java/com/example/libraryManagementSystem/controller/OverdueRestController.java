@@ -0,0 +1,49 @@
+package com.example.libraryManagementSystem.controller;
+
+import com.example.libraryManagementSystem.model.OverdueNotice;
+import com.example.libraryManagementSystem.service.OverdueService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/library/borrowings/overdue")
+@RequiredArgsConstructor
+public class OverdueRestController {
+
+    private final OverdueService overdueService;
+
+
+    @Operation(summary = "Get overdue notices", description = "Retrieve the notices written by the overdue scan, paginated and sorted by a specified field", tags = {"Borrowing Records"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "List of overdue notices retrieved successfully",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = OverdueNotice.class))}),
+            @ApiResponse(responseCode = "404", description = "No overdue notices found")
+    })
+    @GetMapping
+    public ResponseEntity<List<OverdueNotice>> getOverdueNotices(
+            @RequestParam(defaultValue = "0", required = false) int pageNumber,
+            @RequestParam(defaultValue = "5", required = false) int pageSize,
+            @RequestParam(defaultValue = "id", required = false) String field) {
+        return overdueService.getOverdueNotices(pageNumber, pageSize, field);
+    }
+
+
+    @Operation(summary = "Run the overdue scan", description = "Scan open loans for today now instead of waiting for the scheduled run", tags = {"Borrowing Records"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Overdue scan finished"),
+            @ApiResponse(responseCode = "400", description = "An overdue scan is already running")
+    })
+    @PostMapping("/scan")
+    public ResponseEntity<String> runScan() {
+        return overdueService.runScan();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.libraryManagementSystem.controller;
+
+import com.example.libraryManagementSystem.dto.RecordingDTO;
+import com.example.libraryManagementSystem.service.RecordingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.util.List;
+
+@Lazy
+@RestController
+@RequestMapping("/api/v1/library/recordings")
+@RequiredArgsConstructor
+public class RecordingRestController {
+
+    private final RecordingService recordingService;
+
+
+    @Operation(summary = "Get all recordings", description = "List the flight recordings started on demand on this node and still kept", tags = {"Recordings"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recordings retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "No recordings found")
+    })
+    @GetMapping
+    public ResponseEntity<List<RecordingDTO>> getRecordings() {
+        return recordingService.getRecordings();
+    }
+
+
+    @Operation(summary = "Start a recording", description = "Start a JDK Flight Recorder recording on this node with the default or profile settings; it stops itself after the duration", tags = {"Recordings"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recording started"),
+            @ApiResponse(responseCode = "400", description = "Bad request"),
+            @ApiResponse(responseCode = "409", description = "A recording is already running")
+    })
+    @PostMapping
+    public ResponseEntity<RecordingDTO> startRecording(@RequestParam(defaultValue = "PT1M") Duration duration,
+                                                       @RequestParam(defaultValue = "profile") String settings) {
+        return recordingService.startRecording(duration, settings);
+    }
+
+
+    @Operation(summary = "Stop a recording", description = "Stop a running recording before its duration is over", tags = {"Recordings"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recording stopped"),
+            @ApiResponse(responseCode = "400", description = "Recording not running"),
+            @ApiResponse(responseCode = "404", description = "Recording not found")
+    })
+    @PostMapping("/{id}/stop")
+    public ResponseEntity<RecordingDTO> stopRecording(@PathVariable Long id) {
+        return recordingService.stopRecording(id);
+    }
+
+
+    @Operation(summary = "Download a recording", description = "Stream the .jfr file of a recording; a running recording keeps running and the file holds the data so far", tags = {"Recordings"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recording file streamed"),
+            @ApiResponse(responseCode = "404", description = "Recording not found or empty")
+    })
+    @GetMapping("/{id}/file")
+    public ResponseEntity<Resource> getRecordingFile(@PathVariable Long id) {
+        return recordingService.getRecordingFile(id);
+    }
+
+
+    @Operation(summary = "Download the continuous recording", description = "Stream the last minutes of the always-on recording as a .jfr file", tags = {"Recordings"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recording file streamed"),
+            @ApiResponse(responseCode = "400", description = "Bad request"),
+            @ApiResponse(responseCode = "404", description = "Continuous recording disabled or empty")
+    })
+    @GetMapping("/continuous/file")
+    public ResponseEntity<Resource> getContinuousRecordingFile(@RequestParam(defaultValue = "PT15M") Duration last) {
+        return recordingService.getContinuousRecordingFile(last);
+    }
+
+
+    @Operation(summary = "Delete a recording", description = "Stop a recording if it runs and delete its data", tags = {"Recordings"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recording deleted successfully"),
+            @ApiResponse(responseCode = "404", description = "Recording not found")
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<String> deleteRecording(@PathVariable Long id) {
+        return recordingService.deleteRecording(id);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.libraryManagementSystem.controller;
+
+import com.example.libraryManagementSystem.dto.BookLoanCount;
+import com.example.libraryManagementSystem.dto.CustomerLoanCount;
+import com.example.libraryManagementSystem.dto.GenreMonthLoanCount;
+import com.example.libraryManagementSystem.service.CirculationStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/library/stats")
+@RequiredArgsConstructor
+public class StatsRestController {
+
+    private final CirculationStatsService statsService;
+
+
+    @Operation(summary = "Get most borrowed books", description = "Retrieve the books with the most loans, current and archived", tags = {"Statistics"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Books retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Bad request"),
+            @ApiResponse(responseCode = "404", description = "No statistics found")
+    })
+    @GetMapping("/books/most-borrowed")
+    public ResponseEntity<List<BookLoanCount>> getMostBorrowedBooks(
+            @RequestParam(defaultValue = "10", required = false) int limit) {
+        return statsService.getMostBorrowedBooks(limit);
+    }
+
+
+    @Operation(summary = "Get most active customers", description = "Retrieve the customers with the most loans, current and archived", tags = {"Statistics"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Customers retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Bad request"),
+            @ApiResponse(responseCode = "404", description = "No statistics found")
+    })
+    @GetMapping("/customers/most-active")
+    public ResponseEntity<List<CustomerLoanCount>> getMostActiveCustomers(
+            @RequestParam(defaultValue = "10", required = false) int limit) {
+        return statsService.getMostActiveCustomers(limit);
+    }
+
+
+    @Operation(summary = "Get loans per genre and month", description = "Retrieve loan counts per genre for each month of a range, the last twelve months by default", tags = {"Statistics"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Loan counts retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Bad request"),
+            @ApiResponse(responseCode = "404", description = "No statistics found")
+    })
+    @GetMapping("/genres/monthly")
+    public ResponseEntity<List<GenreMonthLoanCount>> getLoansPerGenreAndMonth(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        return statsService.getLoansPerGenreAndMonth(from, to);
+    }
+
+
+    @Operation(summary = "Rebuild statistics", description = "Recompute the statistics from all current and archived loans", tags = {"Statistics"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rebuild finished"),
+            @ApiResponse(responseCode = "400", description = "A rebuild is already running")
+    })
+    @PostMapping("/rebuild")
+    public ResponseEntity<String> rebuild() {
+        return statsService.runRebuild();
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.libraryManagementSystem.controller;
+
+import com.example.libraryManagementSystem.dto.SpanDTO;
+import com.example.libraryManagementSystem.dto.TraceSummaryDTO;
+import com.example.libraryManagementSystem.service.TraceService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Lazy
+@RestController
+@RequestMapping("/api/v1/library/traces")
+@RequiredArgsConstructor
+public class TraceRestController {
+
+    private final TraceService traceService;
+
+
+    @Operation(summary = "Get recent traces", description = "List the most recent traces kept in memory on this node, newest first, optionally only the slow ones or those whose root span name contains a text", tags = {"Traces"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Traces retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Bad request")
+    })
+    @GetMapping
+    public ResponseEntity<List<TraceSummaryDTO>> getRecentTraces(
+            @RequestParam(defaultValue = "0") long minDurationMs,
+            @RequestParam(required = false) String name,
+            @RequestParam(defaultValue = "20") int limit) {
+        return traceService.getRecentTraces(minDurationMs, name, limit);
+    }
+
+
+    @Operation(summary = "Get a trace", description = "Get the spans of a trace in order of their start: the request, the service methods and the SQL statements", tags = {"Traces"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Trace retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Trace not found")
+    })
+    @GetMapping("/{traceId}")
+    public ResponseEntity<List<SpanDTO>> getTraceById(@PathVariable String traceId) {
+        return traceService.getTraceById(traceId);
+    }
+}
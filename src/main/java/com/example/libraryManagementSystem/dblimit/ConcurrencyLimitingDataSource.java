@@ -0,0 +1,147 @@
+package com.example.libraryManagementSystem.dblimit;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lets at most {@code maxConcurrent} connections be open at once, handing out permits first come
+ * first served. At most {@code maxWaiting} callers wait for one, each for up to
+ * {@code acquireTimeout}; past either limit the call fails at once with a
+ * {@link DatabaseBusyException}, which the API answers with 503.
+ * <p>
+ * With platform threads the request thread pool already caps the callers. With virtual threads
+ * every open request can reach the pool at the same time, and thousands of them would queue in
+ * the pool, unordered, until each timed out. Here the queue is fair, bounded, and cheap to wait
+ * in. A permit is released when its connection is closed, which returns it to the pool.
+ */
+public class ConcurrencyLimitingDataSource extends DelegatingDataSource {
+
+    private final int maxConcurrent;
+    private final int maxWaiting;
+    private final long acquireTimeoutNanos;
+
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    public ConcurrencyLimitingDataSource(DataSource targetDataSource, int maxConcurrent, int maxWaiting, Duration acquireTimeout) {
+        super(targetDataSource);
+        if (maxConcurrent < 1 || maxWaiting < 0 || acquireTimeout.isNegative())
+            throw new IllegalArgumentException("maxConcurrent must be positive, maxWaiting and acquireTimeout not negative");
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaiting = maxWaiting;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return limited(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return limited(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Connections open through this data source.
+     */
+    public int getActive() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    /**
+     * Callers waiting for a permit.
+     */
+    public int getWaiting() {
+        return waiting.get();
+    }
+
+    /**
+     * Calls turned away so far, because too many were waiting or the wait timed out.
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            // A timed tryAcquire, unlike the untimed one, does not jump the queue of a fair semaphore
+            if (permits.tryAcquire(0, TimeUnit.NANOSECONDS))
+                return;
+
+            if (waiting.incrementAndGet() > maxWaiting) {
+                waiting.decrementAndGet();
+                rejected.increment();
+                throw new DatabaseBusyException(maxWaiting + " callers are already waiting for a database connection");
+            }
+            try {
+                if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                    rejected.increment();
+                    throw new DatabaseBusyException("No database connection free within "
+                            + Duration.ofNanos(acquireTimeoutNanos).toMillis() + " ms");
+                }
+            } finally {
+                waiting.decrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", e);
+        }
+    }
+
+    private Connection limited(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(ConcurrencyLimitingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection connection;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                // Closing twice is allowed by JDBC, releasing twice would add a permit
+                if (method.getName().equals("close") && closed.compareAndSet(false, true))
+                    permits.release();
+            }
+        }
+    }
+}
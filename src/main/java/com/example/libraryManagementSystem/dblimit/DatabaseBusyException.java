@@ -0,0 +1,14 @@
+package com.example.libraryManagementSystem.dblimit;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * No database connection could be handed out in time; thrown by
+ * {@link ConcurrencyLimitingDataSource}. Transient, the same call may well succeed a moment later.
+ */
+public class DatabaseBusyException extends SQLTransientConnectionException {
+
+    public DatabaseBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.libraryManagementSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlsoBorrowedDTO {
+
+    private Long bookId;
+
+    private String title;
+
+    private String genre;
+
+    private int sharedBorrowers;
+}
@@ -0,0 +1,15 @@
+package com.example.libraryManagementSystem.dto;
+
+/**
+ * The columns of a book the bitmap index filters on.
+ */
+public interface BookFilterKeys {
+
+    Long getId();
+
+    String getGenre();
+
+    Boolean getAvailable();
+
+    String getNationality();
+}
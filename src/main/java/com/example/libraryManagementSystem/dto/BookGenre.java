@@ -0,0 +1,8 @@
+package com.example.libraryManagementSystem.dto;
+
+public interface BookGenre {
+
+    Long getId();
+
+    String getGenre();
+}
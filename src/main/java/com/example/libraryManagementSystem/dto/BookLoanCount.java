@@ -0,0 +1,10 @@
+package com.example.libraryManagementSystem.dto;
+
+public interface BookLoanCount {
+
+    Long getBookId();
+
+    String getTitle();
+
+    Long getLoans();
+}
@@ -0,0 +1,21 @@
+package com.example.libraryManagementSystem.dto;
+
+import java.time.LocalDate;
+
+/**
+ * The columns of a returned loan that are kept once it is archived.
+ */
+public interface ClosedLoan {
+
+    Long getId();
+
+    Long getCustomerId();
+
+    Long getBookId();
+
+    LocalDate getBorrowDate();
+
+    LocalDate getReturnDate();
+
+    LocalDate getReturnedDate();
+}
@@ -0,0 +1,10 @@
+package com.example.libraryManagementSystem.dto;
+
+public interface CustomerLoanCount {
+
+    Long getCustomerId();
+
+    String getName();
+
+    Long getLoans();
+}
@@ -0,0 +1,10 @@
+package com.example.libraryManagementSystem.dto;
+
+public interface CustomerLoanTotals {
+
+    Long getCustomerId();
+
+    Long getLoans();
+
+    Long getOpenLoans();
+}
@@ -0,0 +1,27 @@
+package com.example.libraryManagementSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerSummaryDTO {
+
+    private Long customerId;
+
+    private String name;
+
+    private long activeLoans;
+
+    private long overdueLoans;
+
+    private long lifetimeLoans;
+
+    private List<LoanHistoryDTO> recentLoans;
+}
@@ -0,0 +1,21 @@
+package com.example.libraryManagementSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FineBalanceDTO {
+
+    private Long customerId;
+
+    private long balanceCents;
+
+    private long openOverdueLoans;
+
+    private LocalDate asOf;
+}
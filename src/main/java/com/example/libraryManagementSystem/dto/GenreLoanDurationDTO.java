@@ -0,0 +1,17 @@
+package com.example.libraryManagementSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GenreLoanDurationDTO {
+
+    private String genre;
+
+    private long returnedLoans;
+
+    private double averageDays;
+}
@@ -0,0 +1,13 @@
+package com.example.libraryManagementSystem.dto;
+
+import java.time.LocalDate;
+
+public interface GenreMonthLoanCount {
+
+    String getGenre();
+
+    // First day of the month
+    LocalDate getMonth();
+
+    Long getLoans();
+}
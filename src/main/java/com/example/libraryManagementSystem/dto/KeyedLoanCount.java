@@ -0,0 +1,11 @@
+package com.example.libraryManagementSystem.dto;
+
+/**
+ * Number of loans per book or customer id, as aggregated when the statistics are rebuilt.
+ */
+public interface KeyedLoanCount {
+
+    Long getKey();
+
+    Long getLoans();
+}
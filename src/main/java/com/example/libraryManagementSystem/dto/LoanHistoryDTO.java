@@ -0,0 +1,29 @@
+package com.example.libraryManagementSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoanHistoryDTO {
+
+    private Long recordId;
+
+    private Long customerId;
+
+    private Long bookId;
+
+    private LocalDate borrowDate;
+
+    private LocalDate returnDate;
+
+    private LocalDate returnedDate;
+
+    private boolean archived;
+}
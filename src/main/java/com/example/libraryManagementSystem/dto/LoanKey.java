@@ -0,0 +1,13 @@
+package com.example.libraryManagementSystem.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Position of a borrowing record in ({@code return_date}, {@code id}) order, used for keyset paging.
+ */
+public interface LoanKey {
+
+    Long getId();
+
+    LocalDate getReturnDate();
+}
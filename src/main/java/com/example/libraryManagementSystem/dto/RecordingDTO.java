@@ -0,0 +1,32 @@
+package com.example.libraryManagementSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordingDTO {
+
+    private long id;
+
+    private String name;
+
+    // NEW, RUNNING, STOPPED or CLOSED
+    private String state;
+
+    private Instant startedAt;
+
+    // Stops itself after this
+    private Duration duration;
+
+    // Bytes kept on disk at most, the oldest data is dropped past it
+    private long maxSize;
+
+    // Bytes written so far
+    private long size;
+}
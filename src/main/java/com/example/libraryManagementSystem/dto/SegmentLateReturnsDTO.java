@@ -0,0 +1,19 @@
+package com.example.libraryManagementSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SegmentLateReturnsDTO {
+
+    private String segment;
+
+    private long dueLoans;
+
+    private long lateLoans;
+
+    private double lateRate;
+}
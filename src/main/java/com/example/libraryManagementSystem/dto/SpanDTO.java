@@ -0,0 +1,29 @@
+package com.example.libraryManagementSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpanDTO {
+
+    private String spanId;
+
+    // Null for the root span
+    private String parentSpanId;
+
+    private String name;
+
+    private Instant startedAt;
+
+    private double durationMillis;
+
+    private boolean error;
+
+    private Map<String, String> attributes;
+}
@@ -0,0 +1,24 @@
+package com.example.libraryManagementSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TraceSummaryDTO {
+
+    private String traceId;
+
+    // Name of the root span, usually the HTTP request
+    private String name;
+
+    private Instant startedAt;
+
+    private double durationMillis;
+
+    private int spans;
+}
@@ -0,0 +1,17 @@
+package com.example.libraryManagementSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WeekdayLoansDTO {
+
+    private DayOfWeek dayOfWeek;
+
+    private long loans;
+}
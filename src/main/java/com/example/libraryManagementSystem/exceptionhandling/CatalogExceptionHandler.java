@@ -0,0 +1,57 @@
+package com.example.libraryManagementSystem.exceptionhandling;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebExceptionHandler;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link ExceptionHandlers} for the reactive catalog API, with the same statuses and messages.
+ * An error in a streamed result is still answered this way if it comes before the first book;
+ * after that the status has been sent, and the connection is closed instead.
+ */
+public class CatalogExceptionHandler implements WebExceptionHandler {
+
+    @Override
+    public Mono<Void> handle(ServerWebExchange exchange, Throwable ex) {
+        ServerHttpResponse response = exchange.getResponse();
+        if (response.isCommitted())
+            return Mono.error(ex);
+
+        HttpStatusCode status;
+        String message;
+        if (ex instanceof DataNotFoundException) {
+            status = HttpStatus.NOT_FOUND;
+            message = ex.getMessage();
+        } else if (ex instanceof BadRequestException) {
+            status = HttpStatus.BAD_REQUEST;
+            message = ex.getMessage();
+        } else if (ex instanceof ResponseStatusException statusException) {
+            status = statusException.getStatusCode();
+            message = statusException.getReason();
+        } else if (ex instanceof DataAccessResourceFailureException) {
+            // Also a connection the pool could not hand out within spring.r2dbc.pool.max-acquire-time
+            status = HttpStatus.SERVICE_UNAVAILABLE;
+            message = "The Database Is Busy, Try Again Later!";
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+        } else {
+            return Mono.error(ex);
+        }
+
+        response.setStatusCode(status);
+        if (message == null)
+            return response.setComplete();
+        response.getHeaders().setContentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8));
+        DataBuffer body = response.bufferFactory().wrap(message.getBytes(StandardCharsets.UTF_8));
+        return response.writeWith(Mono.just(body));
+    }
+}
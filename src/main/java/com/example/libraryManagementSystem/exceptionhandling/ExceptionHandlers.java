@@ -1,20 +1,30 @@
 package com.example.libraryManagementSystem.exceptionhandling;
 
+import com.example.libraryManagementSystem.metrics.LibraryMetrics;
 import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.HandlerMethod;
 
+import java.sql.SQLTransientConnectionException;
 import java.util.HashMap;
 import java.util.Map;
 
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class ExceptionHandlers {
 
+    // Absent in web slice tests, which have no meter registry
+    private final ObjectProvider<LibraryMetrics> metrics;
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, String>> handleValidationExceptions(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
@@ -37,7 +47,8 @@ public class ExceptionHandlers {
     }
 
     @ExceptionHandler(DataNotFoundException.class)
-    public ResponseEntity<String> handleDataNotFoundException(DataNotFoundException ex) {
+    public ResponseEntity<String> handleDataNotFoundException(DataNotFoundException ex, HandlerMethod handlerMethod) {
+        metrics.ifAvailable(libraryMetrics -> libraryMetrics.notFound(handlerMethod.getBeanType().getSimpleName()));
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
     }
 
@@ -51,5 +62,13 @@ public class ExceptionHandlers {
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
+    // Also found as the cause of the transaction and persistence exceptions wrapping it
+    @ExceptionHandler(SQLTransientConnectionException.class)
+    public ResponseEntity<String> handleSQLTransientConnectionException(SQLTransientConnectionException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("The Database Is Busy, Try Again Later!");
+    }
+
 
 }
@@ -0,0 +1,94 @@
+package com.example.libraryManagementSystem.httpcache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import java.util.List;
+
+/**
+ * Builds the responses of the cached book reads with a validator, so a client holding the current
+ * page is answered {@code 304 Not Modified} without a body. They are sent with
+ * {@code Cache-Control: no-cache}, which lets clients keep the page as long as they revalidate it,
+ * in place of the {@code no-store} Spring Security puts on every other response.
+ * <p>
+ * The ETag is an MD5 hash of the JSON of the body. It is computed once, when the response is built
+ * for the cache; Spring MVC compares it to {@code If-None-Match} before writing anything, so
+ * revalidating a cached page costs neither a query nor serialization. Every node hashes the same
+ * content to the same ETag. It is weak because gzip changes the bytes on the wire but not the
+ * page, and Tomcat does not compress responses with a strong one. A page has different bytes in
+ * JSON, CBOR and Smile, so {@link #withFormat} adds the format the request negotiates to the cached
+ * ETag on every request, before Spring MVC compares it; {@code Vary: Accept} keeps shared caches
+ * from handing one format out for another.
+ * <p>
+ * There is no {@code Last-Modified}: books do not record when they were last changed, and the time a
+ * node cached a response differs from node to node and moves back when the cache is evicted.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogResponses {
+
+    // In the order of their converters, so a wildcard picks the format Spring MVC writes
+    private static final List<Format> FORMATS = List.of(
+            new Format(MediaType.APPLICATION_JSON, "json"),
+            new Format(MediaType.APPLICATION_CBOR, "cbor"),
+            new Format(MediaType.parseMediaType("application/x-jackson-smile"), "smile"));
+
+    private final ObjectMapper objectMapper;
+    private final ContentNegotiationManager contentNegotiationManager;
+
+    public <T> ResponseEntity<T> of(T body) {
+        return ResponseEntity.ok()
+                .eTag(eTag(body))
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(body);
+    }
+
+    /**
+     * Returns the response with the format the request accepts appended to its ETag, so that
+     * {@code If-None-Match} only matches the same page in the same format.
+     */
+    public <T> ResponseEntity<T> withFormat(ResponseEntity<T> response, NativeWebRequest request) {
+        String eTag = response.getHeaders().getETag();
+        if (eTag == null)
+            return response;
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(response.getHeaders());
+        headers.setETag(eTag.substring(0, eTag.length() - 1) + "-" + format(request) + "\"");
+        return new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
+    }
+
+    private String format(NativeWebRequest request) {
+        try {
+            for (MediaType accepted : contentNegotiationManager.resolveMediaTypes(request))
+                for (Format format : FORMATS)
+                    if (accepted.isCompatibleWith(format.mediaType()))
+                        return format.name();
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            // An Accept header that cannot be parsed is answered with 406 when the body is written
+        }
+        return FORMATS.get(0).name();
+    }
+
+    private String eTag(Object body) {
+        try {
+            return "W/\"" + DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(body)) + "\"";
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + body.getClass().getSimpleName() + " for its ETag", e);
+        }
+    }
+
+    private record Format(MediaType mediaType, String name) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.libraryManagementSystem.idempotency;
+
+import com.example.libraryManagementSystem.model.IdempotencyRecord;
+import com.example.libraryManagementSystem.repository.IdempotencyRecordRepository;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Store shared by every node through the {@code idempotency_record} table, so a retry that
+ * lands on another instance still replays the original response.
+ */
+@RequiredArgsConstructor
+public class DatabaseIdempotencyStore implements IdempotencyStore {
+
+    private final IdempotencyRecordRepository repository;
+    private final Clock clock;
+
+    @Override
+    public Optional<IdempotentResponse> reserve(String key, String fingerprint, Duration ttl) {
+        Instant now = clock.instant();
+
+        if (repository.reserve(key, fingerprint, now.plus(ttl), now) == 1)
+            return Optional.empty();
+
+        // The holder may have been released between the two statements; treat that as still in flight
+        return Optional.of(repository.findById(key)
+                .map(DatabaseIdempotencyStore::toResponse)
+                .orElseGet(() -> IdempotentResponse.inFlight(fingerprint, now.plus(ttl))));
+    }
+
+    @Override
+    public void complete(String key, IdempotentResponse response) {
+        repository.save(IdempotencyRecord
+                .builder()
+                .idempotencyKey(key)
+                .fingerprint(response.fingerprint())
+                .status(response.status())
+                .contentType(response.contentType())
+                .body(response.body())
+                .expiresAt(response.expiresAt())
+                .build());
+    }
+
+    @Override
+    public void release(String key) {
+        repository.deleteById(key);
+    }
+
+    @Override
+    public int purgeExpired() {
+        return repository.deleteExpired(clock.instant());
+    }
+
+    private static IdempotentResponse toResponse(IdempotencyRecord record) {
+        return new IdempotentResponse(
+                record.getFingerprint(),
+                record.getStatus(),
+                record.getContentType(),
+                record.getBody(),
+                record.getExpiresAt()
+        );
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.libraryManagementSystem.idempotency;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Storage for responses of POST requests carrying an {@code Idempotency-Key} header.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Atomically claims the key for a new request.
+     *
+     * @return empty if the key was free and is now reserved for the caller,
+     * otherwise the reservation or completed response already stored under the key
+     */
+    Optional<IdempotentResponse> reserve(String key, String fingerprint, Duration ttl);
+
+    void complete(String key, IdempotentResponse response);
+
+    /**
+     * Drops a reservation so the client can retry, used when the request failed with a server error.
+     */
+    void release(String key);
+
+    int purgeExpired();
+}
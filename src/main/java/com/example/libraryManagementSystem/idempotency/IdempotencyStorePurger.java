@@ -0,0 +1,19 @@
+package com.example.libraryManagementSystem.idempotency;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+@Slf4j
+@RequiredArgsConstructor
+public class IdempotencyStorePurger {
+
+    private final IdempotencyStore store;
+
+    @Scheduled(fixedDelayString = "${library.idempotency.purge-interval:PT5M}")
+    public void purgeExpired() {
+        int purged = store.purgeExpired();
+        if (purged > 0)
+            log.debug("Purged {} expired idempotency keys", purged);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.libraryManagementSystem.idempotency;
+
+import java.time.Instant;
+
+/**
+ * The response recorded for an {@code Idempotency-Key}, replayed byte for byte on retries.
+ * A response with status {@code 0} is a reservation for a request that is still in flight.
+ */
+public record IdempotentResponse(
+        String fingerprint,
+        int status,
+        String contentType,
+        byte[] body,
+        Instant expiresAt
+) {
+
+    public static IdempotentResponse inFlight(String fingerprint, Instant expiresAt) {
+        return new IdempotentResponse(fingerprint, 0, null, null, expiresAt);
+    }
+
+    public boolean isCompleted() {
+        return status != 0;
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt.isBefore(now);
+    }
+}
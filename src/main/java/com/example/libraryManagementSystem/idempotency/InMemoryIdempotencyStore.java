@@ -0,0 +1,113 @@
+package com.example.libraryManagementSystem.idempotency;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Single node store. Keys are spread over independently locked shards, each one a bounded
+ * LRU map, so concurrent clients rarely contend and memory stays capped under a retry storm.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Shard[] shards;
+    private final int shardMask;
+    private final Clock clock;
+
+    public InMemoryIdempotencyStore(int shardCount, int maxEntriesPerShard, Clock clock) {
+        if (Integer.bitCount(shardCount) != 1)
+            throw new IllegalArgumentException("Shard count must be a power of two: " + shardCount);
+
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++)
+            shards[i] = new Shard(maxEntriesPerShard);
+        this.shardMask = shardCount - 1;
+        this.clock = clock;
+    }
+
+    @Override
+    public Optional<IdempotentResponse> reserve(String key, String fingerprint, Duration ttl) {
+        Instant now = clock.instant();
+        Shard shard = shardFor(key);
+
+        synchronized (shard) {
+            IdempotentResponse existing = shard.get(key);
+            if (existing != null && !existing.isExpired(now))
+                return Optional.of(existing);
+
+            shard.put(key, IdempotentResponse.inFlight(fingerprint, now.plus(ttl)));
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void complete(String key, IdempotentResponse response) {
+        Shard shard = shardFor(key);
+
+        synchronized (shard) {
+            shard.put(key, response);
+        }
+    }
+
+    @Override
+    public void release(String key) {
+        Shard shard = shardFor(key);
+
+        synchronized (shard) {
+            shard.remove(key);
+        }
+    }
+
+    @Override
+    public int purgeExpired() {
+        Instant now = clock.instant();
+        int purged = 0;
+
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                Iterator<IdempotentResponse> iterator = shard.values().iterator();
+                while (iterator.hasNext()) {
+                    if (iterator.next().isExpired(now)) {
+                        iterator.remove();
+                        purged++;
+                    }
+                }
+            }
+        }
+        return purged;
+    }
+
+    int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                size += shard.size();
+            }
+        }
+        return size;
+    }
+
+    private Shard shardFor(String key) {
+        int hash = key.hashCode();
+        return shards[(hash ^ (hash >>> 16)) & shardMask];
+    }
+
+    private static final class Shard extends LinkedHashMap<String, IdempotentResponse> {
+
+        private final int maxEntries;
+
+        private Shard(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, IdempotentResponse> eldest) {
+            return size() > maxEntries;
+        }
+    }
+}
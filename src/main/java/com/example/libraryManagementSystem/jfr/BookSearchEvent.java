@@ -0,0 +1,37 @@
+package com.example.libraryManagementSystem.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(BookSearchEvent.NAME)
+@Label("Book Search")
+@Category({"Library", "Search"})
+@Description("A book search run against the database or the bitmap index")
+@StackTrace(false)
+public class BookSearchEvent extends Event {
+
+    public static final String NAME = "library.BookSearch";
+
+    @Label("Mode")
+    @Description("title, isbn, author or filter")
+    private final String mode;
+
+    @Label("Query")
+    private final String query;
+
+    @Label("Results")
+    private int results;
+
+    public BookSearchEvent(String mode, String query) {
+        this.mode = mode;
+        this.query = query;
+    }
+
+    public void setResults(int results) {
+        this.results = results;
+    }
+}
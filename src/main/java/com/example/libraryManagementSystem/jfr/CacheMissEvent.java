@@ -0,0 +1,36 @@
+package com.example.libraryManagementSystem.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(CacheMissEvent.NAME)
+@Label("Cache Miss")
+@Category({"Library", "Cache"})
+@Description("A cached service method that missed its cache; the duration is the time spent loading the value")
+@StackTrace(false)
+public class CacheMissEvent extends Event {
+
+    public static final String NAME = "library.CacheMiss";
+
+    @Label("Cache")
+    private final String cache;
+
+    @Label("Method")
+    private final String method;
+
+    @Label("Arguments")
+    private String arguments;
+
+    public CacheMissEvent(String cache, String method) {
+        this.cache = cache;
+        this.method = method;
+    }
+
+    public void setArguments(String arguments) {
+        this.arguments = arguments;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.libraryManagementSystem.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(CheckoutEvent.NAME)
+@Label("Checkout")
+@Category({"Library", "Circulation"})
+@Description("A book lent to a customer, or a checkout that failed")
+@StackTrace(false)
+public class CheckoutEvent extends Event {
+
+    public static final String NAME = "library.Checkout";
+
+    @Label("Book ID")
+    private final long bookId;
+
+    @Label("Customer ID")
+    private final long customerId;
+
+    @Label("Record ID")
+    @Description("0 if the checkout failed")
+    private long recordId;
+
+    @Label("Failure")
+    @Description("Message of the error the checkout failed with")
+    private String failure;
+
+    public CheckoutEvent(Long bookId, Long customerId) {
+        this.bookId = bookId != null ? bookId : 0;
+        this.customerId = customerId != null ? customerId : 0;
+    }
+
+    public void setRecordId(Long recordId) {
+        this.recordId = recordId != null ? recordId : 0;
+    }
+
+    public void setFailure(String failure) {
+        this.failure = failure;
+    }
+}
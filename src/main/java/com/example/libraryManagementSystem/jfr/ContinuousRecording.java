@@ -0,0 +1,67 @@
+package com.example.libraryManagementSystem.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * A flight recording that runs for as long as the application, with the JDK's low-overhead
+ * {@code default} settings, so the minutes before a latency spike can be looked at after the
+ * fact. It keeps the last {@code maxAge} of data on disk, at most {@code maxSize} bytes, and is
+ * written to {@code dumpFile} when the application stops.
+ */
+@Slf4j
+public class ContinuousRecording {
+
+    static final String NAME = "library-continuous";
+
+    private final Duration maxAge;
+    private final long maxSize;
+    private final Path dumpFile;
+    private Recording recording;
+
+    public ContinuousRecording(Duration maxAge, long maxSize, Path dumpFile) {
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+        this.dumpFile = dumpFile;
+    }
+
+    public void start() throws IOException, ParseException {
+        Files.createDirectories(dumpFile.toAbsolutePath().getParent());
+        recording = new Recording(Configuration.getConfiguration("default"));
+        recording.setName(NAME);
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize);
+        recording.setDestination(dumpFile);
+        recording.setDumpOnExit(true);
+        recording.start();
+        log.info("Continuous flight recording started, keeping {} of data", maxAge);
+    }
+
+    /**
+     * Writes the recording to the dump file.
+     */
+    public void stop() {
+        if (recording != null) {
+            recording.stop();
+            recording.close();
+            log.info("Continuous flight recording written to {}", dumpFile.toAbsolutePath());
+        }
+    }
+
+    /**
+     * The data of the last {@code last}, or null if there is none yet.
+     */
+    public InputStream recordedData(Duration last) throws IOException {
+        return FlightRecordings.recordedData(recording, Instant.now().minus(last));
+    }
+}
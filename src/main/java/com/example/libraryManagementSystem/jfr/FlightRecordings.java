@@ -0,0 +1,115 @@
+package com.example.libraryManagementSystem.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Flight recordings started on demand. Only one runs at a time, and each is bounded twice: it
+ * stops itself after its duration, and keeps at most its maximum size on disk, dropping the
+ * oldest data first. Stopped recordings stay available for download until
+ * {@code kept-recordings} newer ones exist.
+ */
+@Lazy
+@Component
+public class FlightRecordings {
+
+    static final String NAME_PREFIX = "library-on-demand-";
+
+    private final int keptRecordings;
+
+    // In order of start, guarded by this
+    private final LinkedHashMap<Long, Recording> recordings = new LinkedHashMap<>();
+
+    public FlightRecordings(@Value("${library.jfr.kept-recordings:5}") int keptRecordings) {
+        this.keptRecordings = keptRecordings;
+    }
+
+    /**
+     * Starts a recording with the JDK's {@code default} or {@code profile} settings, unless one is
+     * still running.
+     */
+    public synchronized Optional<Recording> start(Duration duration, long maxSize, String settings)
+            throws IOException, ParseException {
+        if (recordings.values().stream().anyMatch(recording -> recording.getState() == RecordingState.RUNNING))
+            return Optional.empty();
+
+        Recording recording = new Recording(Configuration.getConfiguration(settings));
+        recording.setName(NAME_PREFIX + recording.getId());
+        recording.setToDisk(true);
+        recording.setDuration(duration);
+        recording.setMaxSize(maxSize);
+        recording.start();
+        recordings.put(recording.getId(), recording);
+
+        // Close the oldest stopped recordings past the ones kept, with the new one counted
+        int stopped = recordings.size() - 1;
+        for (Iterator<Recording> oldest = recordings.values().iterator(); stopped > keptRecordings; stopped--) {
+            Recording old = oldest.next();
+            old.close();
+            oldest.remove();
+        }
+        return Optional.of(recording);
+    }
+
+    public synchronized List<Recording> recordings() {
+        return new ArrayList<>(recordings.values());
+    }
+
+    public synchronized Optional<Recording> recording(long id) {
+        return Optional.ofNullable(recordings.get(id));
+    }
+
+    /**
+     * Stops and deletes a recording; false if there is none with that id.
+     */
+    public synchronized boolean close(long id) {
+        Recording recording = recordings.remove(id);
+        if (recording == null)
+            return false;
+        recording.close();
+        return true;
+    }
+
+    /**
+     * The data a recording holds from {@code start} on, or null if it has none yet. A running
+     * recording is copied and the copy stopped, which writes out the data still in memory; the
+     * copy is closed with the stream.
+     */
+    public static InputStream recordedData(Recording recording, Instant start) throws IOException {
+        if (recording.getState() != RecordingState.RUNNING)
+            return recording.getStream(start, null);
+
+        Recording copy = recording.copy(true);
+        InputStream data = copy.getStream(start, null);
+        if (data == null) {
+            copy.close();
+            return null;
+        }
+        return new FilterInputStream(data) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    copy.close();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.libraryManagementSystem.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(PasswordHashingEvent.NAME)
+@Label("Password Hashing")
+@Category({"Library", "Security"})
+@Description("BCrypt hashing of a customer password")
+@StackTrace(false)
+public class PasswordHashingEvent extends Event {
+
+    public static final String NAME = "library.PasswordHashing";
+
+    @Label("Operation")
+    @Description("register or update")
+    private final String operation;
+
+    @Label("Customer ID")
+    @Description("0 when registering")
+    private final long customerId;
+
+    public PasswordHashingEvent(String operation, Long customerId) {
+        this.operation = operation;
+        this.customerId = customerId != null ? customerId : 0;
+    }
+}
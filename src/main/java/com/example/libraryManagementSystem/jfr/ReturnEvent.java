@@ -0,0 +1,53 @@
+package com.example.libraryManagementSystem.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+@Name(ReturnEvent.NAME)
+@Label("Return")
+@Category({"Library", "Circulation"})
+@Description("A borrowed book given back, or a return that failed")
+@StackTrace(false)
+public class ReturnEvent extends Event {
+
+    public static final String NAME = "library.Return";
+
+    @Label("Record ID")
+    private final long recordId;
+
+    @Label("Book ID")
+    private long bookId;
+
+    @Label("Customer ID")
+    private long customerId;
+
+    @Label("Days Late")
+    @Description("Days past the return date, 0 if on time")
+    private long daysLate;
+
+    @Label("Failure")
+    @Description("Message of the error the return failed with")
+    private String failure;
+
+    public ReturnEvent(Long recordId) {
+        this.recordId = recordId != null ? recordId : 0;
+    }
+
+    public void setLoan(Long bookId, Long customerId, LocalDate returnDate, LocalDate returnedDate) {
+        this.bookId = bookId != null ? bookId : 0;
+        this.customerId = customerId != null ? customerId : 0;
+        if (returnDate != null && returnedDate != null)
+            this.daysLate = Math.max(0, ChronoUnit.DAYS.between(returnDate, returnedDate));
+    }
+
+    public void setFailure(String failure) {
+        this.failure = failure;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.libraryManagementSystem.metrics;
+
+import com.example.libraryManagementSystem.exceptionhandling.BadRequestException;
+import com.example.libraryManagementSystem.exceptionhandling.DataAlreadyExistException;
+import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * The library's own meters, next to the HTTP, cache and connection pool ones Spring Boot
+ * registers. Names and tags are part of the monitoring contract (see the README) and every tag
+ * takes one of a fixed set of values, so no request can add a new time series.
+ */
+@Component
+public class LibraryMetrics {
+
+    public static final String CHECKOUTS = "library.checkouts";
+    public static final String BOOK_UNAVAILABLE = "library.book.unavailable";
+    public static final String PASSWORD_HASHING = "library.password.hashing";
+    public static final String NOT_FOUND = "library.not.found";
+
+    // Values of the outcome tag of library.checkouts
+    static final String BORROWED = "borrowed";
+    static final String NOT_FOUND_OUTCOME = "not_found";
+    static final String DUPLICATE = "duplicate";
+    static final String REJECTED = "rejected";
+    static final String ERROR = "error";
+
+    private final MeterRegistry registry;
+
+    public LibraryMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Times a checkout and records its outcome from how it ended: {@code borrowed},
+     * {@code not_found}, {@code duplicate}, {@code rejected} for a bad request, or {@code error}.
+     */
+    public <T> T timeCheckout(Supplier<T> checkout) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = ERROR;
+        try {
+            T result = checkout.get();
+            outcome = BORROWED;
+            return result;
+        } catch (DataNotFoundException e) {
+            outcome = NOT_FOUND_OUTCOME;
+            throw e;
+        } catch (DataAlreadyExistException e) {
+            outcome = DUPLICATE;
+            throw e;
+        } catch (BadRequestException e) {
+            outcome = REJECTED;
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(CHECKOUTS)
+                    .description("Checkouts of a book, by outcome")
+                    .tag("outcome", outcome)
+                    .register(registry));
+        }
+    }
+
+    /**
+     * Counts a loan refused with "This Book Is Not Available!"; {@code operation} is
+     * {@code checkout} or {@code update}.
+     */
+    public void bookUnavailable(String operation) {
+        Counter.builder(BOOK_UNAVAILABLE)
+                .description("Loans refused because the book is already borrowed")
+                .tag("operation", operation)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Times hashing a customer password; {@code operation} is {@code register} or {@code update}.
+     */
+    public String timePasswordHashing(String operation, Supplier<String> hashing) {
+        return Timer.builder(PASSWORD_HASHING)
+                .description("BCrypt hashing of customer passwords")
+                .tag("operation", operation)
+                .register(registry)
+                .record(hashing);
+    }
+
+    /**
+     * Counts a request answered with 404 by a {@link DataNotFoundException}; {@code controller}
+     * is the simple name of the controller class.
+     */
+    public void notFound(String controller) {
+        Counter.builder(NOT_FOUND)
+                .description("Requests for data that does not exist, by controller")
+                .tag("controller", controller)
+                .register(registry)
+                .increment();
+    }
+}
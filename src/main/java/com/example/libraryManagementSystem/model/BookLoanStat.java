@@ -0,0 +1,37 @@
+package com.example.libraryManagementSystem.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Lifetime number of loans of a book, kept up to date by the loan writes.
+ */
+@Entity(name = "BookLoanStat")
+@Table(name = "book_loan_stat", indexes = {
+        @Index(name = "book_loan_stat_loan_count_idx", columnList = "loan_count")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookLoanStat {
+
+    @Id
+    @Column(
+            name = "book_id",
+            updatable = false,
+            nullable = false,
+            columnDefinition = "BIGINT"
+    )
+    private Long bookId;
+
+    @Column(
+            name = "loan_count",
+            nullable = false,
+            columnDefinition = "BIGINT"
+    )
+    private long loanCount;
+}
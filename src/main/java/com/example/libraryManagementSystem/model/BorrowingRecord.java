@@ -1,15 +1,23 @@
 package com.example.libraryManagementSystem.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity(name = "BorrowingRecord")
-@Table(name = "borrowing_record")
+@Table(name = "borrowing_record", indexes = {
+        @Index(name = "borrowing_record_return_date_idx", columnList = "return_date, id"),
+        @Index(name = "borrowing_record_updated_at_idx", columnList = "updated_at"),
+        @Index(name = "borrowing_record_customer_borrow_date_idx", columnList = "customer_id, borrow_date"),
+        @Index(name = "borrowing_record_book_borrow_date_idx", columnList = "book_id, borrow_date"),
+        @Index(name = "borrowing_record_customer_open_idx", columnList = "customer_id, returned_date, return_date")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -65,4 +73,31 @@ public class BorrowingRecord {
             nullable = false
     )
     private LocalDate returnDate;
+
+    @Column(
+            name = "returned_date",
+            columnDefinition = "DATE"
+    )
+    private LocalDate returnedDate;
+
+    @Column(
+            name = "updated_at",
+            columnDefinition = "TIMESTAMP WITH TIME ZONE"
+    )
+    @JsonIgnore
+    private Instant updatedAt;
+
+    public BorrowingRecord(Long id, Customer customer, Book book, LocalDate borrowDate, LocalDate returnDate) {
+        this.id = id;
+        this.customer = customer;
+        this.book = book;
+        this.borrowDate = borrowDate;
+        this.returnDate = returnDate;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = Instant.now();
+    }
 }
@@ -0,0 +1,21 @@
+package com.example.libraryManagementSystem.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDate;
+
+/**
+ * A row of the {@code author} table as the reactive catalog reads it over R2DBC.
+ */
+@Table("author")
+public record CatalogAuthor(
+        @Id Long id,
+        String name,
+        LocalDate birthDate,
+        String nationality) {
+
+    public Author toAuthor() {
+        return new Author(id, name, birthDate, nationality);
+    }
+}
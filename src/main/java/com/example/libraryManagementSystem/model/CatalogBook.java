@@ -0,0 +1,33 @@
+package com.example.libraryManagementSystem.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDate;
+
+/**
+ * A row of the {@code book} table as the reactive catalog reads it over R2DBC. Read-only: books
+ * are written through {@link Book}, and the author is loaded separately.
+ */
+@Table("book")
+public record CatalogBook(
+        @Id Long id,
+        String title,
+        LocalDate publicationDate,
+        String isbn,
+        String genre,
+        boolean available,
+        Long authorId) {
+
+    public Book toBook(Author author) {
+        return Book.builder()
+                .id(id)
+                .title(title)
+                .publicationDate(publicationDate)
+                .isbn(isbn)
+                .genre(genre)
+                .available(available)
+                .author(author)
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.libraryManagementSystem.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Running totals of a customer's {@link LoanFine}s. Open fines grow by the daily rate every day, so
+ * instead of rewriting them nightly the row keeps how many are open and the sum of their due days;
+ * the balance on any day follows from those two numbers.
+ */
+@Entity(name = "CustomerFineBalance")
+@Table(name = "customer_fine_balance")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerFineBalance {
+
+    @Id
+    @Column(
+            name = "customer_id",
+            updatable = false,
+            nullable = false,
+            columnDefinition = "BIGINT"
+    )
+    private Long customerId;
+
+    @Column(
+            name = "settled_cents",
+            nullable = false,
+            columnDefinition = "BIGINT"
+    )
+    private long settledCents;
+
+    @Column(
+            name = "open_count",
+            nullable = false,
+            columnDefinition = "BIGINT"
+    )
+    private long openCount;
+
+    @Column(
+            name = "open_due_day_sum",
+            nullable = false,
+            columnDefinition = "BIGINT"
+    )
+    private long openDueDaySum;
+
+    @Column(
+            name = "updated_at",
+            nullable = false,
+            columnDefinition = "TIMESTAMP WITH TIME ZONE"
+    )
+    private Instant updatedAt;
+
+    public long balanceCents(LocalDate day, long dailyRateCents) {
+        return settledCents + dailyRateCents * (openCount * day.toEpochDay() - openDueDaySum);
+    }
+}
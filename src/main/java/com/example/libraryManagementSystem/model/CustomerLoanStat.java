@@ -0,0 +1,44 @@
+package com.example.libraryManagementSystem.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Lifetime and currently open number of loans of a customer, kept up to date by the loan writes.
+ */
+@Entity(name = "CustomerLoanStat")
+@Table(name = "customer_loan_stat", indexes = {
+        @Index(name = "customer_loan_stat_loan_count_idx", columnList = "loan_count")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerLoanStat {
+
+    @Id
+    @Column(
+            name = "customer_id",
+            updatable = false,
+            nullable = false,
+            columnDefinition = "BIGINT"
+    )
+    private Long customerId;
+
+    @Column(
+            name = "loan_count",
+            nullable = false,
+            columnDefinition = "BIGINT"
+    )
+    private long loanCount;
+
+    @Column(
+            name = "open_loans",
+            nullable = false,
+            columnDefinition = "BIGINT DEFAULT 0"
+    )
+    private long openLoans;
+}
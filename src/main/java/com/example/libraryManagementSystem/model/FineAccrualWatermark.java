@@ -0,0 +1,54 @@
+package com.example.libraryManagementSystem.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * How far the fine accrual has read: loans updated up to {@code changedUntil} and loans due
+ * before {@code dueBefore} are already reflected in the ledger.
+ */
+@Entity(name = "FineAccrualWatermark")
+@Table(name = "fine_accrual_watermark")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FineAccrualWatermark {
+
+    public static final long SINGLETON_ID = 1L;
+
+    @Id
+    @Column(
+            name = "id",
+            updatable = false,
+            nullable = false,
+            columnDefinition = "BIGINT"
+    )
+    private Long id;
+
+    @Column(
+            name = "changed_until",
+            nullable = false,
+            columnDefinition = "TIMESTAMP WITH TIME ZONE"
+    )
+    private Instant changedUntil;
+
+    @Column(
+            name = "due_before",
+            nullable = false,
+            columnDefinition = "DATE"
+    )
+    private LocalDate dueBefore;
+
+    @Column(
+            name = "last_run_at",
+            columnDefinition = "TIMESTAMP WITH TIME ZONE"
+    )
+    private Instant lastRunAt;
+}
@@ -0,0 +1,74 @@
+package com.example.libraryManagementSystem.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Loans of a genre borrowed in a month. Every checkout of the month adds to the same counter, so
+ * each counter is split over a few slots that concurrent checkouts pick at random instead of
+ * queueing on one row; the month's total is the sum of its slots.
+ */
+@Entity(name = "GenreMonthLoanStat")
+@Table(name = "genre_month_loan_stat", uniqueConstraints = {
+        @UniqueConstraint(name = "genre_month_loan_stat_unique_key", columnNames = {"genre", "month", "slot"})
+}, indexes = {
+        @Index(name = "genre_month_loan_stat_month_idx", columnList = "month")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GenreMonthLoanStat {
+
+    @Id
+    @SequenceGenerator(
+            sequenceName = "genre_month_loan_stat_sequence",
+            name = "genre_month_loan_stat_sequence",
+            allocationSize = 1
+    )
+    @GeneratedValue(
+            generator = "genre_month_loan_stat_sequence",
+            strategy = GenerationType.SEQUENCE
+    )
+    @Column(
+            name = "id",
+            updatable = false,
+            nullable = false,
+            columnDefinition = "BIGINT"
+    )
+    private Long id;
+
+    @Column(
+            name = "genre",
+            nullable = false,
+            columnDefinition = "VARCHAR(255)"
+    )
+    private String genre;
+
+    // First day of the month
+    @Column(
+            name = "month",
+            nullable = false,
+            columnDefinition = "DATE"
+    )
+    private LocalDate month;
+
+    @Column(
+            name = "slot",
+            nullable = false,
+            columnDefinition = "INTEGER"
+    )
+    private int slot;
+
+    @Column(
+            name = "loan_count",
+            nullable = false,
+            columnDefinition = "BIGINT"
+    )
+    private long loanCount;
+}
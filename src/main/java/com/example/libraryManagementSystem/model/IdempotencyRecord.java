@@ -0,0 +1,60 @@
+package com.example.libraryManagementSystem.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity(name = "IdempotencyRecord")
+@Table(name = "idempotency_record")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    @Id
+    @Column(
+            name = "idempotency_key",
+            updatable = false,
+            nullable = false,
+            columnDefinition = "VARCHAR(255)"
+    )
+    private String idempotencyKey;
+
+    @Column(
+            name = "fingerprint",
+            nullable = false,
+            columnDefinition = "VARCHAR(64)"
+    )
+    private String fingerprint;
+
+    @Column(
+            name = "status",
+            nullable = false,
+            columnDefinition = "INTEGER"
+    )
+    private int status;
+
+    @Column(
+            name = "content_type",
+            columnDefinition = "VARCHAR(255)"
+    )
+    private String contentType;
+
+    @Column(
+            name = "body",
+            columnDefinition = "BYTEA"
+    )
+    private byte[] body;
+
+    @Column(
+            name = "expires_at",
+            nullable = false,
+            columnDefinition = "TIMESTAMP WITH TIME ZONE"
+    )
+    private Instant expiresAt;
+}
@@ -0,0 +1,59 @@
+package com.example.libraryManagementSystem.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Ledger line for a loan that went past its return date. While the loan is open the fine keeps
+ * growing and {@code amountCents} is empty; once the book is back the final amount is fixed.
+ */
+@Entity(name = "LoanFine")
+@Table(name = "loan_fine", indexes = {
+        @Index(name = "loan_fine_customer_idx", columnList = "customer_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoanFine {
+
+    @Id
+    @Column(
+            name = "record_id",
+            updatable = false,
+            nullable = false,
+            columnDefinition = "BIGINT"
+    )
+    private Long recordId;
+
+    @Column(
+            name = "customer_id",
+            nullable = false,
+            columnDefinition = "BIGINT"
+    )
+    private Long customerId;
+
+    @Column(
+            name = "due_date",
+            nullable = false,
+            columnDefinition = "DATE"
+    )
+    private LocalDate dueDate;
+
+    @Column(
+            name = "closed_date",
+            columnDefinition = "DATE"
+    )
+    private LocalDate closedDate;
+
+    @Column(
+            name = "amount_cents",
+            columnDefinition = "BIGINT"
+    )
+    private Long amountCents;
+}
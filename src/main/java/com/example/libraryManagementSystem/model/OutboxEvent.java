@@ -0,0 +1,97 @@
+package com.example.libraryManagementSystem.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity(name = "OutboxEvent")
+@Table(name = "outbox_event", indexes = {
+        @Index(name = "outbox_event_pending_idx", columnList = "published_at, id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @SequenceGenerator(
+            sequenceName = "outbox_event_sequence",
+            name = "outbox_event_sequence",
+            allocationSize = 1
+    )
+    @GeneratedValue(
+            generator = "outbox_event_sequence",
+            strategy = GenerationType.SEQUENCE
+    )
+    @Column(
+            name = "id",
+            updatable = false,
+            nullable = false,
+            columnDefinition = "BIGINT"
+    )
+    private Long id;
+
+    @Column(
+            name = "aggregate_type",
+            updatable = false,
+            nullable = false,
+            columnDefinition = "VARCHAR(64)"
+    )
+    private String aggregateType;
+
+    @Column(
+            name = "aggregate_id",
+            updatable = false,
+            nullable = false,
+            columnDefinition = "VARCHAR(64)"
+    )
+    private String aggregateId;
+
+    @Column(
+            name = "event_type",
+            updatable = false,
+            nullable = false,
+            columnDefinition = "VARCHAR(64)"
+    )
+    private String eventType;
+
+    @Column(
+            name = "payload",
+            updatable = false,
+            nullable = false,
+            columnDefinition = "TEXT"
+    )
+    private String payload;
+
+    @Column(
+            name = "created_at",
+            updatable = false,
+            nullable = false,
+            columnDefinition = "TIMESTAMP WITH TIME ZONE"
+    )
+    private Instant createdAt;
+
+    @Column(
+            name = "published_at",
+            columnDefinition = "TIMESTAMP WITH TIME ZONE"
+    )
+    private Instant publishedAt;
+
+    @Column(
+            name = "attempts",
+            nullable = false,
+            columnDefinition = "INTEGER"
+    )
+    private int attempts;
+
+    @Column(
+            name = "last_error",
+            columnDefinition = "VARCHAR(1000)"
+    )
+    private String lastError;
+}
@@ -0,0 +1,74 @@
+package com.example.libraryManagementSystem.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+@Entity(name = "OverdueNotice")
+@Table(name = "overdue_notice", uniqueConstraints = {
+        @UniqueConstraint(name = "overdue_notice_record_unique_key", columnNames = "record_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OverdueNotice {
+
+    @Id
+    @SequenceGenerator(
+            sequenceName = "overdue_notice_sequence",
+            name = "overdue_notice_sequence",
+            allocationSize = 1
+    )
+    @GeneratedValue(
+            generator = "overdue_notice_sequence",
+            strategy = GenerationType.SEQUENCE
+    )
+    @Column(
+            name = "id",
+            updatable = false,
+            nullable = false,
+            columnDefinition = "BIGINT"
+    )
+    private Long id;
+
+    @Column(
+            name = "record_id",
+            nullable = false,
+            columnDefinition = "BIGINT"
+    )
+    private Long recordId;
+
+    @Column(
+            name = "customer_id",
+            nullable = false,
+            columnDefinition = "BIGINT"
+    )
+    private Long customerId;
+
+    @Column(
+            name = "book_id",
+            nullable = false,
+            columnDefinition = "BIGINT"
+    )
+    private Long bookId;
+
+    @Column(
+            name = "due_date",
+            nullable = false,
+            columnDefinition = "DATE"
+    )
+    private LocalDate dueDate;
+
+    @Column(
+            name = "detected_at",
+            nullable = false,
+            columnDefinition = "TIMESTAMP WITH TIME ZONE"
+    )
+    private Instant detectedAt;
+}
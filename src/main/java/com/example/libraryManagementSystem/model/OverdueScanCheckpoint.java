@@ -0,0 +1,60 @@
+package com.example.libraryManagementSystem.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Progress of the overdue scan for one day: every open loan due before {@code scanDate} and ordered
+ * at or before ({@code lastReturnDate}, {@code lastRecordId}) has already been turned into a notice.
+ */
+@Entity(name = "OverdueScanCheckpoint")
+@Table(name = "overdue_scan_checkpoint")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OverdueScanCheckpoint {
+
+    @Id
+    @Column(
+            name = "scan_date",
+            updatable = false,
+            nullable = false,
+            columnDefinition = "DATE"
+    )
+    private LocalDate scanDate;
+
+    @Column(
+            name = "last_return_date",
+            nullable = false,
+            columnDefinition = "DATE"
+    )
+    private LocalDate lastReturnDate;
+
+    @Column(
+            name = "last_record_id",
+            nullable = false,
+            columnDefinition = "BIGINT"
+    )
+    private Long lastRecordId;
+
+    @Column(
+            name = "completed",
+            nullable = false,
+            columnDefinition = "BOOLEAN"
+    )
+    private boolean completed;
+
+    @Column(
+            name = "updated_at",
+            nullable = false,
+            columnDefinition = "TIMESTAMP WITH TIME ZONE"
+    )
+    private Instant updatedAt;
+}
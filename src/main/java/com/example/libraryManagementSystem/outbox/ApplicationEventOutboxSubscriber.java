@@ -0,0 +1,21 @@
+package com.example.libraryManagementSystem.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bridges the outbox to in-process consumers: every published event is re-published as a Spring
+ * application event, so beans can subscribe with {@code @EventListener} on {@link DomainEvent}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ApplicationEventOutboxSubscriber implements OutboxSubscriber {
+
+    private final ApplicationEventPublisher publisher;
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        publisher.publishEvent(event);
+    }
+}
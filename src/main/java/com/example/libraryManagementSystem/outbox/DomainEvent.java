@@ -0,0 +1,30 @@
+package com.example.libraryManagementSystem.outbox;
+
+import com.example.libraryManagementSystem.model.OutboxEvent;
+
+import java.time.Instant;
+
+/**
+ * An outbox entry as handed to subscribers. Events of the same aggregate arrive in the order they
+ * were written; an event may arrive more than once, so subscribers should be idempotent on {@code id}.
+ */
+public record DomainEvent(
+        long id,
+        String aggregateType,
+        String aggregateId,
+        String eventType,
+        String payload,
+        Instant occurredAt
+) {
+
+    public static DomainEvent of(OutboxEvent event) {
+        return new DomainEvent(
+                event.getId(),
+                event.getAggregateType(),
+                event.getAggregateId(),
+                event.getEventType(),
+                event.getPayload(),
+                event.getCreatedAt()
+        );
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.libraryManagementSystem.outbox;
+
+import com.example.libraryManagementSystem.model.OutboxEvent;
+import com.example.libraryManagementSystem.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+
+/**
+ * Records domain events in {@code outbox_event} as part of the caller's transaction, so an event is
+ * stored if and only if the change it describes is committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventOutbox {
+
+    private final OutboxEventRepository repository;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(EventType type, Object aggregateId, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + type.getEventName() + " payload", e);
+        }
+
+        repository.save(OutboxEvent
+                .builder()
+                .aggregateType(type.getAggregateType())
+                .aggregateId(String.valueOf(aggregateId))
+                .eventType(type.getEventName())
+                .payload(json)
+                .createdAt(clock.instant())
+                .build());
+    }
+}
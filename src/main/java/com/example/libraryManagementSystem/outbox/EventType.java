@@ -0,0 +1,25 @@
+package com.example.libraryManagementSystem.outbox;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum EventType {
+
+    AUTHOR_ADDED("Author", "AuthorAdded"),
+    AUTHOR_UPDATED("Author", "AuthorUpdated"),
+    AUTHOR_DELETED("Author", "AuthorDeleted"),
+
+    BOOK_ADDED("Book", "BookAdded"),
+    BOOK_UPDATED("Book", "BookUpdated"),
+    BOOK_DELETED("Book", "BookDeleted"),
+
+    BOOK_BORROWED("BorrowingRecord", "BookBorrowed"),
+    BOOK_RETURNED("BorrowingRecord", "BookReturned"),
+    BORROWING_UPDATED("BorrowingRecord", "BorrowingUpdated"),
+    BORROWING_DELETED("BorrowingRecord", "BorrowingDeleted");
+
+    private final String aggregateType;
+    private final String eventName;
+}
@@ -0,0 +1,26 @@
+package com.example.libraryManagementSystem.outbox;
+
+import com.example.libraryManagementSystem.model.BorrowingRecord;
+
+import java.time.LocalDate;
+
+public record LoanEventPayload(
+        Long recordId,
+        Long bookId,
+        Long customerId,
+        LocalDate borrowDate,
+        LocalDate returnDate,
+        LocalDate returnedDate
+) {
+
+    public static LoanEventPayload of(BorrowingRecord record) {
+        return new LoanEventPayload(
+                record.getId(),
+                record.getBook() != null ? record.getBook().getId() : null,
+                record.getCustomer() != null ? record.getCustomer().getId() : null,
+                record.getBorrowDate(),
+                record.getReturnDate(),
+                record.getReturnedDate()
+        );
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.libraryManagementSystem.outbox;
+
+import com.example.libraryManagementSystem.model.OutboxEvent;
+import com.example.libraryManagementSystem.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Delivers pending outbox events to every {@link OutboxSubscriber} in batches, in id order.
+ * <p>
+ * Only one node polls at a time (a transaction-scoped advisory lock), which is what keeps the
+ * events of an aggregate in order across the cluster. Ids are assigned when an event is inserted,
+ * not when its transaction commits, so an event becomes pending only once it is older than
+ * {@code library.outbox.commit-lag}: by then an event of the same aggregate with a lower id has
+ * committed too, unless its transaction stayed open longer than that.
+ * <p>
+ * Each event is delivered in a transaction of its own, which subscribers join. A subscriber that
+ * fails rolls back only that transaction; the failure is recorded in the poll's transaction, and
+ * that event and the rest of its aggregate's events in the batch stay pending and are retried on
+ * the next poll, while other aggregates carry on. An event is marked published only after all
+ * subscribers accepted it.
+ */
+@Slf4j
+@Component
+public class OutboxPoller {
+
+    static final long POLLER_LOCK_KEY = 7_294_117_001L;
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEventRepository repository;
+    private final List<OutboxSubscriber> subscribers;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate deliveryTemplate;
+    private final Clock clock;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration commitLag;
+    private final Duration retention;
+
+    public OutboxPoller(OutboxEventRepository repository,
+                        List<OutboxSubscriber> subscribers,
+                        PlatformTransactionManager transactionManager,
+                        Clock clock,
+                        @Value("${library.outbox.batch-size:200}") int batchSize,
+                        @Value("${library.outbox.max-attempts:10}") int maxAttempts,
+                        @Value("${library.outbox.commit-lag:PT10S}") Duration commitLag,
+                        @Value("${library.outbox.retention:P7D}") Duration retention) {
+        this.repository = repository;
+        this.subscribers = subscribers;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.deliveryTemplate = new TransactionTemplate(transactionManager);
+        this.deliveryTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.clock = clock;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.commitLag = commitLag;
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${library.outbox.poll-interval:PT1S}")
+    public void poll() {
+        // Keep draining while the backlog fills whole batches
+        int published;
+        try {
+            do {
+                published = pollBatch();
+            } while (published == batchSize);
+        } catch (CannotCreateTransactionException e) {
+            // Every connection is busy with requests; the events wait for the next poll
+            log.debug("Skipped an outbox poll: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Delivers one batch and returns how many of its events were published.
+     */
+    public int pollBatch() {
+        Integer published = transactionTemplate.execute(status -> {
+            if (!repository.tryLock(POLLER_LOCK_KEY))
+                return 0;
+
+            List<OutboxEvent> batch = repository.findPending(maxAttempts, clock.instant().minus(commitLag),
+                    PageRequest.of(0, batchSize));
+            List<Long> delivered = new ArrayList<>(batch.size());
+            Set<String> blockedAggregates = new HashSet<>();
+
+            for (OutboxEvent event : batch) {
+                String aggregate = event.getAggregateType() + ":" + event.getAggregateId();
+                if (blockedAggregates.contains(aggregate))
+                    continue;
+
+                try {
+                    DomainEvent domainEvent = DomainEvent.of(event);
+                    deliveryTemplate.executeWithoutResult(delivery -> deliver(domainEvent));
+                    delivered.add(event.getId());
+                } catch (CannotCreateTransactionException e) {
+                    // No connection for the delivery; the rest of the batch waits for the next poll
+                    log.debug("Stopped an outbox batch: {}", e.getMessage());
+                    break;
+                } catch (RuntimeException e) {
+                    blockedAggregates.add(aggregate);
+                    repository.recordFailure(event.getId(), truncate(e.toString()));
+                    if (event.getAttempts() + 1 >= maxAttempts)
+                        log.error("Giving up on outbox event {} ({}) after {} attempts", event.getId(), event.getEventType(), maxAttempts, e);
+                    else
+                        log.warn("Delivery of outbox event {} ({}) failed, will retry", event.getId(), event.getEventType(), e);
+                }
+            }
+
+            if (!delivered.isEmpty())
+                repository.markPublished(delivered, clock.instant());
+
+            return delivered.size();
+        });
+
+        return published == null ? 0 : published;
+    }
+
+    @Scheduled(cron = "${library.outbox.purge-cron:0 0 3 * * *}")
+    public void purgePublished() {
+        Integer purged = transactionTemplate.execute(status ->
+                repository.deletePublishedBefore(clock.instant().minus(retention)));
+        log.debug("Purged {} published outbox events", purged);
+    }
+
+    private void deliver(DomainEvent event) {
+        for (OutboxSubscriber subscriber : subscribers)
+            subscriber.onEvent(event);
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
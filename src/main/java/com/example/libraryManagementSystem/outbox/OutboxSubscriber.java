@@ -0,0 +1,10 @@
+package com.example.libraryManagementSystem.outbox;
+
+/**
+ * Receives every published {@link DomainEvent}. Throwing leaves the event, and any later event of
+ * the same aggregate, pending for the next poll.
+ */
+public interface OutboxSubscriber {
+
+    void onEvent(DomainEvent event);
+}
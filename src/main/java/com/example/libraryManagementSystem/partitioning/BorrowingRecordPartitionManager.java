@@ -0,0 +1,171 @@
+package com.example.libraryManagementSystem.partitioning;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.example.libraryManagementSystem.partitioning.MonthlyPartition.DEFAULT_PARTITION;
+import static com.example.libraryManagementSystem.partitioning.MonthlyPartition.PARENT_TABLE;
+
+/**
+ * Keeps {@code borrowing_record} range-partitioned by month of {@code borrow_date}.
+ * <p>
+ * The table is converted by the PostgreSQL migration {@code V3__partition_borrowing_record.sql}.
+ * After that every run creates the partitions for the coming months, moving any rows that landed
+ * in the default partition into them. Partitions older than the retention are detached and dropped
+ * once the loan archival has moved all of their loans out; one still holding loans stays attached,
+ * so no loan is lost.
+ * Runs on one node at a time, guarded by an advisory lock.
+ */
+@Slf4j
+@Component
+public class BorrowingRecordPartitionManager {
+
+    static final long MAINTENANCE_LOCK_KEY = 7_294_117_002L;
+
+    private static final String ID_TABLE = PARENT_TABLE + "_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final boolean enabled;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    // Not synchronized: a run on a virtual thread would pin its carrier for all of its DDL
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public BorrowingRecordPartitionManager(JdbcTemplate jdbcTemplate,
+                                           PlatformTransactionManager transactionManager,
+                                           Clock clock,
+                                           @Value("${library.partitioning.enabled:true}") boolean enabled,
+                                           @Value("${library.partitioning.months-ahead:3}") int monthsAhead,
+                                           @Value("${library.partitioning.retention-months:36}") int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.enabled = enabled;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void maintainOnStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${library.partitioning.cron:0 0 2 * * *}")
+    public void scheduledMaintenance() {
+        maintain();
+    }
+
+    public void maintain() {
+        if (!enabled || !isPostgres())
+            return;
+
+        lock.lock();
+        try {
+            if (!isPartitioned()) {
+                log.warn("{} is not partitioned, the PostgreSQL migrations have not run", PARENT_TABLE);
+                return;
+            }
+
+            PartitionPlan plan = PartitionPlan.of(YearMonth.now(clock), attachedPartitions(), monthsAhead, retentionMonths);
+
+            // One transaction per partition keeps the locks on borrowing_record short
+            for (MonthlyPartition partition : plan.toCreate())
+                inMaintenanceLock(() -> createPartition(partition));
+
+            for (MonthlyPartition partition : plan.toDetach())
+                inMaintenanceLock(() -> detachPartition(partition));
+        } catch (RuntimeException e) {
+            log.error("Partition maintenance of {} failed", PARENT_TABLE, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean inMaintenanceLock(Runnable work) {
+        Boolean ran = transactionTemplate.execute(status -> {
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, MAINTENANCE_LOCK_KEY))) {
+                log.debug("Partition maintenance is running on another node");
+                return false;
+            }
+            work.run();
+            return true;
+        });
+        return Boolean.TRUE.equals(ran);
+    }
+
+    private boolean isPostgres() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equals(product);
+    }
+
+    private boolean isPartitioned() {
+        return "p".equals(jdbcTemplate.queryForObject(
+                "SELECT c.relkind::text FROM pg_class c WHERE c.oid = to_regclass(?)", String.class, PARENT_TABLE));
+    }
+
+    private List<MonthlyPartition> attachedPartitions() {
+        return jdbcTemplate.queryForList("""
+                        SELECT c.relname
+                        FROM pg_inherits i
+                        JOIN pg_class c ON c.oid = i.inhrelid
+                        WHERE i.inhparent = to_regclass(?)
+                        """, String.class, PARENT_TABLE)
+                .stream()
+                .map(MonthlyPartition::fromName)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    private void createPartition(MonthlyPartition partition) {
+        if (attachedPartitions().contains(partition))
+            return;
+
+        // Built next to the table and attached, so rows that fell into the default partition move with it
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition.name()
+                + " (LIKE " + PARENT_TABLE + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION
+                        + " WHERE borrow_date >= ? AND borrow_date < ? RETURNING *)"
+                        + " INSERT INTO " + partition.name() + " SELECT * FROM moved",
+                partition.from(), partition.to());
+        jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " ATTACH PARTITION " + partition.name()
+                + " FOR VALUES FROM ('" + partition.from() + "') TO ('" + partition.to() + "')");
+        // The delete from the default partition released the ids of the moved rows
+        jdbcTemplate.update("INSERT INTO " + ID_TABLE + " (id) SELECT id FROM " + partition.name());
+
+        log.info("Created partition {} ({} rows moved from {})", partition.name(), moved, DEFAULT_PARTITION);
+    }
+
+    private void detachPartition(MonthlyPartition partition) {
+        // Taken before the check, in the order DETACH takes them, so no loan is added in between
+        jdbcTemplate.execute("LOCK TABLE " + PARENT_TABLE + ", " + partition.name() + " IN ACCESS EXCLUSIVE MODE");
+        Boolean hasLoans = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + partition.name() + ")", Boolean.class);
+        if (Boolean.TRUE.equals(hasLoans)) {
+            log.warn("Keeping partition {} attached, it still holds loans the archival has not moved", partition.name());
+            return;
+        }
+
+        jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " DETACH PARTITION " + partition.name());
+        jdbcTemplate.execute("DROP TABLE " + partition.name());
+        log.info("Dropped the empty partition {}", partition.name());
+    }
+}
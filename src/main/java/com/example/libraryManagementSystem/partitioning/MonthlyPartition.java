@@ -0,0 +1,52 @@
+package com.example.libraryManagementSystem.partitioning;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One month of {@code borrowing_record}, stored in the partition {@code borrowing_record_pYYYYMM}
+ * and holding the loans borrowed from the first day of the month up to, not including, the first
+ * day of the next.
+ */
+public record MonthlyPartition(YearMonth month) implements Comparable<MonthlyPartition> {
+
+    static final String PARENT_TABLE = "borrowing_record";
+    static final String DEFAULT_PARTITION = PARENT_TABLE + "_default";
+
+    private static final Pattern NAME = Pattern.compile(PARENT_TABLE + "_p(\\d{4})(\\d{2})");
+
+    public String name() {
+        return String.format("%s_p%04d%02d", PARENT_TABLE, month.getYear(), month.getMonthValue());
+    }
+
+    public LocalDate from() {
+        return month.atDay(1);
+    }
+
+    public LocalDate to() {
+        return month.plusMonths(1).atDay(1);
+    }
+
+    /**
+     * Reads the month back from a partition name, empty for tables that are not monthly partitions.
+     */
+    public static Optional<MonthlyPartition> fromName(String tableName) {
+        Matcher matcher = NAME.matcher(tableName);
+        if (!matcher.matches())
+            return Optional.empty();
+
+        int month = Integer.parseInt(matcher.group(2));
+        if (month < 1 || month > 12)
+            return Optional.empty();
+
+        return Optional.of(new MonthlyPartition(YearMonth.of(Integer.parseInt(matcher.group(1)), month)));
+    }
+
+    @Override
+    public int compareTo(MonthlyPartition other) {
+        return month.compareTo(other.month);
+    }
+}
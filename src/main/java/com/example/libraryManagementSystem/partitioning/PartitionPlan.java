@@ -0,0 +1,37 @@
+package com.example.libraryManagementSystem.partitioning;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * What a maintenance run should change: the missing partitions from the current month up to
+ * {@code monthsAhead} months ahead, and the attached partitions older than the retention that may
+ * be dropped once they hold no loans.
+ */
+record PartitionPlan(List<MonthlyPartition> toCreate, List<MonthlyPartition> toDetach) {
+
+    static PartitionPlan of(YearMonth current, Collection<MonthlyPartition> attached, int monthsAhead, int retentionMonths) {
+        Set<MonthlyPartition> existing = new TreeSet<>(attached);
+
+        List<MonthlyPartition> toCreate = new ArrayList<>();
+        for (int i = 0; i <= monthsAhead; i++) {
+            MonthlyPartition partition = new MonthlyPartition(current.plusMonths(i));
+            if (!existing.contains(partition))
+                toCreate.add(partition);
+        }
+
+        List<MonthlyPartition> toDetach = new ArrayList<>();
+        if (retentionMonths > 0) {
+            YearMonth oldestKept = current.minusMonths(retentionMonths);
+            for (MonthlyPartition partition : existing)
+                if (partition.month().isBefore(oldestKept))
+                    toDetach.add(partition);
+        }
+
+        return new PartitionPlan(toCreate, toDetach);
+    }
+}
@@ -0,0 +1,392 @@
+package com.example.libraryManagementSystem.recommendation;
+
+import com.example.libraryManagementSystem.archive.ArchivedLoan;
+import com.example.libraryManagementSystem.archive.LoanArchive;
+import com.example.libraryManagementSystem.archive.LoanSegment;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+
+import static com.example.libraryManagementSystem.recommendation.CoOccurrenceCounter.row;
+
+/**
+ * Maintains the "borrowed together" model: for every pair of books, the number of customers that
+ * borrowed both, and from it the top neighbours of each book.
+ * <p>
+ * A full rebuild reads every loan, current and archived, and counts the pairs on a fork/join pool.
+ * Between rebuilds, {@link #refresh()} only reads the loans added since the last run plus the
+ * earlier books of their customers, adds the new pairs and re-ranks the books they touched. Each
+ * run ends by publishing a new {@link AlsoBorrowedTable}; requests only ever read the published
+ * table. Edited and deleted loans, and loans committed out of id order, are picked up by the next
+ * full rebuild.
+ */
+@Slf4j
+@Component
+public class AlsoBorrowedIndex {
+
+    private static final int CUSTOMERS_PER_QUERY = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LoanArchive loanArchive;
+    private final Clock clock;
+    private final ForkJoinPool pool;
+    private final int neighbours;
+    private final int maxBooksPerCustomer;
+
+    // Rather than synchronized, which pins a virtual thread's carrier while it waits on JDBC
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Model state, only used by rebuild and refresh under the lock
+    private IdIndex books;
+    private LongIntHashMap[] sharedBorrowers;
+    private long lastRecordId;
+
+    private volatile AlsoBorrowedTable table = AlsoBorrowedTable.EMPTY;
+
+    public AlsoBorrowedIndex(JdbcTemplate jdbcTemplate,
+                             LoanArchive loanArchive,
+                             Clock clock,
+                             @Value("${library.recommendations.parallelism:4}") int parallelism,
+                             @Value("${library.recommendations.neighbours:20}") int neighbours,
+                             @Value("${library.recommendations.max-books-per-customer:500}") int maxBooksPerCustomer) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.loanArchive = loanArchive;
+        this.clock = clock;
+        this.pool = new ForkJoinPool(parallelism);
+        this.neighbours = neighbours;
+        this.maxBooksPerCustomer = maxBooksPerCustomer;
+    }
+
+    public AlsoBorrowedTable getTable() {
+        return table;
+    }
+
+    /**
+     * Number of neighbours kept per book.
+     */
+    public int getNeighbourLimit() {
+        return neighbours;
+    }
+
+    @Scheduled(fixedDelayString = "${library.recommendations.refresh-interval:PT5M}")
+    public void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Refreshing the also-borrowed table failed, keeping the previous one", e);
+        }
+    }
+
+    @Scheduled(cron = "${library.recommendations.rebuild-cron:0 30 4 * * *}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Rebuilding the also-borrowed table failed, keeping the previous one", e);
+        }
+    }
+
+    /**
+     * Recounts every pair from the whole loan history and publishes a new table.
+     */
+    public void rebuild() {
+        lock.lock();
+        try {
+            long upTo = findLastRecordId();
+            IdIndex rebuiltBooks = new IdIndex();
+            IdIndex customers = new IdIndex();
+            RowBuffer rows = new RowBuffer();
+
+            jdbcTemplate.query("SELECT customer_id, book_id FROM borrowing_record WHERE id <= ?",
+                    (RowCallbackHandler) rs -> rows.add(row(customers.indexOf(rs.getLong(1)), rebuiltBooks.indexOf(rs.getLong(2)))),
+                    upTo);
+            for (LoanSegment segment : loanArchive.getSegments())
+                for (ArchivedLoan loan : readAll(segment))
+                    rows.add(row(customers.indexOf(loan.customerId()), rebuiltBooks.indexOf(loan.bookId())));
+
+            long[] sorted = rows.toSortedDistinct();
+            int[] runStarts = runStarts(sorted);
+            LongIntHashMap pairs = pool.invoke(new CoOccurrenceCounter(sorted, runStarts, 0, runStarts.length - 1, maxBooksPerCustomer));
+
+            LongIntHashMap[] counts = new LongIntHashMap[rebuiltBooks.size];
+            pairs.forEach((pair, shared) -> {
+                add(counts, CoOccurrenceCounter.first(pair), CoOccurrenceCounter.second(pair), shared);
+                add(counts, CoOccurrenceCounter.second(pair), CoOccurrenceCounter.first(pair), shared);
+            });
+
+            books = rebuiltBooks;
+            sharedBorrowers = counts;
+            lastRecordId = upTo;
+            publish(null);
+            log.info("Rebuilt the also-borrowed table from {} distinct loans: {} books, {} pairs", sorted.length, books.size, pairs.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds the loans created since the last run and publishes a new table; falls back to a full
+     * rebuild before the first one.
+     */
+    public void refresh() {
+        lock.lock();
+        try {
+            if (sharedBorrowers == null) {
+                rebuild();
+                return;
+            }
+
+            long upTo = findLastRecordId();
+            if (upTo <= lastRecordId)
+                return;
+
+            IdIndex customers = new IdIndex();
+            RowBuffer added = new RowBuffer();
+            jdbcTemplate.query("SELECT customer_id, book_id FROM borrowing_record WHERE id > ? AND id <= ?",
+                    (RowCallbackHandler) rs -> added.add(row(customers.indexOf(rs.getLong(1)), books.indexOf(rs.getLong(2)))),
+                    lastRecordId, upTo);
+
+            RowBuffer earlier = new RowBuffer();
+            for (ArchivedLoan loan : loanArchive.findByCustomers(Arrays.copyOf(customers.ids, customers.size)))
+                earlier.add(row(customers.indexOf(loan.customerId()), books.indexOf(loan.bookId())));
+            for (int from = 0; from < customers.size; from += CUSTOMERS_PER_QUERY) {
+                int to = Math.min(customers.size, from + CUSTOMERS_PER_QUERY);
+                Object[] args = new Object[to - from + 1];
+                args[0] = lastRecordId;
+                for (int i = from; i < to; i++)
+                    args[i - from + 1] = customers.ids[i];
+                jdbcTemplate.query("SELECT customer_id, book_id FROM borrowing_record WHERE id <= ? AND customer_id IN ("
+                                + String.join(", ", Collections.nCopies(to - from, "?")) + ")",
+                        (RowCallbackHandler) rs -> earlier.add(row(customers.indexOf(rs.getLong(1)), books.indexOf(rs.getLong(2)))),
+                        args);
+            }
+
+            if (sharedBorrowers.length < books.size)
+                sharedBorrowers = Arrays.copyOf(sharedBorrowers, books.size);
+            boolean[] touched = new boolean[books.size];
+            int pairs = addPairs(added.toSortedDistinct(), earlier.toSortedDistinct(), touched);
+
+            lastRecordId = upTo;
+            publish(touched);
+            log.debug("Refreshed the also-borrowed table up to loan {} with {} new pairs", upTo, pairs);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Counts the pairs each customer's new books form with each other and with the customer's
+     * earlier books. Both inputs are sorted rows of the same customer index space.
+     */
+    private int addPairs(long[] added, long[] earlier, boolean[] touched) {
+        int pairs = 0;
+        int e = 0;
+        int[] newBooks = new int[0];
+
+        for (int a = 0; a < added.length; ) {
+            int customer = (int) (added[a] >>> 32);
+            int runEnd = a;
+            while (runEnd < added.length && (int) (added[runEnd] >>> 32) == customer)
+                runEnd++;
+            while (e < earlier.length && (int) (earlier[e] >>> 32) < customer)
+                e++;
+            int earlierStart = e;
+            while (e < earlier.length && (int) (earlier[e] >>> 32) == customer)
+                e++;
+
+            // Keep only the books this customer had not borrowed before
+            if (newBooks.length < runEnd - a)
+                newBooks = new int[runEnd - a];
+            int newCount = 0;
+            for (int i = a, j = earlierStart; i < runEnd; i++) {
+                int book = (int) added[i];
+                while (j < e && (int) earlier[j] < book)
+                    j++;
+                if (j == e || (int) earlier[j] != book)
+                    newBooks[newCount++] = book;
+            }
+
+            if (newCount > 0 && e - earlierStart + newCount <= maxBooksPerCustomer) {
+                for (int n = 0; n < newCount; n++) {
+                    for (int i = earlierStart; i < e; i++) {
+                        increment(newBooks[n], (int) earlier[i], touched);
+                        pairs++;
+                    }
+                    for (int m = n + 1; m < newCount; m++) {
+                        increment(newBooks[n], newBooks[m], touched);
+                        pairs++;
+                    }
+                }
+            }
+
+            a = runEnd;
+        }
+
+        return pairs;
+    }
+
+    private void increment(int book, int otherBook, boolean[] touched) {
+        add(sharedBorrowers, book, otherBook, 1);
+        add(sharedBorrowers, otherBook, book, 1);
+        touched[book] = true;
+        touched[otherBook] = true;
+    }
+
+    /**
+     * Publishes a table with the rows of the touched books re-ranked, or all of them when
+     * {@code touched} is null; untouched rows are shared with the previous table.
+     */
+    private void publish(boolean[] touched) {
+        AlsoBorrowedTable previous = table;
+        int bookCount = books.size;
+        long[] bookIds = books.ids;
+        long[][] rankedNeighbours = new long[bookCount][];
+        int[][] rankedShared = new int[bookCount][];
+
+        pool.submit(() -> IntStream.range(0, bookCount).parallel().forEach(book -> {
+            if (touched != null && !touched[book]) {
+                rankedNeighbours[book] = previous.neighbourRow(book);
+                rankedShared[book] = previous.sharedBorrowersRow(book);
+                return;
+            }
+            LongIntHashMap counts = sharedBorrowers[book];
+            if (counts == null)
+                return;
+
+            TopNeighbours top = new TopNeighbours(neighbours);
+            counts.forEach((otherBook, shared) -> top.offer(bookIds[(int) otherBook], shared));
+            rankedNeighbours[book] = Arrays.copyOf(top.bookIds, top.size);
+            rankedShared[book] = Arrays.copyOf(top.shared, top.size);
+        })).join();
+
+        table = new AlsoBorrowedTable(books.indexes.copy(), rankedNeighbours, rankedShared, lastRecordId, clock.instant());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private long findLastRecordId() {
+        Long id = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM borrowing_record", Long.class);
+        return id == null ? 0 : id;
+    }
+
+    private static void add(LongIntHashMap[] counts, int book, int otherBook, int shared) {
+        if (counts[book] == null)
+            counts[book] = new LongIntHashMap();
+        counts[book].addTo(otherBook, shared);
+    }
+
+    private static int[] runStarts(long[] rows) {
+        int[] starts = new int[rows.length + 1];
+        int runs = 0;
+        for (int i = 0; i < rows.length; i++)
+            if (i == 0 || (int) (rows[i] >>> 32) != (int) (rows[i - 1] >>> 32))
+                starts[runs++] = i;
+        starts[runs++] = rows.length;
+        return Arrays.copyOf(starts, runs);
+    }
+
+    private static List<ArchivedLoan> readAll(LoanSegment segment) {
+        try {
+            return segment.readAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archive segment " + segment.getPath(), e);
+        }
+    }
+
+    /**
+     * Assigns dense indexes to ids in order of first appearance.
+     */
+    private static final class IdIndex {
+
+        private final LongIntHashMap indexes = new LongIntHashMap();
+        private long[] ids = new long[16];
+        private int size;
+
+        int indexOf(long id) {
+            int index = indexes.get(id, -1);
+            if (index < 0) {
+                index = size++;
+                if (index == ids.length)
+                    ids = Arrays.copyOf(ids, index * 2);
+                ids[index] = id;
+                indexes.put(id, index);
+            }
+            return index;
+        }
+    }
+
+    private static final class RowBuffer {
+
+        private long[] rows = new long[1024];
+        private int size;
+
+        void add(long row) {
+            if (size == rows.length)
+                rows = Arrays.copyOf(rows, size * 2);
+            rows[size++] = row;
+        }
+
+        long[] toSortedDistinct() {
+            long[] sorted = Arrays.copyOf(rows, size);
+            Arrays.parallelSort(sorted);
+            int distinct = 0;
+            for (int i = 0; i < sorted.length; i++)
+                if (i == 0 || sorted[i] != sorted[i - 1])
+                    sorted[distinct++] = sorted[i];
+            return Arrays.copyOf(sorted, distinct);
+        }
+    }
+
+    /**
+     * Keeps the best {@code limit} neighbours seen, most shared borrowers first and lower book id on
+     * ties, by insertion into a short sorted array.
+     */
+    private static final class TopNeighbours {
+
+        private final long[] bookIds;
+        private final int[] shared;
+        private int size;
+
+        TopNeighbours(int limit) {
+            this.bookIds = new long[limit];
+            this.shared = new int[limit];
+        }
+
+        void offer(long bookId, int count) {
+            if (bookIds.length == 0)
+                return;
+            if (size == bookIds.length && !ranksBefore(bookId, count, size - 1))
+                return;
+
+            int position = size < bookIds.length ? size++ : size - 1;
+            while (position > 0 && ranksBefore(bookId, count, position - 1)) {
+                bookIds[position] = bookIds[position - 1];
+                shared[position] = shared[position - 1];
+                position--;
+            }
+            bookIds[position] = bookId;
+            shared[position] = count;
+        }
+
+        private boolean ranksBefore(long bookId, int count, int position) {
+            return count > shared[position] || (count == shared[position] && bookId < bookIds[position]);
+        }
+    }
+}
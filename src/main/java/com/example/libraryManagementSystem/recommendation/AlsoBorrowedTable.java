@@ -0,0 +1,65 @@
+package com.example.libraryManagementSystem.recommendation;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable snapshot of the top neighbours of every book, most shared borrowers first. A new
+ * table is built for each refresh and published as a whole, so readers never see a half-applied
+ * update and never need a lock.
+ */
+public final class AlsoBorrowedTable {
+
+    static final AlsoBorrowedTable EMPTY =
+            new AlsoBorrowedTable(new LongIntHashMap(), new long[0][], new int[0][], 0, Instant.EPOCH);
+
+    private final LongIntHashMap rowByBook;
+    private final long[][] neighbours;
+    private final int[][] sharedBorrowers;
+    private final long lastRecordId;
+    private final Instant builtAt;
+
+    /**
+     * Takes ownership of the arguments; none of them may be changed afterwards.
+     */
+    AlsoBorrowedTable(LongIntHashMap rowByBook, long[][] neighbours, int[][] sharedBorrowers,
+                      long lastRecordId, Instant builtAt) {
+        this.rowByBook = rowByBook;
+        this.neighbours = neighbours;
+        this.sharedBorrowers = sharedBorrowers;
+        this.lastRecordId = lastRecordId;
+        this.builtAt = builtAt;
+    }
+
+    public List<BookNeighbour> getNeighbours(long bookId, int limit) {
+        int row = rowByBook.get(bookId, -1);
+        if (row < 0 || row >= neighbours.length || neighbours[row] == null)
+            return List.of();
+
+        int count = Math.min(limit, neighbours[row].length);
+        List<BookNeighbour> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+            result.add(new BookNeighbour(neighbours[row][i], sharedBorrowers[row][i]));
+        return result;
+    }
+
+    /**
+     * Id of the newest loan counted in this table.
+     */
+    public long getLastRecordId() {
+        return lastRecordId;
+    }
+
+    public Instant getBuiltAt() {
+        return builtAt;
+    }
+
+    long[] neighbourRow(int row) {
+        return row < neighbours.length ? neighbours[row] : null;
+    }
+
+    int[] sharedBorrowersRow(int row) {
+        return row < sharedBorrowers.length ? sharedBorrowers[row] : null;
+    }
+}
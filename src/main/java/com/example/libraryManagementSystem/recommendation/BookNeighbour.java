@@ -0,0 +1,7 @@
+package com.example.libraryManagementSystem.recommendation;
+
+/**
+ * A book borrowed together with another one, and by how many customers.
+ */
+public record BookNeighbour(long bookId, int sharedBorrowers) {
+}
@@ -0,0 +1,93 @@
+package com.example.libraryManagementSystem.recommendation;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Counts, for every pair of books, the customers that borrowed both.
+ * <p>
+ * The input is one {@code (customer, book)} row per distinct loan, packed as
+ * {@code customerIndex << 32 | bookIndex}, sorted, and cut into per-customer runs by
+ * {@code runStarts}. The runs are split between fork/join tasks; each leaf counts the pairs inside
+ * its runs into a map keyed by {@link #pair(int, int)} and the partial maps are added up on the way
+ * back.
+ */
+final class CoOccurrenceCounter extends RecursiveTask<LongIntHashMap> {
+
+    private static final int RUNS_PER_TASK = 2048;
+
+    private final long[] rows;
+    private final int[] runStarts;
+    private final int fromRun;
+    private final int toRun;
+    private final int maxBooksPerCustomer;
+
+    /**
+     * @param runStarts offset of each customer's first row, followed by {@code rows.length}
+     */
+    CoOccurrenceCounter(long[] rows, int[] runStarts, int fromRun, int toRun, int maxBooksPerCustomer) {
+        this.rows = rows;
+        this.runStarts = runStarts;
+        this.fromRun = fromRun;
+        this.toRun = toRun;
+        this.maxBooksPerCustomer = maxBooksPerCustomer;
+    }
+
+    /**
+     * Packs a pair of book indexes, smaller one first, into one key.
+     */
+    static long pair(int bookIndex, int otherBookIndex) {
+        return bookIndex < otherBookIndex
+                ? (long) bookIndex << 32 | otherBookIndex
+                : (long) otherBookIndex << 32 | bookIndex;
+    }
+
+    static int first(long pair) {
+        return (int) (pair >>> 32);
+    }
+
+    static int second(long pair) {
+        return (int) pair;
+    }
+
+    static long row(int customerIndex, int bookIndex) {
+        return (long) customerIndex << 32 | bookIndex;
+    }
+
+    @Override
+    protected LongIntHashMap compute() {
+        if (toRun - fromRun <= RUNS_PER_TASK)
+            return countPairs();
+
+        int middle = (fromRun + toRun) >>> 1;
+        CoOccurrenceCounter left = new CoOccurrenceCounter(rows, runStarts, fromRun, middle, maxBooksPerCustomer);
+        left.fork();
+        LongIntHashMap right = new CoOccurrenceCounter(rows, runStarts, middle, toRun, maxBooksPerCustomer).compute();
+        LongIntHashMap leftPairs = left.join();
+
+        if (leftPairs.size() < right.size()) {
+            right.addAll(leftPairs);
+            return right;
+        }
+        leftPairs.addAll(right);
+        return leftPairs;
+    }
+
+    private LongIntHashMap countPairs() {
+        LongIntHashMap pairs = new LongIntHashMap();
+
+        for (int run = fromRun; run < toRun; run++) {
+            int start = runStarts[run];
+            int end = runStarts[run + 1];
+
+            // Shared accounts with huge histories say little about taste and are quadratic here
+            if (end - start > maxBooksPerCustomer)
+                continue;
+
+            for (int a = start; a < end; a++)
+                for (int b = a + 1; b < end; b++)
+                    pairs.addTo(pair((int) rows[a], (int) rows[b]), 1);
+        }
+
+        return pairs;
+    }
+}
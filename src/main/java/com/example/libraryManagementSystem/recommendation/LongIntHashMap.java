@@ -0,0 +1,137 @@
+package com.example.libraryManagementSystem.recommendation;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from {@code long} to {@code int} with linear probing, so the
+ * co-occurrence counts of a large loan history fit in two flat arrays instead of millions of boxed
+ * entries. Keys must not be {@link Long#MIN_VALUE}, which marks free slots. Not thread-safe.
+ */
+final class LongIntHashMap {
+
+    private static final long FREE = Long.MIN_VALUE;
+    private static final double LOAD_FACTOR = 0.6;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int resizeAt;
+    private int size;
+
+    LongIntHashMap() {
+        this(16);
+    }
+
+    LongIntHashMap(int expectedSize) {
+        allocate(Math.max(2, Integer.highestOneBit((int) Math.ceil(Math.max(expectedSize, 1) / LOAD_FACTOR)) << 1));
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean containsKey(long key) {
+        return keys[find(key)] != FREE;
+    }
+
+    int get(long key, int missingValue) {
+        int slot = find(key);
+        return keys[slot] == FREE ? missingValue : values[slot];
+    }
+
+    void put(long key, int value) {
+        int slot = find(key);
+        if (keys[slot] == FREE)
+            insert(slot, key, value);
+        else
+            values[slot] = value;
+    }
+
+    /**
+     * Adds {@code delta} to the value of {@code key}, treating a missing key as zero, and returns
+     * the new value.
+     */
+    int addTo(long key, int delta) {
+        int slot = find(key);
+        if (keys[slot] == FREE) {
+            insert(slot, key, delta);
+            return delta;
+        }
+        return values[slot] += delta;
+    }
+
+    void addAll(LongIntHashMap other) {
+        other.forEach(this::addTo);
+    }
+
+    void forEach(Entry entry) {
+        for (int slot = 0; slot < keys.length; slot++)
+            if (keys[slot] != FREE)
+                entry.accept(keys[slot], values[slot]);
+    }
+
+    LongIntHashMap copy() {
+        LongIntHashMap copy = new LongIntHashMap();
+        copy.keys = keys.clone();
+        copy.values = values.clone();
+        copy.mask = mask;
+        copy.resizeAt = resizeAt;
+        copy.size = size;
+        return copy;
+    }
+
+    private int find(long key) {
+        if (key == FREE)
+            throw new IllegalArgumentException("Key " + key + " is reserved");
+
+        int slot = (int) mix(key) & mask;
+        while (keys[slot] != FREE && keys[slot] != key)
+            slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    private void insert(int slot, long key, int value) {
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeAt)
+            rehash();
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(oldKeys.length << 1);
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] == FREE)
+                continue;
+            int target = (int) mix(oldKeys[slot]) & mask;
+            while (keys[target] != FREE)
+                target = (target + 1) & mask;
+            keys[target] = oldKeys[slot];
+            values[target] = oldValues[slot];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, FREE);
+        values = new int[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    // Sequential ids and packed pairs cluster badly without a finalizer (MurmurHash3 fmix64)
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    @FunctionalInterface
+    interface Entry {
+        void accept(long key, int value);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.libraryManagementSystem.repository;
+
+import com.example.libraryManagementSystem.dto.BookLoanCount;
+import com.example.libraryManagementSystem.dto.KeyedLoanCount;
+import com.example.libraryManagementSystem.model.BookLoanStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BookLoanStatRepository extends JpaRepository<BookLoanStat, Long> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO book_loan_stat (book_id, loan_count)
+            VALUES (:bookId, :delta)
+            ON CONFLICT (book_id) DO UPDATE SET loan_count = book_loan_stat.loan_count + EXCLUDED.loan_count
+            """, nativeQuery = true)
+    int addLoans(@Param("bookId") long bookId, @Param("delta") long delta);
+
+    // Reads the top of book_loan_stat_loan_count_idx, the cost depends on the limit only.
+    @Query(value = """
+            SELECT s.book_id AS bookId, b.title AS title, s.loan_count AS loans
+            FROM book_loan_stat s
+            LEFT JOIN book b ON b.id = s.book_id
+            WHERE s.loan_count > 0
+            ORDER BY s.loan_count DESC, s.book_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<BookLoanCount> findMostBorrowed(@Param("limit") int limit);
+
+    @Query(value = "SELECT r.book_id AS key, COUNT(*) AS loans FROM borrowing_record r GROUP BY r.book_id", nativeQuery = true)
+    List<KeyedLoanCount> countLoansPerBook();
+
+    @Query(value = "SELECT s.book_id AS key, s.loan_count AS loans FROM book_loan_stat s", nativeQuery = true)
+    List<KeyedLoanCount> findAllCounts();
+}
@@ -1,7 +1,11 @@
 package com.example.libraryManagementSystem.repository;
 
+import com.example.libraryManagementSystem.dto.BookFilterKeys;
+import com.example.libraryManagementSystem.dto.BookGenre;
 import com.example.libraryManagementSystem.model.Book;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,4 +19,13 @@ public interface BookRepository extends JpaRepository<Book, Long> {
     List<Book> findByAuthorName(String authorName);
 
     List<Book> findByIsbn(String isbn);
+
+    @Query("SELECT b.id AS id, b.genre AS genre FROM Book b")
+    List<BookGenre> findAllGenres();
+
+    @Query("SELECT b.id AS id, b.genre AS genre, b.available AS available, a.nationality AS nationality FROM Book b LEFT JOIN b.author a")
+    List<BookFilterKeys> findAllFilterKeys();
+
+    @Query("SELECT b.id FROM Book b WHERE b.author.id = :authorId")
+    List<Long> findIdsByAuthorId(@Param("authorId") Long authorId);
 }
@@ -1,11 +1,18 @@
 package com.example.libraryManagementSystem.repository;
 
+import com.example.libraryManagementSystem.dto.ClosedLoan;
+import com.example.libraryManagementSystem.dto.LoanKey;
 import com.example.libraryManagementSystem.model.Book;
 import com.example.libraryManagementSystem.model.BorrowingRecord;
 import com.example.libraryManagementSystem.model.Customer;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Repository
@@ -16,4 +23,58 @@ public interface BorrowingRecordRepository extends JpaRepository<BorrowingRecord
 
     List<BorrowingRecord> findByCustomer(Customer customer);
 
+    // Bounded by borrow_date so only the monthly partitions in range are scanned.
+    List<BorrowingRecord> findByBookAndBorrowDateBetween(Book book, LocalDate from, LocalDate to);
+
+    List<BorrowingRecord> findByCustomerAndBorrowDateBetween(Customer customer, LocalDate from, LocalDate to);
+
+    List<BorrowingRecord> findByCustomerId(Long customerId);
+
+    List<BorrowingRecord> findByBookId(Long bookId);
+
+    // Reads the newest entries of borrowing_record_customer_borrow_date_idx and stops at the limit.
+    List<BorrowingRecord> findByCustomerIdOrderByBorrowDateDescIdDesc(Long customerId, Limit limit);
+
+    // Only visits the customer's open loans in borrowing_record_customer_open_idx.
+    @Query("SELECT COUNT(r) FROM BorrowingRecord r WHERE r.customer.id = :customerId AND r.returnedDate IS NULL AND r.returnDate < :today")
+    long countOverdueByCustomerId(@Param("customerId") Long customerId, @Param("today") LocalDate today);
+
+    // Keyset page over borrowing_record_return_date_idx: open loans due before the given day, after the given key.
+    @Query(value = """
+            SELECT r.id AS id, r.return_date AS returnDate
+            FROM borrowing_record r
+            WHERE r.returned_date IS NULL
+              AND r.return_date < :dueBefore
+              AND (r.return_date, r.id) > (:afterReturnDate, :afterId)
+            ORDER BY r.return_date, r.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<LoanKey> findOverdueKeys(@Param("dueBefore") LocalDate dueBefore,
+                                  @Param("afterReturnDate") LocalDate afterReturnDate,
+                                  @Param("afterId") long afterId,
+                                  @Param("limit") int limit);
+
+    // Loans returned before the given day, in id order after the given id. A loan is borrowed before
+    // it is returned, so the borrow_date bound limits the scan to the old partitions.
+    @Query(value = """
+            SELECT r.id AS id, r.customer_id AS customerId, r.book_id AS bookId, r.borrow_date AS borrowDate,
+                   r.return_date AS returnDate, r.returned_date AS returnedDate
+            FROM borrowing_record r
+            WHERE r.returned_date < :returnedBefore
+              AND r.borrow_date < :returnedBefore
+              AND r.id > :afterId
+            ORDER BY r.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<ClosedLoan> findClosedLoans(@Param("returnedBefore") LocalDate returnedBefore,
+                                     @Param("afterId") long afterId,
+                                     @Param("limit") int limit);
+
+    // Transaction-scoped, so the lock is released by the commit or rollback of the archival run or overdue scan
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryLock(@Param("key") long key);
+
+    @Modifying
+    @Query(value = "DELETE FROM borrowing_record WHERE id IN (:ids) AND returned_date IS NOT NULL", nativeQuery = true)
+    int deleteClosedLoans(@Param("ids") List<Long> ids);
 }
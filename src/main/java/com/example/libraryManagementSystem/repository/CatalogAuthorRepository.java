@@ -0,0 +1,9 @@
+package com.example.libraryManagementSystem.repository;
+
+import com.example.libraryManagementSystem.model.CatalogAuthor;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CatalogAuthorRepository extends R2dbcRepository<CatalogAuthor, Long> {
+}
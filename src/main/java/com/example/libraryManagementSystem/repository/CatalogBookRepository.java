@@ -0,0 +1,21 @@
+package com.example.libraryManagementSystem.repository;
+
+import com.example.libraryManagementSystem.model.CatalogBook;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface CatalogBookRepository extends R2dbcRepository<CatalogBook, Long> {
+
+    Flux<CatalogBook> findAllBy(Pageable pageable);
+
+    Flux<CatalogBook> findByTitle(String title);
+
+    Flux<CatalogBook> findByIsbn(String isbn);
+
+    @Query("SELECT b.* FROM book b JOIN author a ON a.id = b.author_id WHERE a.name = :authorName")
+    Flux<CatalogBook> findByAuthorName(String authorName);
+}
@@ -0,0 +1,9 @@
+package com.example.libraryManagementSystem.repository;
+
+import com.example.libraryManagementSystem.model.CustomerFineBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CustomerFineBalanceRepository extends JpaRepository<CustomerFineBalance, Long> {
+}
@@ -0,0 +1,47 @@
+package com.example.libraryManagementSystem.repository;
+
+import com.example.libraryManagementSystem.dto.CustomerLoanCount;
+import com.example.libraryManagementSystem.dto.CustomerLoanTotals;
+import com.example.libraryManagementSystem.model.CustomerLoanStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CustomerLoanStatRepository extends JpaRepository<CustomerLoanStat, Long> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO customer_loan_stat (customer_id, loan_count, open_loans)
+            VALUES (:customerId, :delta, :openDelta)
+            ON CONFLICT (customer_id) DO UPDATE SET loan_count = customer_loan_stat.loan_count + EXCLUDED.loan_count,
+                                                    open_loans = customer_loan_stat.open_loans + EXCLUDED.open_loans
+            """, nativeQuery = true)
+    int addLoans(@Param("customerId") long customerId, @Param("delta") long delta, @Param("openDelta") long openDelta);
+
+    // Reads the top of customer_loan_stat_loan_count_idx, the cost depends on the limit only.
+    @Query(value = """
+            SELECT s.customer_id AS customerId, c.name AS name, s.loan_count AS loans
+            FROM customer_loan_stat s
+            LEFT JOIN customer c ON c.id = s.customer_id
+            WHERE s.loan_count > 0
+            ORDER BY s.loan_count DESC, s.customer_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<CustomerLoanCount> findMostActive(@Param("limit") int limit);
+
+    @Query(value = """
+            SELECT r.customer_id AS customerId, COUNT(*) AS loans, COUNT(*) FILTER (WHERE r.returned_date IS NULL) AS openLoans
+            FROM borrowing_record r
+            GROUP BY r.customer_id
+            """, nativeQuery = true)
+    List<CustomerLoanTotals> countLoansPerCustomer();
+
+    @Query(value = "SELECT s.customer_id AS customerId, s.loan_count AS loans, s.open_loans AS openLoans FROM customer_loan_stat s",
+            nativeQuery = true)
+    List<CustomerLoanTotals> findAllTotals();
+}
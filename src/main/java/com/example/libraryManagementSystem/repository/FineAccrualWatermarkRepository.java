@@ -0,0 +1,20 @@
+package com.example.libraryManagementSystem.repository;
+
+import com.example.libraryManagementSystem.model.FineAccrualWatermark;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface FineAccrualWatermarkRepository extends JpaRepository<FineAccrualWatermark, Long> {
+
+    // Held until the accrual commits, so two nodes never apply the same changes twice
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM FineAccrualWatermark w WHERE w.id = :id")
+    Optional<FineAccrualWatermark> findForUpdate(@Param("id") Long id);
+}
@@ -0,0 +1,52 @@
+package com.example.libraryManagementSystem.repository;
+
+import com.example.libraryManagementSystem.dto.GenreMonthLoanCount;
+import com.example.libraryManagementSystem.model.GenreMonthLoanStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface GenreMonthLoanStatRepository extends JpaRepository<GenreMonthLoanStat, Long> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO genre_month_loan_stat (id, genre, month, slot, loan_count)
+            VALUES (nextval('genre_month_loan_stat_sequence'), :genre, :month, :slot, :delta)
+            ON CONFLICT (genre, month, slot) DO UPDATE SET loan_count = genre_month_loan_stat.loan_count + EXCLUDED.loan_count
+            """, nativeQuery = true)
+    int addLoans(@Param("genre") String genre, @Param("month") LocalDate month,
+                 @Param("slot") int slot, @Param("delta") long delta);
+
+    @Query(value = """
+            SELECT s.genre AS genre, s.month AS month, SUM(s.loan_count) AS loans
+            FROM genre_month_loan_stat s
+            WHERE s.month >= :fromMonth AND s.month <= :toMonth
+            GROUP BY s.genre, s.month
+            HAVING SUM(s.loan_count) > 0
+            ORDER BY s.month, s.genre
+            """, nativeQuery = true)
+    List<GenreMonthLoanCount> findMonthly(@Param("fromMonth") LocalDate fromMonth, @Param("toMonth") LocalDate toMonth);
+
+    @Query(value = """
+            SELECT COALESCE(b.genre, 'Unknown') AS genre,
+                   CAST(date_trunc('month', r.borrow_date) AS DATE) AS month,
+                   COUNT(*) AS loans
+            FROM borrowing_record r
+            JOIN book b ON b.id = r.book_id
+            GROUP BY 1, 2
+            """, nativeQuery = true)
+    List<GenreMonthLoanCount> countLoansPerGenreAndMonth();
+
+    @Query(value = """
+            SELECT s.genre AS genre, s.month AS month, SUM(s.loan_count) AS loans
+            FROM genre_month_loan_stat s
+            GROUP BY s.genre, s.month
+            """, nativeQuery = true)
+    List<GenreMonthLoanCount> findAllCounts();
+}
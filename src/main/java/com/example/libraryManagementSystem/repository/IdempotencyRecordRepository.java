@@ -0,0 +1,33 @@
+package com.example.libraryManagementSystem.repository;
+
+import com.example.libraryManagementSystem.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // Inserts the reservation, or takes over an expired one; returns 0 while a live entry holds the key.
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO idempotency_record (idempotency_key, fingerprint, status, content_type, body, expires_at)
+            VALUES (:key, :fingerprint, 0, NULL, NULL, :expiresAt)
+            ON CONFLICT (idempotency_key) DO UPDATE
+                SET fingerprint = EXCLUDED.fingerprint, status = 0, content_type = NULL, body = NULL, expires_at = EXCLUDED.expires_at
+                WHERE idempotency_record.expires_at < :now
+            """, nativeQuery = true)
+    int reserve(@Param("key") String key, @Param("fingerprint") String fingerprint,
+                @Param("expiresAt") Instant expiresAt, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
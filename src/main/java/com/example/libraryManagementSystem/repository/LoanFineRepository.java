@@ -0,0 +1,102 @@
+package com.example.libraryManagementSystem.repository;
+
+import com.example.libraryManagementSystem.model.LoanFine;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+@Repository
+public interface LoanFineRepository extends JpaRepository<LoanFine, Long> {
+
+    /**
+     * Removes the fines of loans changed in ({@code changedAfter}, {@code changedUntil}] and of
+     * deleted loans that were still open, taking them back out of the customer totals so that
+     * {@link #deriveFines} can record them again from the loans' current state.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            WITH retracted AS (
+                DELETE FROM loan_fine f
+                WHERE f.record_id IN (
+                        SELECT r.id FROM borrowing_record r
+                        WHERE r.updated_at > :changedAfter AND r.updated_at <= :changedUntil)
+                   OR (f.closed_date IS NULL
+                        AND NOT EXISTS (SELECT 1 FROM borrowing_record r WHERE r.id = f.record_id))
+                RETURNING f.customer_id, f.due_date, f.closed_date, f.amount_cents
+            )
+            UPDATE customer_fine_balance b
+            SET settled_cents = b.settled_cents - d.settled_cents,
+                open_count = b.open_count - d.open_count,
+                open_due_day_sum = b.open_due_day_sum - d.open_due_day_sum,
+                updated_at = :now
+            FROM (
+                SELECT customer_id,
+                       COALESCE(SUM(amount_cents), 0) AS settled_cents,
+                       COUNT(*) FILTER (WHERE closed_date IS NULL) AS open_count,
+                       COALESCE(SUM(due_date - DATE '1970-01-01') FILTER (WHERE closed_date IS NULL), 0) AS open_due_day_sum
+                FROM retracted
+                GROUP BY customer_id
+            ) d
+            WHERE b.customer_id = d.customer_id
+            """, nativeQuery = true)
+    int retractChangedFines(@Param("changedAfter") Instant changedAfter,
+                            @Param("changedUntil") Instant changedUntil,
+                            @Param("now") Instant now);
+
+    /**
+     * Records a fine for every loan changed in ({@code changedAfter}, {@code changedUntil}] or
+     * due in [{@code dueFrom}, {@code dueBefore}) that is late: open loans due before
+     * {@code dueBefore} and loans returned after their return date. Customer totals are adjusted in
+     * the same statement.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            WITH candidates AS (
+                SELECT r.id, r.customer_id, r.return_date, r.returned_date
+                FROM borrowing_record r
+                WHERE r.updated_at > :changedAfter AND r.updated_at <= :changedUntil
+                UNION
+                SELECT r.id, r.customer_id, r.return_date, r.returned_date
+                FROM borrowing_record r
+                WHERE r.returned_date IS NULL AND r.return_date >= :dueFrom AND r.return_date < :dueBefore
+            ),
+            inserted AS (
+                INSERT INTO loan_fine (record_id, customer_id, due_date, closed_date, amount_cents)
+                SELECT c.id, c.customer_id, c.return_date, c.returned_date,
+                       CASE WHEN c.returned_date IS NULL THEN NULL
+                            ELSE (c.returned_date - c.return_date) * CAST(:dailyRateCents AS BIGINT) END
+                FROM candidates c
+                WHERE (c.returned_date IS NULL AND c.return_date < :dueBefore)
+                   OR c.returned_date > c.return_date
+                ON CONFLICT (record_id) DO NOTHING
+                RETURNING customer_id, due_date, closed_date, amount_cents
+            )
+            INSERT INTO customer_fine_balance (customer_id, settled_cents, open_count, open_due_day_sum, updated_at)
+            SELECT customer_id,
+                   COALESCE(SUM(amount_cents), 0),
+                   COUNT(*) FILTER (WHERE closed_date IS NULL),
+                   COALESCE(SUM(due_date - DATE '1970-01-01') FILTER (WHERE closed_date IS NULL), 0),
+                   :now
+            FROM inserted
+            GROUP BY customer_id
+            ON CONFLICT (customer_id) DO UPDATE
+                SET settled_cents = customer_fine_balance.settled_cents + EXCLUDED.settled_cents,
+                    open_count = customer_fine_balance.open_count + EXCLUDED.open_count,
+                    open_due_day_sum = customer_fine_balance.open_due_day_sum + EXCLUDED.open_due_day_sum,
+                    updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    int deriveFines(@Param("changedAfter") Instant changedAfter,
+                    @Param("changedUntil") Instant changedUntil,
+                    @Param("dueFrom") LocalDate dueFrom,
+                    @Param("dueBefore") LocalDate dueBefore,
+                    @Param("dailyRateCents") long dailyRateCents,
+                    @Param("now") Instant now);
+}
@@ -0,0 +1,45 @@
+package com.example.libraryManagementSystem.repository;
+
+import com.example.libraryManagementSystem.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Transaction-scoped, so the lock is released by the commit or rollback of the poll
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryLock(@Param("key") long key);
+
+    // Events created after createdBefore are left out, their ids may not be in commit order yet
+    @Query("SELECT e FROM OutboxEvent e WHERE e.publishedAt IS NULL AND e.attempts < :maxAttempts AND e.createdAt < :createdBefore ORDER BY e.id")
+    List<OutboxEvent> findPending(@Param("maxAttempts") int maxAttempts,
+                                  @Param("createdBefore") Instant createdBefore,
+                                  Pageable pageable);
+
+    // A range of outbox_event_pkey, whether or not the events are published yet
+    @Query("SELECT e FROM OutboxEvent e WHERE e.id > :afterId AND e.aggregateType = :aggregateType ORDER BY e.id")
+    List<OutboxEvent> findAfter(@Param("afterId") long afterId, @Param("aggregateType") String aggregateType, Pageable pageable);
+
+    @Query("SELECT max(e.id) FROM OutboxEvent e")
+    Long findMaxId();
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.publishedAt = :publishedAt WHERE e.id IN :ids")
+    int markPublished(@Param("ids") List<Long> ids, @Param("publishedAt") Instant publishedAt);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.lastError = :error WHERE e.id = :id")
+    int recordFailure(@Param("id") Long id, @Param("error") String error);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :publishedBefore")
+    int deletePublishedBefore(@Param("publishedBefore") Instant publishedBefore);
+}
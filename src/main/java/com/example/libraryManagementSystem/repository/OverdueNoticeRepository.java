@@ -0,0 +1,28 @@
+package com.example.libraryManagementSystem.repository;
+
+import com.example.libraryManagementSystem.model.OverdueNotice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface OverdueNoticeRepository extends JpaRepository<OverdueNotice, Long> {
+
+    // One statement per chunk; loans that already have a notice are skipped so a resumed scan can replay a chunk.
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO overdue_notice (id, record_id, customer_id, book_id, due_date, detected_at)
+            SELECT nextval('overdue_notice_sequence'), r.id, r.customer_id, r.book_id, r.return_date, :detectedAt
+            FROM borrowing_record r
+            WHERE r.id IN (:recordIds)
+            ON CONFLICT (record_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertForRecords(@Param("recordIds") List<Long> recordIds, @Param("detectedAt") Instant detectedAt);
+}
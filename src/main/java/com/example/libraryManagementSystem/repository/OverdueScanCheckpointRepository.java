@@ -0,0 +1,11 @@
+package com.example.libraryManagementSystem.repository;
+
+import com.example.libraryManagementSystem.model.OverdueScanCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+@Repository
+public interface OverdueScanCheckpointRepository extends JpaRepository<OverdueScanCheckpoint, LocalDate> {
+}
@@ -0,0 +1,84 @@
+package com.example.libraryManagementSystem.service;
+
+import com.example.libraryManagementSystem.analytics.LoanColumnStore;
+import com.example.libraryManagementSystem.analytics.LoanColumns;
+import com.example.libraryManagementSystem.dto.GenreLoanDurationDTO;
+import com.example.libraryManagementSystem.dto.SegmentLateReturnsDTO;
+import com.example.libraryManagementSystem.dto.WeekdayLoansDTO;
+import com.example.libraryManagementSystem.exceptionhandling.BadRequestException;
+import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Loan analytics answered from the in-memory {@link LoanColumnStore}, never from the database.
+ * Ranges are on the borrow date and default to the whole history.
+ */
+@Lazy
+@Service
+@RequiredArgsConstructor
+public class AnalyticsService {
+
+    // Open ends of a borrow date range; both fit an epoch day in an int
+    static final LocalDate EARLIEST_BORROW_DATE = LocalDate.of(1, 1, 1);
+    static final LocalDate LATEST_BORROW_DATE = LocalDate.of(9999, 12, 31);
+
+    private final LoanColumnStore columnStore;
+
+    public ResponseEntity<List<WeekdayLoansDTO>> getLoansPerWeekday(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+
+        List<WeekdayLoansDTO> weekdays = columnStore.loansPerWeekday(orEarliest(from), orLatest(to));
+
+        if (weekdays.stream().allMatch(weekday -> weekday.getLoans() == 0))
+            throw new DataNotFoundException("No Loans Found In This Range!");
+
+        return new ResponseEntity<>(weekdays, HttpStatus.OK);
+    }
+
+    public ResponseEntity<List<GenreLoanDurationDTO>> getAverageLoanDaysPerGenre(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+
+        List<GenreLoanDurationDTO> genres = columnStore.averageLoanDaysPerGenre(orEarliest(from), orLatest(to));
+
+        if (genres.isEmpty())
+            throw new DataNotFoundException("No Returned Loans Found In This Range!");
+
+        return new ResponseEntity<>(genres, HttpStatus.OK);
+    }
+
+    public ResponseEntity<List<SegmentLateReturnsDTO>> getLateReturnRatePerSegment(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+
+        List<SegmentLateReturnsDTO> segments = columnStore.lateReturnRatePerSegment(orEarliest(from), orLatest(to));
+
+        if (segments.stream().allMatch(segment -> segment.getDueLoans() == 0))
+            throw new DataNotFoundException("No Due Loans Found In This Range!");
+
+        return new ResponseEntity<>(segments, HttpStatus.OK);
+    }
+
+    public ResponseEntity<String> rebuild() {
+        LoanColumns columns = columnStore.rebuild();
+        return new ResponseEntity<>("Analytics Rebuilt With " + columns.getRowCount() + " Loans!", HttpStatus.OK);
+    }
+
+    private static void checkRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to))
+            throw new BadRequestException("From Date Can't Be After To Date!");
+    }
+
+    private static LocalDate orEarliest(LocalDate from) {
+        return from == null ? EARLIEST_BORROW_DATE : from;
+    }
+
+    private static LocalDate orLatest(LocalDate to) {
+        return to == null ? LATEST_BORROW_DATE : to;
+    }
+}
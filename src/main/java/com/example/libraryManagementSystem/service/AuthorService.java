@@ -1,9 +1,12 @@
 package com.example.libraryManagementSystem.service;
 
+import com.example.libraryManagementSystem.bookindex.BookBitmapIndex;
 import com.example.libraryManagementSystem.dto.AuthorDTO;
 import com.example.libraryManagementSystem.exceptionhandling.DataAlreadyExistException;
 import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundException;
 import com.example.libraryManagementSystem.model.Author;
+import com.example.libraryManagementSystem.outbox.EventOutbox;
+import com.example.libraryManagementSystem.outbox.EventType;
 import com.example.libraryManagementSystem.repository.AuthorRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
@@ -15,15 +18,19 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class AuthorService {
 
     private final AuthorRepository repository;
+    private final EventOutbox eventOutbox;
+    private final BookBitmapIndex bookBitmapIndex;
 
     @Cacheable("authors")
     public ResponseEntity<List<Author>> getAuthors(int pageNumber, int pageSize, String field) {
@@ -53,6 +60,7 @@ public class AuthorService {
     }
 
     @CacheEvict(value = "authors", allEntries = true)
+    @Transactional
     public ResponseEntity<Author> addAuthor(AuthorDTO authorDTO) {
         if (repository.existsByNameAndBirthDateAndNationality(authorDTO.getName(), LocalDate.parse(authorDTO.getBirthDate()), authorDTO.getNationality()))
             throw new DataAlreadyExistException("This Author Already Exists!");
@@ -64,10 +72,14 @@ public class AuthorService {
                 .nationality(authorDTO.getNationality())
                 .build();
 
-        return new ResponseEntity<>(repository.save(newAuthor), HttpStatus.OK);
+        Author savedAuthor = repository.save(newAuthor);
+        eventOutbox.append(EventType.AUTHOR_ADDED, savedAuthor.getId(), savedAuthor);
+
+        return new ResponseEntity<>(savedAuthor, HttpStatus.OK);
     }
 
     @CacheEvict(value = "authors", allEntries = true)
+    @Transactional
     public ResponseEntity<Author> updateAuthor(Long id, AuthorDTO authorDTO) {
         if (repository.findById(id).isEmpty())
             throw new DataNotFoundException("No Author With The ID: " + id + " Found!");
@@ -77,15 +89,21 @@ public class AuthorService {
         updatedAuthor.setBirthDate(LocalDate.parse(authorDTO.getBirthDate()));
         updatedAuthor.setNationality(authorDTO.getNationality());
 
-        return new ResponseEntity<>(repository.save(updatedAuthor), HttpStatus.OK);
+        Author savedAuthor = repository.save(updatedAuthor);
+        bookBitmapIndex.authorSaved(savedAuthor);
+        eventOutbox.append(EventType.AUTHOR_UPDATED, id, savedAuthor);
+
+        return new ResponseEntity<>(savedAuthor, HttpStatus.OK);
     }
 
     @CacheEvict(value = "authors", allEntries = true)
+    @Transactional
     public ResponseEntity<String> deleteAuthor(Long id) {
         if (repository.findById(id).isEmpty())
             throw new DataNotFoundException("No Author With The ID: " + id + " Found!");
 
         repository.deleteById(id);
+        eventOutbox.append(EventType.AUTHOR_DELETED, id, Map.of("id", id));
 
         return new ResponseEntity<>("Author With ID: " + id + " Deleted Successfully!", HttpStatus.OK);
     }
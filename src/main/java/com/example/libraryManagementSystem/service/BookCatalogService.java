@@ -0,0 +1,113 @@
+package com.example.libraryManagementSystem.service;
+
+import com.example.libraryManagementSystem.exceptionhandling.BadRequestException;
+import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundException;
+import com.example.libraryManagementSystem.model.Author;
+import com.example.libraryManagementSystem.model.Book;
+import com.example.libraryManagementSystem.model.CatalogAuthor;
+import com.example.libraryManagementSystem.model.CatalogBook;
+import com.example.libraryManagementSystem.repository.CatalogAuthorRepository;
+import com.example.libraryManagementSystem.repository.CatalogBookRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The book reads of {@link BookService}, non-blocking over R2DBC, for the reactive catalog API.
+ * Books are emitted as they are read, and no more are read than the client has taken; the
+ * answers and errors are those of the blocking endpoints.
+ */
+@Service
+public class BookCatalogService {
+
+    private static final Set<String> SORT_FIELDS = Set.of("id", "title", "publicationDate", "isbn", "genre", "available");
+
+    private final CatalogBookRepository catalogBookRepository;
+    private final CatalogAuthorRepository catalogAuthorRepository;
+    private final int authorBatchSize;
+
+    public BookCatalogService(CatalogBookRepository catalogBookRepository,
+                              CatalogAuthorRepository catalogAuthorRepository,
+                              @Value("${library.catalog.author-batch-size:256}") int authorBatchSize) {
+        this.catalogBookRepository = catalogBookRepository;
+        this.catalogAuthorRepository = catalogAuthorRepository;
+        this.authorBatchSize = authorBatchSize;
+    }
+
+    public Flux<Book> getBooks(int pageNumber, int pageSize, String field) {
+        if (!SORT_FIELDS.contains(field))
+            return Flux.error(new BadRequestException("Books Cannot Be Sorted By " + field + "!"));
+
+        if (pageNumber <= 0)
+            pageNumber = 0;
+
+        if (pageSize <= 0)
+            pageSize = 5;
+
+        Flux<CatalogBook> page = catalogBookRepository.findAllBy(PageRequest.of(pageNumber, pageSize, Sort.by(field)))
+                // A page past the last one is empty, only an empty catalogue is not found
+                .switchIfEmpty(catalogBookRepository.count()
+                        .filter(count -> count > 0)
+                        .switchIfEmpty(Mono.error(new DataNotFoundException("No Books Found!")))
+                        .thenMany(Flux.empty()));
+        return withAuthors(page);
+    }
+
+    public Flux<Book> searchBooks(String title, String isbn, String authorName) {
+        int nonNullParamsCount = 0;
+        if (title != null)
+            nonNullParamsCount++;
+        if (isbn != null)
+            nonNullParamsCount++;
+        if (authorName != null)
+            nonNullParamsCount++;
+
+        if (nonNullParamsCount == 0) {
+            return Flux.error(new BadRequestException("At least one search parameter must be provided."));
+        } else if (nonNullParamsCount > 1) {
+            return Flux.error(new BadRequestException("Only one search parameter can be provided at a time."));
+        }
+
+        Flux<CatalogBook> books;
+        if (title != null) {
+            books = catalogBookRepository.findByTitle(title);
+        } else if (isbn != null) {
+            books = catalogBookRepository.findByIsbn(isbn);
+        } else {
+            books = catalogBookRepository.findByAuthorName(authorName);
+        }
+        return withAuthors(books.switchIfEmpty(Flux.error(new DataNotFoundException("No Books Found!"))));
+    }
+
+    public Mono<Book> getBookById(Long id) {
+        return withAuthors(catalogBookRepository.findById(id).flux())
+                .singleOrEmpty()
+                .switchIfEmpty(Mono.error(new DataNotFoundException("No Book With The ID: " + id + " Found!")));
+    }
+
+    /**
+     * Adds their authors to the books, loading the authors of each batch of books in one query.
+     * Order is kept, and the next batch is only read once the client has taken the previous one.
+     * While a long result streams, its author queries run on a second connection.
+     */
+    private Flux<Book> withAuthors(Flux<CatalogBook> books) {
+        return books.buffer(authorBatchSize)
+                .concatMap(batch -> {
+                    List<Long> authorIds = batch.stream().map(CatalogBook::authorId).distinct().toList();
+                    return catalogAuthorRepository.findAllById(authorIds)
+                            .collectMap(CatalogAuthor::id, CatalogAuthor::toAuthor)
+                            .flatMapIterable(authors -> toBooks(batch, authors));
+                }, 1);
+    }
+
+    private static List<Book> toBooks(List<CatalogBook> batch, Map<Long, Author> authors) {
+        return batch.stream().map(book -> book.toBook(authors.get(book.authorId()))).toList();
+    }
+}
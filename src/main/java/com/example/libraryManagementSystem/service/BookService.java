@@ -1,11 +1,17 @@
 package com.example.libraryManagementSystem.service;
 
+import com.example.libraryManagementSystem.bookindex.BookBitmapIndex;
+import com.example.libraryManagementSystem.bookindex.BookIdPage;
 import com.example.libraryManagementSystem.dto.BookDTO;
 import com.example.libraryManagementSystem.exceptionhandling.BadRequestException;
 import com.example.libraryManagementSystem.exceptionhandling.DataAlreadyExistException;
 import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundException;
+import com.example.libraryManagementSystem.httpcache.CatalogResponses;
+import com.example.libraryManagementSystem.jfr.BookSearchEvent;
 import com.example.libraryManagementSystem.model.Author;
 import com.example.libraryManagementSystem.model.Book;
+import com.example.libraryManagementSystem.outbox.EventOutbox;
+import com.example.libraryManagementSystem.outbox.EventType;
 import com.example.libraryManagementSystem.repository.AuthorRepository;
 import com.example.libraryManagementSystem.repository.BookRepository;
 import lombok.RequiredArgsConstructor;
@@ -18,9 +24,13 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -28,6 +38,9 @@ public class BookService {
 
     private final BookRepository bookRepository;
     private final AuthorRepository authorRepository;
+    private final EventOutbox eventOutbox;
+    private final BookBitmapIndex bookBitmapIndex;
+    private final CatalogResponses catalogResponses;
 
     @Cacheable("books")
     public ResponseEntity<List<Book>> getBooks(int pageNumber, int pageSize, String field) {
@@ -45,7 +58,7 @@ public class BookService {
 
         Page<Book> booksPage = bookRepository.findAll(pageable);
 
-        return new ResponseEntity<>(booksPage.getContent(), HttpStatus.OK);
+        return catalogResponses.of(booksPage.getContent());
     }
 
     @Cacheable("books")
@@ -64,15 +77,26 @@ public class BookService {
             throw new BadRequestException("Only one search parameter can be provided at a time.");
         }
 
-        if (bookRepository.findAll().isEmpty())
-            throw new DataNotFoundException("No Books Found!");
-
-        if (title != null) {
-            return getBooksByTitle(title);
-        } else if (isbn != null) {
-            return getBooksByIsbn(isbn);
-        } else {
-            return getBooksByAuthor(authorName);
+        BookSearchEvent event = title != null ? new BookSearchEvent("title", title)
+                : isbn != null ? new BookSearchEvent("isbn", isbn)
+                : new BookSearchEvent("author", authorName);
+        event.begin();
+        try {
+            if (bookRepository.findAll().isEmpty())
+                throw new DataNotFoundException("No Books Found!");
+
+            ResponseEntity<List<Book>> response;
+            if (title != null) {
+                response = getBooksByTitle(title);
+            } else if (isbn != null) {
+                response = getBooksByIsbn(isbn);
+            } else {
+                response = getBooksByAuthor(authorName);
+            }
+            event.setResults(response.getBody().size());
+            return catalogResponses.of(response.getBody());
+        } finally {
+            event.commit();
         }
     }
 
@@ -97,15 +121,59 @@ public class BookService {
         return new ResponseEntity<>(bookRepository.findByAuthorName(authorName), HttpStatus.OK);
     }
 
+    /**
+     * Pages the books matching all given filters using the bitmap index; the database only loads
+     * the books of the page.
+     */
+    public ResponseEntity<List<Book>> filterBooks(String genre, String nationality, Boolean available,
+                                                  int pageNumber, int pageSize) {
+        if (genre == null && nationality == null && available == null)
+            throw new BadRequestException("At least one filter parameter must be provided.");
+
+        if (pageNumber <= 0)
+            pageNumber = 0;
+
+        if (pageSize <= 0)
+            pageSize = 5;
+
+        BookSearchEvent event = new BookSearchEvent("filter",
+                "genre=" + genre + ", nationality=" + nationality + ", available=" + available);
+        event.begin();
+        try {
+            BookIdPage page = bookBitmapIndex.filter(genre, nationality, available, (long) pageNumber * pageSize, pageSize);
+
+            if (page.bookIds().isEmpty())
+                throw new DataNotFoundException("No Books Found!");
+
+            Map<Long, Book> booksById = new HashMap<>();
+            for (Book book : bookRepository.findAllById(page.bookIds()))
+                booksById.put(book.getId(), book);
+
+            // Keep the index's id order; a book deleted since the index was updated is skipped
+            List<Book> books = new ArrayList<>(page.bookIds().size());
+            for (Long bookId : page.bookIds()) {
+                Book book = booksById.get(bookId);
+                if (book != null)
+                    books.add(book);
+            }
+
+            event.setResults(books.size());
+            return new ResponseEntity<>(books, HttpStatus.OK);
+        } finally {
+            event.commit();
+        }
+    }
+
     @Cacheable("books")
     public ResponseEntity<Book> getBookById(Long id) {
         if (bookRepository.findById(id).isEmpty())
             throw new DataNotFoundException("No Book With The ID: " + id + " Found!");
 
-        return new ResponseEntity<>(bookRepository.findById(id).get(), HttpStatus.OK);
+        return catalogResponses.of(bookRepository.findById(id).get());
     }
 
     @CacheEvict(value = "books", allEntries = true)
+    @Transactional
     public ResponseEntity<Book> addBook(BookDTO bookDTO) {
         if (bookRepository.existsByTitleAndIsbn(bookDTO.getTitle(), bookDTO.getIsbn()))
             throw new DataAlreadyExistException("This Book Already Exists!");
@@ -122,7 +190,9 @@ public class BookService {
                     .birthDate(bookDTO.getAuthor().getBirthDate())
                     .nationality(bookDTO.getAuthor().getNationality())
                     .build();
-            return authorRepository.save(newAuthor);
+            Author savedAuthor = authorRepository.save(newAuthor);
+            eventOutbox.append(EventType.AUTHOR_ADDED, savedAuthor.getId(), savedAuthor);
+            return savedAuthor;
         });
 
         Book newBook = Book
@@ -135,10 +205,15 @@ public class BookService {
                 .author(author)
                 .build();
 
-        return new ResponseEntity<>(bookRepository.save(newBook), HttpStatus.OK);
+        Book savedBook = bookRepository.save(newBook);
+        bookBitmapIndex.bookSaved(savedBook);
+        eventOutbox.append(EventType.BOOK_ADDED, savedBook.getId(), savedBook);
+
+        return new ResponseEntity<>(savedBook, HttpStatus.OK);
     }
 
     @CacheEvict(value = "books", allEntries = true)
+    @Transactional
     public ResponseEntity<Book> updateBook(Long id, BookDTO bookDTO) {
         if (bookRepository.findById(id).isEmpty())
             throw new DataNotFoundException("No Book With The ID: " + id + " Found!");
@@ -155,7 +230,9 @@ public class BookService {
                     .birthDate(bookDTO.getAuthor().getBirthDate())
                     .nationality(bookDTO.getAuthor().getNationality())
                     .build();
-            return authorRepository.save(newAuthor);
+            Author savedAuthor = authorRepository.save(newAuthor);
+            eventOutbox.append(EventType.AUTHOR_ADDED, savedAuthor.getId(), savedAuthor);
+            return savedAuthor;
         });
 
         Book updatedBook = bookRepository.findById(id).get();
@@ -166,15 +243,22 @@ public class BookService {
         updatedBook.setAuthor(author);
         updatedBook.setPublicationDate(LocalDate.parse(bookDTO.getPublicationDate()));
 
-        return new ResponseEntity<>(bookRepository.save(updatedBook), HttpStatus.OK);
+        Book savedBook = bookRepository.save(updatedBook);
+        bookBitmapIndex.bookSaved(savedBook);
+        eventOutbox.append(EventType.BOOK_UPDATED, id, savedBook);
+
+        return new ResponseEntity<>(savedBook, HttpStatus.OK);
     }
 
     @CacheEvict(value = "books", allEntries = true)
+    @Transactional
     public ResponseEntity<String> deleteBook(Long id) {
         if (bookRepository.findById(id).isEmpty())
             throw new DataNotFoundException("No Book With The ID: " + id + " Found!");
 
         bookRepository.deleteById(id);
+        bookBitmapIndex.bookDeleted(id);
+        eventOutbox.append(EventType.BOOK_DELETED, id, Map.of("id", id));
 
         return new ResponseEntity<>("Book With ID: " + id + " Deleted Successfully!", HttpStatus.OK);
     }
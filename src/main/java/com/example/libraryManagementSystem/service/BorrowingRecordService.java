@@ -6,7 +6,13 @@ import com.example.libraryManagementSystem.exceptionhandling.DataAlreadyExistExc
 import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundException;
 import com.example.libraryManagementSystem.model.Book;
 import com.example.libraryManagementSystem.model.BorrowingRecord;
+import com.example.libraryManagementSystem.jfr.CheckoutEvent;
+import com.example.libraryManagementSystem.jfr.ReturnEvent;
+import com.example.libraryManagementSystem.metrics.LibraryMetrics;
 import com.example.libraryManagementSystem.model.Customer;
+import com.example.libraryManagementSystem.outbox.EventOutbox;
+import com.example.libraryManagementSystem.outbox.EventType;
+import com.example.libraryManagementSystem.outbox.LoanEventPayload;
 import com.example.libraryManagementSystem.repository.BookRepository;
 import com.example.libraryManagementSystem.repository.BorrowingRecordRepository;
 import com.example.libraryManagementSystem.repository.CustomerRepository;
@@ -20,18 +26,29 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class BorrowingRecordService {
 
+    // Open ends of a borrow date range; both fit a PostgreSQL DATE
+    static final LocalDate EARLIEST_BORROW_DATE = LocalDate.of(1, 1, 1);
+    static final LocalDate LATEST_BORROW_DATE = LocalDate.of(9999, 12, 31);
+
     private final BorrowingRecordRepository recordRepository;
     private final BookRepository bookRepository;
     private final CustomerRepository customerRepository;
+    private final EventOutbox eventOutbox;
+    private final CirculationStatsService statsService;
+    private final LibraryMetrics metrics;
+    private final Clock clock;
 
     @Cacheable("records")
     public ResponseEntity<List<BorrowingRecord>> getRecords(int pageNumber, int pageSize, String field) {
@@ -53,7 +70,8 @@ public class BorrowingRecordService {
     }
 
     @Cacheable("records")
-    public ResponseEntity<List<BorrowingRecord>> searchRecords(Long customerId, Long bookId) {
+    public ResponseEntity<List<BorrowingRecord>> searchRecords(Long customerId, Long bookId,
+                                                               LocalDate borrowedFrom, LocalDate borrowedTo) {
         int nonNullParamsCount = 0;
         if (customerId != null)
             nonNullParamsCount++;
@@ -66,29 +84,51 @@ public class BorrowingRecordService {
             throw new BadRequestException("Only one search parameter can be provided at a time.");
         }
 
+        if (borrowedFrom != null && borrowedTo != null && borrowedFrom.isAfter(borrowedTo))
+            throw new BadRequestException("Borrowed From Date Can't Be After Borrowed To Date!");
+
         if (bookId != null)
-            return getRecordsByBook(bookId);
+            return getRecordsByBook(bookId, borrowedFrom, borrowedTo);
         else
-            return getRecordsByCustomer(customerId);
+            return getRecordsByCustomer(customerId, borrowedFrom, borrowedTo);
     }
 
-    private ResponseEntity<List<BorrowingRecord>> getRecordsByCustomer(Long customerId) {
+    private ResponseEntity<List<BorrowingRecord>> getRecordsByCustomer(Long customerId, LocalDate borrowedFrom, LocalDate borrowedTo) {
         Optional<Customer> customerOptional = customerRepository.findById(customerId);
 
-        if (customerRepository.findAll().isEmpty() || customerOptional.isEmpty() || recordRepository.findByCustomer(customerOptional.get()).isEmpty())
+        if (customerRepository.findAll().isEmpty() || customerOptional.isEmpty())
             throw new DataNotFoundException("No Record Found!");
 
-        return new ResponseEntity<>(recordRepository.findByCustomer(customerOptional.get()), HttpStatus.OK);
+        // A borrow date bound lets PostgreSQL skip the monthly partitions outside it
+        List<BorrowingRecord> records = borrowedFrom == null && borrowedTo == null
+                ? recordRepository.findByCustomer(customerOptional.get())
+                : recordRepository.findByCustomerAndBorrowDateBetween(customerOptional.get(),
+                        borrowedFrom == null ? EARLIEST_BORROW_DATE : borrowedFrom,
+                        borrowedTo == null ? LATEST_BORROW_DATE : borrowedTo);
+
+        if (records.isEmpty())
+            throw new DataNotFoundException("No Record Found!");
+
+        return new ResponseEntity<>(records, HttpStatus.OK);
     }
 
-    private ResponseEntity<List<BorrowingRecord>> getRecordsByBook(Long bookId) {
+    private ResponseEntity<List<BorrowingRecord>> getRecordsByBook(Long bookId, LocalDate borrowedFrom, LocalDate borrowedTo) {
 
         Optional<Book> bookOptional = bookRepository.findById(bookId);
 
-        if (bookRepository.findAll().isEmpty() || bookOptional.isEmpty() || recordRepository.findByBook(bookOptional.get()).isEmpty())
+        if (bookRepository.findAll().isEmpty() || bookOptional.isEmpty())
             throw new DataNotFoundException("No Record Found!");
 
-        return new ResponseEntity<>(recordRepository.findByBook(bookOptional.get()), HttpStatus.OK);
+        List<BorrowingRecord> records = borrowedFrom == null && borrowedTo == null
+                ? recordRepository.findByBook(bookOptional.get())
+                : recordRepository.findByBookAndBorrowDateBetween(bookOptional.get(),
+                        borrowedFrom == null ? EARLIEST_BORROW_DATE : borrowedFrom,
+                        borrowedTo == null ? LATEST_BORROW_DATE : borrowedTo);
+
+        if (records.isEmpty())
+            throw new DataNotFoundException("No Record Found!");
+
+        return new ResponseEntity<>(records, HttpStatus.OK);
     }
 
     @Cacheable("records")
@@ -100,13 +140,30 @@ public class BorrowingRecordService {
     }
 
     @CacheEvict(value = "records", allEntries = true)
+    @Transactional
     public ResponseEntity<BorrowingRecord> addRecord(BorrowingRecordDTO recordDTO) {
+        CheckoutEvent event = new CheckoutEvent(recordDTO.getBookId(), recordDTO.getCustomerId());
+        event.begin();
+        try {
+            ResponseEntity<BorrowingRecord> response = metrics.timeCheckout(() -> borrow(recordDTO));
+            event.setRecordId(response.getBody().getId());
+            return response;
+        } catch (RuntimeException e) {
+            event.setFailure(e.getMessage());
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
 
+    private ResponseEntity<BorrowingRecord> borrow(BorrowingRecordDTO recordDTO) {
         Book book = bookRepository.findById(recordDTO.getBookId())
                 .orElseThrow(() -> new DataNotFoundException("No Book With That ID Found!"));
 
-        if (!book.isAvailable())
+        if (!book.isAvailable()) {
+            metrics.bookUnavailable("checkout");
             throw new BadRequestException("This Book Is Not Available!");
+        }
 
         Customer customer = customerRepository.findById(recordDTO.getCustomerId())
                 .orElseThrow(() -> new DataNotFoundException("No Customer With That ID Found!"));
@@ -128,10 +185,15 @@ public class BorrowingRecordService {
                 .returnDate(returnDate)
                 .build();
 
-        return new ResponseEntity<>(recordRepository.save(record), HttpStatus.OK);
+        BorrowingRecord savedRecord = recordRepository.save(record);
+        statsService.loanAdded(savedRecord);
+        eventOutbox.append(EventType.BOOK_BORROWED, savedRecord.getId(), LoanEventPayload.of(savedRecord));
+
+        return new ResponseEntity<>(savedRecord, HttpStatus.OK);
     }
 
     @CacheEvict(value = "records", allEntries = true)
+    @Transactional
     public ResponseEntity<BorrowingRecord> updateRecord(Long id, BorrowingRecordDTO recordDTO) {
         if (recordRepository.findById(id).isEmpty())
             throw new DataNotFoundException("No Record With The ID: " + id + " Found!");
@@ -139,8 +201,10 @@ public class BorrowingRecordService {
         Book book = bookRepository.findById(recordDTO.getBookId())
                 .orElseThrow(() -> new DataNotFoundException("No Book With That ID Found!"));
 
-        if (!book.isAvailable())
+        if (!book.isAvailable()) {
+            metrics.bookUnavailable("update");
             throw new BadRequestException("This Book Is Not Available!");
+        }
 
         Customer customer = customerRepository.findById(recordDTO.getCustomerId())
                 .orElseThrow(() -> new DataNotFoundException("No Customer With That ID Found!"));
@@ -152,20 +216,62 @@ public class BorrowingRecordService {
             throw new BadRequestException("Borrow Date can't be before Return Date!");
 
         BorrowingRecord updatedRecord = recordRepository.findById(id).get();
+        Book previousBook = updatedRecord.getBook();
+        Customer previousCustomer = updatedRecord.getCustomer();
+        LocalDate previousBorrowDate = updatedRecord.getBorrowDate();
         updatedRecord.setBook(book);
         updatedRecord.setCustomer(customer);
         updatedRecord.setBorrowDate(borrowDate);
         updatedRecord.setReturnDate(returnDate);
 
-        return new ResponseEntity<>(recordRepository.save(updatedRecord), HttpStatus.OK);
+        BorrowingRecord savedRecord = recordRepository.save(updatedRecord);
+        statsService.loanChanged(previousBook, previousCustomer, previousBorrowDate, savedRecord);
+        eventOutbox.append(EventType.BORROWING_UPDATED, id, LoanEventPayload.of(savedRecord));
+
+        return new ResponseEntity<>(savedRecord, HttpStatus.OK);
     }
 
     @CacheEvict(value = "records", allEntries = true)
+    @Transactional
+    public ResponseEntity<BorrowingRecord> returnRecord(Long id) {
+        ReturnEvent event = new ReturnEvent(id);
+        event.begin();
+        try {
+            return giveBack(id, event);
+        } catch (RuntimeException e) {
+            event.setFailure(e.getMessage());
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+
+    private ResponseEntity<BorrowingRecord> giveBack(Long id, ReturnEvent event) {
+        BorrowingRecord record = recordRepository.findById(id)
+                .orElseThrow(() -> new DataNotFoundException("No Record With The ID: " + id + " Found!"));
+
+        if (record.getReturnedDate() != null)
+            throw new BadRequestException("This Book Is Already Returned!");
+
+        record.setReturnedDate(LocalDate.now(clock));
+        event.setLoan(record.getBook().getId(), record.getCustomer().getId(), record.getReturnDate(), record.getReturnedDate());
+
+        BorrowingRecord savedRecord = recordRepository.save(record);
+        statsService.loanReturned(savedRecord);
+        eventOutbox.append(EventType.BOOK_RETURNED, id, LoanEventPayload.of(savedRecord));
+
+        return new ResponseEntity<>(savedRecord, HttpStatus.OK);
+    }
+
+    @CacheEvict(value = "records", allEntries = true)
+    @Transactional
     public ResponseEntity<String> deleteRecord(Long id) {
-        if (recordRepository.findById(id).isEmpty())
-            throw new DataNotFoundException("No Record With The ID: " + id + " Found!");
+        BorrowingRecord record = recordRepository.findById(id)
+                .orElseThrow(() -> new DataNotFoundException("No Record With The ID: " + id + " Found!"));
 
         recordRepository.deleteById(id);
+        statsService.loanRemoved(record);
+        eventOutbox.append(EventType.BORROWING_DELETED, id, Map.of("id", id));
 
         return new ResponseEntity<>("Record With ID: " + id + " Deleted Successfully!", HttpStatus.OK);
     }
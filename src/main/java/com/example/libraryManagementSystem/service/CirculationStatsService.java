@@ -0,0 +1,380 @@
+package com.example.libraryManagementSystem.service;
+
+import com.example.libraryManagementSystem.archive.ArchivedLoan;
+import com.example.libraryManagementSystem.archive.LoanArchive;
+import com.example.libraryManagementSystem.archive.LoanArchiver;
+import com.example.libraryManagementSystem.archive.LoanSegment;
+import com.example.libraryManagementSystem.dto.BookGenre;
+import com.example.libraryManagementSystem.dto.BookLoanCount;
+import com.example.libraryManagementSystem.dto.CustomerLoanCount;
+import com.example.libraryManagementSystem.dto.CustomerLoanTotals;
+import com.example.libraryManagementSystem.dto.GenreMonthLoanCount;
+import com.example.libraryManagementSystem.dto.KeyedLoanCount;
+import com.example.libraryManagementSystem.exceptionhandling.BadRequestException;
+import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundException;
+import com.example.libraryManagementSystem.model.Book;
+import com.example.libraryManagementSystem.model.BorrowingRecord;
+import com.example.libraryManagementSystem.model.Customer;
+import com.example.libraryManagementSystem.repository.BookLoanStatRepository;
+import com.example.libraryManagementSystem.repository.BookRepository;
+import com.example.libraryManagementSystem.repository.CustomerLoanStatRepository;
+import com.example.libraryManagementSystem.repository.GenreMonthLoanStatRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Circulation statistics served from summary tables: loans per book, per customer and per genre
+ * and month. The loan writes apply their deltas in their own transaction, so the tables are
+ * always in step with {@code borrowing_record}, and the dashboards read a handful of rows instead
+ * of aggregating the whole history. Archived loans keep counting, since archiving is not a
+ * delete.
+ */
+@Slf4j
+@Service
+public class CirculationStatsService {
+
+    static final String UNKNOWN_GENRE = "Unknown";
+    static final int MAX_LIMIT = 100;
+
+    private final BookLoanStatRepository bookStatRepository;
+    private final CustomerLoanStatRepository customerStatRepository;
+    private final GenreMonthLoanStatRepository genreMonthStatRepository;
+    private final BookRepository bookRepository;
+    private final LoanArchive loanArchive;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate snapshotTemplate;
+    private final Clock clock;
+    private final int genreMonthSlots;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    public CirculationStatsService(BookLoanStatRepository bookStatRepository,
+                                   CustomerLoanStatRepository customerStatRepository,
+                                   GenreMonthLoanStatRepository genreMonthStatRepository,
+                                   BookRepository bookRepository,
+                                   LoanArchive loanArchive,
+                                   JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   Clock clock,
+                                   @Value("${library.stats.genre-month-slots:8}") int genreMonthSlots) {
+        this.bookStatRepository = bookStatRepository;
+        this.customerStatRepository = customerStatRepository;
+        this.genreMonthStatRepository = genreMonthStatRepository;
+        this.bookRepository = bookRepository;
+        this.loanArchive = loanArchive;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTemplate.setReadOnly(true);
+        this.clock = clock;
+        this.genreMonthSlots = genreMonthSlots;
+    }
+
+    public ResponseEntity<List<BookLoanCount>> getMostBorrowedBooks(int limit) {
+        checkLimit(limit);
+
+        List<BookLoanCount> books = bookStatRepository.findMostBorrowed(limit);
+
+        if (books.isEmpty())
+            throw new DataNotFoundException("No Loan Statistics Found!");
+
+        return new ResponseEntity<>(books, HttpStatus.OK);
+    }
+
+    public ResponseEntity<List<CustomerLoanCount>> getMostActiveCustomers(int limit) {
+        checkLimit(limit);
+
+        List<CustomerLoanCount> customers = customerStatRepository.findMostActive(limit);
+
+        if (customers.isEmpty())
+            throw new DataNotFoundException("No Loan Statistics Found!");
+
+        return new ResponseEntity<>(customers, HttpStatus.OK);
+    }
+
+    public ResponseEntity<List<GenreMonthLoanCount>> getLoansPerGenreAndMonth(YearMonth from, YearMonth to) {
+        if (to == null)
+            to = YearMonth.now(clock);
+
+        if (from == null)
+            from = to.minusMonths(11);
+
+        if (from.isAfter(to))
+            throw new BadRequestException("From Month Can't Be After To Month!");
+
+        List<GenreMonthLoanCount> counts = genreMonthStatRepository.findMonthly(from.atDay(1), to.atDay(1));
+
+        if (counts.isEmpty())
+            throw new DataNotFoundException("No Loan Statistics Found!");
+
+        return new ResponseEntity<>(counts, HttpStatus.OK);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void loanAdded(BorrowingRecord record) {
+        addLoans(record.getBook(), record.getCustomer(), record.getBorrowDate(), record.getReturnedDate(), 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void loanRemoved(BorrowingRecord record) {
+        addLoans(record.getBook(), record.getCustomer(), record.getBorrowDate(), record.getReturnedDate(), -1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void loanReturned(BorrowingRecord record) {
+        customerStatRepository.addLoans(record.getCustomer().getId(), 0, -1);
+    }
+
+    /**
+     * Moves a loan's counts after it was edited, touching only the counters that changed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void loanChanged(Book previousBook, Customer previousCustomer, LocalDate previousBorrowDate, BorrowingRecord record) {
+        if (!Objects.equals(previousBook.getId(), record.getBook().getId())) {
+            bookStatRepository.addLoans(previousBook.getId(), -1);
+            bookStatRepository.addLoans(record.getBook().getId(), 1);
+        }
+
+        if (!Objects.equals(previousCustomer.getId(), record.getCustomer().getId())) {
+            long open = record.getReturnedDate() == null ? 1 : 0;
+            customerStatRepository.addLoans(previousCustomer.getId(), -1, -open);
+            customerStatRepository.addLoans(record.getCustomer().getId(), 1, open);
+        }
+
+        String previousGenre = genreOf(previousBook.getGenre());
+        String genre = genreOf(record.getBook().getGenre());
+        YearMonth previousMonth = YearMonth.from(previousBorrowDate);
+        YearMonth month = YearMonth.from(record.getBorrowDate());
+        if (!previousGenre.equals(genre) || !previousMonth.equals(month)) {
+            genreMonthStatRepository.addLoans(previousGenre, previousMonth.atDay(1), slot(), -1);
+            genreMonthStatRepository.addLoans(genre, month.atDay(1), slot(), 1);
+        }
+    }
+
+    public ResponseEntity<String> runRebuild() {
+        long loans = rebuild();
+        return new ResponseEntity<>("Loan Statistics Rebuilt From " + loans + " Loans!", HttpStatus.OK);
+    }
+
+    /**
+     * Recomputes the summary tables from {@code borrowing_record} and the archive and returns the
+     * number of loans counted.
+     * <p>
+     * The whole rebuild holds the archiver's advisory lock, so no node moves loans from the table
+     * to the archive meanwhile and no loan is counted twice or missed. Archive segments are
+     * aggregated in parallel first. The live loans are then aggregated by three concurrent queries
+     * sharing one exported snapshot, in which the summary tables are read too, and the tables are
+     * not locked: the loan writes go on applying their deltas. The difference between the counts
+     * and the tables as they stood in the snapshot is what the deltas got wrong, and it is added to
+     * the tables as they are now. A delta committed after the snapshot is in neither, so it is kept.
+     */
+    public long rebuild() {
+        if (!rebuilding.compareAndSet(false, true))
+            throw new BadRequestException("A Statistics Rebuild Is Already Running!");
+
+        ExecutorService executor = Executors.newFixedThreadPool(3, runnable -> {
+            Thread thread = new Thread(runnable, "stats-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            Map<Long, String> genres = new HashMap<>();
+            for (BookGenre book : bookRepository.findAllGenres())
+                genres.put(book.getId(), genreOf(book.getGenre()));
+
+            Long loans = transactionTemplate.execute(status -> {
+                // Waits for an archival run to finish, and keeps the next one from starting
+                jdbcTemplate.execute("SELECT pg_advisory_xact_lock(" + LoanArchiver.ARCHIVER_LOCK_KEY + ")");
+
+                LoanTotals archived = loanArchive.getSegments()
+                        .parallelStream()
+                        .map(segment -> LoanTotals.of(readAll(segment), genres))
+                        .reduce(new LoanTotals(), LoanTotals::merge);
+
+                // Taken after the advisory lock, so no archival commits between the segments and the snapshot
+                SnapshotCounts counts = snapshotTemplate.execute(snapshot -> {
+                    String snapshotId = jdbcTemplate.queryForObject("SELECT pg_export_snapshot()", String.class);
+
+                    CompletableFuture<List<KeyedLoanCount>> perBook = CompletableFuture.supplyAsync(
+                            () -> inSnapshot(snapshotId, bookStatRepository::countLoansPerBook), executor);
+                    CompletableFuture<List<CustomerLoanTotals>> perCustomer = CompletableFuture.supplyAsync(
+                            () -> inSnapshot(snapshotId, customerStatRepository::countLoansPerCustomer), executor);
+                    CompletableFuture<List<GenreMonthLoanCount>> perGenreAndMonth = CompletableFuture.supplyAsync(
+                            () -> inSnapshot(snapshotId, genreMonthStatRepository::countLoansPerGenreAndMonth), executor);
+
+                    LoanTotals tables = LoanTotals.of(bookStatRepository.findAllCounts(),
+                            customerStatRepository.findAllTotals(), genreMonthStatRepository.findAllCounts());
+                    LoanTotals totals = LoanTotals.of(perBook.join(), perCustomer.join(), perGenreAndMonth.join())
+                            .merge(archived);
+                    return new SnapshotCounts(totals, tables);
+                });
+
+                applyCorrection(new LoanTotals().merge(counts.totals()).add(counts.tables(), -1));
+                return counts.totals().loans;
+            });
+
+            log.info("Rebuilt loan statistics from {} loans", loans);
+            return loans == null ? 0 : loans;
+        } finally {
+            executor.shutdownNow();
+            rebuilding.set(false);
+        }
+    }
+
+    private <T> T inSnapshot(String snapshotId, Supplier<T> query) {
+        return snapshotTemplate.execute(status -> {
+            // Must come first in the transaction; the id is not a value a statement can bind
+            jdbcTemplate.execute("SET TRANSACTION SNAPSHOT '" + snapshotId + "'");
+            return query.get();
+        });
+    }
+
+    private void applyCorrection(LoanTotals correction) {
+        List<Object[]> books = new ArrayList<>();
+        correction.perBook.forEach((bookId, loans) -> {
+            if (loans != 0)
+                books.add(new Object[]{bookId, loans});
+        });
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO book_loan_stat (book_id, loan_count) VALUES (?, ?)
+                ON CONFLICT (book_id) DO UPDATE SET loan_count = book_loan_stat.loan_count + EXCLUDED.loan_count
+                """, books);
+
+        List<Object[]> customers = new ArrayList<>();
+        correction.perCustomer.forEach((customerId, loans) -> {
+            long open = correction.openPerCustomer.getOrDefault(customerId, 0L);
+            if (loans != 0 || open != 0)
+                customers.add(new Object[]{customerId, loans, open});
+        });
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO customer_loan_stat (customer_id, loan_count, open_loans) VALUES (?, ?, ?)
+                ON CONFLICT (customer_id) DO UPDATE SET loan_count = customer_loan_stat.loan_count + EXCLUDED.loan_count,
+                                                        open_loans = customer_loan_stat.open_loans + EXCLUDED.open_loans
+                """, customers);
+
+        List<Object[]> genreMonths = new ArrayList<>();
+        correction.perGenreAndMonth.forEach((key, loans) -> {
+            if (loans != 0)
+                genreMonths.add(new Object[]{key.genre(), key.month(), loans});
+        });
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO genre_month_loan_stat (id, genre, month, slot, loan_count)
+                VALUES (nextval('genre_month_loan_stat_sequence'), ?, ?, 0, ?)
+                ON CONFLICT (genre, month, slot) DO UPDATE SET loan_count = genre_month_loan_stat.loan_count + EXCLUDED.loan_count
+                """, genreMonths);
+    }
+
+    private void addLoans(Book book, Customer customer, LocalDate borrowDate, LocalDate returnedDate, long delta) {
+        bookStatRepository.addLoans(book.getId(), delta);
+        customerStatRepository.addLoans(customer.getId(), delta, returnedDate == null ? delta : 0);
+        genreMonthStatRepository.addLoans(genreOf(book.getGenre()), borrowDate.withDayOfMonth(1), slot(), delta);
+    }
+
+    private int slot() {
+        return ThreadLocalRandom.current().nextInt(genreMonthSlots);
+    }
+
+    private static String genreOf(String genre) {
+        return genre == null || genre.isBlank() ? UNKNOWN_GENRE : genre;
+    }
+
+    private static void checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT)
+            throw new BadRequestException("Limit Must Be Between 1 And " + MAX_LIMIT + "!");
+    }
+
+    private static List<ArchivedLoan> readAll(LoanSegment segment) {
+        try {
+            return segment.readAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archive segment " + segment.getPath(), e);
+        }
+    }
+
+    private record GenreMonth(String genre, LocalDate month) {
+    }
+
+    // The loans counted in a snapshot, and the summary tables as they stood in it
+    private record SnapshotCounts(LoanTotals totals, LoanTotals tables) {
+    }
+
+    private static final class LoanTotals {
+
+        private final Map<Long, Long> perBook = new HashMap<>();
+        private final Map<Long, Long> perCustomer = new HashMap<>();
+        // Archived loans are all returned, so only the live loans have open ones
+        private final Map<Long, Long> openPerCustomer = new HashMap<>();
+        private final Map<GenreMonth, Long> perGenreAndMonth = new HashMap<>();
+        private long loans;
+
+        static LoanTotals of(List<ArchivedLoan> archivedLoans, Map<Long, String> genres) {
+            LoanTotals totals = new LoanTotals();
+            for (ArchivedLoan loan : archivedLoans) {
+                totals.perBook.merge(loan.bookId(), 1L, Long::sum);
+                totals.perCustomer.merge(loan.customerId(), 1L, Long::sum);
+                GenreMonth key = new GenreMonth(genres.getOrDefault(loan.bookId(), UNKNOWN_GENRE), loan.borrowDate().withDayOfMonth(1));
+                totals.perGenreAndMonth.merge(key, 1L, Long::sum);
+                totals.loans++;
+            }
+            return totals;
+        }
+
+        static LoanTotals of(List<KeyedLoanCount> perBook, List<CustomerLoanTotals> perCustomer,
+                             List<GenreMonthLoanCount> perGenreAndMonth) {
+            LoanTotals totals = new LoanTotals();
+            for (KeyedLoanCount count : perBook)
+                totals.perBook.merge(count.getKey(), count.getLoans(), Long::sum);
+            for (CustomerLoanTotals count : perCustomer) {
+                totals.perCustomer.merge(count.getCustomerId(), count.getLoans(), Long::sum);
+                totals.openPerCustomer.merge(count.getCustomerId(), count.getOpenLoans(), Long::sum);
+                totals.loans += count.getLoans();
+            }
+            for (GenreMonthLoanCount count : perGenreAndMonth)
+                totals.perGenreAndMonth.merge(new GenreMonth(count.getGenre(), count.getMonth()), count.getLoans(), Long::sum);
+            return totals;
+        }
+
+        LoanTotals merge(LoanTotals other) {
+            return add(other, 1);
+        }
+
+        LoanTotals add(LoanTotals other, long sign) {
+            other.perBook.forEach((key, loans) -> perBook.merge(key, sign * loans, Long::sum));
+            other.perCustomer.forEach((key, loans) -> perCustomer.merge(key, sign * loans, Long::sum));
+            other.openPerCustomer.forEach((key, loans) -> openPerCustomer.merge(key, sign * loans, Long::sum));
+            other.perGenreAndMonth.forEach((key, loans) -> perGenreAndMonth.merge(key, sign * loans, Long::sum));
+            this.loans += sign * other.loans;
+            return this;
+        }
+    }
+}
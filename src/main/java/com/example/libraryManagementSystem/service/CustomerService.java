@@ -3,6 +3,8 @@ package com.example.libraryManagementSystem.service;
 import com.example.libraryManagementSystem.dto.CustomerDTO;
 import com.example.libraryManagementSystem.exceptionhandling.DataAlreadyExistException;
 import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundException;
+import com.example.libraryManagementSystem.jfr.PasswordHashingEvent;
+import com.example.libraryManagementSystem.metrics.LibraryMetrics;
 import com.example.libraryManagementSystem.model.Customer;
 import com.example.libraryManagementSystem.repository.CustomerRepository;
 import lombok.RequiredArgsConstructor;
@@ -25,6 +27,7 @@ public class CustomerService {
 
     private final CustomerRepository repository;
     private final BCryptPasswordEncoder passwordEncoder;
+    private final LibraryMetrics metrics;
 
     @Cacheable("customers")
     public ResponseEntity<List<Customer>> getCustomers(int pageNumber, int pageSize, String field) {
@@ -58,7 +61,7 @@ public class CustomerService {
         if (repository.existsByEmailOrPhoneNumber(customerDTO.getEmail(), customerDTO.getPhoneNumber()))
             throw new DataAlreadyExistException("This Customer Already Exists!");
 
-        String encodedPassword = passwordEncoder.encode(customerDTO.getPassword());
+        String encodedPassword = encodePassword("register", null, customerDTO.getPassword());
 
         Customer newCustomer = Customer
                 .builder()
@@ -82,7 +85,7 @@ public class CustomerService {
         updatedCustomer.setAddress(customerDTO.getAddress());
         updatedCustomer.setEmail(customerDTO.getEmail());
         updatedCustomer.setPhoneNumber(customerDTO.getPhoneNumber());
-        String encodedPassword = passwordEncoder.encode(customerDTO.getPassword());
+        String encodedPassword = encodePassword("update", id, customerDTO.getPassword());
         updatedCustomer.setPassword(encodedPassword);
 
         return new ResponseEntity<>(repository.save(updatedCustomer), HttpStatus.OK);
@@ -98,4 +101,13 @@ public class CustomerService {
         return new ResponseEntity<>("Customer With ID: " + id + " Deleted Successfully!", HttpStatus.OK);
     }
 
+    private String encodePassword(String operation, Long customerId, String password) {
+        PasswordHashingEvent event = new PasswordHashingEvent(operation, customerId);
+        event.begin();
+        try {
+            return metrics.timePasswordHashing(operation, () -> passwordEncoder.encode(password));
+        } finally {
+            event.commit();
+        }
+    }
 }
@@ -0,0 +1,101 @@
+package com.example.libraryManagementSystem.service;
+
+import com.example.libraryManagementSystem.archive.ArchivedLoan;
+import com.example.libraryManagementSystem.archive.LoanArchive;
+import com.example.libraryManagementSystem.dto.CustomerSummaryDTO;
+import com.example.libraryManagementSystem.dto.LoanHistoryDTO;
+import com.example.libraryManagementSystem.exceptionhandling.BadRequestException;
+import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundException;
+import com.example.libraryManagementSystem.model.BorrowingRecord;
+import com.example.libraryManagementSystem.model.Customer;
+import com.example.libraryManagementSystem.model.CustomerLoanStat;
+import com.example.libraryManagementSystem.repository.BorrowingRecordRepository;
+import com.example.libraryManagementSystem.repository.CustomerLoanStatRepository;
+import com.example.libraryManagementSystem.repository.CustomerRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A customer's account at a glance. The counts come from the customer's {@link CustomerLoanStat}
+ * row and the recent loans from a limited index read, so the cost does not grow with the
+ * customer's history; only the overdue count looks at loans, and only at the open ones.
+ */
+@Service
+@RequiredArgsConstructor
+public class CustomerSummaryService {
+
+    static final int MAX_RECENT_LOANS = 50;
+
+    private final CustomerRepository customerRepository;
+    private final CustomerLoanStatRepository customerStatRepository;
+    private final BorrowingRecordRepository recordRepository;
+    private final LoanArchive loanArchive;
+    private final Clock clock;
+
+    public ResponseEntity<CustomerSummaryDTO> getSummary(Long customerId, int recentLoans) {
+        if (recentLoans < 0 || recentLoans > MAX_RECENT_LOANS)
+            throw new BadRequestException("Recent Loans Must Be Between 0 And " + MAX_RECENT_LOANS + "!");
+
+        Customer customer = customerRepository.findById(customerId)
+                .orElseThrow(() -> new DataNotFoundException("No Customer With The ID: " + customerId + " Found!"));
+
+        CustomerLoanStat stat = customerStatRepository.findById(customerId)
+                .orElseGet(() -> new CustomerLoanStat(customerId, 0, 0));
+
+        long overdueLoans = stat.getOpenLoans() == 0
+                ? 0
+                : recordRepository.countOverdueByCustomerId(customerId, LocalDate.now(clock));
+
+        CustomerSummaryDTO summary = CustomerSummaryDTO
+                .builder()
+                .customerId(customer.getId())
+                .name(customer.getName())
+                .activeLoans(stat.getOpenLoans())
+                .overdueLoans(overdueLoans)
+                .lifetimeLoans(stat.getLoanCount())
+                .recentLoans(findRecentLoans(customerId, recentLoans, stat.getLoanCount()))
+                .build();
+
+        return new ResponseEntity<>(summary, HttpStatus.OK);
+    }
+
+    private List<LoanHistoryDTO> findRecentLoans(Long customerId, int limit, long lifetimeLoans) {
+        if (limit == 0)
+            return List.of();
+
+        List<LoanHistoryDTO> recent = new ArrayList<>(limit);
+        Set<Long> seen = new HashSet<>();
+        for (BorrowingRecord record : recordRepository.findByCustomerIdOrderByBorrowDateDescIdDesc(customerId, Limit.of(limit))) {
+            seen.add(record.getId());
+            recent.add(LoanHistoryService.toHistory(record));
+        }
+
+        // Archived loans were returned long ago, so they only fill up the list. A loan can be in
+        // both places, or twice in the archive, if an archival run was interrupted
+        if (recent.size() < limit && recent.size() < lifetimeLoans) {
+            List<ArchivedLoan> archived = loanArchive.findByCustomer(customerId)
+                    .stream()
+                    .sorted(Comparator.comparing(ArchivedLoan::borrowDate).thenComparing(ArchivedLoan::id).reversed())
+                    .toList();
+            for (ArchivedLoan loan : archived) {
+                if (recent.size() == limit)
+                    break;
+                if (seen.add(loan.id()))
+                    recent.add(LoanHistoryService.toHistory(loan));
+            }
+        }
+
+        return recent;
+    }
+}
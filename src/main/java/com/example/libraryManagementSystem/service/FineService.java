@@ -0,0 +1,128 @@
+package com.example.libraryManagementSystem.service;
+
+import com.example.libraryManagementSystem.dto.FineBalanceDTO;
+import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundException;
+import com.example.libraryManagementSystem.model.CustomerFineBalance;
+import com.example.libraryManagementSystem.model.FineAccrualWatermark;
+import com.example.libraryManagementSystem.repository.CustomerFineBalanceRepository;
+import com.example.libraryManagementSystem.repository.CustomerRepository;
+import com.example.libraryManagementSystem.repository.FineAccrualWatermarkRepository;
+import com.example.libraryManagementSystem.repository.LoanFineRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Keeps the fines ledger in step with the loans. Each run only reads loans updated since the
+ * previous run plus loans that fell due since then, and applies them with two set-based
+ * statements, so its cost follows the day's activity rather than the size of the history.
+ */
+@Slf4j
+@Service
+public class FineService {
+
+    private static final LocalDate LEDGER_START = LocalDate.of(1, 1, 1);
+
+    private final LoanFineRepository fineRepository;
+    private final CustomerFineBalanceRepository balanceRepository;
+    private final FineAccrualWatermarkRepository watermarkRepository;
+    private final CustomerRepository customerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final long dailyRateCents;
+    private final Duration commitLag;
+
+    public FineService(LoanFineRepository fineRepository,
+                       CustomerFineBalanceRepository balanceRepository,
+                       FineAccrualWatermarkRepository watermarkRepository,
+                       CustomerRepository customerRepository,
+                       PlatformTransactionManager transactionManager,
+                       Clock clock,
+                       @Value("${library.fines.daily-rate-cents:25}") long dailyRateCents,
+                       @Value("${library.fines.commit-lag:PT5M}") Duration commitLag) {
+        this.fineRepository = fineRepository;
+        this.balanceRepository = balanceRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.customerRepository = customerRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.dailyRateCents = dailyRateCents;
+        this.commitLag = commitLag;
+    }
+
+    public ResponseEntity<FineBalanceDTO> getBalance(Long customerId) {
+        LocalDate today = LocalDate.now(clock);
+
+        CustomerFineBalance balance = balanceRepository.findById(customerId).orElse(null);
+        if (balance == null) {
+            if (!customerRepository.existsById(customerId))
+                throw new DataNotFoundException("No Customer With The ID: " + customerId + " Found!");
+
+            return new ResponseEntity<>(new FineBalanceDTO(customerId, 0, 0, today), HttpStatus.OK);
+        }
+
+        return new ResponseEntity<>(new FineBalanceDTO(
+                customerId,
+                balance.balanceCents(today, dailyRateCents),
+                balance.getOpenCount(),
+                today
+        ), HttpStatus.OK);
+    }
+
+    public ResponseEntity<String> runAccrual() {
+        int customers = accrue();
+        return new ResponseEntity<>("Fine Accrual Finished For " + customers + " Customers!", HttpStatus.OK);
+    }
+
+    @Scheduled(cron = "${library.fines.cron:0 30 1 * * *}")
+    public void scheduledAccrual() {
+        accrue();
+    }
+
+    /**
+     * Applies the loan changes since the last run and returns how many customer totals were touched.
+     */
+    public int accrue() {
+        Integer customers = transactionTemplate.execute(status -> {
+            Instant now = clock.instant();
+            LocalDate today = LocalDate.now(clock);
+            // Rows stamped just before now may belong to transactions that have not committed yet
+            Instant changedUntil = now.minus(commitLag);
+
+            FineAccrualWatermark watermark = watermarkRepository.findForUpdate(FineAccrualWatermark.SINGLETON_ID)
+                    .orElseGet(() -> FineAccrualWatermark
+                            .builder()
+                            .id(FineAccrualWatermark.SINGLETON_ID)
+                            .changedUntil(Instant.EPOCH)
+                            .dueBefore(LEDGER_START)
+                            .build());
+
+            if (!changedUntil.isAfter(watermark.getChangedUntil()))
+                changedUntil = watermark.getChangedUntil();
+
+            int touched = fineRepository.retractChangedFines(watermark.getChangedUntil(), changedUntil, now);
+            touched += fineRepository.deriveFines(watermark.getChangedUntil(), changedUntil,
+                    watermark.getDueBefore(), today, dailyRateCents, now);
+
+            watermark.setChangedUntil(changedUntil);
+            watermark.setDueBefore(today);
+            watermark.setLastRunAt(now);
+            watermarkRepository.save(watermark);
+
+            return touched;
+        });
+
+        log.info("Fine accrual updated {} customer balances", customers);
+        return customers == null ? 0 : customers;
+    }
+}
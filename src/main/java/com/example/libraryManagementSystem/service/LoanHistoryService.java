@@ -0,0 +1,107 @@
+package com.example.libraryManagementSystem.service;
+
+import com.example.libraryManagementSystem.archive.ArchivedLoan;
+import com.example.libraryManagementSystem.archive.LoanArchive;
+import com.example.libraryManagementSystem.archive.LoanArchiver;
+import com.example.libraryManagementSystem.dto.LoanHistoryDTO;
+import com.example.libraryManagementSystem.exceptionhandling.BadRequestException;
+import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundException;
+import com.example.libraryManagementSystem.model.BorrowingRecord;
+import com.example.libraryManagementSystem.repository.BorrowingRecordRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Loan history of a customer or a book, merged from {@code borrowing_record} and the archive.
+ */
+@Service
+@RequiredArgsConstructor
+public class LoanHistoryService {
+
+    private final BorrowingRecordRepository recordRepository;
+    private final LoanArchive loanArchive;
+    private final LoanArchiver loanArchiver;
+
+    public ResponseEntity<List<LoanHistoryDTO>> getHistory(Long customerId, Long bookId, int pageNumber, int pageSize) {
+        if (customerId == null && bookId == null)
+            throw new BadRequestException("At least one search parameter must be provided.");
+
+        if (customerId != null && bookId != null)
+            throw new BadRequestException("Only one search parameter can be provided at a time.");
+
+        if (pageNumber <= 0)
+            pageNumber = 0;
+
+        if (pageSize <= 0)
+            pageSize = 5;
+
+        List<BorrowingRecord> hot = customerId != null
+                ? recordRepository.findByCustomerId(customerId)
+                : recordRepository.findByBookId(bookId);
+        List<ArchivedLoan> archived = customerId != null
+                ? loanArchive.findByCustomer(customerId)
+                : loanArchive.findByBook(bookId);
+
+        List<LoanHistoryDTO> history = new ArrayList<>(hot.size() + archived.size());
+        Set<Long> seen = new HashSet<>();
+        for (BorrowingRecord record : hot) {
+            seen.add(record.getId());
+            history.add(toHistory(record));
+        }
+        // A loan can be in both places, or twice in the archive, if an archival run was interrupted
+        for (ArchivedLoan loan : archived)
+            if (seen.add(loan.id()))
+                history.add(toHistory(loan));
+
+        if (history.isEmpty())
+            throw new DataNotFoundException("No Record Found!");
+
+        history.sort(Comparator.comparing(LoanHistoryDTO::getBorrowDate)
+                .thenComparing(LoanHistoryDTO::getRecordId)
+                .reversed());
+
+        int from = (int) Math.min((long) pageNumber * pageSize, history.size());
+        int to = Math.min(from + pageSize, history.size());
+
+        return new ResponseEntity<>(history.subList(from, to), HttpStatus.OK);
+    }
+
+    public ResponseEntity<String> archiveClosedLoans() {
+        int archived = loanArchiver.archiveClosedLoans();
+        return new ResponseEntity<>("Archived " + archived + " Closed Loans!", HttpStatus.OK);
+    }
+
+    static LoanHistoryDTO toHistory(BorrowingRecord record) {
+        return LoanHistoryDTO
+                .builder()
+                .recordId(record.getId())
+                .customerId(record.getCustomer().getId())
+                .bookId(record.getBook().getId())
+                .borrowDate(record.getBorrowDate())
+                .returnDate(record.getReturnDate())
+                .returnedDate(record.getReturnedDate())
+                .archived(false)
+                .build();
+    }
+
+    static LoanHistoryDTO toHistory(ArchivedLoan loan) {
+        return LoanHistoryDTO
+                .builder()
+                .recordId(loan.id())
+                .customerId(loan.customerId())
+                .bookId(loan.bookId())
+                .borrowDate(loan.borrowDate())
+                .returnDate(loan.returnDate())
+                .returnedDate(loan.returnedDate())
+                .archived(true)
+                .build();
+    }
+}
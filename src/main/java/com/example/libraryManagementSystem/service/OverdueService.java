@@ -0,0 +1,239 @@
+package com.example.libraryManagementSystem.service;
+
+import com.example.libraryManagementSystem.dto.LoanKey;
+import com.example.libraryManagementSystem.exceptionhandling.BadRequestException;
+import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundException;
+import com.example.libraryManagementSystem.model.OverdueNotice;
+import com.example.libraryManagementSystem.model.OverdueScanCheckpoint;
+import com.example.libraryManagementSystem.repository.BorrowingRecordRepository;
+import com.example.libraryManagementSystem.repository.OverdueNoticeRepository;
+import com.example.libraryManagementSystem.repository.OverdueScanCheckpointRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Finds open loans past their return date and records an {@link OverdueNotice} for each of them.
+ * <p>
+ * The scan walks {@code borrowing_record} in ({@code return_date}, {@code id}) order with keyset
+ * chunks, so each read is a short index range scan that never holds locks desk traffic waits on.
+ * Chunks are written by a bounded pool while the next ones are read, and the checkpoint only moves
+ * past chunks whose notices are committed, so an interrupted scan resumes where it stopped.
+ * <p>
+ * Only one node scans at a time: the scan runs in a transaction holding an advisory lock, and a
+ * node that cannot take it skips the run. The checkpoint is read and saved in transactions of its
+ * own, so its progress is committed as the scan goes.
+ */
+@Slf4j
+@Service
+public class OverdueService {
+
+    static final long SCAN_LOCK_KEY = 7_294_117_004L;
+
+    static final LocalDate SCAN_START = LocalDate.of(1, 1, 1);
+
+    private final BorrowingRecordRepository recordRepository;
+    private final OverdueNoticeRepository noticeRepository;
+    private final OverdueScanCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate checkpointTransactionTemplate;
+    private final Clock clock;
+    private final int chunkSize;
+    private final int parallelism;
+
+    private final AtomicBoolean scanning = new AtomicBoolean();
+
+    public OverdueService(BorrowingRecordRepository recordRepository,
+                          OverdueNoticeRepository noticeRepository,
+                          OverdueScanCheckpointRepository checkpointRepository,
+                          PlatformTransactionManager transactionManager,
+                          Clock clock,
+                          @Value("${library.overdue.chunk-size:5000}") int chunkSize,
+                          @Value("${library.overdue.parallelism:4}") int parallelism) {
+        this.recordRepository = recordRepository;
+        this.noticeRepository = noticeRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.checkpointTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.checkpointTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.clock = clock;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    public ResponseEntity<List<OverdueNotice>> getOverdueNotices(int pageNumber, int pageSize, String field) {
+        if (pageNumber <= 0)
+            pageNumber = 0;
+
+        if (pageSize <= 0)
+            pageSize = 5;
+
+        Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(field));
+
+        Page<OverdueNotice> noticesPage = noticeRepository.findAll(pageable);
+
+        if (noticesPage.isEmpty())
+            throw new DataNotFoundException("No Overdue Notices Found!");
+
+        return new ResponseEntity<>(noticesPage.getContent(), HttpStatus.OK);
+    }
+
+    public ResponseEntity<String> runScan() {
+        int notices = scan();
+        return new ResponseEntity<>("Overdue Scan Finished With " + notices + " New Notices!", HttpStatus.OK);
+    }
+
+    @Scheduled(cron = "${library.overdue.cron:0 0 1 * * *}")
+    public void scheduledScan() {
+        try {
+            scan();
+        } catch (BadRequestException e) {
+            log.info("Skipping scheduled overdue scan: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Scans all open loans due before today and returns the number of new notices written.
+     */
+    public int scan() {
+        if (!scanning.compareAndSet(false, true))
+            throw new BadRequestException("An Overdue Scan Is Already Running!");
+
+        try {
+            Integer notices = transactionTemplate.execute(status -> {
+                if (!recordRepository.tryLock(SCAN_LOCK_KEY))
+                    throw new BadRequestException("An Overdue Scan Is Already Running On Another Node!");
+                return scan(LocalDate.now(clock));
+            });
+            return notices == null ? 0 : notices;
+        } finally {
+            scanning.set(false);
+        }
+    }
+
+    private int scan(LocalDate today) {
+        // Read apart from the scan's transaction, which must not hold the row the saves update
+        OverdueScanCheckpoint checkpoint = checkpointTransactionTemplate.execute(status -> checkpointRepository.findById(today))
+                .orElseGet(() -> OverdueScanCheckpoint
+                        .builder()
+                        .scanDate(today)
+                        .lastReturnDate(SCAN_START)
+                        .lastRecordId(0L)
+                        .build());
+
+        if (checkpoint.isCompleted())
+            return 0;
+
+        Instant detectedAt = clock.instant();
+        AtomicInteger written = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "overdue-scan");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Bounds the chunks read ahead of the writers, and with them the memory the scan can hold
+        Semaphore inFlight = new Semaphore(parallelism * 2);
+        Deque<Chunk> pending = new ArrayDeque<>();
+
+        try {
+            LocalDate afterReturnDate = checkpoint.getLastReturnDate();
+            long afterId = checkpoint.getLastRecordId();
+            List<LoanKey> keys;
+
+            do {
+                keys = recordRepository.findOverdueKeys(today, afterReturnDate, afterId, chunkSize);
+                if (keys.isEmpty())
+                    break;
+
+                List<Long> recordIds = keys.stream().map(LoanKey::getId).toList();
+                LoanKey last = keys.get(keys.size() - 1);
+
+                inFlight.acquire();
+                Future<?> write = executor.submit(() -> {
+                    try {
+                        written.addAndGet(noticeRepository.insertForRecords(recordIds, detectedAt));
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+                pending.addLast(new Chunk(last.getReturnDate(), last.getId(), write));
+                advanceCheckpoint(checkpoint, pending, false);
+
+                afterReturnDate = last.getReturnDate();
+                afterId = last.getId();
+            } while (keys.size() == chunkSize);
+
+            advanceCheckpoint(checkpoint, pending, true);
+            checkpoint.setCompleted(true);
+            saveCheckpoint(checkpoint);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Overdue scan was interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        log.info("Overdue scan for {} wrote {} notices", today, written.get());
+        return written.get();
+    }
+
+    /**
+     * Moves the checkpoint past the leading chunks that finished writing; with {@code waitForAll}
+     * it blocks until every pending chunk is written. A failed chunk stops the scan and leaves the
+     * checkpoint before it.
+     */
+    private void advanceCheckpoint(OverdueScanCheckpoint checkpoint, Deque<Chunk> pending, boolean waitForAll)
+            throws InterruptedException {
+        boolean advanced = false;
+
+        while (!pending.isEmpty() && (waitForAll || pending.peekFirst().write().isDone())) {
+            Chunk chunk = pending.pollFirst();
+            try {
+                chunk.write().get();
+            } catch (ExecutionException e) {
+                if (advanced)
+                    saveCheckpoint(checkpoint);
+                throw new IllegalStateException("Overdue scan failed after " + checkpoint.getLastReturnDate()
+                        + "/" + checkpoint.getLastRecordId(), e.getCause());
+            }
+            checkpoint.setLastReturnDate(chunk.lastReturnDate());
+            checkpoint.setLastRecordId(chunk.lastRecordId());
+            advanced = true;
+        }
+
+        if (advanced)
+            saveCheckpoint(checkpoint);
+    }
+
+    private void saveCheckpoint(OverdueScanCheckpoint checkpoint) {
+        checkpoint.setUpdatedAt(clock.instant());
+        checkpointTransactionTemplate.executeWithoutResult(status -> checkpointRepository.save(checkpoint));
+    }
+
+    private record Chunk(LocalDate lastReturnDate, long lastRecordId, Future<?> write) {
+    }
+}
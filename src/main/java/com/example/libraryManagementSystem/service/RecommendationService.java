@@ -0,0 +1,58 @@
+package com.example.libraryManagementSystem.service;
+
+import com.example.libraryManagementSystem.dto.AlsoBorrowedDTO;
+import com.example.libraryManagementSystem.exceptionhandling.BadRequestException;
+import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundException;
+import com.example.libraryManagementSystem.model.Book;
+import com.example.libraryManagementSystem.recommendation.AlsoBorrowedIndex;
+import com.example.libraryManagementSystem.recommendation.BookNeighbour;
+import com.example.libraryManagementSystem.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class RecommendationService {
+
+    private final AlsoBorrowedIndex alsoBorrowedIndex;
+    private final BookRepository bookRepository;
+
+    /**
+     * Books most often borrowed by the customers who borrowed the given one, read from the
+     * published also-borrowed table; only the listed books are loaded.
+     */
+    public ResponseEntity<List<AlsoBorrowedDTO>> getAlsoBorrowed(Long bookId, int limit) {
+        int maxLimit = alsoBorrowedIndex.getNeighbourLimit();
+        if (limit < 1 || limit > maxLimit)
+            throw new BadRequestException("Limit Must Be Between 1 And " + maxLimit + "!");
+
+        if (!bookRepository.existsById(bookId))
+            throw new DataNotFoundException("No Book With The ID: " + bookId + " Found!");
+
+        List<BookNeighbour> neighbours = alsoBorrowedIndex.getTable().getNeighbours(bookId, limit);
+
+        Map<Long, Book> books = new HashMap<>();
+        for (Book book : bookRepository.findAllById(neighbours.stream().map(BookNeighbour::bookId).toList()))
+            books.put(book.getId(), book);
+
+        // Books deleted since the table was built are skipped
+        List<AlsoBorrowedDTO> alsoBorrowed = new ArrayList<>(neighbours.size());
+        for (BookNeighbour neighbour : neighbours) {
+            Book book = books.get(neighbour.bookId());
+            if (book != null)
+                alsoBorrowed.add(new AlsoBorrowedDTO(book.getId(), book.getTitle(), book.getGenre(), neighbour.sharedBorrowers()));
+        }
+
+        if (alsoBorrowed.isEmpty())
+            throw new DataNotFoundException("No Books Borrowed Together With This Book Found!");
+
+        return new ResponseEntity<>(alsoBorrowed, HttpStatus.OK);
+    }
+}
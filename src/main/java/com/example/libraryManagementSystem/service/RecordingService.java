@@ -0,0 +1,158 @@
+package com.example.libraryManagementSystem.service;
+
+import com.example.libraryManagementSystem.dto.RecordingDTO;
+import com.example.libraryManagementSystem.exceptionhandling.BadRequestException;
+import com.example.libraryManagementSystem.exceptionhandling.DataAlreadyExistException;
+import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundException;
+import com.example.libraryManagementSystem.jfr.ContinuousRecording;
+import com.example.libraryManagementSystem.jfr.FlightRecordings;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Starts, stops and hands out JDK Flight Recorder recordings of this node, so a latency problem
+ * can be diagnosed in production without attaching a profiler. The files open in JDK Mission
+ * Control or with {@code jfr print}.
+ */
+@Lazy
+@Service
+public class RecordingService {
+
+    static final Set<String> SETTINGS = Set.of("default", "profile");
+
+    private final FlightRecordings flightRecordings;
+    private final ObjectProvider<ContinuousRecording> continuousRecording;
+    private final Duration maxDuration;
+    private final long maxSize;
+
+    public RecordingService(FlightRecordings flightRecordings,
+                            ObjectProvider<ContinuousRecording> continuousRecording,
+                            @Value("${library.jfr.max-duration:PT10M}") Duration maxDuration,
+                            @Value("${library.jfr.max-size:104857600}") long maxSize) {
+        this.flightRecordings = flightRecordings;
+        this.continuousRecording = continuousRecording;
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+    }
+
+    public ResponseEntity<List<RecordingDTO>> getRecordings() {
+        List<RecordingDTO> recordings = flightRecordings.recordings().stream()
+                .map(RecordingService::toDTO)
+                .toList();
+
+        if (recordings.isEmpty())
+            throw new DataNotFoundException("No Recordings Found!");
+
+        return new ResponseEntity<>(recordings, HttpStatus.OK);
+    }
+
+    public ResponseEntity<RecordingDTO> startRecording(Duration duration, String settings) {
+        if (duration.isNegative() || duration.isZero() || duration.compareTo(maxDuration) > 0)
+            throw new BadRequestException("Duration Must Be Positive And At Most " + maxDuration + "!");
+        if (!SETTINGS.contains(settings))
+            throw new BadRequestException("Settings Must Be default Or profile!");
+
+        Recording recording;
+        try {
+            recording = flightRecordings.start(duration, maxSize, settings)
+                    .orElseThrow(() -> new DataAlreadyExistException("A Recording Is Already Running!"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("JDK Recording Settings Unreadable", e);
+        }
+
+        return new ResponseEntity<>(toDTO(recording), HttpStatus.OK);
+    }
+
+    public ResponseEntity<RecordingDTO> stopRecording(Long id) {
+        Recording recording = find(id);
+
+        if (recording.getState() != RecordingState.RUNNING)
+            throw new BadRequestException("This Recording Is Not Running!");
+
+        recording.stop();
+
+        return new ResponseEntity<>(toDTO(recording), HttpStatus.OK);
+    }
+
+    /**
+     * The recorded data so far; a running recording keeps running.
+     */
+    public ResponseEntity<Resource> getRecordingFile(Long id) {
+        Recording recording = find(id);
+
+        return file(recording.getName(), () -> FlightRecordings.recordedData(recording, null));
+    }
+
+    /**
+     * The last {@code last} of the continuous recording.
+     */
+    public ResponseEntity<Resource> getContinuousRecordingFile(Duration last) {
+        if (last.isNegative() || last.isZero())
+            throw new BadRequestException("Duration Must Be Positive!");
+
+        ContinuousRecording recording = continuousRecording.getIfAvailable();
+        if (recording == null)
+            throw new DataNotFoundException("Continuous Recording Is Disabled!");
+
+        return file("library-continuous", () -> recording.recordedData(last));
+    }
+
+    public ResponseEntity<String> deleteRecording(Long id) {
+        if (!flightRecordings.close(id))
+            throw new DataNotFoundException("No Recording With The ID: " + id + " Found!");
+
+        return new ResponseEntity<>("Recording With ID: " + id + " Deleted Successfully!", HttpStatus.OK);
+    }
+
+    private Recording find(Long id) {
+        return flightRecordings.recording(id)
+                .orElseThrow(() -> new DataNotFoundException("No Recording With The ID: " + id + " Found!"));
+    }
+
+    private static ResponseEntity<Resource> file(String name, RecordedData recordedData) {
+        InputStream data;
+        try {
+            data = recordedData.open();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (data == null)
+            throw new DataNotFoundException("No Data Recorded Yet!");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        headers.setContentDisposition(ContentDisposition.attachment().filename(name + ".jfr").build());
+        return new ResponseEntity<>(new InputStreamResource(data), headers, HttpStatus.OK);
+    }
+
+    private static RecordingDTO toDTO(Recording recording) {
+        return new RecordingDTO(recording.getId(), recording.getName(), recording.getState().name(),
+                recording.getStartTime(), recording.getDuration(), recording.getMaxSize(), recording.getSize());
+    }
+
+    private interface RecordedData {
+        InputStream open() throws IOException;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.libraryManagementSystem.service;
+
+import com.example.libraryManagementSystem.dto.SpanDTO;
+import com.example.libraryManagementSystem.dto.TraceSummaryDTO;
+import com.example.libraryManagementSystem.exceptionhandling.BadRequestException;
+import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundException;
+import com.example.libraryManagementSystem.tracing.TraceBuffer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * The recent traces kept by the {@link TraceBuffer} of this node.
+ */
+@Lazy
+@Service
+@RequiredArgsConstructor
+public class TraceService {
+
+    static final int MAX_LIMIT = 1000;
+
+    private final TraceBuffer traceBuffer;
+
+    public ResponseEntity<List<TraceSummaryDTO>> getRecentTraces(long minDurationMs, String name, int limit) {
+        if (minDurationMs < 0)
+            throw new BadRequestException("Minimum Duration Can't Be Negative!");
+        if (limit < 1 || limit > MAX_LIMIT)
+            throw new BadRequestException("Limit Must Be Between 1 And " + MAX_LIMIT + "!");
+
+        List<TraceSummaryDTO> traces = traceBuffer.recentTraces(Duration.ofMillis(minDurationMs), name, limit);
+
+        return new ResponseEntity<>(traces, HttpStatus.OK);
+    }
+
+    public ResponseEntity<List<SpanDTO>> getTraceById(String traceId) {
+        List<SpanDTO> spans = traceBuffer.trace(traceId)
+                .orElseThrow(() -> new DataNotFoundException("No Trace With The ID: " + traceId + " Found!"));
+
+        return new ResponseEntity<>(spans, HttpStatus.OK);
+    }
+}
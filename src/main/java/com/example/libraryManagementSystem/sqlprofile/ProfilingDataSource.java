@@ -0,0 +1,212 @@
+package com.example.libraryManagementSystem.sqlprofile;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Times every statement executed through its connections and adds it to the current thread's
+ * {@link SqlProfile}. Outside of a profiled request the statements run untouched.
+ * <p>
+ * Within a sampled trace each statement also gets a span, named after the operation and the
+ * table ({@code select book}), with the statement and the number of rows as attributes. A query's
+ * span lasts until its result set is closed, so it covers fetching the rows as well.
+ * <p>
+ * Connections and statements are wrapped in JDK proxies, so the pool and the driver stay as they
+ * are; {@code unwrap} still reaches the pool for its metrics.
+ */
+public class ProfilingDataSource extends DelegatingDataSource {
+
+    private static final int MAX_STATEMENT_ATTRIBUTE_LENGTH = 1000;
+    private static final Pattern TABLE = Pattern.compile("\\b(?:from|into|update)\\s+([\\w.\"]+)", Pattern.CASE_INSENSITIVE);
+
+    // The tracer is created after the data source, so it is looked up when a statement runs
+    private final Supplier<Tracer> tracer;
+
+    public ProfilingDataSource(DataSource targetDataSource) {
+        this(targetDataSource, () -> Tracer.NOOP);
+    }
+
+    public ProfilingDataSource(DataSource targetDataSource, Supplier<Tracer> tracer) {
+        super(targetDataSource);
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return profiled(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return profiled(super.getConnection(username, password));
+    }
+
+    private Connection profiled(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(ProfilingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection, tracer));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    static String spanName(String sql) {
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end)))
+            end++;
+        String operation = trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+        Matcher table = TABLE.matcher(trimmed);
+        return table.find() ? operation + " " + table.group(1).replace("\"", "") : operation;
+    }
+
+    private record ConnectionHandler(Connection connection, Supplier<Tracer> tracer) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = ProfilingDataSource.invoke(connection, method, args);
+            if (!(result instanceof Statement statement))
+                return result;
+
+            // prepareStatement and prepareCall know their SQL up front, createStatement gets it per execute
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+            return Proxy.newProxyInstance(ProfilingDataSource.class.getClassLoader(),
+                    new Class<?>[]{method.getReturnType()}, new StatementHandler(statement, sql, tracer));
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+        private final String preparedSql;
+        private final Supplier<Tracer> tracer;
+
+        // The span of the last query whose result set is still open
+        private ResultSetHandler openResultSet;
+
+        private StatementHandler(Statement statement, String preparedSql, Supplier<Tracer> tracer) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+            this.tracer = tracer;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("close"))
+                endOpenResultSet();
+            if (!method.getName().startsWith("execute"))
+                return ProfilingDataSource.invoke(statement, method, args);
+
+            SqlProfile profile = SqlProfile.current();
+            Span span = startSpan(args);
+            if (profile == null && span == null)
+                return ProfilingDataSource.invoke(statement, method, args);
+
+            long started = System.nanoTime();
+            Object result;
+            try {
+                result = ProfilingDataSource.invoke(statement, method, args);
+            } catch (Throwable e) {
+                if (span != null)
+                    span.error(e).end();
+                throw e;
+            } finally {
+                if (profile != null)
+                    profile.record(sql(args), System.nanoTime() - started);
+            }
+            return span != null ? traced(span, result) : result;
+        }
+
+        private Span startSpan(Object[] args) {
+            Tracer current = tracer.get();
+            Span parent = current.currentSpan();
+            // A request left out by sampling has a span that records nothing
+            if (parent == null || parent.isNoop())
+                return null;
+            String sql = sql(args);
+            return current.nextSpan()
+                    .name(spanName(sql))
+                    .tag("db.statement", sql.length() > MAX_STATEMENT_ATTRIBUTE_LENGTH
+                            ? sql.substring(0, MAX_STATEMENT_ATTRIBUTE_LENGTH) + "..." : sql)
+                    .start();
+        }
+
+        private Object traced(Span span, Object result) {
+            if (result instanceof ResultSet resultSet) {
+                endOpenResultSet();
+                openResultSet = new ResultSetHandler(resultSet, span);
+                return Proxy.newProxyInstance(ProfilingDataSource.class.getClassLoader(),
+                        new Class<?>[]{ResultSet.class}, openResultSet);
+            }
+            if (result instanceof Integer || result instanceof Long)
+                span.tag("db.rows", String.valueOf(result));
+            else if (result instanceof int[] counts)
+                span.tag("db.rows", String.valueOf(Arrays.stream(counts).filter(count -> count > 0).sum()));
+            span.end();
+            return result;
+        }
+
+        private void endOpenResultSet() {
+            if (openResultSet != null) {
+                openResultSet.end();
+                openResultSet = null;
+            }
+        }
+
+        private String sql(Object[] args) {
+            if (args != null && args.length > 0 && args[0] instanceof String text)
+                return text;
+            return preparedSql != null ? preparedSql : "(batch)";
+        }
+    }
+
+    private static final class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet resultSet;
+        private final Span span;
+        private long rows;
+        private boolean ended;
+
+        private ResultSetHandler(ResultSet resultSet, Span span) {
+            this.resultSet = resultSet;
+            this.span = span;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = ProfilingDataSource.invoke(resultSet, method, args);
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result))
+                rows++;
+            else if (method.getName().equals("close"))
+                end();
+            return result;
+        }
+
+        private void end() {
+            if (!ended) {
+                ended = true;
+                span.tag("db.rows", String.valueOf(rows)).end();
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.libraryManagementSystem.sqlprofile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The SQL statements one request ran: how many, their total time and the slowest few.
+ * <p>
+ * A profile is bound to the request's thread between {@link #start(int)} and {@link #finish()};
+ * {@link ProfilingDataSource} adds every statement executed on that thread in between. Statements
+ * run on other threads, such as the parallel jobs, are not part of any request profile.
+ */
+public final class SqlProfile {
+
+    private static final ThreadLocal<SqlProfile> CURRENT = new ThreadLocal<>();
+
+    private final int slowestKept;
+    // Slowest first, at most slowestKept
+    private final List<Statement> slowest = new ArrayList<>();
+    private int statements;
+    private long databaseNanos;
+
+    private SqlProfile(int slowestKept) {
+        this.slowestKept = slowestKept;
+    }
+
+    /**
+     * Starts a profile on the current thread, replacing any earlier one.
+     */
+    static SqlProfile start(int slowestKept) {
+        SqlProfile profile = new SqlProfile(slowestKept);
+        CURRENT.set(profile);
+        return profile;
+    }
+
+    /**
+     * The profile of the current thread, or {@code null} outside of a profiled request.
+     */
+    static SqlProfile current() {
+        return CURRENT.get();
+    }
+
+    void finish() {
+        if (CURRENT.get() == this)
+            CURRENT.remove();
+    }
+
+    void record(String sql, long nanos) {
+        statements++;
+        databaseNanos += nanos;
+
+        if (slowest.size() == slowestKept && (slowestKept == 0 || slowest.get(slowestKept - 1).nanos() >= nanos))
+            return;
+        int index = 0;
+        while (index < slowest.size() && slowest.get(index).nanos() >= nanos)
+            index++;
+        slowest.add(index, new Statement(sql, nanos));
+        if (slowest.size() > slowestKept)
+            slowest.remove(slowestKept);
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getDatabaseNanos() {
+        return databaseNanos;
+    }
+
+    public List<Statement> getSlowest() {
+        return List.copyOf(slowest);
+    }
+
+    /**
+     * The profile in one line, for a response header: no SQL text, only counts and times.
+     */
+    String toHeaderValue() {
+        StringBuilder value = new StringBuilder()
+                .append("statements=").append(statements)
+                .append("; db=").append(millis(databaseNanos)).append("ms");
+        if (!slowest.isEmpty()) {
+            value.append("; slowest=");
+            for (int i = 0; i < slowest.size(); i++)
+                value.append(i == 0 ? "" : ",").append(millis(slowest.get(i).nanos())).append("ms");
+        }
+        return value.toString();
+    }
+
+    static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1e6);
+    }
+
+    public record Statement(String sql, long nanos) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.libraryManagementSystem.sqlprofile;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Profiles the SQL of every request and hands the profiles of slow requests, plus a random
+ * sample of the others, to the {@link SqlProfileLogger}.
+ * <p>
+ * With {@code exposeHeader} on, every response also carries its profile in
+ * {@value #PROFILE_HEADER}. The header has to be set before the body is sent, so those responses
+ * are buffered; event streams are left out, they are never complete.
+ */
+@RequiredArgsConstructor
+public class SqlProfileFilter extends OncePerRequestFilter {
+
+    public static final String PROFILE_HEADER = "X-Sql-Profile";
+
+    private final SqlProfileLogger profileLogger;
+    private final Duration slowRequestThreshold;
+    private final double sampleRate;
+    private final int slowestStatements;
+    private final boolean exposeHeader;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        ContentCachingResponseWrapper cachingResponse = exposeHeader && !isEventStream(request)
+                ? new ContentCachingResponseWrapper(response) : null;
+        SqlProfile profile = SqlProfile.start(slowestStatements);
+        long started = System.nanoTime();
+        try {
+            filterChain.doFilter(request, cachingResponse != null ? cachingResponse : response);
+        } finally {
+            long elapsedNanos = System.nanoTime() - started;
+            profile.finish();
+
+            if (cachingResponse != null) {
+                cachingResponse.setHeader(PROFILE_HEADER, profile.toHeaderValue());
+                cachingResponse.copyBodyToResponse();
+            }
+
+            if (elapsedNanos >= slowRequestThreshold.toNanos() || ThreadLocalRandom.current().nextDouble() < sampleRate)
+                profileLogger.log(request.getMethod(), request.getRequestURI(), response.getStatus(), elapsedNanos, profile);
+        }
+    }
+
+    private static boolean isEventStream(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+}
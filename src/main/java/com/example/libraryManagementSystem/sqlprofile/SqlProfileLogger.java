@@ -0,0 +1,60 @@
+package com.example.libraryManagementSystem.sqlprofile;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes request profiles to the log on a single background thread, so a request never waits for
+ * the log. Profiles arriving while {@code queueSize} are already waiting are dropped and counted,
+ * and the next line written reports how many were lost.
+ */
+@Slf4j
+public class SqlProfileLogger {
+
+    private static final int MAX_SQL_LENGTH = 300;
+
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong dropped = new AtomicLong();
+
+    public SqlProfileLogger(int queueSize) {
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "sql-profile-log");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> dropped.incrementAndGet());
+    }
+
+    public void log(String method, String uri, int status, long elapsedNanos, SqlProfile profile) {
+        executor.execute(() -> log.info(format(method, uri, status, elapsedNanos, profile, dropped.getAndSet(0))));
+    }
+
+    static String format(String method, String uri, int status, long elapsedNanos, SqlProfile profile, long dropped) {
+        StringBuilder line = new StringBuilder()
+                .append(method).append(' ').append(uri).append(' ').append(status)
+                .append(" in ").append(SqlProfile.millis(elapsedNanos)).append(" ms: ")
+                .append(profile.getStatements()).append(" statements, ")
+                .append(SqlProfile.millis(profile.getDatabaseNanos())).append(" ms in the database");
+        for (SqlProfile.Statement statement : profile.getSlowest())
+            line.append("\n  ").append(SqlProfile.millis(statement.nanos())).append(" ms  ").append(abbreviate(statement.sql()));
+        if (dropped > 0)
+            line.append("\n  (").append(dropped).append(" earlier profiles dropped, the log queue was full)");
+        return line.toString();
+    }
+
+    private static String abbreviate(String sql) {
+        String line = sql.replaceAll("\\s+", " ").trim();
+        return line.length() <= MAX_SQL_LENGTH ? line : line.substring(0, MAX_SQL_LENGTH) + "...";
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.libraryManagementSystem.tracing;
+
+import com.example.libraryManagementSystem.jfr.CacheMissEvent;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Runs inside the cache interceptor, which is ordered just before it, so it is only reached when
+ * a {@code @Cacheable} service method misses the cache and its body runs. Marks the miss on the
+ * method's span and records a {@link CacheMissEvent} lasting as long as the body.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class CacheMissMarker {
+
+    private static final int MAX_ARGUMENTS_LENGTH = 200;
+
+    @Around("within(com.example.libraryManagementSystem.service..*) && @annotation(cacheable)")
+    public Object markMiss(ProceedingJoinPoint joinPoint, Cacheable cacheable) throws Throwable {
+        ServiceTracingAspect.markCacheMiss();
+
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        String[] caches = cacheable.cacheNames().length > 0 ? cacheable.cacheNames() : cacheable.value();
+        CacheMissEvent event = new CacheMissEvent(String.join(",", caches),
+                signature.getDeclaringType().getSimpleName() + "." + signature.getName());
+        event.begin();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                String arguments = Arrays.toString(joinPoint.getArgs());
+                event.setArguments(arguments.length() > MAX_ARGUMENTS_LENGTH
+                        ? arguments.substring(0, MAX_ARGUMENTS_LENGTH) + "..." : arguments);
+                event.commit();
+            }
+        }
+    }
+}
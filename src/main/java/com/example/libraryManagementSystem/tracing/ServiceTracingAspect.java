@@ -0,0 +1,121 @@
+package com.example.libraryManagementSystem.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Opens a span for every public service method called within a sampled trace, named
+ * {@code BookService.getBookById}. Entity ids among the arguments become attributes: arguments
+ * named {@code id} or {@code ...Id}, and the {@code get...Id()} getters of DTO arguments.
+ * <p>
+ * This aspect runs outside the cache interceptor, so the span of a {@code @Cacheable} method also
+ * covers cache hits; {@link CacheMissMarker}, which runs inside it, tells the two apart, and the
+ * span gets a {@code cache} attribute of {@code hit} or {@code miss}.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ServiceTracingAspect {
+
+    private static final ThreadLocal<boolean[]> CACHE_MISS = new ThreadLocal<>();
+
+    private static final ClassValue<List<Method>> ID_GETTERS = new ClassValue<>() {
+        @Override
+        protected List<Method> computeValue(Class<?> type) {
+            List<Method> getters = new ArrayList<>();
+            for (Method method : type.getMethods())
+                if (method.getParameterCount() == 0 && !Modifier.isStatic(method.getModifiers())
+                        && method.getName().startsWith("get") && method.getName().endsWith("Id")
+                        && isId(method.getReturnType()))
+                    getters.add(method);
+            return getters;
+        }
+    };
+
+    private final Tracer tracer;
+
+    @Around("within(com.example.libraryManagementSystem.service..*) && execution(public * *(..))")
+    public Object trace(ProceedingJoinPoint joinPoint) throws Throwable {
+        Span parent = tracer.currentSpan();
+        // Untraced, or left out by sampling
+        if (parent == null || parent.isNoop())
+            return joinPoint.proceed();
+
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Span span = tracer.nextSpan()
+                .name(signature.getDeclaringType().getSimpleName() + "." + signature.getName())
+                .start();
+        tagIds(span, signature.getParameterNames(), joinPoint.getArgs());
+
+        boolean cacheable = signature.getMethod().isAnnotationPresent(Cacheable.class);
+        boolean[] outerCacheMiss = CACHE_MISS.get();
+        boolean[] cacheMiss = {false};
+        CACHE_MISS.set(cacheMiss);
+        try (Tracer.SpanInScope scope = tracer.withSpan(span)) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            CACHE_MISS.set(outerCacheMiss);
+            if (cacheable)
+                span.tag("cache", cacheMiss[0] ? "miss" : "hit");
+            span.end();
+        }
+    }
+
+    /**
+     * Called by {@link CacheMissMarker} when a cached method's body runs.
+     */
+    static void markCacheMiss() {
+        boolean[] cacheMiss = CACHE_MISS.get();
+        if (cacheMiss != null)
+            cacheMiss[0] = true;
+    }
+
+    private static void tagIds(Span span, String[] names, Object[] args) {
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            if (arg == null)
+                continue;
+            if (isId(arg.getClass())) {
+                if (names != null && (names[i].equals("id") || names[i].endsWith("Id")))
+                    span.tag(names[i], String.valueOf(arg));
+            } else if (arg.getClass().getPackageName().endsWith(".dto")) {
+                for (Method getter : ID_GETTERS.get(arg.getClass()))
+                    tagGetter(span, getter, arg);
+            }
+        }
+    }
+
+    private static void tagGetter(Span span, Method getter, Object dto) {
+        try {
+            Object value = getter.invoke(dto);
+            if (value != null) {
+                String name = getter.getName().substring(3);
+                span.tag(Character.toLowerCase(name.charAt(0)) + name.substring(1), String.valueOf(value));
+            }
+        } catch (ReflectiveOperationException ignored) {
+            // An attribute less, the call itself is unaffected
+        }
+    }
+
+    private static boolean isId(Class<?> type) {
+        return type == Long.class || type == long.class || type == Integer.class || type == int.class;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.libraryManagementSystem.tracing;
+
+import com.example.libraryManagementSystem.dto.SpanDTO;
+import com.example.libraryManagementSystem.dto.TraceSummaryDTO;
+import io.opentelemetry.api.trace.SpanId;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the most recent traces in memory, so they can be looked at through the admin endpoints
+ * without a trace collector. Spring Boot hands it the finished spans in batches, off the request
+ * threads.
+ * <p>
+ * At most {@code max-traces} traces are kept, the oldest one is dropped first; a trace keeps its
+ * first {@code max-spans-per-trace} spans and drops the rest, so one request with thousands of
+ * statements cannot fill the buffer.
+ */
+@Component
+public class TraceBuffer implements SpanExporter {
+
+    private final int maxTraces;
+    private final int maxSpansPerTrace;
+
+    // In order of the first span received, guarded by this
+    private final LinkedHashMap<String, List<SpanDTO>> traces = new LinkedHashMap<>();
+
+    public TraceBuffer(@Value("${library.tracing.max-traces:1000}") int maxTraces,
+                       @Value("${library.tracing.max-spans-per-trace:500}") int maxSpansPerTrace) {
+        this.maxTraces = maxTraces;
+        this.maxSpansPerTrace = maxSpansPerTrace;
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        for (SpanData span : spans) {
+            List<SpanDTO> trace = traces.computeIfAbsent(span.getTraceId(), key -> new ArrayList<>());
+            if (trace.size() < maxSpansPerTrace)
+                trace.add(toSpan(span));
+        }
+        while (traces.size() > maxTraces)
+            traces.remove(traces.keySet().iterator().next());
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    /**
+     * The most recent traces lasting at least {@code minDuration}, whose root span name contains
+     * {@code name} if given, newest first.
+     */
+    public List<TraceSummaryDTO> recentTraces(Duration minDuration, String name, int limit) {
+        List<Map.Entry<String, List<SpanDTO>>> snapshot;
+        synchronized (this) {
+            snapshot = traces.entrySet().stream()
+                    .map(trace -> Map.entry(trace.getKey(), List.copyOf(trace.getValue())))
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+
+        double minMillis = minDuration.toNanos() / 1e6;
+        List<TraceSummaryDTO> summaries = new ArrayList<>();
+        for (int i = snapshot.size() - 1; i >= 0 && summaries.size() < limit; i--) {
+            TraceSummaryDTO summary = summarize(snapshot.get(i).getKey(), snapshot.get(i).getValue());
+            if (summary.getDurationMillis() >= minMillis && (name == null || summary.getName().contains(name)))
+                summaries.add(summary);
+        }
+        return summaries;
+    }
+
+    /**
+     * The spans of a trace in order of their start.
+     */
+    public synchronized Optional<List<SpanDTO>> trace(String traceId) {
+        return Optional.ofNullable(traces.get(traceId))
+                .map(spans -> spans.stream().sorted(Comparator.comparing(SpanDTO::getStartedAt)).toList());
+    }
+
+    private static TraceSummaryDTO summarize(String traceId, List<SpanDTO> spans) {
+        Set<String> spanIds = spans.stream().map(SpanDTO::getSpanId).collect(Collectors.toSet());
+        // The root may still be running while its children are exported; the earliest span stands in
+        SpanDTO root = spans.stream()
+                .filter(span -> span.getParentSpanId() == null || !spanIds.contains(span.getParentSpanId()))
+                .min(Comparator.comparing(SpanDTO::getStartedAt))
+                .orElseThrow();
+        Instant start = spans.stream().map(SpanDTO::getStartedAt).min(Comparator.naturalOrder()).orElseThrow();
+        Instant end = spans.stream()
+                .map(span -> span.getStartedAt().plusNanos((long) (span.getDurationMillis() * 1e6)))
+                .max(Comparator.naturalOrder()).orElseThrow();
+        return new TraceSummaryDTO(traceId, root.getName(), start, Duration.between(start, end).toNanos() / 1e6, spans.size());
+    }
+
+    private static SpanDTO toSpan(SpanData span) {
+        Map<String, String> attributes = new TreeMap<>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), String.valueOf(value)));
+        String parentSpanId = SpanId.isValid(span.getParentSpanId()) ? span.getParentSpanId() : null;
+        return new SpanDTO(span.getSpanId(), parentSpanId, span.getName(),
+                Instant.ofEpochSecond(0, span.getStartEpochNanos()),
+                (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1e6,
+                span.getStatus().getStatusCode() == StatusCode.ERROR, attributes);
+    }
+}
@@ -0,0 +1,164 @@
+-- The schema as spring.jpa.hibernate.ddl-auto=update created it. Databases created that way are
+-- baselined at this version (spring.flyway.baseline-on-migrate) and only run the later migrations.
+
+CREATE SEQUENCE author_sequence START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE book_sequence START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE customer_sequence START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE record_sequence START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE outbox_event_sequence START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE overdue_notice_sequence START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE genre_month_loan_stat_sequence START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE author (
+    id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    birth_date DATE,
+    nationality VARCHAR(255),
+    CONSTRAINT author_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE book (
+    id BIGINT NOT NULL,
+    title VARCHAR(255),
+    publication_date DATE,
+    isbn VARCHAR(255) NOT NULL,
+    genre VARCHAR(255),
+    available BOOLEAN NOT NULL,
+    author_id BIGINT NOT NULL,
+    CONSTRAINT book_pkey PRIMARY KEY (id),
+    CONSTRAINT author_id_fk FOREIGN KEY (author_id) REFERENCES author (id)
+);
+
+CREATE TABLE customer (
+    id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    phone_number VARCHAR(255),
+    address VARCHAR(255),
+    password VARCHAR(60) NOT NULL,
+    CONSTRAINT customer_pkey PRIMARY KEY (id),
+    CONSTRAINT email_unique_key UNIQUE (email),
+    CONSTRAINT phone_unique_key UNIQUE (phone_number)
+);
+
+-- Partitioned by month of borrow_date on PostgreSQL, see db/migration/postgresql/V3__partition_borrowing_record.sql
+CREATE TABLE borrowing_record (
+    id BIGINT NOT NULL,
+    customer_id BIGINT NOT NULL,
+    book_id BIGINT NOT NULL,
+    borrow_date DATE NOT NULL,
+    return_date DATE NOT NULL,
+    returned_date DATE,
+    updated_at TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT borrowing_record_pkey PRIMARY KEY (id),
+    CONSTRAINT customer_id_fk FOREIGN KEY (customer_id) REFERENCES customer (id),
+    CONSTRAINT book_id_fk FOREIGN KEY (book_id) REFERENCES book (id)
+);
+
+CREATE INDEX borrowing_record_return_date_idx ON borrowing_record (return_date, id);
+CREATE INDEX borrowing_record_updated_at_idx ON borrowing_record (updated_at);
+CREATE INDEX borrowing_record_customer_borrow_date_idx ON borrowing_record (customer_id, borrow_date);
+CREATE INDEX borrowing_record_book_borrow_date_idx ON borrowing_record (book_id, borrow_date);
+CREATE INDEX borrowing_record_customer_open_idx ON borrowing_record (customer_id, returned_date, return_date);
+
+CREATE TABLE overdue_scan_checkpoint (
+    scan_date DATE NOT NULL,
+    last_return_date DATE NOT NULL,
+    last_record_id BIGINT NOT NULL,
+    completed BOOLEAN NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT overdue_scan_checkpoint_pkey PRIMARY KEY (scan_date)
+);
+
+CREATE TABLE overdue_notice (
+    id BIGINT NOT NULL,
+    record_id BIGINT NOT NULL,
+    customer_id BIGINT NOT NULL,
+    book_id BIGINT NOT NULL,
+    due_date DATE NOT NULL,
+    detected_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT overdue_notice_pkey PRIMARY KEY (id),
+    CONSTRAINT overdue_notice_record_unique_key UNIQUE (record_id)
+);
+
+CREATE TABLE fine_accrual_watermark (
+    id BIGINT NOT NULL,
+    due_before DATE NOT NULL,
+    changed_until TIMESTAMP WITH TIME ZONE NOT NULL,
+    last_run_at TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT fine_accrual_watermark_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE loan_fine (
+    record_id BIGINT NOT NULL,
+    customer_id BIGINT NOT NULL,
+    due_date DATE NOT NULL,
+    closed_date DATE,
+    amount_cents BIGINT,
+    CONSTRAINT loan_fine_pkey PRIMARY KEY (record_id)
+);
+
+CREATE INDEX loan_fine_customer_idx ON loan_fine (customer_id);
+
+CREATE TABLE customer_fine_balance (
+    customer_id BIGINT NOT NULL,
+    settled_cents BIGINT NOT NULL,
+    open_count BIGINT NOT NULL,
+    open_due_day_sum BIGINT NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT customer_fine_balance_pkey PRIMARY KEY (customer_id)
+);
+
+CREATE TABLE idempotency_record (
+    idempotency_key VARCHAR(255) NOT NULL,
+    fingerprint VARCHAR(64) NOT NULL,
+    status INTEGER NOT NULL,
+    content_type VARCHAR(255),
+    body BYTEA,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT idempotency_record_pkey PRIMARY KEY (idempotency_key)
+);
+
+CREATE TABLE outbox_event (
+    id BIGINT NOT NULL,
+    aggregate_type VARCHAR(64) NOT NULL,
+    aggregate_id VARCHAR(64) NOT NULL,
+    event_type VARCHAR(64) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    published_at TIMESTAMP WITH TIME ZONE,
+    attempts INTEGER NOT NULL,
+    last_error VARCHAR(1000),
+    CONSTRAINT outbox_event_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX outbox_event_pending_idx ON outbox_event (published_at, id);
+
+CREATE TABLE book_loan_stat (
+    book_id BIGINT NOT NULL,
+    loan_count BIGINT NOT NULL,
+    CONSTRAINT book_loan_stat_pkey PRIMARY KEY (book_id)
+);
+
+CREATE INDEX book_loan_stat_loan_count_idx ON book_loan_stat (loan_count);
+
+CREATE TABLE customer_loan_stat (
+    customer_id BIGINT NOT NULL,
+    loan_count BIGINT NOT NULL,
+    open_loans BIGINT DEFAULT 0 NOT NULL,
+    CONSTRAINT customer_loan_stat_pkey PRIMARY KEY (customer_id)
+);
+
+CREATE INDEX customer_loan_stat_loan_count_idx ON customer_loan_stat (loan_count);
+
+CREATE TABLE genre_month_loan_stat (
+    id BIGINT NOT NULL,
+    genre VARCHAR(255) NOT NULL,
+    month DATE NOT NULL,
+    slot INTEGER NOT NULL,
+    loan_count BIGINT NOT NULL,
+    CONSTRAINT genre_month_loan_stat_pkey PRIMARY KEY (id),
+    CONSTRAINT genre_month_loan_stat_unique_key UNIQUE (genre, month, slot)
+);
+
+CREATE INDEX genre_month_loan_stat_month_idx ON genre_month_loan_stat (month);
@@ -0,0 +1,17 @@
+-- Indexes for the lookups that ddl-auto never created, each named after the queries it serves.
+
+-- BookRepository.findByTitle and existsByTitleAndIsbn, which runs on every book added
+CREATE INDEX book_title_isbn_idx ON book (title, isbn);
+
+-- BookRepository.findByIsbn
+CREATE INDEX book_isbn_idx ON book (isbn);
+
+-- The search by author name joins on it, BookRepository.findIdsByAuthorId runs on every author
+-- saved, for the bitmap index, and deleting an author checks author_id_fk through it
+CREATE INDEX book_author_id_idx ON book (author_id);
+
+-- The search by author name, and AuthorRepository's lookup of an existing author when a book is added
+CREATE INDEX author_name_idx ON author (name, birth_date, nationality);
+
+-- IdempotencyRecordRepository.deleteExpired, run every library.idempotency.purge-interval
+CREATE INDEX idempotency_record_expires_at_idx ON idempotency_record (expires_at);
@@ -0,0 +1,46 @@
+-- borrowing_record range-partitioned by month of borrow_date: borrowing_record_pYYYYMM from the
+-- month of the oldest loan (at most 240 months back) to three months ahead, and
+-- borrowing_record_default for the dates outside them. PostgreSQL only, the other databases keep
+-- the plain table. BorrowingRecordPartitionManager creates the later months and detaches the old.
+
+DO $$
+DECLARE
+    this_month DATE := date_trunc('month', current_date)::date;
+    last_month DATE := (date_trunc('month', current_date) + INTERVAL '3 months')::date;
+    partition_month DATE;
+BEGIN
+    -- Already converted by the partition maintenance job of an earlier version
+    IF (SELECT relkind FROM pg_class WHERE oid = to_regclass('borrowing_record')) = 'p' THEN
+        RETURN;
+    END IF;
+
+    LOCK TABLE borrowing_record IN ACCESS EXCLUSIVE MODE;
+    ALTER TABLE borrowing_record RENAME TO borrowing_record_unpartitioned;
+    CREATE TABLE borrowing_record (LIKE borrowing_record_unpartitioned INCLUDING DEFAULTS)
+        PARTITION BY RANGE (borrow_date);
+    CREATE TABLE borrowing_record_default PARTITION OF borrowing_record DEFAULT;
+
+    SELECT date_trunc('month', min(borrow_date))::date INTO partition_month FROM borrowing_record_unpartitioned;
+    partition_month := greatest(coalesce(partition_month, this_month), (this_month - INTERVAL '240 months')::date);
+
+    WHILE partition_month <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF borrowing_record FOR VALUES FROM (%L) TO (%L)',
+                       'borrowing_record_p' || to_char(partition_month, 'YYYYMM'),
+                       partition_month, (partition_month + INTERVAL '1 month')::date);
+        partition_month := (partition_month + INTERVAL '1 month')::date;
+    END LOOP;
+
+    INSERT INTO borrowing_record SELECT * FROM borrowing_record_unpartitioned;
+    DROP TABLE borrowing_record_unpartitioned;
+
+    -- The partition key has to be part of the primary key of a partitioned table
+    ALTER TABLE borrowing_record ADD CONSTRAINT borrowing_record_pkey PRIMARY KEY (id, borrow_date);
+    ALTER TABLE borrowing_record ADD CONSTRAINT customer_id_fk FOREIGN KEY (customer_id) REFERENCES customer (id);
+    ALTER TABLE borrowing_record ADD CONSTRAINT book_id_fk FOREIGN KEY (book_id) REFERENCES book (id);
+    CREATE INDEX borrowing_record_return_date_idx ON borrowing_record (return_date, id);
+    CREATE INDEX borrowing_record_updated_at_idx ON borrowing_record (updated_at);
+    CREATE INDEX borrowing_record_customer_borrow_date_idx ON borrowing_record (customer_id, borrow_date);
+    CREATE INDEX borrowing_record_book_borrow_date_idx ON borrowing_record (book_id, borrow_date);
+    CREATE INDEX borrowing_record_customer_open_idx ON borrowing_record (customer_id, returned_date, return_date);
+END
+$$;
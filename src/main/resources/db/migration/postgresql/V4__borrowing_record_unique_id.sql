@@ -0,0 +1,27 @@
+-- Keeps the ids of borrowing_record unique across its partitions. The primary key of a partitioned
+-- table has to include the partition key, so it is (id, borrow_date) and only unique per month;
+-- every id is claimed in borrowing_record_id instead, by a trigger on all the partitions.
+
+CREATE TABLE borrowing_record_id (
+    id BIGINT NOT NULL,
+    CONSTRAINT borrowing_record_id_pkey PRIMARY KEY (id)
+);
+
+INSERT INTO borrowing_record_id (id) SELECT id FROM borrowing_record;
+
+-- A loan moved to another partition by a new borrow_date is deleted and inserted again
+CREATE FUNCTION borrowing_record_claim_id() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        DELETE FROM borrowing_record_id WHERE id = OLD.id;
+    END IF;
+    IF TG_OP IN ('UPDATE', 'INSERT') THEN
+        INSERT INTO borrowing_record_id (id) VALUES (NEW.id);
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER borrowing_record_claim_id
+    AFTER INSERT OR UPDATE OF id OR DELETE ON borrowing_record
+    FOR EACH ROW EXECUTE FUNCTION borrowing_record_claim_id();
@@ -0,0 +1,249 @@
+package com.example.libraryManagementSystem.analytics;
+
+import com.example.libraryManagementSystem.archive.ArchivedLoan;
+import com.example.libraryManagementSystem.archive.LoanArchive;
+import com.example.libraryManagementSystem.archive.LoanSegment;
+import com.example.libraryManagementSystem.dto.GenreLoanDurationDTO;
+import com.example.libraryManagementSystem.dto.SegmentLateReturnsDTO;
+import com.example.libraryManagementSystem.dto.WeekdayLoansDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LoanColumnStoreTest {
+
+    private static final LocalDate EARLIEST = LocalDate.of(1, 1, 1);
+    private static final LocalDate LATEST = LocalDate.of(9999, 12, 31);
+
+    // 2024-03-04 is a Monday
+    private static final LocalDate MONDAY = LocalDate.of(2024, 3, 4);
+
+    private final List<Loan> loans = new ArrayList<>();
+    private final Map<Long, String> bookGenres = new HashMap<>();
+
+    @TempDir
+    private Path directory;
+
+    private LoanArchive loanArchive;
+    private MutableClock clock;
+    private LoanColumnStore store;
+
+    @BeforeEach
+    void setUp() {
+        loanArchive = mock(LoanArchive.class);
+        clock = new MutableClock(Instant.parse("2024-04-01T10:00:00Z"));
+        store = new LoanColumnStore(new LoansJdbcTemplate(), loanArchive, clock, 2, Duration.ofMinutes(5), 2, new int[]{2, 3});
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+        store = null;
+    }
+
+    private void loan(long id, long customerId, long bookId, LocalDate borrowDate, LocalDate returnDate, LocalDate returnedDate) {
+        loans.removeIf(loan -> loan.id == id);
+        loans.add(new Loan(id, customerId, bookId, borrowDate, returnDate, returnedDate, clock.instant()));
+    }
+
+    @Test
+    @DisplayName("TestRebuild_CountsLoansPerWeekdayInRange")
+    void testRebuild_CountsLoansPerWeekdayInRange() {
+        bookGenres.put(10L, "Drama");
+        loan(1, 1, 10, MONDAY, MONDAY.plusDays(14), null);
+        loan(2, 1, 10, MONDAY.plusDays(7), MONDAY.plusDays(21), null);
+        loan(3, 2, 10, MONDAY.plusDays(2), MONDAY.plusDays(16), null);
+        loan(4, 2, 10, MONDAY.minusDays(1), MONDAY.plusDays(13), null);
+        loan(5, 3, 10, MONDAY.plusDays(6), MONDAY.plusDays(20), null);
+
+        store.rebuild();
+
+        List<WeekdayLoansDTO> all = store.loansPerWeekday(EARLIEST, LATEST);
+        assertEquals(DayOfWeek.MONDAY, all.get(0).getDayOfWeek());
+        assertEquals(2, all.get(0).getLoans());
+        assertEquals(1, all.get(2).getLoans());
+        assertEquals(2, all.get(6).getLoans());
+        assertEquals(5, store.getColumns().getRowCount());
+
+        List<WeekdayLoansDTO> firstWeek = store.loansPerWeekday(MONDAY, MONDAY.plusDays(6));
+        assertEquals(1, firstWeek.get(0).getLoans());
+        assertEquals(1, firstWeek.get(6).getLoans());
+    }
+
+    @Test
+    @DisplayName("TestRebuild_AveragesReturnedLoanDaysPerGenreWithArchive")
+    void testRebuild_AveragesReturnedLoanDaysPerGenreWithArchive() throws Exception {
+        bookGenres.put(10L, "Drama");
+        bookGenres.put(20L, "Poetry");
+        loan(1, 1, 10, MONDAY, MONDAY.plusDays(14), MONDAY.plusDays(4));
+        loan(2, 2, 20, MONDAY, MONDAY.plusDays(14), MONDAY.plusDays(10));
+        loan(3, 2, 20, MONDAY, MONDAY.plusDays(14), null);
+        loan(4, 3, 99, MONDAY, MONDAY.plusDays(14), MONDAY.plusDays(1));
+        Path segmentPath = directory.resolve("loans-00000001.seg");
+        LoanSegment.write(segmentPath, List.of(
+                new ArchivedLoan(0, 1, 10, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 1, 15), LocalDate.of(2020, 1, 9))));
+        when(loanArchive.getSegments()).thenReturn(List.of(LoanSegment.open(segmentPath)));
+
+        store.rebuild();
+
+        assertEquals(List.of(
+                new GenreLoanDurationDTO("Drama", 2, 6.0),
+                new GenreLoanDurationDTO("Poetry", 1, 10.0),
+                new GenreLoanDurationDTO(LoanColumnStore.UNKNOWN_GENRE, 1, 1.0)
+        ), store.averageLoanDaysPerGenre(EARLIEST, LATEST));
+        assertEquals(List.of(new GenreLoanDurationDTO("Drama", 1, 4.0), new GenreLoanDurationDTO("Poetry", 1, 10.0),
+                        new GenreLoanDurationDTO(LoanColumnStore.UNKNOWN_GENRE, 1, 1.0)),
+                store.averageLoanDaysPerGenre(MONDAY, LATEST));
+    }
+
+    @Test
+    @DisplayName("TestRebuild_RatesLateReturnsPerSegment")
+    void testRebuild_RatesLateReturnsPerSegment() {
+        LocalDate due = LocalDate.of(2024, 3, 20);
+        // Customer 1 has one loan, customer 2 two and customer 3 three
+        loan(1, 1, 10, MONDAY, due, due.plusDays(1));
+        loan(2, 2, 10, MONDAY, due, due);
+        loan(3, 2, 10, MONDAY, due, null);
+        loan(4, 3, 10, MONDAY, due, due.minusDays(3));
+        loan(5, 3, 10, MONDAY, due, due.minusDays(2));
+        loan(6, 3, 10, MONDAY, LocalDate.of(2024, 4, 10), null);
+
+        store.rebuild();
+
+        assertEquals(List.of(
+                new SegmentLateReturnsDTO("1-1 Loans", 1, 1, 1.0),
+                new SegmentLateReturnsDTO("2-2 Loans", 2, 1, 0.5),
+                new SegmentLateReturnsDTO("3+ Loans", 2, 0, 0.0)
+        ), store.lateReturnRatePerSegment(EARLIEST, LATEST));
+    }
+
+    @Test
+    @DisplayName("TestRefresh_AppliesChangedLoansAndKeepsOldColumns")
+    void testRefresh_AppliesChangedLoansAndKeepsOldColumns() {
+        bookGenres.put(10L, "Drama");
+        bookGenres.put(20L, "Poetry");
+        loan(1, 1, 10, MONDAY, MONDAY.plusDays(14), null);
+        loan(2, 1, 10, MONDAY, MONDAY.plusDays(14), null);
+        loan(3, 2, 10, MONDAY, MONDAY.plusDays(14), null);
+        clock.advance(Duration.ofMinutes(10));
+        store.refresh();
+        LoanColumns before = store.getColumns();
+
+        clock.advance(Duration.ofMinutes(1));
+        loan(3, 2, 10, MONDAY, MONDAY.plusDays(14), MONDAY.plusDays(3));
+        loan(4, 3, 20, MONDAY.plusDays(1), MONDAY.plusDays(15), MONDAY.plusDays(6));
+        loan(5, 3, 20, MONDAY.plusDays(1), MONDAY.plusDays(15), null);
+        clock.advance(Duration.ofMinutes(5));
+        store.refresh();
+
+        LoanColumns after = store.getColumns();
+        assertNotSame(before, after);
+        assertEquals(3, before.getRowCount());
+        assertEquals(5, after.getRowCount());
+        assertSame(before.chunks()[0], after.chunks()[0]);
+        assertEquals(List.of(), before.averageLoanDaysPerGenre(EARLIEST, LATEST));
+        assertEquals(List.of(new GenreLoanDurationDTO("Drama", 1, 3.0), new GenreLoanDurationDTO("Poetry", 1, 5.0)),
+                store.averageLoanDaysPerGenre(EARLIEST, LATEST));
+        assertEquals(3, store.loansPerWeekday(EARLIEST, LATEST).get(0).getLoans());
+        assertEquals(2, store.loansPerWeekday(EARLIEST, LATEST).get(1).getLoans());
+    }
+
+    private record Loan(long id, long customerId, long bookId, LocalDate borrowDate, LocalDate returnDate,
+                        LocalDate returnedDate, Instant updatedAt) {
+    }
+
+    /**
+     * Answers the store's queries from {@link #loans} and {@link #bookGenres}.
+     */
+    private class LoansJdbcTemplate extends JdbcTemplate {
+
+        @Override
+        public void query(String sql, RowCallbackHandler handler) {
+            query(sql, handler, new Object[0]);
+        }
+
+        @Override
+        public void query(String sql, RowCallbackHandler handler, Object... args) {
+            try {
+                if (sql.startsWith("SELECT id, genre FROM book")) {
+                    for (Map.Entry<Long, String> book : bookGenres.entrySet()) {
+                        ResultSet row = mock(ResultSet.class);
+                        when(row.getLong(1)).thenReturn(book.getKey());
+                        when(row.getString(2)).thenReturn(book.getValue());
+                        handler.processRow(row);
+                    }
+                    return;
+                }
+
+                Instant changedAfter = args.length > 0 ? ((Timestamp) args[0]).toInstant() : Instant.MIN;
+                Instant changedUntil = args.length > 0 ? ((Timestamp) args[1]).toInstant() : Instant.MAX;
+                for (Loan loan : loans) {
+                    if (!loan.updatedAt().isAfter(changedAfter) || loan.updatedAt().isAfter(changedUntil))
+                        continue;
+                    ResultSet row = mock(ResultSet.class);
+                    when(row.getLong(1)).thenReturn(loan.id());
+                    when(row.getLong(2)).thenReturn(loan.customerId());
+                    when(row.getLong(3)).thenReturn(loan.bookId());
+                    when(row.getObject(4, LocalDate.class)).thenReturn(loan.borrowDate());
+                    when(row.getObject(5, LocalDate.class)).thenReturn(loan.returnDate());
+                    when(row.getObject(6, LocalDate.class)).thenReturn(loan.returnedDate());
+                    when(row.getString(7)).thenReturn(bookGenres.get(loan.bookId()));
+                    handler.processRow(row);
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.libraryManagementSystem.archive;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoanSegmentTest {
+
+    @TempDir
+    Path directory;
+
+    private static ArchivedLoan loan(long id, long customerId, long bookId, LocalDate borrowDate) {
+        return new ArchivedLoan(id, customerId, bookId, borrowDate, borrowDate.plusDays(14), borrowDate.plusDays(20));
+    }
+
+    private static List<ArchivedLoan> loans() {
+        List<ArchivedLoan> loans = new ArrayList<>();
+        LocalDate day = LocalDate.of(2019, 1, 1);
+        for (int i = 1; i <= 500; i++)
+            loans.add(loan(i, i % 17, i % 29 + 1000, day.plusDays(i)));
+        return loans;
+    }
+
+    @Test
+    @DisplayName("TestSegment_FindByCustomerAndBook")
+    void testSegment_FindByCustomerAndBook() throws Exception {
+        List<ArchivedLoan> loans = loans();
+        Path file = directory.resolve("loans-00000001.seg");
+        LoanSegment.write(file, loans);
+
+        LoanSegment segment = LoanSegment.open(file);
+
+        assertEquals(500, segment.getRows());
+        assertEquals(loans.stream().filter(loan -> loan.customerId() == 5).toList(),
+                segment.findByCustomer(5));
+        assertEquals(loans.stream().filter(loan -> loan.bookId() == 1007)
+                        .sorted(Comparator.comparingLong(ArchivedLoan::customerId).thenComparingLong(ArchivedLoan::id))
+                        .toList(),
+                segment.findByBook(1007));
+        assertEquals(loans.stream().filter(loan -> loan.customerId() == 3 || loan.customerId() == 5)
+                        .sorted(Comparator.comparingLong(ArchivedLoan::customerId).thenComparingLong(ArchivedLoan::id))
+                        .toList(),
+                segment.findByCustomers(new long[]{5, 99, 3, 5}));
+        assertTrue(segment.findByCustomer(99).isEmpty());
+        assertTrue(segment.findByCustomers(new long[]{99}).isEmpty());
+        assertTrue(segment.findByBook(1).isEmpty());
+    }
+
+    @Test
+    @DisplayName("TestSegment_IsCompressed")
+    void testSegment_IsCompressed() throws Exception {
+        Path file = directory.resolve("loans-00000001.seg");
+        LoanSegment.write(file, loans());
+
+        // Stored as plain longs, the six columns would take 48 bytes per row
+        assertTrue(Files.size(file) < 500 * 8);
+    }
+
+    @Test
+    @DisplayName("TestArchive_AppendsAndReloadsSegments")
+    void testArchive_AppendsAndReloadsSegments() throws Exception {
+        LoanArchive archive = new LoanArchive(directory);
+        archive.load();
+        archive.append(LocalDate.of(2022, 5, 1), List.of(loan(1L, 7L, 100L, LocalDate.of(2020, 5, 1))));
+        archive.append(LocalDate.of(2022, 6, 1), List.of(loan(2L, 7L, 101L, LocalDate.of(2020, 6, 1))));
+
+        LoanArchive reloaded = new LoanArchive(directory);
+        reloaded.load();
+
+        assertEquals(2, reloaded.getSegmentCount());
+        assertEquals(List.of(1L, 2L), reloaded.findByCustomer(7L).stream().map(ArchivedLoan::id).toList());
+        assertEquals(List.of(2L), reloaded.findByBook(101L).stream().map(ArchivedLoan::id).toList());
+    }
+
+    @Test
+    @DisplayName("TestArchive_SeesSegmentsOfOtherNodes")
+    void testArchive_SeesSegmentsOfOtherNodes() throws Exception {
+        LoanArchive node1 = new LoanArchive(directory);
+        node1.load();
+        LoanArchive node2 = new LoanArchive(directory);
+        node2.load();
+
+        LocalDate cutoff = LocalDate.of(2022, 5, 1);
+        node1.append(cutoff, List.of(loan(1L, 7L, 100L, LocalDate.of(2020, 5, 1))));
+        node2.append(cutoff, List.of(loan(2L, 7L, 101L, LocalDate.of(2020, 6, 1))));
+
+        assertEquals(2, node1.getSegments().size());
+        assertEquals(List.of(1L, 2L), node2.findByCustomer(7L).stream().map(ArchivedLoan::id).sorted().toList());
+        assertEquals(List.of(1L), node2.findByBook(100L).stream().map(ArchivedLoan::id).toList());
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.libraryManagementSystem.availability;
+
+import com.example.libraryManagementSystem.exceptionhandling.BadRequestException;
+import com.example.libraryManagementSystem.model.Book;
+import com.example.libraryManagementSystem.outbox.DomainEvent;
+import com.example.libraryManagementSystem.repository.BookRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityBroadcasterTest {
+
+    private static final Instant NOW = Instant.parse("2024-03-10T10:00:00Z");
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private Queue<Runnable> senderTasks;
+    private List<RecordingEmitter> emitters;
+    private AvailabilityBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        senderTasks = new ArrayDeque<>();
+        emitters = new ArrayList<>();
+        broadcaster = new AvailabilityBroadcaster(bookRepository, new ObjectMapper(),
+                Clock.fixed(NOW, ZoneOffset.UTC), senderTasks::add, Duration.ofMinutes(1), 2, 3) {
+            @Override
+            SseEmitter newEmitter(Duration timeout) {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster = null;
+    }
+
+    private void runSenders() {
+        while (!senderTasks.isEmpty())
+            senderTasks.poll().run();
+    }
+
+    private static DomainEvent bookEvent(long eventId, long bookId, String eventType, boolean available) {
+        return new DomainEvent(eventId, "Book", String.valueOf(bookId), eventType,
+                "{\"id\":" + bookId + ",\"available\":" + available + "}", NOW);
+    }
+
+    private static Book book(long id, boolean available) {
+        Book book = new Book();
+        book.setId(id);
+        book.setAvailable(available);
+        return book;
+    }
+
+    @Test
+    @DisplayName("TestSubscribe_SendsCurrentAvailabilityFirst")
+    void testSubscribe_SendsCurrentAvailabilityFirst() {
+        when(bookRepository.findAllById(anyIterable())).thenReturn(List.of(book(1L, true), book(2L, false)));
+
+        broadcaster.subscribe(List.of(1L, 2L));
+        runSenders();
+
+        assertEquals(List.of(
+                new BookAvailability(1L, true, false, NOW, 0L),
+                new BookAvailability(2L, false, false, NOW, 0L)
+        ), emitters.get(0).sent);
+    }
+
+    @Test
+    @DisplayName("TestOnDomainEvent_DeliversOnlyWatchedBooks")
+    void testOnDomainEvent_DeliversOnlyWatchedBooks() {
+        when(bookRepository.findAllById(anyIterable())).thenReturn(List.of());
+        broadcaster.subscribe(List.of(1L));
+        broadcaster.subscribe(List.of(2L));
+
+        broadcaster.onDomainEvent(bookEvent(10L, 1L, "BookUpdated", false));
+        broadcaster.onDomainEvent(bookEvent(11L, 3L, "BookUpdated", false));
+        broadcaster.onDomainEvent(new DomainEvent(12L, "BorrowingRecord", "1", "BookBorrowed", "{}", NOW));
+        runSenders();
+
+        assertEquals(List.of(new BookAvailability(1L, false, false, NOW, 10L)), emitters.get(0).sent);
+        assertTrue(emitters.get(1).sent.isEmpty());
+    }
+
+    @Test
+    @DisplayName("TestSlowClient_OnlyGetsLatestChangePerBook")
+    void testSlowClient_OnlyGetsLatestChangePerBook() {
+        when(bookRepository.findAllById(anyIterable())).thenReturn(List.of());
+        broadcaster.subscribe(List.of(1L, 2L));
+
+        broadcaster.onDomainEvent(bookEvent(10L, 1L, "BookUpdated", false));
+        broadcaster.onDomainEvent(bookEvent(11L, 2L, "BookUpdated", false));
+        broadcaster.onDomainEvent(bookEvent(12L, 1L, "BookUpdated", true));
+        broadcaster.onDomainEvent(new DomainEvent(13L, "Book", "2", "BookDeleted", "{\"id\":2}", NOW));
+        runSenders();
+
+        assertEquals(List.of(
+                new BookAvailability(1L, true, false, NOW, 12L),
+                new BookAvailability(2L, false, true, NOW, 13L)
+        ), emitters.get(0).sent);
+    }
+
+    @Test
+    @DisplayName("TestFailedSend_ClosesStream")
+    void testFailedSend_ClosesStream() {
+        when(bookRepository.findAllById(anyIterable())).thenReturn(List.of());
+        broadcaster.subscribe(List.of(1L));
+        emitters.get(0).failing = true;
+
+        broadcaster.onDomainEvent(bookEvent(10L, 1L, "BookUpdated", false));
+        runSenders();
+
+        assertEquals(0, broadcaster.getOpenStreams());
+        broadcaster.onDomainEvent(bookEvent(11L, 1L, "BookUpdated", true));
+        assertTrue(senderTasks.isEmpty());
+    }
+
+    @Test
+    @DisplayName("TestSubscribe_ThrowBadRequestException")
+    void testSubscribe_ThrowBadRequestException() {
+        assertThrows(BadRequestException.class, () -> broadcaster.subscribe(List.of()));
+        assertThrows(BadRequestException.class, () -> broadcaster.subscribe(null));
+        assertThrows(BadRequestException.class,
+                () -> broadcaster.subscribe(LongStream.rangeClosed(1, 4).boxed().toList()));
+
+        when(bookRepository.findAllById(anyIterable())).thenReturn(List.of());
+        broadcaster.subscribe(List.of(1L));
+        broadcaster.subscribe(List.of(1L));
+        assertThrows(BadRequestException.class, () -> broadcaster.subscribe(List.of(1L)));
+        assertEquals(2, broadcaster.getOpenStreams());
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<Object> sent = new ArrayList<>();
+        private boolean failing;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing)
+                throw new IOException("Broken pipe");
+            builder.build().stream()
+                    .map(DataWithMediaType::getData)
+                    .filter(BookAvailability.class::isInstance)
+                    .forEach(sent::add);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.libraryManagementSystem.availability;
+
+import com.example.libraryManagementSystem.model.OutboxEvent;
+import com.example.libraryManagementSystem.outbox.DomainEvent;
+import com.example.libraryManagementSystem.repository.OutboxEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityFeedTest {
+
+    private static final Instant NOW = Instant.parse("2024-03-10T10:00:00Z");
+
+    @Mock
+    private OutboxEventRepository repository;
+
+    @Mock
+    private AvailabilityBroadcaster broadcaster;
+
+    private AvailabilityFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        feed = new AvailabilityFeed(repository, broadcaster, Clock.fixed(NOW, ZoneOffset.UTC), 10, Duration.ofSeconds(30));
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed = null;
+    }
+
+    private static OutboxEvent event(long id, Instant createdAt) {
+        return new OutboxEvent(id, "Book", "7", "BookUpdated", "{\"available\":true}", createdAt, null, 0, null);
+    }
+
+    private List<Long> deliveredIds() {
+        ArgumentCaptor<DomainEvent> events = ArgumentCaptor.forClass(DomainEvent.class);
+        verify(broadcaster, atLeast(0)).onDomainEvent(events.capture());
+        return events.getAllValues().stream().map(DomainEvent::id).toList();
+    }
+
+    @Test
+    @DisplayName("TestPoll_StartsAfterNewestEvent")
+    void testPoll_StartsAfterNewestEvent() {
+        when(repository.findMaxId()).thenReturn(41L);
+        when(repository.findAfter(eq(41L), eq("Book"), any(Pageable.class))).thenReturn(List.of(event(42L, NOW)));
+
+        feed.poll();
+        feed.poll();
+
+        assertEquals(List.of(42L), deliveredIds());
+    }
+
+    @Test
+    @DisplayName("TestPoll_DeliversLateCommittedEventOnce")
+    void testPoll_DeliversLateCommittedEventOnce() {
+        Instant settled = NOW.minusSeconds(60);
+        when(repository.findMaxId()).thenReturn(10L);
+        // 12 is read first, 11 commits later; both are younger than the commit lag
+        when(repository.findAfter(eq(10L), eq("Book"), any(Pageable.class)))
+                .thenReturn(List.of(event(12L, NOW)))
+                .thenReturn(List.of(event(11L, NOW), event(12L, NOW)))
+                .thenReturn(List.of(event(11L, settled), event(12L, settled), event(13L, NOW)));
+        when(repository.findAfter(eq(12L), eq("Book"), any(Pageable.class))).thenReturn(List.of(event(13L, NOW)));
+
+        feed.poll();
+        feed.poll();
+        feed.poll();
+        feed.poll();
+        feed.poll();
+
+        assertEquals(List.of(12L, 11L, 13L), deliveredIds());
+        verify(repository).findAfter(eq(12L), eq("Book"), any(Pageable.class));
+    }
+}
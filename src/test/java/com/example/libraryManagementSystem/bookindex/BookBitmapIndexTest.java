@@ -0,0 +1,128 @@
+package com.example.libraryManagementSystem.bookindex;
+
+import com.example.libraryManagementSystem.dto.BookFilterKeys;
+import com.example.libraryManagementSystem.model.Author;
+import com.example.libraryManagementSystem.model.Book;
+import com.example.libraryManagementSystem.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookBitmapIndexTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private BookBitmapIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookBitmapIndex(bookRepository);
+    }
+
+    private static BookFilterKeys keys(long id, String genre, boolean available, String nationality) {
+        return new BookFilterKeys() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getGenre() {
+                return genre;
+            }
+
+            @Override
+            public Boolean getAvailable() {
+                return available;
+            }
+
+            @Override
+            public String getNationality() {
+                return nationality;
+            }
+        };
+    }
+
+    private static Book book(long id, String genre, boolean available, String nationality) {
+        Author author = new Author(1L, "Author", LocalDate.of(1950, 1, 1), nationality);
+        return new Book(id, "Book " + id, LocalDate.of(2000, 1, 1), "ISBN" + id, genre, available, author);
+    }
+
+    @Test
+    @DisplayName("TestFilter_IntersectsAndPages")
+    void testFilter_IntersectsAndPages() {
+        when(bookRepository.findAllFilterKeys()).thenReturn(List.of(
+                keys(1, "Drama", true, "Egyptian"),
+                keys(2, "Drama", false, "Egyptian"),
+                keys(3, "Drama", true, "British"),
+                keys(4, "Drama", true, "Egyptian"),
+                keys(5, "Poetry", true, "Egyptian"),
+                keys(6, "Drama", true, "Egyptian")
+        ));
+        index.reload();
+
+        BookIdPage page = index.filter("Drama", "Egyptian", true, 1, 2);
+
+        assertEquals(List.of(4L, 6L), page.bookIds());
+        assertEquals(3, page.totalMatches());
+        assertEquals(List.of(2L), index.filter(null, null, false, 0, 5).bookIds());
+        assertEquals(List.of(), index.filter("Horror", null, null, 0, 5).bookIds());
+    }
+
+    @Test
+    @DisplayName("TestBookSaved_MovesBookBetweenBitmaps")
+    void testBookSaved_MovesBookBetweenBitmaps() {
+        index.bookSaved(book(8, "Drama", true, "Egyptian"));
+        index.bookSaved(book(8, "Poetry", false, "British"));
+        index.bookSaved(book(9, "Poetry", true, "British"));
+
+        assertEquals(List.of(), index.filter("Drama", null, null, 0, 5).bookIds());
+        assertEquals(List.of(8L), index.filter("Poetry", "British", false, 0, 5).bookIds());
+
+        index.bookDeleted(8);
+        assertEquals(List.of(9L), index.filter("Poetry", null, null, 0, 5).bookIds());
+    }
+
+    @Test
+    @DisplayName("TestBookSaved_WaitsForCommit")
+    void testBookSaved_WaitsForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.bookSaved(book(8, "Drama", true, "Egyptian"));
+            assertEquals(List.of(), index.filter("Drama", null, null, 0, 5).bookIds());
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations())
+                synchronization.afterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(List.of(8L), index.filter("Drama", null, null, 0, 5).bookIds());
+    }
+
+    @Test
+    @DisplayName("TestAuthorSaved_UpdatesNationalityOfTheirBooks")
+    void testAuthorSaved_UpdatesNationalityOfTheirBooks() {
+        index.bookSaved(book(8, "Drama", true, "Egyptian"));
+        Author author = new Author(1L, "Author", LocalDate.of(1950, 1, 1), "British");
+        when(bookRepository.findIdsByAuthorId(1L)).thenReturn(List.of(8L));
+
+        index.authorSaved(author);
+
+        assertEquals(List.of(), index.filter(null, "Egyptian", null, 0, 5).bookIds());
+        assertEquals(List.of(8L), index.filter(null, "British", null, 0, 5).bookIds());
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.libraryManagementSystem.bookindex;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressedBitmapTest {
+
+    @Test
+    @DisplayName("TestAddRemove_MatchesBitSetAcrossContainerKinds")
+    void testAddRemove_MatchesBitSetAcrossContainerKinds() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        BitSet expected = new BitSet();
+        Random random = new Random(7);
+
+        // Dense enough in the first group to turn it into a bitmap container, sparse elsewhere
+        for (int i = 0; i < 20_000; i++) {
+            int value = i % 4 == 0 ? random.nextInt(1 << 20) : random.nextInt(1 << 16);
+            assertEquals(!expected.get(value), bitmap.add(value));
+            expected.set(value);
+        }
+        for (int i = 0; i < 15_000; i++) {
+            int value = random.nextInt(1 << 16);
+            assertEquals(expected.get(value), bitmap.remove(value));
+            expected.clear(value);
+        }
+
+        assertEquals(expected.cardinality(), bitmap.cardinality());
+        int[] all = bitmap.page(0, (int) bitmap.cardinality());
+        assertArrayEquals(expected.stream().toArray(), all);
+        assertTrue(bitmap.contains(all[all.length - 1]));
+        assertFalse(bitmap.contains(-1));
+    }
+
+    @Test
+    @DisplayName("TestAnd_IntersectsMixedContainers")
+    void testAnd_IntersectsMixedContainers() {
+        CompressedBitmap even = new CompressedBitmap();
+        CompressedBitmap multiplesOfThree = new CompressedBitmap();
+        CompressedBitmap sparse = new CompressedBitmap();
+        for (int value = 0; value < 200_000; value++) {
+            if (value % 2 == 0)
+                even.add(value);
+            if (value % 3 == 0)
+                multiplesOfThree.add(value);
+        }
+        sparse.add(6);
+        sparse.add(7);
+        sparse.add(120_000);
+        sparse.add(300_000);
+
+        CompressedBitmap sixes = even.and(multiplesOfThree);
+        assertEquals(200_000 / 6 + 1, sixes.cardinality());
+        assertArrayEquals(new int[]{0, 6, 12}, sixes.page(0, 3));
+
+        assertArrayEquals(new int[]{6, 120_000}, CompressedBitmap.and(List.of(even, multiplesOfThree, sparse)).page(0, 10));
+    }
+
+    @Test
+    @DisplayName("TestPage_SkipsWholeGroups")
+    void testPage_SkipsWholeGroups() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int value = 0; value < 10; value++)
+            bitmap.add(value << 16);
+
+        assertArrayEquals(new int[]{7 << 16, 8 << 16}, bitmap.page(7, 2));
+        assertArrayEquals(new int[]{9 << 16}, bitmap.page(9, 5));
+        assertArrayEquals(new int[0], bitmap.page(10, 5));
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.libraryManagementSystem.compression;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeferredFlushFilterTest {
+
+    private final DeferredFlushFilter filter = new DeferredFlushFilter(Set.of("application/json"));
+
+    private MockHttpServletResponse perform(String contentType) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/library/books");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> {
+            res.setContentType(contentType);
+            res.getOutputStream().write("[]".getBytes(StandardCharsets.UTF_8));
+            res.getOutputStream().flush();
+            res.flushBuffer();
+        });
+        return response;
+    }
+
+    @Test
+    @DisplayName("TestCompressedType_FlushesDeferred")
+    void testCompressedType_FlushesDeferred() throws Exception {
+        MockHttpServletResponse response = perform("application/json;charset=UTF-8");
+
+        assertFalse(response.isCommitted());
+        assertEquals("[]", response.getContentAsString());
+    }
+
+    @Test
+    @DisplayName("TestOtherType_FlushesPassedOn")
+    void testOtherType_FlushesPassedOn() throws Exception {
+        MockHttpServletResponse response = perform("text/event-stream");
+
+        assertTrue(response.isCommitted());
+        assertEquals("[]", response.getContentAsString());
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.libraryManagementSystem.configuration;
+
+import com.example.libraryManagementSystem.dto.BookDTO;
+import com.example.libraryManagementSystem.model.Book;
+import com.example.libraryManagementSystem.model.BorrowingRecord;
+import com.example.libraryManagementSystem.outbox.LoanEventPayload;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LibraryRuntimeHintsTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new LibraryRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    @DisplayName("TestRegisterHints_EntityFieldsAndConstructors")
+    void testRegisterHints_EntityFieldsAndConstructors() throws Exception {
+        assertTrue(RuntimeHintsPredicates.reflection().onField(Book.class.getDeclaredField("title")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onField(BorrowingRecord.class.getDeclaredField("borrowDate")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onConstructor(Book.class.getDeclaredConstructor()).test(hints));
+    }
+
+    @Test
+    @DisplayName("TestRegisterHints_LombokAccessorsForJackson")
+    void testRegisterHints_LombokAccessorsForJackson() {
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(BookDTO.class, "getTitle").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(BookDTO.class, "setTitle").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(LoanEventPayload.class, "borrowDate").test(hints));
+    }
+
+    @Test
+    @DisplayName("TestRegisterHints_JdbcProxies")
+    void testRegisterHints_JdbcProxies() {
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(Connection.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(Statement.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(PreparedStatement.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(ResultSet.class).test(hints));
+    }
+
+    @Test
+    @DisplayName("TestRegisterHints_MigrationsOfEveryLocation")
+    void testRegisterHints_MigrationsOfEveryLocation() {
+        assertTrue(RuntimeHintsPredicates.resource().forResource("db/migration/common/V1__baseline.sql").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("db/migration/postgresql/V3__partition_borrowing_record.sql").test(hints));
+    }
+}
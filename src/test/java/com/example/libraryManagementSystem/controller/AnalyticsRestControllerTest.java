@@ -0,0 +1,65 @@
+package com.example.libraryManagementSystem.controller;
+
+import com.example.libraryManagementSystem.dto.SegmentLateReturnsDTO;
+import com.example.libraryManagementSystem.exceptionhandling.BadRequestException;
+import com.example.libraryManagementSystem.service.AnalyticsService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = AnalyticsRestController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@ExtendWith(MockitoExtension.class)
+@DisabledInAotMode
+class AnalyticsRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AnalyticsService analyticsService;
+
+    @Test
+    @DisplayName("TestGetLateReturnRatePerSegment_ReturnSegmentsList")
+    void testGetLateReturnRatePerSegment_ReturnSegmentsList() throws Exception {
+        List<SegmentLateReturnsDTO> segments = List.of(new SegmentLateReturnsDTO("20+ Loans", 8, 2, 0.25));
+        when(analyticsService.getLateReturnRatePerSegment(LocalDate.of(2024, 1, 1), null))
+                .thenReturn(ResponseEntity.ok(segments));
+
+        mockMvc.perform(get("/api/v1/library/analytics/segments/late-returns").param("from", "2024-01-01"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].segment").value("20+ Loans"))
+                .andExpect(jsonPath("$[0].lateRate").value(0.25));
+    }
+
+    @Test
+    @DisplayName("TestGetLoansPerWeekday_ReturnBadRequest")
+    void testGetLoansPerWeekday_ReturnBadRequest() throws Exception {
+        LocalDate from = LocalDate.of(2024, 3, 2);
+        LocalDate to = LocalDate.of(2024, 3, 1);
+        when(analyticsService.getLoansPerWeekday(from, to))
+                .thenThrow(new BadRequestException("From Date Can't Be After To Date!"));
+
+        mockMvc.perform(get("/api/v1/library/analytics/loans/weekdays")
+                        .param("from", "2024-03-02")
+                        .param("to", "2024-03-01"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -6,14 +6,14 @@ import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundExcepti
 import com.example.libraryManagementSystem.model.Author;
 import com.example.libraryManagementSystem.service.AuthorService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
-import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -25,23 +25,64 @@ import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 
-import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static com.example.libraryManagementSystem.controller.StubCalls.ANY;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(controllers = AuthorRestController.class)
 @AutoConfigureMockMvc(addFilters = false)
-@ExtendWith(MockitoExtension.class)
 class AuthorRestControllerTest {
 
     @Autowired
     private MockMvc mockMvc;
 
-    @MockBean
-    private AuthorService authorService;
+    @Autowired
+    private StubCalls authorService;
+
+    @TestConfiguration
+    static class StubServiceConfig {
+
+        @Bean
+        StubCalls authorServiceCalls() {
+            return new StubCalls();
+        }
+
+        @Bean
+        AuthorService authorService(StubCalls calls) {
+            return new AuthorService(null, null, null) {
+                @Override
+                public ResponseEntity<List<Author>> getAuthors(int pageNumber, int pageSize, String field) {
+                    return calls.call("getAuthors", pageNumber, pageSize, field);
+                }
+
+                @Override
+                public ResponseEntity<Author> getAuthorById(Long id) {
+                    return calls.call("getAuthorById", id);
+                }
+
+                @Override
+                public ResponseEntity<Author> addAuthor(AuthorDTO authorDTO) {
+                    return calls.call("addAuthor", authorDTO);
+                }
+
+                @Override
+                public ResponseEntity<Author> updateAuthor(Long id, AuthorDTO authorDTO) {
+                    return calls.call("updateAuthor", id, authorDTO);
+                }
+
+                @Override
+                public ResponseEntity<String> deleteAuthor(Long id) {
+                    return calls.call("deleteAuthor", id);
+                }
+            };
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        authorService.reset();
+    }
 
     private String asJsonString(Object object) {
         try {
@@ -59,7 +100,7 @@ class AuthorRestControllerTest {
                 new Author(2L, "Author 2", LocalDate.of(1980, 2, 2), "British")
         );
 
-        when(authorService.getAuthors(anyInt(), anyInt(), anyString()))
+        authorService.when("getAuthors", ANY, ANY, ANY)
                 .thenReturn(ResponseEntity.ok(authors));
 
         mockMvc.perform(get("/api/v1/library/authors")
@@ -73,19 +114,19 @@ class AuthorRestControllerTest {
                 .andExpect(jsonPath("$[1].id").value(2))
                 .andExpect(jsonPath("$[1].name").value("Author 2"));
 
-        verify(authorService).getAuthors(0, 5, "id");
+        authorService.verify("getAuthors", 0, 5, "id");
     }
 
     @Test
     @DisplayName("TestGetAuthors_ThrowDataNotFoundException")
     void testGetAuthors_ThrowDataNotFoundException() throws Exception {
-        when(authorService.getAuthors(anyInt(), anyInt(), anyString()))
+        authorService.when("getAuthors", ANY, ANY, ANY)
                 .thenThrow(new DataNotFoundException("No Authors Found!"));
 
         mockMvc.perform(get("/api/v1/library/authors"))
                 .andExpect(status().isNotFound());
 
-        verify(authorService).getAuthors(0, 5, "id");
+        authorService.verify("getAuthors", 0, 5, "id");
     }
 
     @Test
@@ -93,7 +134,7 @@ class AuthorRestControllerTest {
     void testGetAuthorById_ReturnAuthor() throws Exception {
         Author author = new Author(1L, "Author 1", LocalDate.of(1970, 1, 1), "American");
 
-        when(authorService.getAuthorById(1L))
+        authorService.when("getAuthorById", 1L)
                 .thenReturn(ResponseEntity.ok(author));
 
         mockMvc.perform(get("/api/v1/library/authors/{id}", 1L))
@@ -102,20 +143,20 @@ class AuthorRestControllerTest {
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.name").value("Author 1"));
 
-        verify(authorService).getAuthorById(1L);
+        authorService.verify("getAuthorById", 1L);
     }
 
     @Test
     @DisplayName("TestGetAuthorById_ThrowDataNotFoundException")
     void testGetAuthorById_ThrowDataNotFoundException() throws Exception {
 
-        when(authorService.getAuthorById(1L))
+        authorService.when("getAuthorById", 1L)
                 .thenThrow(new DataNotFoundException("No Author with ID: " + 1L + " found"));
 
         mockMvc.perform(get("/api/v1/library/authors/{id}", 1L))
                 .andExpect(status().isNotFound());
 
-        verify(authorService).getAuthorById(1L);
+        authorService.verify("getAuthorById", 1L);
     }
 
     @Test
@@ -124,7 +165,7 @@ class AuthorRestControllerTest {
         AuthorDTO authorDTO = new AuthorDTO("Author", "1980-05-15", "American");
         Author savedAuthor = new Author(1L, "Author", LocalDate.of(1980, 5, 15), "American");
 
-        when(authorService.addAuthor(any(AuthorDTO.class)))
+        authorService.when("addAuthor", ANY)
                 .thenReturn(new ResponseEntity<>(savedAuthor, HttpStatus.OK));
 
         mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/library/authors")
@@ -153,7 +194,7 @@ class AuthorRestControllerTest {
     void testAddAuthor_ThrowDataAlreadyExistException() throws Exception {
         AuthorDTO authorDTO = new AuthorDTO("Author", "1985-08-20", "British");
 
-        when(authorService.addAuthor(any(AuthorDTO.class)))
+        authorService.when("addAuthor", ANY)
                 .thenThrow(new DataAlreadyExistException("This Author Already Exists!"));
 
         mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/library/authors")
@@ -169,7 +210,7 @@ class AuthorRestControllerTest {
         AuthorDTO authorDTO = new AuthorDTO("Author", "1985-08-20", "British");
         Author updatedAuthor = new Author(authorId, "Author", LocalDate.of(1985, 8, 20), "British");
 
-        when(authorService.updateAuthor(eq(authorId), any(AuthorDTO.class)))
+        authorService.when("updateAuthor", authorId, ANY)
                 .thenReturn(new ResponseEntity<>(updatedAuthor, HttpStatus.OK));
 
         mockMvc.perform(MockMvcRequestBuilders.put("/api/v1/library/authors/{id}", authorId)
@@ -200,7 +241,7 @@ class AuthorRestControllerTest {
         Long authorId = 999L;
         AuthorDTO authorDTO = new AuthorDTO("Author", "1985-08-20", "British");
 
-        when(authorService.updateAuthor(eq(authorId), any(AuthorDTO.class)))
+        authorService.when("updateAuthor", authorId, ANY)
                 .thenThrow(new DataNotFoundException("No Author With The ID: " + authorId + " Found!"));
 
         mockMvc.perform(MockMvcRequestBuilders.put("/api/v1/library/authors/{id}", authorId)
@@ -214,8 +255,8 @@ class AuthorRestControllerTest {
     void testDeleteAuthor_ReturnSuccessMessage() throws Exception {
         Long authorId = 1L;
 
-        when(authorService.deleteAuthor(eq(authorId)))
-                .thenReturn(new ResponseEntity<>(anyString(), HttpStatus.OK));
+        authorService.when("deleteAuthor", authorId)
+                .thenReturn(new ResponseEntity<>("", HttpStatus.OK));
 
 
         mockMvc.perform(delete("/api/v1/library/authors/{id}", authorId)
@@ -228,7 +269,7 @@ class AuthorRestControllerTest {
     void testDeleteAuthor_ThrowDataNotFoundException() throws Exception {
         Long authorId = 1L;
 
-        when(authorService.deleteAuthor(eq(authorId)))
+        authorService.when("deleteAuthor", authorId)
                 .thenThrow(new DataNotFoundException("No Author With The ID: " + authorId + " Found!"));
 
 
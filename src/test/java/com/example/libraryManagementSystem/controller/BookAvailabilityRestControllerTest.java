@@ -0,0 +1,58 @@
+package com.example.libraryManagementSystem.controller;
+
+import com.example.libraryManagementSystem.availability.AvailabilityBroadcaster;
+import com.example.libraryManagementSystem.exceptionhandling.BadRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = BookAvailabilityRestController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@ExtendWith(MockitoExtension.class)
+@DisabledInAotMode
+class BookAvailabilityRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AvailabilityBroadcaster availabilityBroadcaster;
+
+    @Test
+    @DisplayName("TestStreamAvailability_OpensStream")
+    void testStreamAvailability_OpensStream() throws Exception {
+        when(availabilityBroadcaster.subscribe(any())).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/v1/library/books/availability/stream").param("bookIds", "1,2"))
+                .andExpect(request().asyncStarted());
+
+        verify(availabilityBroadcaster).subscribe(List.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("TestStreamAvailability_ReturnBadRequest")
+    void testStreamAvailability_ReturnBadRequest() throws Exception {
+        when(availabilityBroadcaster.subscribe(any()))
+                .thenThrow(new BadRequestException("At Least One Book Id Is Required!"));
+
+        mockMvc.perform(get("/api/v1/library/books/availability/stream"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("At Least One Book Id Is Required!"));
+    }
+}
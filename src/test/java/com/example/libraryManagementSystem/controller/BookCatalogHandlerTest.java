@@ -0,0 +1,124 @@
+package com.example.libraryManagementSystem.controller;
+
+import com.example.libraryManagementSystem.exceptionhandling.CatalogExceptionHandler;
+import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundException;
+import com.example.libraryManagementSystem.model.Author;
+import com.example.libraryManagementSystem.model.Book;
+import com.example.libraryManagementSystem.service.BookCatalogService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+import static org.mockito.Mockito.*;
+
+class BookCatalogHandlerTest {
+
+    private BookCatalogService bookCatalogService;
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        bookCatalogService = mock(BookCatalogService.class);
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper)))
+                .exceptionHandler(new CatalogExceptionHandler())
+                .build();
+        webTestClient = WebTestClient.bindToRouterFunction(new BookCatalogHandler(bookCatalogService).routes())
+                .handlerStrategies(strategies)
+                .build();
+    }
+
+    private static Book book(long id) {
+        return new Book(id, "Book " + id, LocalDate.of(2023, 6, 18), "ISBN" + id, "Fiction", true,
+                new Author(1L, "Author", LocalDate.of(1970, 1, 1), "American"));
+    }
+
+    @Test
+    @DisplayName("TestGetBooks_ReturnBooksArray")
+    void testGetBooks_ReturnBooksArray() {
+        when(bookCatalogService.getBooks(2, 10, "title")).thenReturn(Flux.just(book(1), book(2)));
+
+        webTestClient.get().uri("/api/v1/library/books?pageNumber=2&pageSize=10&field=title")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].publicationDate").isEqualTo("2023-06-18")
+                .jsonPath("$[1].author.name").isEqualTo("Author");
+    }
+
+    @Test
+    @DisplayName("TestGetBooks_StreamNdjson")
+    void testGetBooks_StreamNdjson() {
+        when(bookCatalogService.getBooks(0, 5, "id")).thenReturn(Flux.just(book(1), book(2)));
+
+        webTestClient.get().uri("/api/v1/library/books")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(Book.class).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("TestGetBooks_ReturnBadRequestForInvalidPageNumber")
+    void testGetBooks_ReturnBadRequestForInvalidPageNumber() {
+        webTestClient.get().uri("/api/v1/library/books?pageNumber=first")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(bookCatalogService);
+    }
+
+    @Test
+    @DisplayName("TestSearchBooks_ReturnNotFound")
+    void testSearchBooks_ReturnNotFound() {
+        when(bookCatalogService.searchBooks("Missing", null, null))
+                .thenReturn(Flux.error(new DataNotFoundException("No Books Found!")));
+
+        webTestClient.get().uri("/api/v1/library/books/search?title=Missing")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody(String.class).isEqualTo("No Books Found!");
+    }
+
+    @Test
+    @DisplayName("TestSearchBooks_ReturnServiceUnavailableWhenNoConnectionIsFree")
+    void testSearchBooks_ReturnServiceUnavailableWhenNoConnectionIsFree() {
+        when(bookCatalogService.searchBooks(null, "ISBN1", null))
+                .thenReturn(Flux.error(new DataAccessResourceFailureException("Failed to obtain R2DBC Connection")));
+
+        webTestClient.get().uri("/api/v1/library/books/search?isbn=ISBN1")
+                .exchange()
+                .expectStatus().isEqualTo(503)
+                .expectHeader().valueEquals("Retry-After", "1");
+    }
+
+    @Test
+    @DisplayName("TestGetBookById_ReturnBook")
+    void testGetBookById_ReturnBook() {
+        when(bookCatalogService.getBookById(1L)).thenReturn(Mono.just(book(1)));
+
+        webTestClient.get().uri("/api/v1/library/books/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Book 1");
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.libraryManagementSystem.controller;
+
+import com.example.libraryManagementSystem.dto.AlsoBorrowedDTO;
+import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundException;
+import com.example.libraryManagementSystem.service.RecommendationService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = BookRecommendationRestController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@ExtendWith(MockitoExtension.class)
+@DisabledInAotMode
+class BookRecommendationRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RecommendationService recommendationService;
+
+    @Test
+    @DisplayName("TestGetAlsoBorrowed_ReturnBooksList")
+    void testGetAlsoBorrowed_ReturnBooksList() throws Exception {
+        when(recommendationService.getAlsoBorrowed(1L, 3))
+                .thenReturn(ResponseEntity.ok(List.of(new AlsoBorrowedDTO(3L, "Dune", "Science Fiction", 7))));
+
+        mockMvc.perform(get("/api/v1/library/books/1/also-borrowed").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].bookId").value(3))
+                .andExpect(jsonPath("$[0].sharedBorrowers").value(7));
+    }
+
+    @Test
+    @DisplayName("TestGetAlsoBorrowed_ReturnNotFound")
+    void testGetAlsoBorrowed_ReturnNotFound() throws Exception {
+        when(recommendationService.getAlsoBorrowed(1L, 10))
+                .thenThrow(new DataNotFoundException("No Book With The ID: 1 Found!"));
+
+        mockMvc.perform(get("/api/v1/library/books/1/also-borrowed"))
+                .andExpect(status().isNotFound());
+    }
+}
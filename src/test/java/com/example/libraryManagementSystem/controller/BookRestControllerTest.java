@@ -1,46 +1,108 @@
 package com.example.libraryManagementSystem.controller;
 
+import com.example.libraryManagementSystem.configuration.BinaryFormatConfig;
+import com.example.libraryManagementSystem.dblimit.DatabaseBusyException;
 import com.example.libraryManagementSystem.dto.BookDTO;
 import com.example.libraryManagementSystem.exceptionhandling.BadRequestException;
 import com.example.libraryManagementSystem.exceptionhandling.DataAlreadyExistException;
 import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundException;
+import com.example.libraryManagementSystem.httpcache.CatalogResponses;
 import com.example.libraryManagementSystem.model.Author;
 import com.example.libraryManagementSystem.model.Book;
 import com.example.libraryManagementSystem.service.BookService;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
-import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.CannotCreateTransactionException;
 
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 
-import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static com.example.libraryManagementSystem.controller.StubCalls.ANY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(controllers = BookRestController.class)
 @AutoConfigureMockMvc(addFilters = false)
-@ExtendWith(MockitoExtension.class)
+@Import({BinaryFormatConfig.class, CatalogResponses.class})
 class BookRestControllerTest {
 
     @Autowired
     private MockMvc mockMvc;
 
-    @MockBean
-    private BookService bookService;
+    @Autowired
+    private StubCalls bookService;
+
+    @TestConfiguration
+    static class StubServiceConfig {
+
+        @Bean
+        StubCalls bookServiceCalls() {
+            return new StubCalls();
+        }
+
+        @Bean
+        BookService bookService(StubCalls calls) {
+            return new BookService(null, null, null, null, null) {
+                @Override
+                public ResponseEntity<List<Book>> getBooks(int pageNumber, int pageSize, String field) {
+                    return calls.call("getBooks", pageNumber, pageSize, field);
+                }
+
+                @Override
+                public ResponseEntity<List<Book>> searchBooks(String title, String isbn, String authorName) {
+                    return calls.call("searchBooks", title, isbn, authorName);
+                }
+
+                @Override
+                public ResponseEntity<List<Book>> filterBooks(String genre, String nationality, Boolean available,
+                                                              int pageNumber, int pageSize) {
+                    return calls.call("filterBooks", genre, nationality, available, pageNumber, pageSize);
+                }
+
+                @Override
+                public ResponseEntity<Book> getBookById(Long id) {
+                    return calls.call("getBookById", id);
+                }
+
+                @Override
+                public ResponseEntity<Book> addBook(BookDTO bookDTO) {
+                    return calls.call("addBook", bookDTO);
+                }
+
+                @Override
+                public ResponseEntity<Book> updateBook(Long id, BookDTO bookDTO) {
+                    return calls.call("updateBook", id, bookDTO);
+                }
+
+                @Override
+                public ResponseEntity<String> deleteBook(Long id) {
+                    return calls.call("deleteBook", id);
+                }
+            };
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        bookService.reset();
+    }
 
     private String asJsonString(Object object) {
         try {
@@ -58,7 +120,7 @@ class BookRestControllerTest {
                 new Book(2L, "Book 2", LocalDate.now(), "ISBN2", "Genre 2", true, new Author())
         );
 
-        when(bookService.getBooks(anyInt(), anyInt(), anyString()))
+        bookService.when("getBooks", ANY, ANY, ANY)
                 .thenReturn(ResponseEntity.ok(books));
 
         mockMvc.perform(get("/api/v1/library/books")
@@ -72,19 +134,115 @@ class BookRestControllerTest {
                 .andExpect(jsonPath("$[1].id").value(2))
                 .andExpect(jsonPath("$[1].title").value("Book 2"));
 
-        verify(bookService).getBooks(0, 5, "id");
+        bookService.verify("getBooks", 0, 5, "id");
+    }
+
+    @Test
+    @DisplayName("TestGetBooks_ReturnCbor")
+    void testGetBooks_ReturnCbor() throws Exception {
+        List<Book> books = List.of(new Book(1L, "Book 1", LocalDate.of(2023, 6, 18), "ISBN1", "Genre 1", true, new Author()));
+
+        bookService.when("getBooks", ANY, ANY, ANY)
+                .thenReturn(ResponseEntity.ok(books));
+
+        byte[] body = mockMvc.perform(get("/api/v1/library/books")
+                        .accept(MediaType.parseMediaType("application/cbor")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode book = new CBORMapper().readTree(body).get(0);
+        assertEquals("Book 1", book.get("title").asText());
+        assertEquals("2023-06-18", book.get("publicationDate").asText());
+    }
+
+    @Test
+    @DisplayName("TestAddBook_ReadAndReturnSmile")
+    void testAddBook_ReadAndReturnSmile() throws Exception {
+        BookDTO bookDTO = new BookDTO("Book", "2023-03-03", "ISBN1", "Genre1", true, new Author());
+        Book savedBook = new Book(1L, "Book", LocalDate.of(2023, 3, 3), "ISBN1", "Genre1", true, new Author());
+        MediaType smile = MediaType.parseMediaType("application/x-jackson-smile");
+
+        bookService.when("addBook", ANY)
+                .thenReturn(ResponseEntity.ok(savedBook));
+
+        byte[] body = mockMvc.perform(post("/api/v1/library/books")
+                        .contentType(smile)
+                        .accept(smile)
+                        .content(new SmileMapper().writeValueAsBytes(bookDTO)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(smile))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(1, new SmileMapper().readTree(body).get("id").asLong());
+        bookService.verify("addBook", bookDTO);
+    }
+
+    @Test
+    @DisplayName("TestGetBooks_NotModified")
+    void testGetBooks_NotModified() throws Exception {
+        List<Book> books = List.of(new Book(1L, "Book 1", LocalDate.now(), "ISBN1", "Genre 1", true, new Author()));
+
+        bookService.when("getBooks", ANY, ANY, ANY)
+                .thenReturn(ResponseEntity.ok().eTag("W/\"1a2b\"").body(books));
+
+        mockMvc.perform(get("/api/v1/library/books")
+                        .header("If-None-Match", "W/\"1a2b-json\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "W/\"1a2b-json\""))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/api/v1/library/books")
+                        .header("If-None-Match", "W/\"3c4d-json\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Book 1"));
+    }
+
+    @Test
+    @DisplayName("TestGetBooks_ETagPerFormat")
+    void testGetBooks_ETagPerFormat() throws Exception {
+        List<Book> books = List.of(new Book(1L, "Book 1", LocalDate.now(), "ISBN1", "Genre 1", true, new Author()));
+        MediaType smile = MediaType.parseMediaType("application/x-jackson-smile");
+
+        bookService.when("getBooks", ANY, ANY, ANY)
+                .thenReturn(ResponseEntity.ok().eTag("W/\"1a2b\"").body(books));
+
+        mockMvc.perform(get("/api/v1/library/books")
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header("If-None-Match", "W/\"1a2b-json\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"1a2b-cbor\""))
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+
+        mockMvc.perform(get("/api/v1/library/books")
+                        .accept(smile)
+                        .header("If-None-Match", "W/\"1a2b-smile\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "W/\"1a2b-smile\""));
     }
 
     @Test
     @DisplayName("TestGetBooks_ThrowDataNotFoundException")
     void testGetBooks_ThrowDataNotFoundException() throws Exception {
-        when(bookService.getBooks(anyInt(), anyInt(), anyString()))
+        bookService.when("getBooks", ANY, ANY, ANY)
                 .thenThrow(new DataNotFoundException("No Authors Found!"));
 
         mockMvc.perform(get("/api/v1/library/books"))
                 .andExpect(status().isNotFound());
 
-        verify(bookService).getBooks(0, 5, "id");
+        bookService.verify("getBooks", 0, 5, "id");
+    }
+
+    @Test
+    @DisplayName("TestGetBooks_ThrowDatabaseBusyException")
+    void testGetBooks_ThrowDatabaseBusyException() throws Exception {
+        bookService.when("getBooks", ANY, ANY, ANY)
+                .thenThrow(new CannotCreateTransactionException("Could not open JPA EntityManager for transaction",
+                        new DatabaseBusyException("No database connection free within 3000 ms")));
+
+        mockMvc.perform(get("/api/v1/library/books"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
     }
 
     @Test
@@ -94,7 +252,7 @@ class BookRestControllerTest {
                 new Book(1L, "Book 1", LocalDate.now(), "ISBN1", "Genre 1", true, new Author())
         );
 
-        when(bookService.searchBooks("Book 1", null, null))
+        bookService.when("searchBooks", "Book 1", null, null)
                 .thenReturn(ResponseEntity.ok(books));
 
         mockMvc.perform(get("/api/v1/library/books/search")
@@ -104,7 +262,7 @@ class BookRestControllerTest {
                 .andExpect(jsonPath("$[0].id").value(1))
                 .andExpect(jsonPath("$[0].title").value("Book 1"));
 
-        verify(bookService).searchBooks("Book 1", null, null);
+        bookService.verify("searchBooks", "Book 1", null, null);
     }
 
     @Test
@@ -114,7 +272,7 @@ class BookRestControllerTest {
                 new Book(1L, "Book 1", LocalDate.now(), "ISBN1", "Genre 1", true, new Author())
         );
 
-        when(bookService.searchBooks(null, "ISBN1", null))
+        bookService.when("searchBooks", null, "ISBN1", null)
                 .thenReturn(ResponseEntity.ok(books));
 
         mockMvc.perform(get("/api/v1/library/books/search")
@@ -124,7 +282,7 @@ class BookRestControllerTest {
                 .andExpect(jsonPath("$[0].id").value(1))
                 .andExpect(jsonPath("$[0].isbn").value("ISBN1"));
 
-        verify(bookService).searchBooks(null, "ISBN1", null);
+        bookService.verify("searchBooks", null, "ISBN1", null);
     }
 
     @Test
@@ -135,7 +293,7 @@ class BookRestControllerTest {
                 new Book(1L, "Book 1", LocalDate.now(), "ISBN1", "Genre 1", true, author)
         );
 
-        when(bookService.searchBooks(null, null, "Author"))
+        bookService.when("searchBooks", null, null, "Author")
                 .thenReturn(ResponseEntity.ok(books));
 
         mockMvc.perform(get("/api/v1/library/books/search")
@@ -145,19 +303,19 @@ class BookRestControllerTest {
                 .andExpect(jsonPath("$[0].id").value(1))
                 .andExpect(jsonPath("$[0].author.name").value("Author"));
 
-        verify(bookService).searchBooks(null, null, "Author");
+        bookService.verify("searchBooks", null, null, "Author");
     }
 
     @Test
     @DisplayName("TestSearchBooks_ThrowDataNotFoundException")
     void testSearchBooks_ThrowDataNotFoundException() throws Exception {
-        when(bookService.searchBooks("Not Found Book", null, null))
+        bookService.when("searchBooks", "Not Found Book", null, null)
                 .thenThrow(new DataNotFoundException("No Books Found!"));
 
-        when(bookService.searchBooks(null, "Not Found ISBN", null))
+        bookService.when("searchBooks", null, "Not Found ISBN", null)
                 .thenThrow(new DataNotFoundException("No Books Found!"));
 
-        when(bookService.searchBooks(null, null, "Not Found Author"))
+        bookService.when("searchBooks", null, null, "Not Found Author")
                 .thenThrow(new DataNotFoundException("No Books Found!"));
 
         mockMvc.perform(get("/api/v1/library/books/search")
@@ -172,27 +330,27 @@ class BookRestControllerTest {
                         .param("authorName", "Not Found Author"))
                 .andExpect(status().isNotFound());
 
-        verify(bookService).searchBooks("Not Found Book", null, null);
-        verify(bookService).searchBooks(null, "Not Found ISBN", null);
-        verify(bookService).searchBooks(null, null, "Not Found Author");
+        bookService.verify("searchBooks", "Not Found Book", null, null);
+        bookService.verify("searchBooks", null, "Not Found ISBN", null);
+        bookService.verify("searchBooks", null, null, "Not Found Author");
     }
 
     @Test
     @DisplayName("TestSearchBooks_ThrowBadRequestException")
     void testSearchBooks_ThrowBadRequestException() throws Exception {
-        when(bookService.searchBooks("", "", ""))
+        bookService.when("searchBooks", "", "", "")
                 .thenThrow(new BadRequestException("At least one search parameter must be provided."));
 
-        when(bookService.searchBooks("title", "ISBN", "Author"))
+        bookService.when("searchBooks", "title", "ISBN", "Author")
                 .thenThrow(new BadRequestException("Only one search parameter can be provided at a time."));
 
-        when(bookService.searchBooks("title", "ISBN", ""))
+        bookService.when("searchBooks", "title", "ISBN", "")
                 .thenThrow(new BadRequestException("Only one search parameter can be provided at a time."));
 
-        when(bookService.searchBooks("title", "", "Author"))
+        bookService.when("searchBooks", "title", "", "Author")
                 .thenThrow(new BadRequestException("Only one search parameter can be provided at a time."));
 
-        when(bookService.searchBooks("", "ISBN", "Author"))
+        bookService.when("searchBooks", "", "ISBN", "Author")
                 .thenThrow(new BadRequestException("Only one search parameter can be provided at a time."));
 
         mockMvc.perform(get("/api/v1/library/books/search")
@@ -225,11 +383,11 @@ class BookRestControllerTest {
                         .param("authorName", ""))
                 .andExpect(status().isBadRequest());
 
-        verify(bookService).searchBooks("", "", "");
-        verify(bookService).searchBooks("title", "ISBN", "Author");
-        verify(bookService).searchBooks("title", "ISBN", "");
-        verify(bookService).searchBooks("title", "", "Author");
-        verify(bookService).searchBooks("", "ISBN", "Author");
+        bookService.verify("searchBooks", "", "", "");
+        bookService.verify("searchBooks", "title", "ISBN", "Author");
+        bookService.verify("searchBooks", "title", "ISBN", "");
+        bookService.verify("searchBooks", "title", "", "Author");
+        bookService.verify("searchBooks", "", "ISBN", "Author");
     }
 
     @Test
@@ -237,7 +395,7 @@ class BookRestControllerTest {
     void testGetBookById_ReturnBook() throws Exception {
         Book book = new Book(1L, "Book 1", LocalDate.now(), "ISBN1", "Genre 1", true, new Author());
 
-        when(bookService.getBookById(1L))
+        bookService.when("getBookById", 1L)
                 .thenReturn(ResponseEntity.ok(book));
 
         mockMvc.perform(get("/api/v1/library/books/{id}", 1L))
@@ -248,19 +406,19 @@ class BookRestControllerTest {
                 .andExpect(jsonPath("$.genre").value("Genre 1"))
                 .andExpect(jsonPath("$.isbn").value("ISBN1"));
 
-        verify(bookService).getBookById(1L);
+        bookService.verify("getBookById", 1L);
     }
 
     @Test
     @DisplayName("TestGetBookById_ThrowDataNotFoundException")
     void testGetBookById_ThrowDataNotFoundException() throws Exception {
-        when(bookService.getBookById(anyLong()))
+        bookService.when("getBookById", ANY)
                 .thenThrow(new DataNotFoundException("No Book with ID: " + 1L + " found"));
 
         mockMvc.perform(get("/api/v1/library/books/{id}", 2L))
                 .andExpect(status().isNotFound());
 
-        verify(bookService).getBookById(2L);
+        bookService.verify("getBookById", 2L);
     }
 
     @Test
@@ -270,7 +428,7 @@ class BookRestControllerTest {
 
         Book savedBook = new Book(1L, "Book", LocalDate.of(2023, 3, 3), "ISBN1", "Genre1", true, new Author());
 
-        when(bookService.addBook(any(BookDTO.class)))
+        bookService.when("addBook", ANY)
                 .thenReturn(ResponseEntity.ok(savedBook));
 
         mockMvc.perform(post("/api/v1/library/books")
@@ -283,7 +441,7 @@ class BookRestControllerTest {
                 .andExpect(jsonPath("$.genre").value("Genre1"))
                 .andExpect(jsonPath("$.isbn").value("ISBN1"));
 
-        verify(bookService).addBook(any(BookDTO.class));
+        bookService.verify("addBook", ANY);
     }
 
     @Test
@@ -303,7 +461,7 @@ class BookRestControllerTest {
     void testAddBook_ThrowDataAlreadyExistException() throws Exception {
         BookDTO bookDTO = new BookDTO("Book", "2023-03-03", "ISBN1", "Genre1", true, new Author());
 
-        when(bookService.addBook(any(BookDTO.class)))
+        bookService.when("addBook", ANY)
                 .thenThrow(new DataAlreadyExistException("Book already exists"));
 
         mockMvc.perform(post("/api/v1/library/books")
@@ -311,7 +469,7 @@ class BookRestControllerTest {
                         .content(asJsonString(bookDTO)))
                 .andExpect(status().isConflict());
 
-        verify(bookService).addBook(any(BookDTO.class));
+        bookService.verify("addBook", ANY);
     }
 
     @Test
@@ -322,7 +480,7 @@ class BookRestControllerTest {
 
         Book savedBook = new Book(1L, "Book", LocalDate.of(2023, 3, 3), "ISBN1", "Genre1", true, new Author());
 
-        when(bookService.updateBook(bookId, bookDTO))
+        bookService.when("updateBook", bookId, bookDTO)
                 .thenReturn(ResponseEntity.ok(savedBook));
 
         mockMvc.perform(put("/api/v1/library/books/{id}", bookId)
@@ -337,7 +495,7 @@ class BookRestControllerTest {
                 .andExpect(jsonPath("$.genre").value("Genre1"))
                 .andExpect(jsonPath("$.available").value(true));
 
-        verify(bookService).updateBook(bookId, bookDTO);
+        bookService.verify("updateBook", bookId, bookDTO);
     }
 
     @Test
@@ -360,7 +518,7 @@ class BookRestControllerTest {
         Long bookId = 999L;
         BookDTO bookDTO = new BookDTO("Book", "2023-03-03", "ISBN1", "Genre1", true, new Author());
 
-        when(bookService.updateBook(bookId, bookDTO))
+        bookService.when("updateBook", bookId, bookDTO)
                 .thenThrow(new DataNotFoundException("Book not found"));
 
         mockMvc.perform(put("/api/v1/library/books/{id}", bookId)
@@ -368,7 +526,7 @@ class BookRestControllerTest {
                         .content(asJsonString(bookDTO)))
                 .andExpect(status().isNotFound());
 
-        verify(bookService).updateBook(bookId, bookDTO);
+        bookService.verify("updateBook", bookId, bookDTO);
     }
 
     @Test
@@ -376,8 +534,8 @@ class BookRestControllerTest {
     void testDeleteBook_ReturnSuccessMessage() throws Exception {
         Long bookId = 1L;
 
-        when(bookService.deleteBook(eq(bookId)))
-                .thenReturn(new ResponseEntity<>(anyString(), HttpStatus.OK));
+        bookService.when("deleteBook", bookId)
+                .thenReturn(new ResponseEntity<>("", HttpStatus.OK));
 
 
         mockMvc.perform(delete("/api/v1/library/books/{id}", bookId)
@@ -390,7 +548,7 @@ class BookRestControllerTest {
     void testDeleteBook_ThrowDataNotFoundException() throws Exception {
         Long bookId = 1L;
 
-        when(bookService.deleteBook(eq(bookId)))
+        bookService.when("deleteBook", bookId)
                 .thenThrow(new DataNotFoundException("No Author With The ID: " + bookId + " Found!"));
 
 
@@ -399,4 +557,24 @@ class BookRestControllerTest {
                 .andExpect(status().isNotFound());
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("TestFilterBooks_ReturnBooksList")
+    void testFilterBooks_ReturnBooksList() throws Exception {
+        List<Book> books = List.of(
+                new Book(1L, "Book 1", LocalDate.now(), "ISBN1", "Drama", true, new Author())
+        );
+
+        bookService.when("filterBooks", "Drama", "Egyptian", true, 0, 5)
+                .thenReturn(ResponseEntity.ok(books));
+
+        mockMvc.perform(get("/api/v1/library/books/filter")
+                        .param("genre", "Drama")
+                        .param("nationality", "Egyptian")
+                        .param("available", "true"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].genre").value("Drama"));
+
+        bookService.verify("filterBooks", "Drama", "Egyptian", true, 0, 5);
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.libraryManagementSystem.controller;
 
 
+import com.example.libraryManagementSystem.configuration.BinaryFormatConfig;
 import com.example.libraryManagementSystem.dto.BorrowingRecordDTO;
 import com.example.libraryManagementSystem.exceptionhandling.BadRequestException;
 import com.example.libraryManagementSystem.exceptionhandling.DataAlreadyExistException;
@@ -9,15 +10,18 @@ import com.example.libraryManagementSystem.model.Book;
 import com.example.libraryManagementSystem.model.BorrowingRecord;
 import com.example.libraryManagementSystem.model.Customer;
 import com.example.libraryManagementSystem.service.BorrowingRecordService;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
-import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
@@ -26,20 +30,76 @@ import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 
-import static org.mockito.Mockito.*;
+import static com.example.libraryManagementSystem.controller.StubCalls.ANY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(controllers = BorrowingRecordsRestController.class)
 @AutoConfigureMockMvc(addFilters = false)
-@ExtendWith(MockitoExtension.class)
+@Import(BinaryFormatConfig.class)
 class BorrowingRecordsRestControllerTest {
 
     @Autowired
     private MockMvc mockMvc;
 
-    @MockBean
-    private BorrowingRecordService recordService;
+    @Autowired
+    private StubCalls recordService;
+
+    @TestConfiguration
+    static class StubServiceConfig {
+
+        @Bean
+        StubCalls recordServiceCalls() {
+            return new StubCalls();
+        }
+
+        @Bean
+        BorrowingRecordService recordService(StubCalls calls) {
+            return new BorrowingRecordService(null, null, null, null, null, null, null) {
+                @Override
+                public ResponseEntity<List<BorrowingRecord>> getRecords(int pageNumber, int pageSize, String field) {
+                    return calls.call("getRecords", pageNumber, pageSize, field);
+                }
+
+                @Override
+                public ResponseEntity<List<BorrowingRecord>> searchRecords(Long customerId, Long bookId,
+                                                                           LocalDate borrowedFrom, LocalDate borrowedTo) {
+                    return calls.call("searchRecords", customerId, bookId, borrowedFrom, borrowedTo);
+                }
+
+                @Override
+                public ResponseEntity<BorrowingRecord> getRecordById(Long id) {
+                    return calls.call("getRecordById", id);
+                }
+
+                @Override
+                public ResponseEntity<BorrowingRecord> addRecord(BorrowingRecordDTO recordDTO) {
+                    return calls.call("addRecord", recordDTO);
+                }
+
+                @Override
+                public ResponseEntity<BorrowingRecord> updateRecord(Long id, BorrowingRecordDTO recordDTO) {
+                    return calls.call("updateRecord", id, recordDTO);
+                }
+
+                @Override
+                public ResponseEntity<BorrowingRecord> returnRecord(Long id) {
+                    return calls.call("returnRecord", id);
+                }
+
+                @Override
+                public ResponseEntity<String> deleteRecord(Long id) {
+                    return calls.call("deleteRecord", id);
+                }
+            };
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        recordService.reset();
+    }
 
     private String asJsonString(Object object) {
         try {
@@ -56,7 +116,7 @@ class BorrowingRecordsRestControllerTest {
         BorrowingRecord record2 = new BorrowingRecord(2L, new Customer(), new Book(), LocalDate.of(2023, 2, 1), LocalDate.of(2023, 2, 10));
         List<BorrowingRecord> records = Arrays.asList(record1, record2);
 
-        when(recordService.getRecords(anyInt(), anyInt(), anyString()))
+        recordService.when("getRecords", ANY, ANY, ANY)
                 .thenReturn(ResponseEntity.ok(records));
 
         mockMvc.perform(get("/api/v1/library/borrowings")
@@ -68,19 +128,39 @@ class BorrowingRecordsRestControllerTest {
                 .andExpect(jsonPath("$[0].id").value(1))
                 .andExpect(jsonPath("$[1].id").value(2));
 
-        verify(recordService).getRecords(0, 5, "id");
+        recordService.verify("getRecords", 0, 5, "id");
+    }
+
+    @Test
+    @DisplayName("TestGetRecords_ReturnSmile")
+    void testGetRecords_ReturnSmile() throws Exception {
+        BorrowingRecord record = new BorrowingRecord(1L, new Customer(), new Book(), LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 10));
+        MediaType smile = MediaType.parseMediaType("application/x-jackson-smile");
+
+        recordService.when("getRecords", ANY, ANY, ANY)
+                .thenReturn(ResponseEntity.ok(List.of(record)));
+
+        byte[] body = mockMvc.perform(get("/api/v1/library/borrowings")
+                        .accept(smile))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(smile))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode records = new SmileMapper().readTree(body);
+        assertEquals(1, records.get(0).get("id").asLong());
+        assertEquals("2023-01-10", records.get(0).get("returnDate").asText());
     }
 
     @Test
     @DisplayName("TestGetRecords_ThrowDataNotFoundException")
     void testGetRecords_ThrowDataNotFoundException() throws Exception {
-        when(recordService.getRecords(anyInt(), anyInt(), anyString()))
+        recordService.when("getRecords", ANY, ANY, ANY)
                 .thenThrow(new DataNotFoundException("No Records Found!"));
 
         mockMvc.perform(get("/api/v1/library/borrowings"))
                 .andExpect(status().isNotFound());
 
-        verify(recordService).getRecords(0, 5, "id");
+        recordService.verify("getRecords", 0, 5, "id");
     }
 
     @Test
@@ -89,7 +169,7 @@ class BorrowingRecordsRestControllerTest {
         BorrowingRecord record = new BorrowingRecord(1L, new Customer(), new Book(), LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 10));
         List<BorrowingRecord> records = List.of(record);
 
-        when(recordService.searchRecords(anyLong(), eq(null)))
+        recordService.when("searchRecords", ANY, null, null, null)
                 .thenReturn(ResponseEntity.ok(records));
 
         mockMvc.perform(get("/api/v1/library/borrowings/search")
@@ -98,7 +178,7 @@ class BorrowingRecordsRestControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$[0].id").value(1));
 
-        verify(recordService).searchRecords(1L, null);
+        recordService.verify("searchRecords", 1L, null, null, null);
     }
 
     @Test
@@ -107,7 +187,7 @@ class BorrowingRecordsRestControllerTest {
         BorrowingRecord record = new BorrowingRecord(1L, new Customer(), new Book(), LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 10));
         List<BorrowingRecord> records = List.of(record);
 
-        when(recordService.searchRecords(eq(null), anyLong()))
+        recordService.when("searchRecords", null, ANY, null, null)
                 .thenReturn(ResponseEntity.ok(records));
 
         mockMvc.perform(get("/api/v1/library/borrowings/search")
@@ -116,17 +196,17 @@ class BorrowingRecordsRestControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$[0].id").value(1));
 
-        verify(recordService).searchRecords(null, 1L);
+        recordService.verify("searchRecords", null, 1L, null, null);
     }
 
     @Test
     @DisplayName("TestSearchRecords_ThrowBadRequestException")
     void testSearchRecords_ThrowBadRequestException() throws Exception {
 
-        when(recordService.searchRecords(anyLong(), anyLong()))
+        recordService.when("searchRecords", ANY, ANY, null, null)
                 .thenThrow(new BadRequestException("At least one search parameter must be provided."));
 
-        when(recordService.searchRecords(null, null))
+        recordService.when("searchRecords", null, null, null, null)
                 .thenThrow(new BadRequestException("Only one search parameter can be provided at a time."));
 
         mockMvc.perform(get("/api/v1/library/borrowings/search")
@@ -139,17 +219,17 @@ class BorrowingRecordsRestControllerTest {
                         .param("bookId", "1"))
                 .andExpect(status().isBadRequest());
 
-        verify(recordService).searchRecords(null, null);
-        verify(recordService).searchRecords(1L, 1L);
+        recordService.verify("searchRecords", null, null, null, null);
+        recordService.verify("searchRecords", 1L, 1L, null, null);
     }
 
     @Test
     @DisplayName("TestSearchRecords_ThrowDataNotFoundException")
     void testSearchRecords_ThrowDataNotFoundException() throws Exception {
-        when(recordService.searchRecords(eq(null), anyLong()))
+        recordService.when("searchRecords", null, ANY, null, null)
                 .thenThrow(new DataNotFoundException("No Record Found!"));
 
-        when(recordService.searchRecords(anyLong(), eq(null)))
+        recordService.when("searchRecords", ANY, null, null, null)
                 .thenThrow(new DataNotFoundException("No Record Found!"));
 
         mockMvc.perform(get("/api/v1/library/borrowings/search")
@@ -160,8 +240,8 @@ class BorrowingRecordsRestControllerTest {
                         .param("bookId", "1"))
                 .andExpect(status().isNotFound());
 
-        verify(recordService).searchRecords(1L, null);
-        verify(recordService).searchRecords(null, 1L);
+        recordService.verify("searchRecords", 1L, null, null, null);
+        recordService.verify("searchRecords", null, 1L, null, null);
     }
 
     @Test
@@ -169,26 +249,26 @@ class BorrowingRecordsRestControllerTest {
     void testGetRecordById_ReturnRecord() throws Exception {
         BorrowingRecord record = new BorrowingRecord(1L, new Customer(), new Book(), LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 10));
 
-        when(recordService.getRecordById(anyLong())).thenReturn(ResponseEntity.ok(record));
+        recordService.when("getRecordById", ANY).thenReturn(ResponseEntity.ok(record));
 
         mockMvc.perform(get("/api/v1/library/borrowings/{id}", 1L))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.id").value(1));
 
-        verify(recordService).getRecordById(1L);
+        recordService.verify("getRecordById", 1L);
     }
 
     @Test
     @DisplayName("TestGetRecordById_ThrowDataNotFoundException")
     void testGetRecordById_ThrowDataNotFoundException() throws Exception {
-        when(recordService.getRecordById(anyLong()))
+        recordService.when("getRecordById", ANY)
                 .thenThrow(new DataNotFoundException("No Record Found!"));
 
         mockMvc.perform(get("/api/v1/library/borrowings/{id}", 1L))
                 .andExpect(status().isNotFound());
 
-        verify(recordService).getRecordById(1L);
+        recordService.verify("getRecordById", 1L);
     }
 
     @Test
@@ -197,7 +277,7 @@ class BorrowingRecordsRestControllerTest {
         BorrowingRecordDTO recordDTO = new BorrowingRecordDTO(1L, 1L, "2023-01-01", "2023-01-10");
         BorrowingRecord record = new BorrowingRecord(1L, new Customer(), new Book(), LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 10));
 
-        when(recordService.addRecord(any(BorrowingRecordDTO.class)))
+        recordService.when("addRecord", ANY)
                 .thenReturn(ResponseEntity.ok(record));
 
         mockMvc.perform(post("/api/v1/library/borrowings")
@@ -207,7 +287,7 @@ class BorrowingRecordsRestControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.id").value(1));
 
-        verify(recordService).addRecord(any(BorrowingRecordDTO.class));
+        recordService.verify("addRecord", ANY);
     }
 
     @Test
@@ -220,7 +300,7 @@ class BorrowingRecordsRestControllerTest {
                         .content(asJsonString(recordDTO)))
                 .andExpect(status().isBadRequest());
 
-        verify(recordService, never()).addRecord(any(BorrowingRecordDTO.class));
+        recordService.verifyNever("addRecord", ANY);
     }
 
     @Test
@@ -228,7 +308,7 @@ class BorrowingRecordsRestControllerTest {
     void testAddRecord_ThrowDataAlreadyExistException() throws Exception {
         BorrowingRecordDTO recordDTO = new BorrowingRecordDTO(1L, 1L, "2023-01-01", "2023-01-10");
 
-        when(recordService.addRecord(any(BorrowingRecordDTO.class)))
+        recordService.when("addRecord", ANY)
                 .thenThrow(new DataAlreadyExistException("This Record Already Exists!"));
 
         mockMvc.perform(post("/api/v1/library/borrowings")
@@ -237,7 +317,7 @@ class BorrowingRecordsRestControllerTest {
                 .andExpect(status().isConflict())
                 .andExpect(content().string("This Record Already Exists!"));
 
-        verify(recordService).addRecord(any(BorrowingRecordDTO.class));
+        recordService.verify("addRecord", ANY);
     }
 
     @Test
@@ -246,7 +326,7 @@ class BorrowingRecordsRestControllerTest {
         BorrowingRecordDTO recordDTO = new BorrowingRecordDTO(1L, 1L, "2023-01-01", "2023-01-10");
         BorrowingRecord record = new BorrowingRecord(1L, new Customer(), new Book(), LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 10));
 
-        when(recordService.updateRecord(anyLong(), any(BorrowingRecordDTO.class)))
+        recordService.when("updateRecord", ANY, ANY)
                 .thenReturn(ResponseEntity.ok(record));
 
         mockMvc.perform(put("/api/v1/library/borrowings/{id}", 1L)
@@ -256,7 +336,7 @@ class BorrowingRecordsRestControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.id").value(1));
 
-        verify(recordService).updateRecord(anyLong(), any(BorrowingRecordDTO.class));
+        recordService.verify("updateRecord", ANY, ANY);
     }
 
     @Test
@@ -269,7 +349,7 @@ class BorrowingRecordsRestControllerTest {
                         .content(asJsonString(recordDTO)))
                 .andExpect(status().isBadRequest());
 
-        verify(recordService, never()).updateRecord(anyLong(), any(BorrowingRecordDTO.class));
+        recordService.verifyNever("updateRecord", ANY, ANY);
     }
 
     @Test
@@ -277,7 +357,7 @@ class BorrowingRecordsRestControllerTest {
     void testUpdateRecord_ThrowDataNotFoundException() throws Exception {
         BorrowingRecordDTO recordDTO = new BorrowingRecordDTO(1L, 1L, "2023-01-01", "2023-01-10");
 
-        when(recordService.updateRecord(anyLong(), any(BorrowingRecordDTO.class)))
+        recordService.when("updateRecord", ANY, ANY)
                 .thenThrow(new DataNotFoundException("No Borrowing Record With The ID: 1 Found!"));
 
         mockMvc.perform(put("/api/v1/library/borrowings/{id}", 1L)
@@ -286,32 +366,61 @@ class BorrowingRecordsRestControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(content().string("No Borrowing Record With The ID: 1 Found!"));
 
-        verify(recordService).updateRecord(anyLong(), any(BorrowingRecordDTO.class));
+        recordService.verify("updateRecord", ANY, ANY);
+    }
+
+    @Test
+    @DisplayName("TestReturnRecord_ReturnClosedRecord")
+    void testReturnRecord_ReturnClosedRecord() throws Exception {
+        BorrowingRecord record = new BorrowingRecord(1L, new Customer(), new Book(), LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 10));
+        record.setReturnedDate(LocalDate.of(2023, 1, 8));
+
+        recordService.when("returnRecord", ANY).thenReturn(ResponseEntity.ok(record));
+
+        mockMvc.perform(put("/api/v1/library/borrowings/{id}/return", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.returnedDate").value("2023-01-08"));
+
+        recordService.verify("returnRecord", 1L);
+    }
+
+    @Test
+    @DisplayName("TestReturnRecord_ThrowBadRequestException")
+    void testReturnRecord_ThrowBadRequestException() throws Exception {
+        recordService.when("returnRecord", ANY)
+                .thenThrow(new BadRequestException("This Book Is Already Returned!"));
+
+        mockMvc.perform(put("/api/v1/library/borrowings/{id}/return", 1L))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("This Book Is Already Returned!"));
+
+        recordService.verify("returnRecord", 1L);
     }
 
     @Test
     @DisplayName("TestDeleteRecord_ReturnSuccessMessage")
     void testDeleteRecord_ReturnSuccessMessage() throws Exception {
-        when(recordService.deleteRecord(anyLong()))
+        recordService.when("deleteRecord", ANY)
                 .thenReturn(ResponseEntity.ok("Borrowing record deleted successfully"));
 
         mockMvc.perform(delete("/api/v1/library/borrowings/{id}", 1L))
                 .andExpect(status().isOk())
                 .andExpect(content().string("Borrowing record deleted successfully"));
 
-        verify(recordService).deleteRecord(anyLong());
+        recordService.verify("deleteRecord", ANY);
     }
 
     @Test
     @DisplayName("TestDeleteRecord_ThrowDataNotFoundException")
     void testDeleteRecord_ThrowDataNotFoundException() throws Exception {
-        when(recordService.deleteRecord(anyLong()))
+        recordService.when("deleteRecord", ANY)
                 .thenThrow(new DataNotFoundException("No Borrowing Record With The ID: 1 Found!"));
 
         mockMvc.perform(delete("/api/v1/library/borrowings/{id}", 1L))
                 .andExpect(status().isNotFound())
                 .andExpect(content().string("No Borrowing Record With The ID: 1 Found!"));
 
-        verify(recordService).deleteRecord(anyLong());
+        recordService.verify("deleteRecord", ANY);
     }
 }
\ No newline at end of file
@@ -6,14 +6,14 @@ import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundExcepti
 import com.example.libraryManagementSystem.model.Customer;
 import com.example.libraryManagementSystem.service.CustomerService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
-import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
@@ -21,23 +21,64 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.Arrays;
 import java.util.List;
 
-import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.*;
+import static com.example.libraryManagementSystem.controller.StubCalls.ANY;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 
 @WebMvcTest(controllers = CustomerRestController.class)
 @AutoConfigureMockMvc(addFilters = false)
-@ExtendWith(MockitoExtension.class)
 class CustomerRestControllerTest {
 
     @Autowired
     private MockMvc mockMvc;
 
-    @MockBean
-    private CustomerService customerService;
+    @Autowired
+    private StubCalls customerService;
+
+    @TestConfiguration
+    static class StubServiceConfig {
+
+        @Bean
+        StubCalls customerServiceCalls() {
+            return new StubCalls();
+        }
+
+        @Bean
+        CustomerService customerService(StubCalls calls) {
+            return new CustomerService(null, null, null) {
+                @Override
+                public ResponseEntity<List<Customer>> getCustomers(int pageNumber, int pageSize, String field) {
+                    return calls.call("getCustomers", pageNumber, pageSize, field);
+                }
+
+                @Override
+                public ResponseEntity<Customer> getCustomerById(Long id) {
+                    return calls.call("getCustomerById", id);
+                }
+
+                @Override
+                public ResponseEntity<Customer> addCustomer(CustomerDTO customerDTO) {
+                    return calls.call("addCustomer", customerDTO);
+                }
+
+                @Override
+                public ResponseEntity<Customer> updateCustomer(Long id, CustomerDTO customerDTO) {
+                    return calls.call("updateCustomer", id, customerDTO);
+                }
+
+                @Override
+                public ResponseEntity<String> deleteCustomer(Long id) {
+                    return calls.call("deleteCustomer", id);
+                }
+            };
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        customerService.reset();
+    }
 
     private String asJsonString(Object object) {
         try {
@@ -56,7 +97,7 @@ class CustomerRestControllerTest {
                 new Customer(2L, "Customer 2", "customer2@example.com", "0117654321", "456 Elm St", "Pa$s1234")
         );
 
-        when(customerService.getCustomers(anyInt(), anyInt(), anyString()))
+        customerService.when("getCustomers", ANY, ANY, ANY)
                 .thenReturn(ResponseEntity.ok(customers));
 
         mockMvc.perform(get("/api/v1/library/customers")
@@ -72,21 +113,21 @@ class CustomerRestControllerTest {
                 .andExpect(jsonPath("$[1].name").value("Customer 2"))
                 .andExpect(jsonPath("$[1].email").value("customer2@example.com"));
 
-        verify(customerService).getCustomers(0, 5, "id");
+        customerService.verify("getCustomers", 0, 5, "id");
     }
 
     @Test
     @DisplayName("TestGetCustomers_ThrowDataNotFoundException")
     void testGetCustomers_ThrowDataNotFoundException() throws Exception {
 
-        when(customerService.getCustomers(anyInt(), anyInt(), anyString()))
+        customerService.when("getCustomers", ANY, ANY, ANY)
                 .thenThrow(new DataNotFoundException("No Customers Found!"));
 
 
         mockMvc.perform(get("/api/v1/library/customers"))
                 .andExpect(status().isNotFound());
 
-        verify(customerService).getCustomers(0, 5, "id");
+        customerService.verify("getCustomers", 0, 5, "id");
     }
 
     @Test
@@ -94,7 +135,7 @@ class CustomerRestControllerTest {
     void testGetCustomerById_ReturnCustomer() throws Exception {
         Customer customer = new Customer(1L, "Customer 1", "customer1@example.com", "01245678900", "123 Main St", "Pa$s1234");
 
-        when(customerService.getCustomerById(anyLong())).thenReturn(ResponseEntity.ok(customer));
+        customerService.when("getCustomerById", ANY).thenReturn(ResponseEntity.ok(customer));
 
         mockMvc.perform(get("/api/v1/library/customers/{id}", 1L))
                 .andExpect(status().isOk())
@@ -106,20 +147,20 @@ class CustomerRestControllerTest {
                 .andExpect(jsonPath("$.address").value("123 Main St"));
 
 
-        verify(customerService).getCustomerById(1L);
+        customerService.verify("getCustomerById", 1L);
     }
 
     @Test
     @DisplayName("TestGetCustomerById_ThrowDataNotFoundException")
     void testGetCustomerById_ThrowDataNotFoundException() throws Exception {
-        when(customerService.getCustomerById(anyLong()))
-                .thenThrow(new DataNotFoundException("No Customer With The ID: " + anyLong() + " Found!"));
+        customerService.when("getCustomerById", ANY)
+                .thenThrow(new DataNotFoundException("No Customer With The ID:  1  Found!"));
 
 
         mockMvc.perform(get("/api/v1/library/customers/{id}", 1L))
                 .andExpect(status().isNotFound());
 
-        verify(customerService).getCustomerById(1L);
+        customerService.verify("getCustomerById", 1L);
     }
 
     @Test
@@ -128,7 +169,7 @@ class CustomerRestControllerTest {
         CustomerDTO customerDTO = new CustomerDTO("Customer", "Customer@example.com", "01245678900", "123 Main St", "Pa$s1234");
         Customer savedCustomer = new Customer(1L, "Customer", "Customer@example.com", "01245678900", "123 Main St", "Pa$s1234");
 
-        when(customerService.addCustomer(any(CustomerDTO.class)))
+        customerService.when("addCustomer", ANY)
                 .thenReturn(ResponseEntity.ok(savedCustomer));
 
         mockMvc.perform(post("/api/v1/library/customers")
@@ -142,7 +183,7 @@ class CustomerRestControllerTest {
                 .andExpect(jsonPath("$.phoneNumber").value("01245678900"))
                 .andExpect(jsonPath("$.address").value("123 Main St"));
 
-        verify(customerService).addCustomer(any(CustomerDTO.class));
+        customerService.verify("addCustomer", ANY);
     }
 
     @Test
@@ -155,7 +196,7 @@ class CustomerRestControllerTest {
                         .content(asJsonString(customerDTO)))
                 .andExpect(status().isBadRequest());
 
-        verify(customerService, never()).addCustomer(any(CustomerDTO.class));
+        customerService.verifyNever("addCustomer", ANY);
     }
 
     @Test
@@ -163,7 +204,7 @@ class CustomerRestControllerTest {
     void testAddCustomer_ThrowDataAlreadyExistException() throws Exception {
         CustomerDTO customerDTO = new CustomerDTO("Customer", "Customer@example.com", "01245678900", "123 Main St", "Pa$s1234");
 
-        when(customerService.addCustomer(any(CustomerDTO.class)))
+        customerService.when("addCustomer", ANY)
                 .thenThrow(new DataAlreadyExistException("This Customer Already Exists!"));
 
         mockMvc.perform(post("/api/v1/library/customers")
@@ -171,7 +212,7 @@ class CustomerRestControllerTest {
                         .content(asJsonString(customerDTO)))
                 .andExpect(status().isConflict());
 
-        verify(customerService).addCustomer(any(CustomerDTO.class));
+        customerService.verify("addCustomer", ANY);
     }
 
     @Test
@@ -180,7 +221,7 @@ class CustomerRestControllerTest {
         CustomerDTO customerDTO = new CustomerDTO("NewCustomer", "newCustomer@example.com", "01245678000", "123 Main St", "Pa$s1234");
         Customer updatedCustomer = new Customer(1L, "Customer", "Customer@example.com", "01245678900", "123 Main St", "Pa$s1234");
 
-        when(customerService.updateCustomer(anyLong(), any(CustomerDTO.class)))
+        customerService.when("updateCustomer", ANY, ANY)
                 .thenReturn(ResponseEntity.ok(updatedCustomer));
 
         mockMvc.perform(put("/api/v1/library/customers/{id}", 1L)
@@ -188,7 +229,7 @@ class CustomerRestControllerTest {
                         .content(asJsonString(customerDTO)))
                 .andExpect(status().isOk());
 
-        verify(customerService).updateCustomer(anyLong(), any(CustomerDTO.class));
+        customerService.verify("updateCustomer", ANY, ANY);
     }
 
     @Test
@@ -201,7 +242,7 @@ class CustomerRestControllerTest {
                         .content(asJsonString(customerDTO)))
                 .andExpect(status().isBadRequest());
 
-        verify(customerService, never()).updateCustomer(anyLong(), any(CustomerDTO.class));
+        customerService.verifyNever("updateCustomer", ANY, ANY);
     }
 
     @Test
@@ -209,7 +250,7 @@ class CustomerRestControllerTest {
     void testUpdateCustomer_ThrowDataNotFoundException() throws Exception {
         CustomerDTO customerDTO = new CustomerDTO("Customer", "Customer@example.com", "01245678900", "123 Main St", "Pa$s1234");
 
-        when(customerService.updateCustomer(anyLong(), any(CustomerDTO.class)))
+        customerService.when("updateCustomer", ANY, ANY)
                 .thenThrow(new DataNotFoundException("No Customer With The ID: " + 1L + " Found!"));
 
         mockMvc.perform(put("/api/v1/library/customers/{id}", 1L)
@@ -218,33 +259,33 @@ class CustomerRestControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(content().string("No Customer With The ID: 1 Found!"));
 
-        verify(customerService).updateCustomer(anyLong(), any(CustomerDTO.class));
+        customerService.verify("updateCustomer", ANY, ANY);
     }
 
     @Test
     @DisplayName("TestDeleteCustomer_Success")
     void testDeleteCustomer_ReturnSuccessMessage() throws Exception {
-        when(customerService.deleteCustomer(anyLong()))
+        customerService.when("deleteCustomer", ANY)
                 .thenReturn(ResponseEntity.ok("Customer deleted successfully"));
 
         mockMvc.perform(delete("/api/v1/library/customers/{id}", 1L))
                 .andExpect(status().isOk())
                 .andExpect(content().string("Customer deleted successfully"));
 
-        verify(customerService).deleteCustomer(anyLong());
+        customerService.verify("deleteCustomer", ANY);
     }
 
     @Test
     @DisplayName("TestDeleteCustomer_ThrowDataNotFoundException")
     void testDeleteCustomer_ThrowDataNotFoundException() throws Exception {
-        when(customerService.deleteCustomer(anyLong()))
+        customerService.when("deleteCustomer", ANY)
                 .thenThrow(new DataNotFoundException("No Customer With The ID: " + 1L + " Found!"));
 
         mockMvc.perform(delete("/api/v1/library/customers/{id}", 1L))
                 .andExpect(status().isNotFound())
                 .andExpect(content().string("No Customer With The ID: 1 Found!"));
 
-        verify(customerService).deleteCustomer(anyLong());
+        customerService.verify("deleteCustomer", ANY);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.example.libraryManagementSystem.controller;
+
+import com.example.libraryManagementSystem.dto.CustomerSummaryDTO;
+import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundException;
+import com.example.libraryManagementSystem.service.CustomerSummaryService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = CustomerSummaryRestController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@ExtendWith(MockitoExtension.class)
+@DisabledInAotMode
+class CustomerSummaryRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CustomerSummaryService customerSummaryService;
+
+    @Test
+    @DisplayName("TestGetSummary_ReturnSummary")
+    void testGetSummary_ReturnSummary() throws Exception {
+        CustomerSummaryDTO summary = new CustomerSummaryDTO(3L, "Mona", 2L, 1L, 40L, List.of());
+        when(customerSummaryService.getSummary(3L, 5)).thenReturn(ResponseEntity.ok(summary));
+
+        mockMvc.perform(get("/api/v1/library/customers/3/summary"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.activeLoans").value(2))
+                .andExpect(jsonPath("$.overdueLoans").value(1))
+                .andExpect(jsonPath("$.lifetimeLoans").value(40));
+    }
+
+    @Test
+    @DisplayName("TestGetSummary_ReturnNotFound")
+    void testGetSummary_ReturnNotFound() throws Exception {
+        when(customerSummaryService.getSummary(3L, 5))
+                .thenThrow(new DataNotFoundException("No Customer With The ID: 3 Found!"));
+
+        mockMvc.perform(get("/api/v1/library/customers/3/summary"))
+                .andExpect(status().isNotFound());
+    }
+}
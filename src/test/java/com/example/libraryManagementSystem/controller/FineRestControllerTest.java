@@ -0,0 +1,76 @@
+package com.example.libraryManagementSystem.controller;
+
+import com.example.libraryManagementSystem.dto.FineBalanceDTO;
+import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundException;
+import com.example.libraryManagementSystem.service.FineService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = FineRestController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@ExtendWith(MockitoExtension.class)
+@DisabledInAotMode
+class FineRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private FineService fineService;
+
+    @Test
+    @DisplayName("TestGetBalance_ReturnBalance")
+    void testGetBalance_ReturnBalance() throws Exception {
+        when(fineService.getBalance(anyLong()))
+                .thenReturn(ResponseEntity.ok(new FineBalanceDTO(1L, 350, 2, LocalDate.of(2024, 3, 10))));
+
+        mockMvc.perform(get("/api/v1/library/fines/customers/{customerId}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.customerId").value(1))
+                .andExpect(jsonPath("$.balanceCents").value(350))
+                .andExpect(jsonPath("$.openOverdueLoans").value(2));
+
+        verify(fineService).getBalance(1L);
+    }
+
+    @Test
+    @DisplayName("TestGetBalance_ThrowDataNotFoundException")
+    void testGetBalance_ThrowDataNotFoundException() throws Exception {
+        when(fineService.getBalance(anyLong()))
+                .thenThrow(new DataNotFoundException("No Customer With The ID: 1 Found!"));
+
+        mockMvc.perform(get("/api/v1/library/fines/customers/{customerId}", 1L))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("TestRunAccrual_ReturnSuccessMessage")
+    void testRunAccrual_ReturnSuccessMessage() throws Exception {
+        when(fineService.runAccrual())
+                .thenReturn(ResponseEntity.ok("Fine Accrual Finished For 4 Customers!"));
+
+        mockMvc.perform(post("/api/v1/library/fines/accrue"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Fine Accrual Finished For 4 Customers!"));
+    }
+}
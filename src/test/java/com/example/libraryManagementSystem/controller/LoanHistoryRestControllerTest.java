@@ -0,0 +1,79 @@
+package com.example.libraryManagementSystem.controller;
+
+import com.example.libraryManagementSystem.dto.LoanHistoryDTO;
+import com.example.libraryManagementSystem.exceptionhandling.BadRequestException;
+import com.example.libraryManagementSystem.service.LoanHistoryService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = LoanHistoryRestController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@ExtendWith(MockitoExtension.class)
+@DisabledInAotMode
+class LoanHistoryRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private LoanHistoryService loanHistoryService;
+
+    @Test
+    @DisplayName("TestGetHistory_ReturnHistoryList")
+    void testGetHistory_ReturnHistoryList() throws Exception {
+        LoanHistoryDTO loan = new LoanHistoryDTO(5L, 3L, 9L, LocalDate.of(2019, 1, 1),
+                LocalDate.of(2019, 1, 15), LocalDate.of(2019, 1, 10), true);
+
+        when(loanHistoryService.getHistory(eq(3L), isNull(), anyInt(), anyInt()))
+                .thenReturn(ResponseEntity.ok(List.of(loan)));
+
+        mockMvc.perform(get("/api/v1/library/borrowings/history").param("customerId", "3"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].recordId").value(5))
+                .andExpect(jsonPath("$[0].archived").value(true))
+                .andExpect(jsonPath("$[0].returnedDate").value("2019-01-10"));
+
+        verify(loanHistoryService).getHistory(3L, null, 0, 5);
+    }
+
+    @Test
+    @DisplayName("TestGetHistory_ReturnBadRequest")
+    void testGetHistory_ReturnBadRequest() throws Exception {
+        when(loanHistoryService.getHistory(isNull(), isNull(), anyInt(), anyInt()))
+                .thenThrow(new BadRequestException("At least one search parameter must be provided."));
+
+        mockMvc.perform(get("/api/v1/library/borrowings/history"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("TestArchiveClosedLoans_ReturnMessage")
+    void testArchiveClosedLoans_ReturnMessage() throws Exception {
+        when(loanHistoryService.archiveClosedLoans()).thenReturn(ResponseEntity.ok("Archived 42 Closed Loans!"));
+
+        mockMvc.perform(post("/api/v1/library/borrowings/history/archive"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Archived 42 Closed Loans!"));
+    }
+}
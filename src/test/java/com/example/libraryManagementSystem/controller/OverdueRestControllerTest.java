@@ -0,0 +1,94 @@
+package com.example.libraryManagementSystem.controller;
+
+import com.example.libraryManagementSystem.exceptionhandling.BadRequestException;
+import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundException;
+import com.example.libraryManagementSystem.model.OverdueNotice;
+import com.example.libraryManagementSystem.service.OverdueService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = OverdueRestController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@ExtendWith(MockitoExtension.class)
+@DisabledInAotMode
+class OverdueRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private OverdueService overdueService;
+
+    @Test
+    @DisplayName("TestGetOverdueNotices_ReturnNoticesList")
+    void testGetOverdueNotices_ReturnNoticesList() throws Exception {
+        List<OverdueNotice> notices = List.of(
+                new OverdueNotice(1L, 10L, 3L, 4L, LocalDate.of(2024, 2, 1), Instant.EPOCH)
+        );
+
+        when(overdueService.getOverdueNotices(anyInt(), anyInt(), anyString()))
+                .thenReturn(ResponseEntity.ok(notices));
+
+        mockMvc.perform(get("/api/v1/library/borrowings/overdue"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].recordId").value(10))
+                .andExpect(jsonPath("$[0].customerId").value(3))
+                .andExpect(jsonPath("$[0].dueDate").value("2024-02-01"));
+
+        verify(overdueService).getOverdueNotices(0, 5, "id");
+    }
+
+    @Test
+    @DisplayName("TestGetOverdueNotices_ThrowDataNotFoundException")
+    void testGetOverdueNotices_ThrowDataNotFoundException() throws Exception {
+        when(overdueService.getOverdueNotices(anyInt(), anyInt(), anyString()))
+                .thenThrow(new DataNotFoundException("No Overdue Notices Found!"));
+
+        mockMvc.perform(get("/api/v1/library/borrowings/overdue"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("TestRunScan_ReturnSuccessMessage")
+    void testRunScan_ReturnSuccessMessage() throws Exception {
+        when(overdueService.runScan())
+                .thenReturn(ResponseEntity.ok("Overdue Scan Finished With 3 New Notices!"));
+
+        mockMvc.perform(post("/api/v1/library/borrowings/overdue/scan"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Overdue Scan Finished With 3 New Notices!"));
+    }
+
+    @Test
+    @DisplayName("TestRunScan_ThrowBadRequestException")
+    void testRunScan_ThrowBadRequestException() throws Exception {
+        when(overdueService.runScan())
+                .thenThrow(new BadRequestException("An Overdue Scan Is Already Running!"));
+
+        mockMvc.perform(post("/api/v1/library/borrowings/overdue/scan"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.libraryManagementSystem.controller;
+
+import com.example.libraryManagementSystem.dto.RecordingDTO;
+import com.example.libraryManagementSystem.exceptionhandling.DataAlreadyExistException;
+import com.example.libraryManagementSystem.service.RecordingService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = RecordingRestController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@ExtendWith(MockitoExtension.class)
+@DisabledInAotMode
+class RecordingRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RecordingService recordingService;
+
+    @Test
+    @DisplayName("TestStartRecording_ReturnRecording")
+    void testStartRecording_ReturnRecording() throws Exception {
+        RecordingDTO recording = new RecordingDTO(3L, "library-on-demand-3", "RUNNING",
+                Instant.parse("2024-03-01T10:00:00Z"), Duration.ofMinutes(2), 104857600L, 0L);
+        when(recordingService.startRecording(Duration.ofMinutes(2), "profile")).thenReturn(ResponseEntity.ok(recording));
+
+        mockMvc.perform(post("/api/v1/library/recordings").param("duration", "PT2M"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.id").value(3))
+                .andExpect(jsonPath("$.state").value("RUNNING"));
+    }
+
+    @Test
+    @DisplayName("TestStartRecording_ReturnConflict")
+    void testStartRecording_ReturnConflict() throws Exception {
+        when(recordingService.startRecording(Duration.ofMinutes(1), "default"))
+                .thenThrow(new DataAlreadyExistException("A Recording Is Already Running!"));
+
+        mockMvc.perform(post("/api/v1/library/recordings").param("settings", "default"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("TestGetContinuousRecordingFile_StreamJfrFile")
+    void testGetContinuousRecordingFile_StreamJfrFile() throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        headers.setContentDisposition(ContentDisposition.attachment().filename("library-continuous.jfr").build());
+        ResponseEntity<Resource> file = ResponseEntity.ok().headers(headers).body(new ByteArrayResource(new byte[]{1, 2, 3}));
+        when(recordingService.getContinuousRecordingFile(Duration.ofMinutes(5))).thenReturn(file);
+
+        mockMvc.perform(get("/api/v1/library/recordings/continuous/file").param("last", "PT5M"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"library-continuous.jfr\""))
+                .andExpect(content().bytes(new byte[]{1, 2, 3}));
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.libraryManagementSystem.controller;
+
+import com.example.libraryManagementSystem.dto.BookLoanCount;
+import com.example.libraryManagementSystem.dto.GenreMonthLoanCount;
+import com.example.libraryManagementSystem.exceptionhandling.BadRequestException;
+import com.example.libraryManagementSystem.service.CirculationStatsService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = StatsRestController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@ExtendWith(MockitoExtension.class)
+@DisabledInAotMode
+class StatsRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CirculationStatsService statsService;
+
+    @Test
+    @DisplayName("TestGetMostBorrowedBooks_ReturnBooksList")
+    void testGetMostBorrowedBooks_ReturnBooksList() throws Exception {
+        BookLoanCount book = new BookLoanCount() {
+            @Override
+            public Long getBookId() {
+                return 7L;
+            }
+
+            @Override
+            public String getTitle() {
+                return "Dune";
+            }
+
+            @Override
+            public Long getLoans() {
+                return 42L;
+            }
+        };
+        when(statsService.getMostBorrowedBooks(10)).thenReturn(ResponseEntity.ok(List.of(book)));
+
+        mockMvc.perform(get("/api/v1/library/stats/books/most-borrowed"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].bookId").value(7))
+                .andExpect(jsonPath("$[0].title").value("Dune"))
+                .andExpect(jsonPath("$[0].loans").value(42));
+    }
+
+    @Test
+    @DisplayName("TestGetMostActiveCustomers_ReturnBadRequest")
+    void testGetMostActiveCustomers_ReturnBadRequest() throws Exception {
+        when(statsService.getMostActiveCustomers(500))
+                .thenThrow(new BadRequestException("Limit Must Be Between 1 And 100!"));
+
+        mockMvc.perform(get("/api/v1/library/stats/customers/most-active").param("limit", "500"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("TestGetLoansPerGenreAndMonth_ParsesMonths")
+    void testGetLoansPerGenreAndMonth_ParsesMonths() throws Exception {
+        GenreMonthLoanCount count = new GenreMonthLoanCount() {
+            @Override
+            public String getGenre() {
+                return "Science Fiction";
+            }
+
+            @Override
+            public LocalDate getMonth() {
+                return LocalDate.of(2024, 2, 1);
+            }
+
+            @Override
+            public Long getLoans() {
+                return 12L;
+            }
+        };
+        when(statsService.getLoansPerGenreAndMonth(YearMonth.of(2024, 1), YearMonth.of(2024, 3)))
+                .thenReturn(ResponseEntity.ok(List.of(count)));
+
+        mockMvc.perform(get("/api/v1/library/stats/genres/monthly").param("from", "2024-01").param("to", "2024-03"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].genre").value("Science Fiction"))
+                .andExpect(jsonPath("$[0].month").value("2024-02-01"))
+                .andExpect(jsonPath("$[0].loans").value(12));
+
+        verify(statsService).getLoansPerGenreAndMonth(YearMonth.of(2024, 1), YearMonth.of(2024, 3));
+    }
+
+    @Test
+    @DisplayName("TestRebuild_ReturnMessage")
+    void testRebuild_ReturnMessage() throws Exception {
+        when(statsService.runRebuild()).thenReturn(ResponseEntity.ok("Loan Statistics Rebuilt From 9 Loans!"));
+
+        mockMvc.perform(post("/api/v1/library/stats/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Loan Statistics Rebuilt From 9 Loans!"));
+    }
+}
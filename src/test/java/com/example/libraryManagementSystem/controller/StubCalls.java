@@ -0,0 +1,106 @@
+package com.example.libraryManagementSystem.controller;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Canned answers and recorded calls for the hand-written service stubs of the controller tests.
+ * Mockito's mocks are classes generated at runtime, which a native image cannot load, and their
+ * {@code @MockBean} definitions cannot be processed ahead of time; these stubs are plain beans, so
+ * the tests also run with {@code mvn -PnativeTest test}.
+ * <p>
+ * An argument given as {@link #ANY} matches any value. As with Mockito, the latest answer matching
+ * a call is used, and a call without one returns {@code null}.
+ */
+final class StubCalls {
+
+    static final Object ANY = new Object() {
+        @Override
+        public String toString() {
+            return "ANY";
+        }
+    };
+
+    private final List<Answer> answers = new ArrayList<>();
+    private final List<Call> calls = new ArrayList<>();
+
+    void reset() {
+        answers.clear();
+        calls.clear();
+    }
+
+    Answer when(String method, Object... args) {
+        Answer answer = new Answer(new Call(method, Arrays.asList(args)));
+        answers.add(answer);
+        return answer;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> T call(String method, Object... args) {
+        Call call = new Call(method, Arrays.asList(args));
+        calls.add(call);
+        for (int i = answers.size() - 1; i >= 0; i--) {
+            Answer answer = answers.get(i);
+            if (answer.expected.matches(call)) {
+                if (answer.exception != null)
+                    throw answer.exception;
+                return (T) answer.result;
+            }
+        }
+        return null;
+    }
+
+    void verify(String method, Object... args) {
+        assertCalls(1, method, args);
+    }
+
+    void verifyNever(String method, Object... args) {
+        assertCalls(0, method, args);
+    }
+
+    private void assertCalls(int times, String method, Object... args) {
+        Call expected = new Call(method, Arrays.asList(args));
+        assertEquals(times, calls.stream().filter(expected::matches).count(),
+                () -> "Calls of " + expected + " among " + calls);
+    }
+
+    static final class Answer {
+
+        private final Call expected;
+        private Object result;
+        private RuntimeException exception;
+
+        private Answer(Call expected) {
+            this.expected = expected;
+        }
+
+        void thenReturn(Object result) {
+            this.result = result;
+        }
+
+        void thenThrow(RuntimeException exception) {
+            this.exception = exception;
+        }
+    }
+
+    private record Call(String method, List<Object> args) {
+
+        boolean matches(Call call) {
+            if (!method.equals(call.method) || args.size() != call.args.size())
+                return false;
+            for (int i = 0; i < args.size(); i++)
+                if (args.get(i) != ANY && !Objects.equals(args.get(i), call.args.get(i)))
+                    return false;
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return method + args;
+        }
+    }
+}
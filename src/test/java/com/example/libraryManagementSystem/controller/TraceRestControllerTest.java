@@ -0,0 +1,76 @@
+package com.example.libraryManagementSystem.controller;
+
+import com.example.libraryManagementSystem.dto.SpanDTO;
+import com.example.libraryManagementSystem.dto.TraceSummaryDTO;
+import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundException;
+import com.example.libraryManagementSystem.service.TraceService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = TraceRestController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@ExtendWith(MockitoExtension.class)
+@DisabledInAotMode
+class TraceRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TraceService traceService;
+
+    @Test
+    @DisplayName("TestGetRecentTraces_ReturnTracesList")
+    void testGetRecentTraces_ReturnTracesList() throws Exception {
+        List<TraceSummaryDTO> traces = List.of(new TraceSummaryDTO("4bf92f3577b34da6a3ce929d0e0e4736",
+                "http get /api/v1/library/books", Instant.parse("2024-03-01T10:00:00Z"), 812.5, 104));
+        when(traceService.getRecentTraces(500, null, 20)).thenReturn(ResponseEntity.ok(traces));
+
+        mockMvc.perform(get("/api/v1/library/traces").param("minDurationMs", "500"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].traceId").value("4bf92f3577b34da6a3ce929d0e0e4736"))
+                .andExpect(jsonPath("$[0].spans").value(104));
+    }
+
+    @Test
+    @DisplayName("TestGetTraceById_ReturnSpansList")
+    void testGetTraceById_ReturnSpansList() throws Exception {
+        List<SpanDTO> spans = List.of(new SpanDTO("00f067aa0ba902b7", null, "select book",
+                Instant.parse("2024-03-01T10:00:00Z"), 3.5, false, Map.of("db.rows", "20")));
+        when(traceService.getTraceById("4bf92f3577b34da6a3ce929d0e0e4736")).thenReturn(ResponseEntity.ok(spans));
+
+        mockMvc.perform(get("/api/v1/library/traces/4bf92f3577b34da6a3ce929d0e0e4736"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("select book"))
+                .andExpect(jsonPath("$[0].attributes['db.rows']").value("20"));
+    }
+
+    @Test
+    @DisplayName("TestGetTraceById_ReturnNotFound")
+    void testGetTraceById_ReturnNotFound() throws Exception {
+        when(traceService.getTraceById("4bf92f3577b34da6a3ce929d0e0e4736"))
+                .thenThrow(new DataNotFoundException("No Trace With The ID: 4bf92f3577b34da6a3ce929d0e0e4736 Found!"));
+
+        mockMvc.perform(get("/api/v1/library/traces/4bf92f3577b34da6a3ce929d0e0e4736"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.libraryManagementSystem.dblimit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ConcurrencyLimitingDataSourceTest {
+
+    private DataSource target;
+    private ConcurrencyLimitingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        dataSource = new ConcurrencyLimitingDataSource(target, 2, 1, Duration.ofMillis(50));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource = null;
+    }
+
+    @Test
+    @DisplayName("TestGetConnection_ReleasesPermitOnceOnClose")
+    void testGetConnection_ReleasesPermitOnceOnClose() throws Exception {
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+        assertEquals(2, dataSource.getActive());
+
+        first.close();
+        first.close();
+        assertEquals(1, dataSource.getActive());
+
+        second.close();
+        assertEquals(0, dataSource.getActive());
+        assertEquals(0, dataSource.getRejected());
+    }
+
+    @Test
+    @DisplayName("TestGetConnection_TimesOutWhenAllPermitsAreTaken")
+    void testGetConnection_TimesOutWhenAllPermitsAreTaken() throws Exception {
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThrows(DatabaseBusyException.class, () -> dataSource.getConnection());
+        assertEquals(1, dataSource.getRejected());
+        assertEquals(0, dataSource.getWaiting());
+        verify(target, times(2)).getConnection();
+    }
+
+    @Test
+    @DisplayName("TestGetConnection_RejectsAtOnceWhenTooManyWait")
+    void testGetConnection_RejectsAtOnceWhenTooManyWait() throws Exception {
+        dataSource = new ConcurrencyLimitingDataSource(target, 1, 1, Duration.ofSeconds(10));
+        Connection held = dataSource.getConnection();
+        CompletableFuture<Connection> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (dataSource.getWaiting() == 0)
+            Thread.onSpinWait();
+
+        long started = System.nanoTime();
+        assertThrows(DatabaseBusyException.class, () -> dataSource.getConnection());
+        assertTrue(System.nanoTime() - started < TimeUnit.SECONDS.toNanos(5));
+
+        // The waiter gets the permit handed back
+        held.close();
+        waiter.get(5, TimeUnit.SECONDS).close();
+        assertEquals(0, dataSource.getActive());
+        assertEquals(1, dataSource.getRejected());
+    }
+
+    @Test
+    @DisplayName("TestGetConnection_ReleasesPermitWhenTargetFails")
+    void testGetConnection_ReleasesPermitWhenTargetFails() throws Exception {
+        when(target.getConnection()).thenThrow(new SQLException("refused"));
+
+        assertThrows(SQLException.class, () -> dataSource.getConnection());
+        assertEquals(0, dataSource.getActive());
+    }
+}
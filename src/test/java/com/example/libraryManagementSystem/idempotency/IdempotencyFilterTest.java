@@ -0,0 +1,208 @@
+package com.example.libraryManagementSystem.idempotency;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyFilterTest {
+
+    private InMemoryIdempotencyStore store;
+    private IdempotencyFilter filter;
+    private AtomicInteger invocations;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+        store = new InMemoryIdempotencyStore(4, 16, clock);
+        filter = new IdempotencyFilter(store, Duration.ofHours(1), 1024, 64, clock);
+        invocations = new AtomicInteger();
+    }
+
+    private MockHttpServletResponse perform(String key, String body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/library/books");
+        if (key != null)
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> {
+            String received = new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            ((HttpServletResponse) res).setStatus(HttpStatus.OK.value());
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            res.getWriter().write("{\"call\":" + invocations.incrementAndGet() + ",\"echo\":" + received + "}");
+        });
+        return response;
+    }
+
+    @Test
+    @DisplayName("TestRetryWithSameKey_ReplaysOriginalResponse")
+    void testRetryWithSameKey_ReplaysOriginalResponse() throws Exception {
+        MockHttpServletResponse first = perform("key-1", "{\"title\":\"Book\"}");
+        MockHttpServletResponse retry = perform("key-1", "{\"title\":\"Book\"}");
+
+        assertEquals(1, invocations.get());
+        assertEquals(HttpStatus.OK.value(), retry.getStatus());
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+        assertEquals("{\"call\":1,\"echo\":{\"title\":\"Book\"}}", retry.getContentAsString());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    @DisplayName("TestReadListener_ReadsBufferedBody")
+    void testReadListener_ReadsBufferedBody() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/library/books");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "key-1");
+        request.setContent("{\"title\":\"Book\"}".getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        AtomicBoolean allRead = new AtomicBoolean();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            ServletInputStream input = req.getInputStream();
+            input.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    while (input.isReady() && !input.isFinished())
+                        received.write(input.read());
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    allRead.set(true);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    fail(t);
+                }
+            });
+            ((HttpServletResponse) res).setStatus(HttpStatus.OK.value());
+        });
+
+        assertTrue(allRead.get());
+        assertEquals("{\"title\":\"Book\"}", received.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("TestRetryWithDifferentBody_ReturnUnprocessableEntity")
+    void testRetryWithDifferentBody_ReturnUnprocessableEntity() throws Exception {
+        perform("key-1", "{\"title\":\"Book\"}");
+        MockHttpServletResponse retry = perform("key-1", "{\"title\":\"Other Book\"}");
+
+        assertEquals(1, invocations.get());
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY.value(), retry.getStatus());
+    }
+
+    @Test
+    @DisplayName("TestRetryWithDifferentQueryString_ReturnUnprocessableEntity")
+    void testRetryWithDifferentQueryString_ReturnUnprocessableEntity() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/library/borrowings");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "key-1");
+        request.setQueryString("customerId=1&bookId=2");
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> invocations.incrementAndGet());
+
+        MockHttpServletRequest retry = new MockHttpServletRequest("POST", "/api/v1/library/borrowings");
+        retry.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "key-1");
+        retry.setQueryString("customerId=1&bookId=3");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(retry, response, (req, res) -> invocations.incrementAndGet());
+
+        assertEquals(1, invocations.get());
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY.value(), response.getStatus());
+    }
+
+    @Test
+    @DisplayName("TestRequestLargerThanLimit_ReturnPayloadTooLarge")
+    void testRequestLargerThanLimit_ReturnPayloadTooLarge() throws Exception {
+        MockHttpServletResponse response = perform("key-1", "{\"title\":\"" + "B".repeat(64) + "\"}");
+
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE.value(), response.getStatus());
+        assertEquals(0, invocations.get());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    @DisplayName("TestRequestWithoutLengthLargerThanLimit_ReturnPayloadTooLarge")
+    void testRequestWithoutLengthLargerThanLimit_ReturnPayloadTooLarge() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/library/books") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "key-1");
+        request.setContent("B".repeat(65).getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> invocations.incrementAndGet());
+
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE.value(), response.getStatus());
+        assertEquals(0, invocations.get());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    @DisplayName("TestRequestWhileFirstInFlight_ReturnConflict")
+    void testRequestWhileFirstInFlight_ReturnConflict() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/library/books");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "key-1");
+        request.setContent("{}".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse[] concurrentRetry = new MockHttpServletResponse[1];
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            try {
+                concurrentRetry[0] = perform("key-1", "{}");
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            ((HttpServletResponse) res).setStatus(HttpStatus.OK.value());
+        });
+
+        assertEquals(0, invocations.get());
+        assertEquals(HttpStatus.CONFLICT.value(), concurrentRetry[0].getStatus());
+    }
+
+    @Test
+    @DisplayName("TestRequestWithoutKey_PassesThrough")
+    void testRequestWithoutKey_PassesThrough() throws Exception {
+        perform(null, "{}");
+        perform(null, "{}");
+
+        assertEquals(2, invocations.get());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    @DisplayName("TestServerError_ReleasesKey")
+    void testServerError_ReleasesKey() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/library/books");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "key-1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) ->
+                ((HttpServletResponse) res).setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value()));
+
+        assertEquals(0, store.size());
+        perform("key-1", "");
+        assertEquals(1, invocations.get());
+    }
+}
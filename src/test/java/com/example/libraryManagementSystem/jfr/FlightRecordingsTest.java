@@ -0,0 +1,85 @@
+package com.example.libraryManagementSystem.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecordingsTest {
+
+    private static final long MAX_SIZE = 10 * 1024 * 1024;
+
+    @TempDir
+    Path directory;
+
+    private FlightRecordings flightRecordings;
+
+    @AfterEach
+    void tearDown() {
+        for (Recording recording : flightRecordings.recordings())
+            flightRecordings.close(recording.getId());
+    }
+
+    private List<RecordedEvent> read(InputStream data, String eventName) throws Exception {
+        Path file = directory.resolve("recording.jfr");
+        try (data) {
+            Files.copy(data, file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(eventName))
+                .toList();
+    }
+
+    @Test
+    @DisplayName("TestRecordedData_RunningRecording_HoldsLibraryEventsAndKeepsRunning")
+    void testRecordedData_RunningRecording_HoldsLibraryEventsAndKeepsRunning() throws Exception {
+        flightRecordings = new FlightRecordings(5);
+        Recording recording = flightRecordings.start(Duration.ofMinutes(1), MAX_SIZE, "default").orElseThrow();
+
+        CheckoutEvent event = new CheckoutEvent(7L, 3L);
+        event.begin();
+        event.setRecordId(42L);
+        event.commit();
+
+        List<RecordedEvent> checkouts = read(FlightRecordings.recordedData(recording, null), CheckoutEvent.NAME);
+
+        assertEquals(1, checkouts.size());
+        assertEquals(7L, checkouts.get(0).getLong("bookId"));
+        assertEquals(42L, checkouts.get(0).getLong("recordId"));
+        assertNull(checkouts.get(0).getString("failure"));
+        assertEquals(RecordingState.RUNNING, recording.getState());
+        assertEquals(FlightRecordings.NAME_PREFIX + recording.getId(), recording.getName());
+    }
+
+    @Test
+    @DisplayName("TestStart_OneRunningAtATime_KeepsNewestStopped")
+    void testStart_OneRunningAtATime_KeepsNewestStopped() throws Exception {
+        flightRecordings = new FlightRecordings(1);
+        Recording first = flightRecordings.start(Duration.ofMinutes(1), MAX_SIZE, "default").orElseThrow();
+
+        assertTrue(flightRecordings.start(Duration.ofMinutes(1), MAX_SIZE, "default").isEmpty());
+
+        first.stop();
+        Recording second = flightRecordings.start(Duration.ofMinutes(1), MAX_SIZE, "default").orElseThrow();
+        second.stop();
+        Recording third = flightRecordings.start(Duration.ofMinutes(1), MAX_SIZE, "profile").orElseThrow();
+
+        assertEquals(List.of(second, third), flightRecordings.recordings());
+        assertEquals(RecordingState.CLOSED, first.getState());
+        assertTrue(flightRecordings.close(third.getId()));
+        assertFalse(flightRecordings.close(third.getId()));
+        assertTrue(flightRecordings.recording(third.getId()).isEmpty());
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.libraryManagementSystem.outbox;
+
+import com.example.libraryManagementSystem.model.OutboxEvent;
+import com.example.libraryManagementSystem.repository.OutboxEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxPollerTest {
+
+    private static final Instant NOW = Instant.parse("2024-03-10T10:00:00Z");
+
+    @Mock
+    private OutboxEventRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private List<DomainEvent> received;
+    private String failingAggregateId;
+    private OutboxPoller poller;
+
+    @BeforeEach
+    void setUp() {
+        received = new ArrayList<>();
+        failingAggregateId = null;
+        OutboxSubscriber subscriber = event -> {
+            if (event.aggregateId().equals(failingAggregateId))
+                throw new IllegalStateException("subscriber unavailable");
+            received.add(event);
+        };
+        poller = new OutboxPoller(repository, List.of(subscriber), transactionManager,
+                Clock.fixed(NOW, ZoneOffset.UTC), 10, 3, Duration.ofSeconds(10), Duration.ofDays(7));
+    }
+
+    @AfterEach
+    void tearDown() {
+        poller = null;
+    }
+
+    private static OutboxEvent event(long id, String aggregateId, String eventType) {
+        return new OutboxEvent(id, "Book", aggregateId, eventType, "{}", NOW, null, 0, null);
+    }
+
+    @Test
+    @DisplayName("TestPollBatch_DeliversInOrderAndMarksPublished")
+    void testPollBatch_DeliversInOrderAndMarksPublished() {
+        when(repository.tryLock(OutboxPoller.POLLER_LOCK_KEY)).thenReturn(true);
+        when(repository.findPending(eq(3), eq(NOW.minusSeconds(10)), any(Pageable.class))).thenReturn(List.of(
+                event(1L, "7", "BookAdded"),
+                event(2L, "8", "BookAdded"),
+                event(3L, "7", "BookUpdated")
+        ));
+
+        int published = poller.pollBatch();
+
+        assertEquals(3, published);
+        assertEquals(List.of(1L, 2L, 3L), received.stream().map(DomainEvent::id).toList());
+        verify(repository).markPublished(List.of(1L, 2L, 3L), NOW);
+    }
+
+    @Test
+    @DisplayName("TestPollBatch_FailureHoldsBackLaterEventsOfSameAggregate")
+    void testPollBatch_FailureHoldsBackLaterEventsOfSameAggregate() {
+        failingAggregateId = "7";
+        when(repository.tryLock(OutboxPoller.POLLER_LOCK_KEY)).thenReturn(true);
+        when(repository.findPending(eq(3), eq(NOW.minusSeconds(10)), any(Pageable.class))).thenReturn(List.of(
+                event(1L, "7", "BookAdded"),
+                event(2L, "8", "BookAdded"),
+                event(3L, "7", "BookUpdated")
+        ));
+
+        int published = poller.pollBatch();
+
+        assertEquals(1, published);
+        assertEquals(List.of(2L), received.stream().map(DomainEvent::id).toList());
+        verify(repository).recordFailure(eq(1L), contains("subscriber unavailable"));
+        verify(repository, never()).recordFailure(eq(3L), anyString());
+        verify(repository).markPublished(List.of(2L), NOW);
+    }
+
+    @Test
+    @DisplayName("TestPollBatch_FailedDeliveryRollsBackOnlyItsOwnTransaction")
+    void testPollBatch_FailedDeliveryRollsBackOnlyItsOwnTransaction() {
+        failingAggregateId = "7";
+        TransactionStatus pollStatus = mock(TransactionStatus.class);
+        TransactionStatus deliveryStatus = mock(TransactionStatus.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            TransactionDefinition definition = invocation.getArgument(0);
+            return definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW
+                    ? deliveryStatus : pollStatus;
+        });
+        when(repository.tryLock(OutboxPoller.POLLER_LOCK_KEY)).thenReturn(true);
+        when(repository.findPending(eq(3), eq(NOW.minusSeconds(10)), any(Pageable.class)))
+                .thenReturn(List.of(event(1L, "7", "BookAdded")));
+
+        assertEquals(0, poller.pollBatch());
+
+        verify(transactionManager).rollback(deliveryStatus);
+        verify(repository).recordFailure(eq(1L), contains("subscriber unavailable"));
+        verify(transactionManager).commit(pollStatus);
+        verify(transactionManager, never()).rollback(pollStatus);
+    }
+
+    @Test
+    @DisplayName("TestPollBatch_SkipsWhenAnotherNodeHoldsTheLock")
+    void testPollBatch_SkipsWhenAnotherNodeHoldsTheLock() {
+        when(repository.tryLock(OutboxPoller.POLLER_LOCK_KEY)).thenReturn(false);
+
+        assertEquals(0, poller.pollBatch());
+
+        verify(repository, never()).findPending(anyInt(), any(Instant.class), any(Pageable.class));
+        assertTrue(received.isEmpty());
+    }
+
+    @Test
+    @DisplayName("TestPoll_SkipsWhenNoConnectionIsFree")
+    void testPoll_SkipsWhenNoConnectionIsFree() {
+        when(transactionManager.getTransaction(any()))
+                .thenThrow(new CannotCreateTransactionException("Could not open JPA EntityManager for transaction"));
+
+        assertDoesNotThrow(() -> poller.poll());
+
+        verifyNoInteractions(repository);
+        assertTrue(received.isEmpty());
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.libraryManagementSystem.partitioning;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers(disabledWithoutDocker = true)
+class BorrowingRecordPartitionManagerTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    // The migration partitions from the current month on, so the loans are placed around today
+    private final YearMonth current = YearMonth.now(ZoneOffset.UTC);
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP SCHEMA public CASCADE");
+        jdbcTemplate.execute("CREATE SCHEMA public");
+
+        migrate("2");
+        jdbcTemplate.update("INSERT INTO author (id, name) VALUES (1, 'Author')");
+        jdbcTemplate.update("INSERT INTO book (id, title, isbn, available, author_id) VALUES (1, 'Book', '1234567890', true, 1)");
+        jdbcTemplate.update("INSERT INTO customer (id, name, email, password) VALUES (1, 'Customer', 'customer@mail.com', 'secret')");
+    }
+
+    private void migrate(String target) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/postgresql")
+                .target(target)
+                .load()
+                .migrate();
+    }
+
+    private void insertLoan(long id, YearMonth month) {
+        LocalDate borrowDate = month.atDay(10);
+        jdbcTemplate.update("INSERT INTO borrowing_record (id, customer_id, book_id, borrow_date, return_date, returned_date)"
+                + " VALUES (?, 1, 1, ?, ?, ?)", id, borrowDate, borrowDate.plusDays(14), borrowDate.plusDays(7));
+    }
+
+    private String partitionOf(long id) {
+        return jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM borrowing_record WHERE id = ?", String.class, id);
+    }
+
+    private List<String> attachedPartitions() {
+        return jdbcTemplate.queryForList("SELECT inhrelid::regclass::text FROM pg_inherits"
+                + " WHERE inhparent = 'borrowing_record'::regclass ORDER BY 1", String.class);
+    }
+
+    private BorrowingRecordPartitionManager manager(YearMonth month, int retentionMonths) {
+        Clock clock = Clock.fixed(month.atDay(15).atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        return new BorrowingRecordPartitionManager(jdbcTemplate, new DataSourceTransactionManager(dataSource), clock,
+                true, 0, retentionMonths);
+    }
+
+    @Test
+    @DisplayName("TestMigration_PartitionsTableAndKeepsIdsUnique")
+    void testMigration_PartitionsTableAndKeepsIdsUnique() {
+        insertLoan(1L, current.minusMonths(2));
+        insertLoan(2L, current.plusMonths(6));
+
+        migrate("latest");
+
+        assertEquals("p", jdbcTemplate.queryForObject(
+                "SELECT relkind::text FROM pg_class WHERE oid = 'borrowing_record'::regclass", String.class));
+        assertEquals(new MonthlyPartition(current.minusMonths(2)).name(), partitionOf(1L));
+        assertEquals("borrowing_record_default", partitionOf(2L));
+        assertTrue(attachedPartitions().contains(new MonthlyPartition(current.plusMonths(3)).name()));
+
+        // Another month is another partition, the primary key alone would let the id in twice
+        assertThrows(DataIntegrityViolationException.class, () -> insertLoan(1L, current));
+    }
+
+    @Test
+    @DisplayName("TestMaintain_MovesDefaultRowsIntoNewPartition")
+    void testMaintain_MovesDefaultRowsIntoNewPartition() {
+        migrate("latest");
+        insertLoan(3L, current.plusMonths(6));
+
+        manager(current.plusMonths(6), 0).maintain();
+
+        assertEquals(new MonthlyPartition(current.plusMonths(6)).name(), partitionOf(3L));
+        assertThrows(DataIntegrityViolationException.class, () -> insertLoan(3L, current));
+    }
+
+    @Test
+    @DisplayName("TestMaintain_DropsOnlyEmptyOldPartitions")
+    void testMaintain_DropsOnlyEmptyOldPartitions() {
+        insertLoan(1L, current.minusMonths(3));
+        insertLoan(2L, current.minusMonths(2));
+        migrate("latest");
+        // Archived, as LoanArchiver deletes them
+        jdbcTemplate.update("DELETE FROM borrowing_record WHERE id = 1");
+
+        manager(current, 1).maintain();
+
+        String archived = new MonthlyPartition(current.minusMonths(3)).name();
+        String unarchived = new MonthlyPartition(current.minusMonths(2)).name();
+        assertFalse(attachedPartitions().contains(archived));
+        assertNull(jdbcTemplate.queryForObject("SELECT to_regclass(?)::text", String.class, archived));
+        assertTrue(attachedPartitions().contains(unarchived));
+        assertEquals(unarchived, partitionOf(2L));
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.libraryManagementSystem.partitioning;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionPlanTest {
+
+    private static MonthlyPartition partition(int year, int month) {
+        return new MonthlyPartition(YearMonth.of(year, month));
+    }
+
+    @Test
+    @DisplayName("TestPlan_CreatesMissingFuturePartitions")
+    void testPlan_CreatesMissingFuturePartitions() {
+        PartitionPlan plan = PartitionPlan.of(YearMonth.of(2024, 11),
+                List.of(partition(2024, 10), partition(2024, 11)), 2, 0);
+
+        assertEquals(List.of(partition(2024, 12), partition(2025, 1)), plan.toCreate());
+        assertTrue(plan.toDetach().isEmpty());
+    }
+
+    @Test
+    @DisplayName("TestPlan_DetachesPartitionsOlderThanRetention")
+    void testPlan_DetachesPartitionsOlderThanRetention() {
+        PartitionPlan plan = PartitionPlan.of(YearMonth.of(2024, 3),
+                List.of(partition(2023, 12), partition(2023, 11), partition(2024, 1), partition(2024, 3)), 0, 3);
+
+        assertEquals(List.of(partition(2023, 11)), plan.toDetach());
+        assertTrue(plan.toCreate().isEmpty());
+    }
+
+    @Test
+    @DisplayName("TestMonthlyPartition_NameAndBounds")
+    void testMonthlyPartition_NameAndBounds() {
+        MonthlyPartition partition = partition(2024, 2);
+
+        assertEquals("borrowing_record_p202402", partition.name());
+        assertEquals(LocalDate.of(2024, 2, 1), partition.from());
+        assertEquals(LocalDate.of(2024, 3, 1), partition.to());
+        assertEquals(Optional.of(partition), MonthlyPartition.fromName("borrowing_record_p202402"));
+        assertEquals(Optional.empty(), MonthlyPartition.fromName("borrowing_record_default"));
+        assertEquals(Optional.empty(), MonthlyPartition.fromName("borrowing_record_p202413"));
+    }
+}
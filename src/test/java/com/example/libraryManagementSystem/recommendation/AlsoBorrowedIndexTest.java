@@ -0,0 +1,164 @@
+package com.example.libraryManagementSystem.recommendation;
+
+import com.example.libraryManagementSystem.archive.ArchivedLoan;
+import com.example.libraryManagementSystem.archive.LoanArchive;
+import com.example.libraryManagementSystem.archive.LoanSegment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AlsoBorrowedIndexTest {
+
+    private final List<long[]> loans = new ArrayList<>();
+
+    @TempDir
+    private Path directory;
+
+    private LoanArchive loanArchive;
+    private AlsoBorrowedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        loanArchive = mock(LoanArchive.class);
+        Clock clock = Clock.fixed(Instant.parse("2024-03-01T10:00:00Z"), ZoneOffset.UTC);
+        index = new AlsoBorrowedIndex(new LoansJdbcTemplate(), loanArchive, clock, 2, 2, 500);
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.shutdown();
+        index = null;
+    }
+
+    private void loan(long id, long customerId, long bookId) {
+        loans.add(new long[]{id, customerId, bookId});
+    }
+
+    @Test
+    @DisplayName("TestRebuild_RanksBooksBySharedBorrowers")
+    void testRebuild_RanksBooksBySharedBorrowers() {
+        loan(1, 1, 10);
+        loan(2, 1, 20);
+        loan(3, 2, 10);
+        loan(4, 2, 20);
+        loan(5, 2, 30);
+        loan(6, 3, 10);
+        loan(7, 3, 30);
+        loan(8, 3, 30);
+
+        index.rebuild();
+
+        AlsoBorrowedTable table = index.getTable();
+        assertEquals(List.of(new BookNeighbour(20, 2), new BookNeighbour(30, 2)), table.getNeighbours(10, 5));
+        assertEquals(List.of(new BookNeighbour(10, 2), new BookNeighbour(20, 1)), table.getNeighbours(30, 5));
+        assertEquals(List.of(new BookNeighbour(10, 2)), table.getNeighbours(20, 1));
+        assertEquals(List.of(), table.getNeighbours(99, 5));
+        assertEquals(8, table.getLastRecordId());
+    }
+
+    @Test
+    @DisplayName("TestRebuild_CountsArchivedLoans")
+    void testRebuild_CountsArchivedLoans() throws Exception {
+        loan(5, 1, 20);
+        Path segmentPath = directory.resolve("loans-00000001.seg");
+        LoanSegment.write(segmentPath, List.of(
+                new ArchivedLoan(1, 1, 10, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 1, 15), LocalDate.of(2020, 1, 10))));
+        when(loanArchive.getSegments()).thenReturn(List.of(LoanSegment.open(segmentPath)));
+
+        index.rebuild();
+
+        assertEquals(List.of(new BookNeighbour(10, 1)), index.getTable().getNeighbours(20, 5));
+    }
+
+    @Test
+    @DisplayName("TestRefresh_AddsOnlyNewPairsAndKeepsOldTable")
+    void testRefresh_AddsOnlyNewPairsAndKeepsOldTable() {
+        loan(1, 1, 10);
+        loan(2, 1, 20);
+        loan(3, 2, 10);
+        loan(4, 2, 30);
+        index.refresh();
+        AlsoBorrowedTable before = index.getTable();
+
+        loan(5, 1, 30);
+        loan(6, 1, 10);
+        loan(7, 4, 40);
+        index.refresh();
+
+        AlsoBorrowedTable after = index.getTable();
+        assertNotSame(before, after);
+        assertEquals(List.of(new BookNeighbour(20, 1), new BookNeighbour(30, 1)), before.getNeighbours(10, 5));
+        assertEquals(List.of(new BookNeighbour(30, 2), new BookNeighbour(20, 1)), after.getNeighbours(10, 5));
+        assertEquals(List.of(new BookNeighbour(10, 2), new BookNeighbour(20, 1)), after.getNeighbours(30, 5));
+        assertEquals(List.of(), after.getNeighbours(40, 5));
+        assertEquals(7, after.getLastRecordId());
+    }
+
+    @Test
+    @DisplayName("TestRefresh_ReadsArchiveOnceForAllCustomers")
+    void testRefresh_ReadsArchiveOnceForAllCustomers() {
+        loan(3, 1, 20);
+        index.refresh();
+
+        loan(4, 1, 30);
+        loan(5, 2, 30);
+        when(loanArchive.findByCustomers(any())).thenReturn(List.of(
+                new ArchivedLoan(1, 1, 10, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 1, 15), LocalDate.of(2020, 1, 10)),
+                new ArchivedLoan(2, 2, 10, LocalDate.of(2020, 2, 1), LocalDate.of(2020, 2, 15), LocalDate.of(2020, 2, 10))));
+        index.refresh();
+
+        verify(loanArchive).findByCustomers(new long[]{1, 2});
+        verify(loanArchive, never()).findByCustomer(anyLong());
+        assertEquals(List.of(new BookNeighbour(10, 2), new BookNeighbour(20, 1)), index.getTable().getNeighbours(30, 5));
+    }
+
+    /**
+     * Answers the index's queries from {@link #loans}.
+     */
+    private class LoansJdbcTemplate extends JdbcTemplate {
+
+        @Override
+        public <T> T queryForObject(String sql, Class<T> requiredType) {
+            return requiredType.cast(loans.stream().mapToLong(loan -> loan[0]).max().orElse(0));
+        }
+
+        @Override
+        public void query(String sql, RowCallbackHandler handler, Object... args) {
+            long afterId = sql.contains("id > ?") ? (Long) args[0] : Long.MIN_VALUE;
+            long upToId = sql.contains("id > ?") ? (Long) args[1] : (Long) args[0];
+            List<Object> customerIds = sql.contains("customer_id IN") ? Arrays.asList(args).subList(1, args.length) : null;
+
+            for (long[] loan : loans) {
+                if (loan[0] <= afterId || loan[0] > upToId || (customerIds != null && !customerIds.contains(loan[1])))
+                    continue;
+                try {
+                    ResultSet row = mock(ResultSet.class);
+                    when(row.getLong(1)).thenReturn(loan[1]);
+                    when(row.getLong(2)).thenReturn(loan[2]);
+                    handler.processRow(row);
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+    }
+}
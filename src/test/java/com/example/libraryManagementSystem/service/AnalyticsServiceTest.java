@@ -0,0 +1,90 @@
+package com.example.libraryManagementSystem.service;
+
+import com.example.libraryManagementSystem.analytics.LoanColumnStore;
+import com.example.libraryManagementSystem.dto.GenreLoanDurationDTO;
+import com.example.libraryManagementSystem.dto.SegmentLateReturnsDTO;
+import com.example.libraryManagementSystem.dto.WeekdayLoansDTO;
+import com.example.libraryManagementSystem.exceptionhandling.BadRequestException;
+import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsServiceTest {
+
+    @Mock
+    private LoanColumnStore columnStore;
+
+    private AnalyticsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new AnalyticsService(columnStore);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service = null;
+    }
+
+    @Test
+    @DisplayName("TestGetLoansPerWeekday_DefaultsToWholeHistory")
+    void testGetLoansPerWeekday_DefaultsToWholeHistory() {
+        List<WeekdayLoansDTO> weekdays = new ArrayList<>();
+        for (DayOfWeek day : DayOfWeek.values())
+            weekdays.add(new WeekdayLoansDTO(day, day == DayOfWeek.MONDAY ? 3 : 0));
+        LocalDate to = LocalDate.of(2024, 3, 31);
+        when(columnStore.loansPerWeekday(AnalyticsService.EARLIEST_BORROW_DATE, to)).thenReturn(weekdays);
+
+        ResponseEntity<List<WeekdayLoansDTO>> response = service.getLoansPerWeekday(null, to);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertIterableEquals(weekdays, response.getBody());
+    }
+
+    @Test
+    @DisplayName("TestGetAverageLoanDaysPerGenre_ThrowBadRequestException")
+    void testGetAverageLoanDaysPerGenre_ThrowBadRequestException() {
+        assertThrows(BadRequestException.class,
+                () -> service.getAverageLoanDaysPerGenre(LocalDate.of(2024, 3, 2), LocalDate.of(2024, 3, 1)));
+
+        verifyNoInteractions(columnStore);
+    }
+
+    @Test
+    @DisplayName("TestGetLateReturnRatePerSegment_ThrowDataNotFoundException")
+    void testGetLateReturnRatePerSegment_ThrowDataNotFoundException() {
+        when(columnStore.lateReturnRatePerSegment(AnalyticsService.EARLIEST_BORROW_DATE, AnalyticsService.LATEST_BORROW_DATE))
+                .thenReturn(List.of(new SegmentLateReturnsDTO("1-4 Loans", 0, 0, 0)));
+
+        assertThrows(DataNotFoundException.class, () -> service.getLateReturnRatePerSegment(null, null));
+    }
+
+    @Test
+    @DisplayName("TestGetAverageLoanDaysPerGenre_ReturnGenresList")
+    void testGetAverageLoanDaysPerGenre_ReturnGenresList() {
+        List<GenreLoanDurationDTO> genres = List.of(new GenreLoanDurationDTO("Drama", 4, 12.5));
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        when(columnStore.averageLoanDaysPerGenre(from, AnalyticsService.LATEST_BORROW_DATE)).thenReturn(genres);
+
+        ResponseEntity<List<GenreLoanDurationDTO>> response = service.getAverageLoanDaysPerGenre(from, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertIterableEquals(genres, response.getBody());
+    }
+}
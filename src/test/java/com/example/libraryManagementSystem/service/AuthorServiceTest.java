@@ -1,9 +1,12 @@
 package com.example.libraryManagementSystem.service;
 
+import com.example.libraryManagementSystem.bookindex.BookBitmapIndex;
 import com.example.libraryManagementSystem.dto.AuthorDTO;
 import com.example.libraryManagementSystem.exceptionhandling.DataAlreadyExistException;
 import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundException;
 import com.example.libraryManagementSystem.model.Author;
+import com.example.libraryManagementSystem.outbox.EventOutbox;
+import com.example.libraryManagementSystem.outbox.EventType;
 import com.example.libraryManagementSystem.repository.AuthorRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -35,11 +38,17 @@ class AuthorServiceTest {
     @Mock
     private AuthorRepository repository;
 
+    @Mock
+    private EventOutbox eventOutbox;
+
+    @Mock
+    private BookBitmapIndex bookBitmapIndex;
+
     private AuthorService service;
 
     @BeforeEach
     void setUp() {
-        service = new AuthorService(repository);
+        service = new AuthorService(repository, eventOutbox, bookBitmapIndex);
     }
 
     @AfterEach
@@ -176,6 +185,7 @@ class AuthorServiceTest {
         assertEquals(LocalDate.of(1970, 1, 1), response.getBody().getBirthDate());
         assertEquals("American", response.getBody().getNationality());
 
+        verify(eventOutbox, times(1)).append(EventType.AUTHOR_ADDED, author.getId(), author);
     }
 
     @Test
@@ -211,6 +221,7 @@ class AuthorServiceTest {
         assertEquals("Updated", response.getBody().getName());
         assertEquals(LocalDate.of(1980, 1, 1), response.getBody().getBirthDate());
         assertEquals("British", response.getBody().getNationality());
+        verify(bookBitmapIndex, times(1)).authorSaved(existingAuthor);
     }
 
     @Test
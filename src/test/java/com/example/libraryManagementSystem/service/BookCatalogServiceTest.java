@@ -0,0 +1,149 @@
+package com.example.libraryManagementSystem.service;
+
+import com.example.libraryManagementSystem.exceptionhandling.BadRequestException;
+import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundException;
+import com.example.libraryManagementSystem.model.Book;
+import com.example.libraryManagementSystem.model.CatalogAuthor;
+import com.example.libraryManagementSystem.model.CatalogBook;
+import com.example.libraryManagementSystem.repository.CatalogAuthorRepository;
+import com.example.libraryManagementSystem.repository.CatalogBookRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookCatalogServiceTest {
+
+    @Mock
+    private CatalogBookRepository catalogBookRepository;
+
+    @Mock
+    private CatalogAuthorRepository catalogAuthorRepository;
+
+    private BookCatalogService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new BookCatalogService(catalogBookRepository, catalogAuthorRepository, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service = null;
+    }
+
+    private static CatalogBook book(long id, long authorId) {
+        return new CatalogBook(id, "Book " + id, LocalDate.of(2023, 6, 18), "ISBN" + id, "Fiction", true, authorId);
+    }
+
+    private static CatalogAuthor author(long id) {
+        return new CatalogAuthor(id, "Author " + id, LocalDate.of(1970, 1, 1), "American");
+    }
+
+    @Test
+    @DisplayName("TestGetBooks_ReturnBooksWithAuthorsInOrder")
+    void testGetBooks_ReturnBooksWithAuthorsInOrder() {
+        when(catalogBookRepository.findAllBy(PageRequest.of(1, 3, Sort.by("title"))))
+                .thenReturn(Flux.just(book(4, 1), book(5, 2), book(6, 1)));
+        when(catalogAuthorRepository.findAllById(anyIterable()))
+                .thenReturn(Flux.just(author(2), author(1)))
+                .thenReturn(Flux.just(author(1)));
+        when(catalogBookRepository.count()).thenReturn(Mono.just(6L));
+
+        List<Book> books = service.getBooks(1, 3, "title").collectList().block();
+
+        assertEquals(List.of(4L, 5L, 6L), books.stream().map(Book::getId).toList());
+        assertEquals(List.of("Author 1", "Author 2", "Author 1"), books.stream().map(book -> book.getAuthor().getName()).toList());
+        // One author query per batch of two books
+        verify(catalogAuthorRepository, times(2)).findAllById(anyIterable());
+    }
+
+    @Test
+    @DisplayName("TestGetBooks_ReturnEmptyPagePastTheEnd")
+    void testGetBooks_ReturnEmptyPagePastTheEnd() {
+        when(catalogBookRepository.findAllBy(PageRequest.of(9, 5, Sort.by("id")))).thenReturn(Flux.empty());
+        when(catalogBookRepository.count()).thenReturn(Mono.just(3L));
+
+        assertEquals(List.of(), service.getBooks(9, 0, "id").collectList().block());
+    }
+
+    @Test
+    @DisplayName("TestGetBooks_ThrowDataNotFoundException")
+    void testGetBooks_ThrowDataNotFoundException() {
+        when(catalogBookRepository.findAllBy(PageRequest.of(0, 5, Sort.by("id")))).thenReturn(Flux.empty());
+        when(catalogBookRepository.count()).thenReturn(Mono.just(0L));
+
+        Flux<Book> books = service.getBooks(-1, 5, "id");
+
+        DataNotFoundException exception = assertThrows(DataNotFoundException.class, () -> books.collectList().block());
+        assertEquals("No Books Found!", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("TestGetBooks_ThrowBadRequestExceptionForUnknownField")
+    void testGetBooks_ThrowBadRequestExceptionForUnknownField() {
+        Flux<Book> books = service.getBooks(0, 5, "author_id; DROP TABLE book");
+
+        assertThrows(BadRequestException.class, () -> books.collectList().block());
+        verifyNoInteractions(catalogBookRepository);
+    }
+
+    @Test
+    @DisplayName("TestSearchBooks_ReturnBooksByAuthorName")
+    void testSearchBooks_ReturnBooksByAuthorName() {
+        when(catalogBookRepository.findByAuthorName("Author 1")).thenReturn(Flux.just(book(1, 1)));
+        when(catalogAuthorRepository.findAllById(List.of(1L))).thenReturn(Flux.just(author(1)));
+
+        List<Book> books = service.searchBooks(null, null, "Author 1").collectList().block();
+
+        assertEquals(1, books.size());
+        assertEquals("Author 1", books.get(0).getAuthor().getName());
+    }
+
+    @Test
+    @DisplayName("TestSearchBooks_ThrowDataNotFoundException")
+    void testSearchBooks_ThrowDataNotFoundException() {
+        when(catalogBookRepository.findByIsbn("ISBN9")).thenReturn(Flux.empty());
+
+        Flux<Book> books = service.searchBooks(null, "ISBN9", null);
+
+        assertThrows(DataNotFoundException.class, () -> books.collectList().block());
+        verifyNoInteractions(catalogAuthorRepository);
+    }
+
+    @Test
+    @DisplayName("TestSearchBooks_ThrowBadRequestException")
+    void testSearchBooks_ThrowBadRequestException() {
+        BadRequestException none = assertThrows(BadRequestException.class,
+                () -> service.searchBooks(null, null, null).blockFirst());
+        BadRequestException both = assertThrows(BadRequestException.class,
+                () -> service.searchBooks("Book 1", "ISBN1", null).blockFirst());
+
+        assertEquals("At least one search parameter must be provided.", none.getMessage());
+        assertEquals("Only one search parameter can be provided at a time.", both.getMessage());
+    }
+
+    @Test
+    @DisplayName("TestGetBookById_ThrowDataNotFoundException")
+    void testGetBookById_ThrowDataNotFoundException() {
+        when(catalogBookRepository.findById(7L)).thenReturn(Mono.empty());
+
+        DataNotFoundException exception = assertThrows(DataNotFoundException.class, () -> service.getBookById(7L).block());
+        assertEquals("No Book With The ID: 7 Found!", exception.getMessage());
+    }
+}
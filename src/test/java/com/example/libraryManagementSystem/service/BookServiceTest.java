@@ -1,11 +1,16 @@
 package com.example.libraryManagementSystem.service;
 
+import com.example.libraryManagementSystem.bookindex.BookBitmapIndex;
+import com.example.libraryManagementSystem.bookindex.BookIdPage;
 import com.example.libraryManagementSystem.dto.BookDTO;
 import com.example.libraryManagementSystem.exceptionhandling.BadRequestException;
 import com.example.libraryManagementSystem.exceptionhandling.DataAlreadyExistException;
 import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundException;
+import com.example.libraryManagementSystem.httpcache.CatalogResponses;
 import com.example.libraryManagementSystem.model.Author;
 import com.example.libraryManagementSystem.model.Book;
+import com.example.libraryManagementSystem.outbox.EventOutbox;
+import com.example.libraryManagementSystem.outbox.EventType;
 import com.example.libraryManagementSystem.repository.AuthorRepository;
 import com.example.libraryManagementSystem.repository.BookRepository;
 import org.junit.jupiter.api.AfterEach;
@@ -20,10 +25,13 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.accept.ContentNegotiationManager;
 
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -39,11 +47,18 @@ class BookServiceTest {
     @Mock
     private AuthorRepository authorRepository;
 
+    @Mock
+    private EventOutbox eventOutbox;
+
+    @Mock
+    private BookBitmapIndex bookBitmapIndex;
+
     private BookService service;
 
     @BeforeEach
     void setUp() {
-        service = new BookService(bookRepository, authorRepository);
+        CatalogResponses catalogResponses = new CatalogResponses(Jackson2ObjectMapperBuilder.json().build(), new ContentNegotiationManager());
+        service = new BookService(bookRepository, authorRepository, eventOutbox, bookBitmapIndex, catalogResponses);
     }
 
     @AfterEach
@@ -250,6 +265,28 @@ class BookServiceTest {
         // Check the response entity body and status code
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(book, response.getBody());
+        assertNotNull(response.getHeaders().getETag());
+    }
+
+    @Test
+    @DisplayName("TestGetBooks_ETagFollowsContent")
+    void testGetBooks_ETagFollowsContent() {
+        Author author = new Author(1L, "Author", LocalDate.of(1970, 1, 1), "American");
+        Book book = new Book(1L, "Book", LocalDate.of(2023, 6, 18), "1234567890", "Fiction", true, author);
+        Book borrowed = new Book(1L, "Book", LocalDate.of(2023, 6, 18), "1234567890", "Fiction", false, author);
+        when(bookRepository.findAll()).thenReturn(List.of(book));
+        when(bookRepository.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(book)))
+                .thenReturn(new PageImpl<>(List.of(book)))
+                .thenReturn(new PageImpl<>(List.of(borrowed)));
+
+        ResponseEntity<List<Book>> response = service.getBooks(0, 5, "id");
+        String eTag = response.getHeaders().getETag();
+
+        assertTrue(eTag.startsWith("W/\""));
+        assertEquals("no-cache", response.getHeaders().getCacheControl());
+        assertEquals(eTag, service.getBooks(0, 5, "id").getHeaders().getETag());
+        assertNotEquals(eTag, service.getBooks(0, 5, "id").getHeaders().getETag());
     }
 
     @Test
@@ -330,6 +367,11 @@ class BookServiceTest {
         // Check the response entity body and status code
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(newBook, response.getBody());
+
+        // Both the new author and the new book are announced in the outbox
+        verify(eventOutbox, times(1)).append(EventType.AUTHOR_ADDED, newAuthor.getId(), newAuthor);
+        verify(eventOutbox, times(1)).append(EventType.BOOK_ADDED, newBook.getId(), newBook);
+        verify(bookBitmapIndex, times(1)).bookSaved(newBook);
     }
 
     @Test
@@ -343,6 +385,7 @@ class BookServiceTest {
         assertThrows(DataAlreadyExistException.class, () -> {
             service.addBook(bookDTO);
         });
+        verifyNoInteractions(eventOutbox);
     }
 
     @Test
@@ -455,6 +498,8 @@ class BookServiceTest {
 
         verify(bookRepository, times(1)).findById(bookId);
         verify(bookRepository, times(1)).deleteById(bookId);
+        verify(eventOutbox, times(1)).append(EventType.BOOK_DELETED, bookId, Map.of("id", bookId));
+        verify(bookBitmapIndex, times(1)).bookDeleted(bookId);
     }
 
     @Test
@@ -469,4 +514,37 @@ class BookServiceTest {
         });
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("TestFilterBooks_ReturnBooksInIndexOrder")
+    void testFilterBooks_ReturnBooksInIndexOrder() {
+        Book first = new Book();
+        first.setId(4L);
+        Book second = new Book();
+        second.setId(9L);
+
+        when(bookBitmapIndex.filter("Drama", null, true, 5L, 5)).thenReturn(new BookIdPage(List.of(4L, 7L, 9L), 8));
+        // Book 7 was deleted after the index page was read
+        when(bookRepository.findAllById(List.of(4L, 7L, 9L))).thenReturn(List.of(second, first));
+
+        ResponseEntity<List<Book>> response = service.filterBooks("Drama", null, true, 1, 5);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(first, second), response.getBody());
+    }
+
+    @Test
+    @DisplayName("TestFilterBooks_ThrowBadRequestException")
+    void testFilterBooks_ThrowBadRequestException() {
+        assertThrows(BadRequestException.class, () -> service.filterBooks(null, null, null, 0, 5));
+        verifyNoInteractions(bookBitmapIndex);
+    }
+
+    @Test
+    @DisplayName("TestFilterBooks_ThrowDataNotFoundException")
+    void testFilterBooks_ThrowDataNotFoundException() {
+        when(bookBitmapIndex.filter(null, "Egyptian", null, 0L, 5)).thenReturn(new BookIdPage(List.of(), 0));
+
+        assertThrows(DataNotFoundException.class, () -> service.filterBooks(null, "Egyptian", null, 0, 5));
+        verify(bookRepository, never()).findAllById(any());
+    }
+}
@@ -4,13 +4,18 @@ import com.example.libraryManagementSystem.dto.BorrowingRecordDTO;
 import com.example.libraryManagementSystem.exceptionhandling.BadRequestException;
 import com.example.libraryManagementSystem.exceptionhandling.DataAlreadyExistException;
 import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundException;
+import com.example.libraryManagementSystem.metrics.LibraryMetrics;
 import com.example.libraryManagementSystem.model.Author;
 import com.example.libraryManagementSystem.model.Book;
 import com.example.libraryManagementSystem.model.BorrowingRecord;
 import com.example.libraryManagementSystem.model.Customer;
+import com.example.libraryManagementSystem.outbox.EventOutbox;
+import com.example.libraryManagementSystem.outbox.EventType;
+import com.example.libraryManagementSystem.outbox.LoanEventPayload;
 import com.example.libraryManagementSystem.repository.BookRepository;
 import com.example.libraryManagementSystem.repository.BorrowingRecordRepository;
 import com.example.libraryManagementSystem.repository.CustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -24,7 +29,10 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,6 +43,8 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class BorrowingRecordServiceTest {
 
+    private static final Instant NOW = Instant.parse("2024-03-15T10:00:00Z");
+
     @Mock
     private BorrowingRecordRepository recordRepository;
 
@@ -44,11 +54,21 @@ class BorrowingRecordServiceTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private EventOutbox eventOutbox;
+
+    @Mock
+    private CirculationStatsService statsService;
+
+    private SimpleMeterRegistry meterRegistry;
+
     private BorrowingRecordService service;
 
     @BeforeEach
     void setUp() {
-        service = new BorrowingRecordService(recordRepository, bookRepository, customerRepository);
+        meterRegistry = new SimpleMeterRegistry();
+        service = new BorrowingRecordService(recordRepository, bookRepository, customerRepository, eventOutbox, statsService,
+                new LibraryMetrics(meterRegistry), Clock.fixed(NOW, ZoneOffset.UTC));
     }
 
     @AfterEach
@@ -118,11 +138,11 @@ class BorrowingRecordServiceTest {
     @DisplayName("TestSearchRecords_ThrowBadRequestException")
     void testSearchRecords_ThrowBadRequestException() {
         assertThrows(BadRequestException.class, () -> {
-            service.searchRecords(null, null);
+            service.searchRecords(null, null, null, null);
         });
 
         assertThrows(BadRequestException.class, () -> {
-            service.searchRecords(1L, 1L);
+            service.searchRecords(1L, 1L, null, null);
         });
     }
 
@@ -139,7 +159,7 @@ class BorrowingRecordServiceTest {
         when(bookRepository.findById(bookId)).thenReturn(Optional.of(book));
         when(recordRepository.findByBook(book)).thenReturn(List.of(record));
 
-        ResponseEntity<List<BorrowingRecord>> response = service.searchRecords(null, bookId);
+        ResponseEntity<List<BorrowingRecord>> response = service.searchRecords(null, bookId, null, null);
 
         // Check the response entity body and status code
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -160,7 +180,7 @@ class BorrowingRecordServiceTest {
         when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
         when(recordRepository.findByCustomer(customer)).thenReturn(List.of(record));
 
-        ResponseEntity<List<BorrowingRecord>> response = service.searchRecords(customerId, null);
+        ResponseEntity<List<BorrowingRecord>> response = service.searchRecords(customerId, null, null, null);
 
         // Check the response entity body and status code
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -179,7 +199,7 @@ class BorrowingRecordServiceTest {
         when(recordRepository.findByBook(book)).thenReturn(List.of());
 
         assertThrows(DataNotFoundException.class, () -> {
-            service.searchRecords(null, bookId);
+            service.searchRecords(null, bookId, null, null);
         });
 
     }
@@ -192,7 +212,7 @@ class BorrowingRecordServiceTest {
         when(bookRepository.findById(bookId)).thenReturn(Optional.empty());
 
         assertThrows(DataNotFoundException.class, () -> {
-            service.searchRecords(null, bookId);
+            service.searchRecords(null, bookId, null, null);
         });
     }
 
@@ -207,7 +227,7 @@ class BorrowingRecordServiceTest {
         when(recordRepository.findByCustomer(customer)).thenReturn(List.of());
 
         assertThrows(DataNotFoundException.class, () -> {
-            service.searchRecords(customerId, null);
+            service.searchRecords(customerId, null, null, null);
         });
 
     }
@@ -220,8 +240,38 @@ class BorrowingRecordServiceTest {
         when(customerRepository.findById(customerId)).thenReturn(Optional.empty());
 
         assertThrows(DataNotFoundException.class, () -> {
-            service.searchRecords(customerId, null);
+            service.searchRecords(customerId, null, null, null);
+        });
+    }
+
+    @Test
+    @DisplayName("TestSearchRecordsByCustomer_WithBorrowDateRange_ReturnRecordsList")
+    void testSearchRecordsByCustomer_WithBorrowDateRange_ReturnRecordsList() {
+        Long customerId = 1L;
+        Customer customer = new Customer(1L, "Customer", "customer@example.com", "010101010101", "123 Street", "Abc123456");
+        BorrowingRecord record = new BorrowingRecord(1L, customer, new Book(), LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1));
+        LocalDate borrowedFrom = LocalDate.of(2023, 12, 1);
+
+        when(customerRepository.findAll()).thenReturn(List.of(customer));
+        when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
+        when(recordRepository.findByCustomerAndBorrowDateBetween(customer, borrowedFrom, BorrowingRecordService.LATEST_BORROW_DATE))
+                .thenReturn(List.of(record));
+
+        ResponseEntity<List<BorrowingRecord>> response = service.searchRecords(customerId, null, borrowedFrom, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertIterableEquals(List.of(record), response.getBody());
+        verify(recordRepository, never()).findByCustomer(any());
+    }
+
+    @Test
+    @DisplayName("TestSearchRecords_BorrowedFromAfterBorrowedTo_ThrowBadRequestException")
+    void testSearchRecords_BorrowedFromAfterBorrowedTo_ThrowBadRequestException() {
+        assertThrows(BadRequestException.class, () -> {
+            service.searchRecords(null, 1L, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1));
         });
+
+        verifyNoInteractions(bookRepository, recordRepository);
     }
 
     @Test
@@ -278,6 +328,8 @@ class BorrowingRecordServiceTest {
             service.addRecord(recordDTO);
         });
         verify(bookRepository, times(1)).findById(recordDTO.getBookId());
+        assertEquals(1, meterRegistry.get(LibraryMetrics.BOOK_UNAVAILABLE).tag("operation", "checkout").counter().count());
+        assertEquals(1, meterRegistry.get(LibraryMetrics.CHECKOUTS).tag("outcome", "rejected").timer().count());
     }
 
     @Test
@@ -388,10 +440,13 @@ class BorrowingRecordServiceTest {
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(record, response.getBody());
+        assertEquals(1, meterRegistry.get(LibraryMetrics.CHECKOUTS).tag("outcome", "borrowed").timer().count());
         verify(bookRepository, times(1)).findById(recordDTO.getBookId());
         verify(customerRepository, times(1)).findById(recordDTO.getCustomerId());
         verify(recordRepository, times(1)).existsByBookAndCustomer(book, customer);
         verify(recordRepository, times(1)).save(any(BorrowingRecord.class));
+        verify(statsService, times(1)).loanAdded(record);
+        verify(eventOutbox, times(1)).append(EventType.BOOK_BORROWED, record.getId(), LoanEventPayload.of(record));
     }
 
     @Test
@@ -553,6 +608,54 @@ class BorrowingRecordServiceTest {
         verify(bookRepository, times(1)).findById(recordDTO.getBookId());
         verify(customerRepository, times(1)).findById(recordDTO.getCustomerId());
         verify(recordRepository, times(1)).save(any(BorrowingRecord.class));
+        verify(statsService, times(1)).loanChanged(null, null, null, updatedRecord);
+    }
+
+    @Test
+    @DisplayName("TestReturnRecord_ReturnClosedRecord")
+    void testReturnRecord_ReturnClosedRecord() {
+        Long recordId = 1L;
+        BorrowingRecord record = new BorrowingRecord(recordId, new Customer(), new Book(), LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1));
+
+        when(recordRepository.findById(recordId)).thenReturn(Optional.of(record));
+        when(recordRepository.save(any(BorrowingRecord.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ResponseEntity<BorrowingRecord> response = service.returnRecord(recordId);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(LocalDate.of(2024, 3, 15), response.getBody().getReturnedDate());
+        verify(recordRepository, times(1)).save(record);
+        verify(statsService, times(1)).loanReturned(record);
+        verify(eventOutbox, times(1)).append(EventType.BOOK_RETURNED, recordId, LoanEventPayload.of(record));
+    }
+
+    @Test
+    @DisplayName("TestReturnRecord_ThrowBadRequestException")
+    void testReturnRecord_ThrowBadRequestException() {
+        Long recordId = 1L;
+        BorrowingRecord record = new BorrowingRecord(recordId, new Customer(), new Book(), LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1));
+        record.setReturnedDate(LocalDate.of(2024, 1, 20));
+
+        when(recordRepository.findById(recordId)).thenReturn(Optional.of(record));
+
+        assertThrows(BadRequestException.class, () -> {
+            service.returnRecord(recordId);
+        });
+        verify(recordRepository, never()).save(any(BorrowingRecord.class));
+        verifyNoInteractions(eventOutbox, statsService);
+    }
+
+    @Test
+    @DisplayName("TestReturnRecord_ThrowDataNotFoundException")
+    void testReturnRecord_ThrowDataNotFoundException() {
+        Long recordId = 1L;
+
+        when(recordRepository.findById(recordId)).thenReturn(Optional.empty());
+
+        assertThrows(DataNotFoundException.class, () -> {
+            service.returnRecord(recordId);
+        });
+        verify(recordRepository, never()).save(any(BorrowingRecord.class));
     }
 
     @Test
@@ -569,6 +672,7 @@ class BorrowingRecordServiceTest {
         assertEquals(HttpStatus.OK, response.getStatusCode());
         verify(recordRepository, times(1)).findById(recordId);
         verify(recordRepository, times(1)).deleteById(recordId);
+        verify(statsService, times(1)).loanRemoved(record);
     }
 
     @Test
@@ -583,5 +687,6 @@ class BorrowingRecordServiceTest {
         });
         verify(recordRepository, times(1)).findById(recordId);
         verify(recordRepository, never()).deleteById(recordId);
+        verifyNoInteractions(statsService);
     }
 }
\ No newline at end of file
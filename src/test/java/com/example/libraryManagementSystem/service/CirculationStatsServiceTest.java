@@ -0,0 +1,254 @@
+package com.example.libraryManagementSystem.service;
+
+import com.example.libraryManagementSystem.archive.ArchivedLoan;
+import com.example.libraryManagementSystem.archive.LoanArchive;
+import com.example.libraryManagementSystem.archive.LoanSegment;
+import com.example.libraryManagementSystem.dto.BookGenre;
+import com.example.libraryManagementSystem.dto.CustomerLoanTotals;
+import com.example.libraryManagementSystem.dto.GenreMonthLoanCount;
+import com.example.libraryManagementSystem.dto.KeyedLoanCount;
+import com.example.libraryManagementSystem.exceptionhandling.BadRequestException;
+import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundException;
+import com.example.libraryManagementSystem.model.Book;
+import com.example.libraryManagementSystem.model.BorrowingRecord;
+import com.example.libraryManagementSystem.model.Customer;
+import com.example.libraryManagementSystem.repository.BookLoanStatRepository;
+import com.example.libraryManagementSystem.repository.BookRepository;
+import com.example.libraryManagementSystem.repository.CustomerLoanStatRepository;
+import com.example.libraryManagementSystem.repository.GenreMonthLoanStatRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CirculationStatsServiceTest {
+
+    @Mock
+    private BookLoanStatRepository bookStatRepository;
+
+    @Mock
+    private CustomerLoanStatRepository customerStatRepository;
+
+    @Mock
+    private GenreMonthLoanStatRepository genreMonthStatRepository;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private LoanArchive loanArchive;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path directory;
+
+    private CirculationStatsService service;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2024-03-15T10:00:00Z"), ZoneOffset.UTC);
+        service = new CirculationStatsService(bookStatRepository, customerStatRepository, genreMonthStatRepository,
+                bookRepository, loanArchive, jdbcTemplate, transactionManager, clock, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service = null;
+    }
+
+    private static BorrowingRecord record(long bookId, String genre, long customerId, LocalDate borrowDate) {
+        Book book = new Book();
+        book.setId(bookId);
+        book.setGenre(genre);
+        Customer customer = new Customer();
+        customer.setId(customerId);
+        return new BorrowingRecord(1L, customer, book, borrowDate, borrowDate.plusWeeks(2));
+    }
+
+    private static KeyedLoanCount count(long key, long loans) {
+        return new KeyedLoanCount() {
+            @Override
+            public Long getKey() {
+                return key;
+            }
+
+            @Override
+            public Long getLoans() {
+                return loans;
+            }
+        };
+    }
+
+    private static CustomerLoanTotals totals(long customerId, long loans, long openLoans) {
+        return new CustomerLoanTotals() {
+            @Override
+            public Long getCustomerId() {
+                return customerId;
+            }
+
+            @Override
+            public Long getLoans() {
+                return loans;
+            }
+
+            @Override
+            public Long getOpenLoans() {
+                return openLoans;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("TestLoanAdded_CountsBookCustomerAndGenreMonth")
+    void testLoanAdded_CountsBookCustomerAndGenreMonth() {
+        service.loanAdded(record(7L, null, 3L, LocalDate.of(2024, 2, 20)));
+
+        verify(bookStatRepository).addLoans(7L, 1);
+        verify(customerStatRepository).addLoans(3L, 1, 1);
+        verify(genreMonthStatRepository).addLoans(eq(CirculationStatsService.UNKNOWN_GENRE),
+                eq(LocalDate.of(2024, 2, 1)), intThat(slot -> slot >= 0 && slot < 4), eq(1L));
+    }
+
+    @Test
+    @DisplayName("TestLoanChanged_MovesOnlyChangedCounters")
+    void testLoanChanged_MovesOnlyChangedCounters() {
+        BorrowingRecord previous = record(7L, "Drama", 3L, LocalDate.of(2024, 2, 1));
+        BorrowingRecord updated = record(8L, "Drama", 3L, LocalDate.of(2024, 2, 28));
+
+        service.loanChanged(previous.getBook(), previous.getCustomer(), previous.getBorrowDate(), updated);
+
+        verify(bookStatRepository).addLoans(7L, -1);
+        verify(bookStatRepository).addLoans(8L, 1);
+        verifyNoInteractions(customerStatRepository, genreMonthStatRepository);
+    }
+
+    @Test
+    @DisplayName("TestLoanReturned_ClosesOpenLoanOnly")
+    void testLoanReturned_ClosesOpenLoanOnly() {
+        service.loanReturned(record(7L, "Drama", 3L, LocalDate.of(2024, 2, 1)));
+
+        verify(customerStatRepository).addLoans(3L, 0, -1);
+        verifyNoInteractions(bookStatRepository, genreMonthStatRepository);
+    }
+
+    @Test
+    @DisplayName("TestGetMostBorrowedBooks_ThrowBadRequestException")
+    void testGetMostBorrowedBooks_ThrowBadRequestException() {
+        assertThrows(BadRequestException.class, () -> service.getMostBorrowedBooks(0));
+        assertThrows(BadRequestException.class, () -> service.getMostBorrowedBooks(CirculationStatsService.MAX_LIMIT + 1));
+
+        verifyNoInteractions(bookStatRepository);
+    }
+
+    @Test
+    @DisplayName("TestGetLoansPerGenreAndMonth_DefaultsToLastTwelveMonths")
+    void testGetLoansPerGenreAndMonth_DefaultsToLastTwelveMonths() {
+        when(genreMonthStatRepository.findMonthly(any(LocalDate.class), any(LocalDate.class))).thenReturn(List.of());
+
+        assertThrows(DataNotFoundException.class, () -> service.getLoansPerGenreAndMonth(null, null));
+
+        verify(genreMonthStatRepository).findMonthly(LocalDate.of(2023, 4, 1), LocalDate.of(2024, 3, 1));
+        assertThrows(BadRequestException.class,
+                () -> service.getLoansPerGenreAndMonth(YearMonth.of(2024, 3), YearMonth.of(2024, 1)));
+    }
+
+    @Test
+    @DisplayName("TestRebuild_CorrectsTablesWithoutLockingThem")
+    @SuppressWarnings("unchecked")
+    void testRebuild_CorrectsTablesWithoutLockingThem() throws Exception {
+        Path segmentPath = directory.resolve("loans-00000001.seg");
+        LoanSegment.write(segmentPath, List.of(
+                new ArchivedLoan(1L, 3L, 7L, LocalDate.of(2020, 5, 2), LocalDate.of(2020, 5, 16), LocalDate.of(2020, 5, 10)),
+                new ArchivedLoan(2L, 4L, 7L, LocalDate.of(2020, 5, 9), LocalDate.of(2020, 5, 23), LocalDate.of(2020, 5, 20))
+        ));
+        when(loanArchive.getSegments()).thenReturn(List.of(LoanSegment.open(segmentPath)));
+        when(bookRepository.findAllGenres()).thenReturn(List.of(new BookGenre() {
+            @Override
+            public Long getId() {
+                return 7L;
+            }
+
+            @Override
+            public String getGenre() {
+                return "Drama";
+            }
+        }));
+        when(jdbcTemplate.queryForObject("SELECT pg_export_snapshot()", String.class)).thenReturn("00000003-0000001B-1");
+        when(bookStatRepository.countLoansPerBook()).thenReturn(List.of(count(7L, 5L)));
+        when(customerStatRepository.countLoansPerCustomer()).thenReturn(List.of(totals(3L, 5L, 2L)));
+        when(genreMonthStatRepository.countLoansPerGenreAndMonth()).thenReturn(List.<GenreMonthLoanCount>of());
+        // The tables in the snapshot missed one loan of book 7, by customer 4 in May 2020
+        when(bookStatRepository.findAllCounts()).thenReturn(List.of(count(7L, 6L)));
+        when(customerStatRepository.findAllTotals()).thenReturn(List.of(totals(3L, 6L, 2L)));
+        when(genreMonthStatRepository.findAllCounts()).thenReturn(List.of(new GenreMonthLoanCount() {
+            @Override
+            public String getGenre() {
+                return "Drama";
+            }
+
+            @Override
+            public LocalDate getMonth() {
+                return LocalDate.of(2020, 5, 1);
+            }
+
+            @Override
+            public Long getLoans() {
+                return 1L;
+            }
+        }));
+
+        long loans = service.rebuild();
+
+        assertEquals(7L, loans);
+        InOrder inOrder = inOrder(jdbcTemplate, loanArchive);
+        inOrder.verify(jdbcTemplate).execute(startsWith("SELECT pg_advisory_xact_lock"));
+        inOrder.verify(loanArchive).getSegments();
+        inOrder.verify(jdbcTemplate).queryForObject("SELECT pg_export_snapshot()", String.class);
+        verify(jdbcTemplate, times(3)).execute("SET TRANSACTION SNAPSHOT '00000003-0000001B-1'");
+        verify(jdbcTemplate, never()).execute(startsWith("LOCK TABLE"));
+        verify(jdbcTemplate, never()).update(startsWith("DELETE"));
+
+        ArgumentCaptor<String> statements = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(3)).batchUpdate(statements.capture(), rows.capture());
+
+        Map<String, List<Object[]>> byTable = new HashMap<>();
+        for (int i = 0; i < 3; i++)
+            byTable.put(statements.getAllValues().get(i).split(" ")[2], rows.getAllValues().get(i));
+
+        // Only the differences are added, on top of the deltas written since the snapshot
+        assertArrayEquals(new Object[]{7L, 1L}, byTable.get("book_loan_stat").get(0));
+        List<Object[]> customers = byTable.get("customer_loan_stat");
+        assertEquals(1, customers.size());
+        assertArrayEquals(new Object[]{4L, 1L, 0L}, customers.get(0));
+        assertArrayEquals(new Object[]{"Drama", LocalDate.of(2020, 5, 1), 1L}, byTable.get("genre_month_loan_stat").get(0));
+    }
+}
@@ -3,8 +3,10 @@ package com.example.libraryManagementSystem.service;
 import com.example.libraryManagementSystem.dto.CustomerDTO;
 import com.example.libraryManagementSystem.exceptionhandling.DataAlreadyExistException;
 import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundException;
+import com.example.libraryManagementSystem.metrics.LibraryMetrics;
 import com.example.libraryManagementSystem.model.Customer;
 import com.example.libraryManagementSystem.repository.CustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -37,11 +39,14 @@ class CustomerServiceTest {
     @Mock
     private BCryptPasswordEncoder passwordEncoder;
 
+    private SimpleMeterRegistry meterRegistry;
+
     private CustomerService service;
 
     @BeforeEach
     void setUp() {
-        service = new CustomerService(repository, passwordEncoder);
+        meterRegistry = new SimpleMeterRegistry();
+        service = new CustomerService(repository, passwordEncoder, new LibraryMetrics(meterRegistry));
     }
 
     @AfterEach
@@ -150,6 +155,7 @@ class CustomerServiceTest {
         // Check the response entity body and status code
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(newCustomer, response.getBody());
+        assertEquals(1, meterRegistry.get(LibraryMetrics.PASSWORD_HASHING).tag("operation", "register").timer().count());
     }
 
     @Test
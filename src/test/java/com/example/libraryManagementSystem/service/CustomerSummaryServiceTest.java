@@ -0,0 +1,153 @@
+package com.example.libraryManagementSystem.service;
+
+import com.example.libraryManagementSystem.archive.ArchivedLoan;
+import com.example.libraryManagementSystem.archive.LoanArchive;
+import com.example.libraryManagementSystem.dto.CustomerSummaryDTO;
+import com.example.libraryManagementSystem.exceptionhandling.BadRequestException;
+import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundException;
+import com.example.libraryManagementSystem.model.Book;
+import com.example.libraryManagementSystem.model.BorrowingRecord;
+import com.example.libraryManagementSystem.model.Customer;
+import com.example.libraryManagementSystem.model.CustomerLoanStat;
+import com.example.libraryManagementSystem.repository.BorrowingRecordRepository;
+import com.example.libraryManagementSystem.repository.CustomerLoanStatRepository;
+import com.example.libraryManagementSystem.repository.CustomerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerSummaryServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 1);
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private CustomerLoanStatRepository customerStatRepository;
+
+    @Mock
+    private BorrowingRecordRepository recordRepository;
+
+    @Mock
+    private LoanArchive loanArchive;
+
+    private CustomerSummaryService service;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2024-03-01T10:00:00Z"), ZoneOffset.UTC);
+        service = new CustomerSummaryService(customerRepository, customerStatRepository, recordRepository, loanArchive, clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service = null;
+    }
+
+    private static Customer customer() {
+        Customer customer = new Customer();
+        customer.setId(3L);
+        customer.setName("Mona");
+        return customer;
+    }
+
+    @Test
+    @DisplayName("TestGetSummary_ReturnCountsAndRecentLoans")
+    void testGetSummary_ReturnCountsAndRecentLoans() {
+        Book book = new Book();
+        book.setId(9L);
+        BorrowingRecord open = new BorrowingRecord(12L, customer(), book, LocalDate.of(2024, 1, 10), LocalDate.of(2024, 2, 10));
+
+        when(customerRepository.findById(3L)).thenReturn(Optional.of(customer()));
+        when(customerStatRepository.findById(3L)).thenReturn(Optional.of(new CustomerLoanStat(3L, 40L, 2L)));
+        when(recordRepository.countOverdueByCustomerId(3L, TODAY)).thenReturn(1L);
+        when(recordRepository.findByCustomerIdOrderByBorrowDateDescIdDesc(3L, Limit.of(1))).thenReturn(List.of(open));
+
+        ResponseEntity<CustomerSummaryDTO> response = service.getSummary(3L, 1);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        CustomerSummaryDTO summary = response.getBody();
+        assertEquals("Mona", summary.getName());
+        assertEquals(2L, summary.getActiveLoans());
+        assertEquals(1L, summary.getOverdueLoans());
+        assertEquals(40L, summary.getLifetimeLoans());
+        assertEquals(1, summary.getRecentLoans().size());
+        assertEquals(12L, summary.getRecentLoans().get(0).getRecordId());
+        verifyNoInteractions(loanArchive);
+    }
+
+    @Test
+    @DisplayName("TestGetSummary_NoOpenLoansSkipsOverdueQuery")
+    void testGetSummary_NoOpenLoansSkipsOverdueQuery() {
+        when(customerRepository.findById(3L)).thenReturn(Optional.of(customer()));
+        when(customerStatRepository.findById(3L)).thenReturn(Optional.of(new CustomerLoanStat(3L, 2L, 0L)));
+        when(recordRepository.findByCustomerIdOrderByBorrowDateDescIdDesc(3L, Limit.of(5))).thenReturn(List.of());
+        when(loanArchive.findByCustomer(3L)).thenReturn(List.of(
+                new ArchivedLoan(1L, 3L, 9L, LocalDate.of(2019, 1, 1), LocalDate.of(2019, 1, 15), LocalDate.of(2019, 1, 10)),
+                new ArchivedLoan(2L, 3L, 8L, LocalDate.of(2019, 5, 1), LocalDate.of(2019, 5, 15), LocalDate.of(2019, 5, 10))));
+
+        CustomerSummaryDTO summary = service.getSummary(3L, 5).getBody();
+
+        assertEquals(0L, summary.getOverdueLoans());
+        assertEquals(List.of(2L, 1L), summary.getRecentLoans().stream().map(loan -> loan.getRecordId()).toList());
+        assertTrue(summary.getRecentLoans().get(0).isArchived());
+        verify(recordRepository, never()).countOverdueByCustomerId(anyLong(), any(LocalDate.class));
+    }
+
+    @Test
+    @DisplayName("TestGetSummary_LoanInBothPlacesListedOnce")
+    void testGetSummary_LoanInBothPlacesListedOnce() {
+        Book book = new Book();
+        book.setId(9L);
+        BorrowingRecord returned = new BorrowingRecord(12L, customer(), book, LocalDate.of(2019, 5, 1), LocalDate.of(2019, 5, 15));
+
+        when(customerRepository.findById(3L)).thenReturn(Optional.of(customer()));
+        when(customerStatRepository.findById(3L)).thenReturn(Optional.of(new CustomerLoanStat(3L, 3L, 0L)));
+        when(recordRepository.findByCustomerIdOrderByBorrowDateDescIdDesc(3L, Limit.of(5))).thenReturn(List.of(returned));
+        when(loanArchive.findByCustomer(3L)).thenReturn(List.of(
+                new ArchivedLoan(12L, 3L, 9L, LocalDate.of(2019, 5, 1), LocalDate.of(2019, 5, 15), LocalDate.of(2019, 5, 10)),
+                new ArchivedLoan(4L, 3L, 8L, LocalDate.of(2019, 1, 1), LocalDate.of(2019, 1, 15), LocalDate.of(2019, 1, 10)),
+                new ArchivedLoan(4L, 3L, 8L, LocalDate.of(2019, 1, 1), LocalDate.of(2019, 1, 15), LocalDate.of(2019, 1, 10))));
+
+        CustomerSummaryDTO summary = service.getSummary(3L, 5).getBody();
+
+        assertEquals(List.of(12L, 4L), summary.getRecentLoans().stream().map(loan -> loan.getRecordId()).toList());
+        assertFalse(summary.getRecentLoans().get(0).isArchived());
+    }
+
+    @Test
+    @DisplayName("TestGetSummary_ThrowDataNotFoundException")
+    void testGetSummary_ThrowDataNotFoundException() {
+        when(customerRepository.findById(3L)).thenReturn(Optional.empty());
+
+        assertThrows(DataNotFoundException.class, () -> service.getSummary(3L, 5));
+        verifyNoInteractions(customerStatRepository, recordRepository);
+    }
+
+    @Test
+    @DisplayName("TestGetSummary_ThrowBadRequestException")
+    void testGetSummary_ThrowBadRequestException() {
+        assertThrows(BadRequestException.class, () -> service.getSummary(3L, CustomerSummaryService.MAX_RECENT_LOANS + 1));
+        verifyNoInteractions(customerRepository);
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.libraryManagementSystem.service;
+
+import com.example.libraryManagementSystem.dto.FineBalanceDTO;
+import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundException;
+import com.example.libraryManagementSystem.model.CustomerFineBalance;
+import com.example.libraryManagementSystem.model.FineAccrualWatermark;
+import com.example.libraryManagementSystem.repository.CustomerFineBalanceRepository;
+import com.example.libraryManagementSystem.repository.CustomerRepository;
+import com.example.libraryManagementSystem.repository.FineAccrualWatermarkRepository;
+import com.example.libraryManagementSystem.repository.LoanFineRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FineServiceTest {
+
+    private static final Instant NOW = Instant.parse("2024-03-10T01:30:00Z");
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 10);
+
+    @Mock
+    private LoanFineRepository fineRepository;
+
+    @Mock
+    private CustomerFineBalanceRepository balanceRepository;
+
+    @Mock
+    private FineAccrualWatermarkRepository watermarkRepository;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private FineService service;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+        service = new FineService(fineRepository, balanceRepository, watermarkRepository, customerRepository,
+                transactionManager, clock, 25, Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service = null;
+    }
+
+    @Test
+    @DisplayName("TestGetBalance_ReturnSettledPlusAccruedOpenFines")
+    void testGetBalance_ReturnSettledPlusAccruedOpenFines() {
+        // Two open fines due 3 and 5 days ago, plus 100 cents already settled
+        long dueDaySum = TODAY.minusDays(3).toEpochDay() + TODAY.minusDays(5).toEpochDay();
+        CustomerFineBalance balance = new CustomerFineBalance(1L, 100, 2, dueDaySum, NOW);
+        when(balanceRepository.findById(1L)).thenReturn(Optional.of(balance));
+
+        ResponseEntity<FineBalanceDTO> response = service.getBalance(1L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(100 + 25 * (3 + 5), response.getBody().getBalanceCents());
+        assertEquals(2, response.getBody().getOpenOverdueLoans());
+        assertEquals(TODAY, response.getBody().getAsOf());
+    }
+
+    @Test
+    @DisplayName("TestGetBalance_ReturnZeroForCustomerWithoutFines")
+    void testGetBalance_ReturnZeroForCustomerWithoutFines() {
+        when(balanceRepository.findById(1L)).thenReturn(Optional.empty());
+        when(customerRepository.existsById(1L)).thenReturn(true);
+
+        ResponseEntity<FineBalanceDTO> response = service.getBalance(1L);
+
+        assertEquals(0, response.getBody().getBalanceCents());
+        assertEquals(0, response.getBody().getOpenOverdueLoans());
+    }
+
+    @Test
+    @DisplayName("TestGetBalance_ThrowDataNotFoundException")
+    void testGetBalance_ThrowDataNotFoundException() {
+        when(balanceRepository.findById(1L)).thenReturn(Optional.empty());
+        when(customerRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(DataNotFoundException.class, () -> service.getBalance(1L));
+    }
+
+    @Test
+    @DisplayName("TestAccrue_ReadsOnlyChangesSinceWatermark")
+    void testAccrue_ReadsOnlyChangesSinceWatermark() {
+        Instant lastChangedUntil = Instant.parse("2024-03-09T01:25:00Z");
+        LocalDate lastDueBefore = TODAY.minusDays(1);
+        when(watermarkRepository.findForUpdate(FineAccrualWatermark.SINGLETON_ID))
+                .thenReturn(Optional.of(new FineAccrualWatermark(1L, lastChangedUntil, lastDueBefore, null)));
+        when(fineRepository.retractChangedFines(any(), any(), any())).thenReturn(1);
+        when(fineRepository.deriveFines(any(), any(), any(), any(), anyLong(), any())).thenReturn(2);
+
+        int customers = service.accrue();
+
+        Instant changedUntil = NOW.minus(Duration.ofMinutes(5));
+        assertEquals(3, customers);
+        verify(fineRepository).retractChangedFines(lastChangedUntil, changedUntil, NOW);
+        verify(fineRepository).deriveFines(lastChangedUntil, changedUntil, lastDueBefore, TODAY, 25L, NOW);
+
+        ArgumentCaptor<FineAccrualWatermark> saved = ArgumentCaptor.forClass(FineAccrualWatermark.class);
+        verify(watermarkRepository).save(saved.capture());
+        assertEquals(changedUntil, saved.getValue().getChangedUntil());
+        assertEquals(TODAY, saved.getValue().getDueBefore());
+        assertEquals(NOW, saved.getValue().getLastRunAt());
+    }
+
+    @Test
+    @DisplayName("TestAccrue_FirstRunStartsFromTheBeginning")
+    void testAccrue_FirstRunStartsFromTheBeginning() {
+        when(watermarkRepository.findForUpdate(FineAccrualWatermark.SINGLETON_ID)).thenReturn(Optional.empty());
+
+        service.accrue();
+
+        verify(fineRepository).deriveFines(eq(Instant.EPOCH), any(), eq(LocalDate.of(1, 1, 1)), eq(TODAY), eq(25L), eq(NOW));
+    }
+}
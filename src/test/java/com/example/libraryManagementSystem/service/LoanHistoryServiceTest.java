@@ -0,0 +1,129 @@
+package com.example.libraryManagementSystem.service;
+
+import com.example.libraryManagementSystem.archive.ArchivedLoan;
+import com.example.libraryManagementSystem.archive.LoanArchive;
+import com.example.libraryManagementSystem.archive.LoanArchiver;
+import com.example.libraryManagementSystem.dto.LoanHistoryDTO;
+import com.example.libraryManagementSystem.exceptionhandling.BadRequestException;
+import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundException;
+import com.example.libraryManagementSystem.model.Book;
+import com.example.libraryManagementSystem.model.BorrowingRecord;
+import com.example.libraryManagementSystem.model.Customer;
+import com.example.libraryManagementSystem.repository.BorrowingRecordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoanHistoryServiceTest {
+
+    @Mock
+    private BorrowingRecordRepository recordRepository;
+
+    @Mock
+    private LoanArchive loanArchive;
+
+    @Mock
+    private LoanArchiver loanArchiver;
+
+    private LoanHistoryService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new LoanHistoryService(recordRepository, loanArchive, loanArchiver);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service = null;
+    }
+
+    private static BorrowingRecord record(long id, LocalDate borrowDate) {
+        Customer customer = new Customer();
+        customer.setId(3L);
+        Book book = new Book();
+        book.setId(9L);
+        return new BorrowingRecord(id, customer, book, borrowDate, borrowDate.plusDays(14));
+    }
+
+    private static ArchivedLoan archived(long id, LocalDate borrowDate) {
+        return new ArchivedLoan(id, 3L, 9L, borrowDate, borrowDate.plusDays(14), borrowDate.plusDays(10));
+    }
+
+    @Test
+    @DisplayName("TestGetHistory_MergesHotAndArchivedNewestFirst")
+    void testGetHistory_MergesHotAndArchivedNewestFirst() {
+        when(recordRepository.findByCustomerId(3L)).thenReturn(List.of(
+                record(30L, LocalDate.of(2024, 5, 1)),
+                record(12L, LocalDate.of(2021, 3, 1))
+        ));
+        when(loanArchive.findByCustomer(3L)).thenReturn(List.of(
+                archived(12L, LocalDate.of(2021, 3, 1)),
+                archived(5L, LocalDate.of(2019, 1, 1)),
+                archived(7L, LocalDate.of(2020, 1, 1))
+        ));
+
+        ResponseEntity<List<LoanHistoryDTO>> response = service.getHistory(3L, null, 0, 10);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(30L, 12L, 7L, 5L), response.getBody().stream().map(LoanHistoryDTO::getRecordId).toList());
+        assertEquals(List.of(false, false, true, true), response.getBody().stream().map(LoanHistoryDTO::isArchived).toList());
+    }
+
+    @Test
+    @DisplayName("TestGetHistory_ReturnsRequestedPage")
+    void testGetHistory_ReturnsRequestedPage() {
+        when(recordRepository.findByBookId(9L)).thenReturn(List.of());
+        when(loanArchive.findByBook(9L)).thenReturn(List.of(
+                archived(1L, LocalDate.of(2019, 1, 1)),
+                archived(2L, LocalDate.of(2019, 2, 1)),
+                archived(3L, LocalDate.of(2019, 3, 1))
+        ));
+
+        ResponseEntity<List<LoanHistoryDTO>> response = service.getHistory(null, 9L, 1, 2);
+
+        assertEquals(List.of(1L), response.getBody().stream().map(LoanHistoryDTO::getRecordId).toList());
+        assertTrue(service.getHistory(null, 9L, 5, 2).getBody().isEmpty());
+    }
+
+    @Test
+    @DisplayName("TestGetHistory_ThrowDataNotFoundException")
+    void testGetHistory_ThrowDataNotFoundException() {
+        when(recordRepository.findByCustomerId(3L)).thenReturn(List.of());
+        when(loanArchive.findByCustomer(3L)).thenReturn(List.of());
+
+        assertThrows(DataNotFoundException.class, () -> service.getHistory(3L, null, 0, 5));
+    }
+
+    @Test
+    @DisplayName("TestGetHistory_ThrowBadRequestException")
+    void testGetHistory_ThrowBadRequestException() {
+        assertThrows(BadRequestException.class, () -> service.getHistory(null, null, 0, 5));
+        assertThrows(BadRequestException.class, () -> service.getHistory(1L, 1L, 0, 5));
+
+        verifyNoInteractions(recordRepository, loanArchive);
+    }
+
+    @Test
+    @DisplayName("TestArchiveClosedLoans_ReturnArchivedCount")
+    void testArchiveClosedLoans_ReturnArchivedCount() {
+        when(loanArchiver.archiveClosedLoans()).thenReturn(42);
+
+        ResponseEntity<String> response = service.archiveClosedLoans();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("Archived 42 Closed Loans!", response.getBody());
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.libraryManagementSystem.service;
+
+import com.example.libraryManagementSystem.dto.LoanKey;
+import com.example.libraryManagementSystem.exceptionhandling.BadRequestException;
+import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundException;
+import com.example.libraryManagementSystem.model.OverdueNotice;
+import com.example.libraryManagementSystem.model.OverdueScanCheckpoint;
+import com.example.libraryManagementSystem.repository.BorrowingRecordRepository;
+import com.example.libraryManagementSystem.repository.OverdueNoticeRepository;
+import com.example.libraryManagementSystem.repository.OverdueScanCheckpointRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OverdueServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 1);
+
+    @Mock
+    private BorrowingRecordRepository recordRepository;
+
+    @Mock
+    private OverdueNoticeRepository noticeRepository;
+
+    @Mock
+    private OverdueScanCheckpointRepository checkpointRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OverdueService service;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2024-03-01T10:00:00Z"), ZoneOffset.UTC);
+        service = new OverdueService(recordRepository, noticeRepository, checkpointRepository, transactionManager, clock, 2, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service = null;
+    }
+
+    private static LoanKey key(long id, LocalDate returnDate) {
+        return new LoanKey() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDate getReturnDate() {
+                return returnDate;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("TestScan_WritesNoticesChunkByChunk")
+    void testScan_WritesNoticesChunkByChunk() {
+        LocalDate dueDate = LocalDate.of(2024, 2, 1);
+        when(recordRepository.tryLock(OverdueService.SCAN_LOCK_KEY)).thenReturn(true);
+        when(checkpointRepository.findById(TODAY)).thenReturn(Optional.empty());
+        when(recordRepository.findOverdueKeys(TODAY, OverdueService.SCAN_START, 0L, 2))
+                .thenReturn(List.of(key(1L, dueDate), key(2L, dueDate)));
+        when(recordRepository.findOverdueKeys(TODAY, dueDate, 2L, 2))
+                .thenReturn(List.of(key(3L, dueDate)));
+        when(noticeRepository.insertForRecords(anyList(), any(Instant.class)))
+                .thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        int notices = service.scan();
+
+        assertEquals(3, notices);
+        verify(noticeRepository).insertForRecords(eq(List.of(1L, 2L)), any(Instant.class));
+        verify(noticeRepository).insertForRecords(eq(List.of(3L)), any(Instant.class));
+
+        ArgumentCaptor<OverdueScanCheckpoint> checkpoints = ArgumentCaptor.forClass(OverdueScanCheckpoint.class);
+        verify(checkpointRepository, atLeastOnce()).save(checkpoints.capture());
+        OverdueScanCheckpoint last = checkpoints.getValue();
+        assertTrue(last.isCompleted());
+        assertEquals(3L, last.getLastRecordId());
+    }
+
+    @Test
+    @DisplayName("TestScan_ResumesFromCheckpoint")
+    void testScan_ResumesFromCheckpoint() {
+        LocalDate dueDate = LocalDate.of(2024, 2, 10);
+        OverdueScanCheckpoint checkpoint = new OverdueScanCheckpoint(TODAY, dueDate, 40L, false, Instant.EPOCH);
+        when(recordRepository.tryLock(OverdueService.SCAN_LOCK_KEY)).thenReturn(true);
+        when(checkpointRepository.findById(TODAY)).thenReturn(Optional.of(checkpoint));
+        when(recordRepository.findOverdueKeys(TODAY, dueDate, 40L, 2)).thenReturn(List.of());
+
+        int notices = service.scan();
+
+        assertEquals(0, notices);
+        verify(recordRepository).findOverdueKeys(TODAY, dueDate, 40L, 2);
+        verify(noticeRepository, never()).insertForRecords(anyList(), any(Instant.class));
+        assertTrue(checkpoint.isCompleted());
+    }
+
+    @Test
+    @DisplayName("TestScan_SkipsCompletedDay")
+    void testScan_SkipsCompletedDay() {
+        OverdueScanCheckpoint checkpoint = new OverdueScanCheckpoint(TODAY, TODAY, 99L, true, Instant.EPOCH);
+        when(recordRepository.tryLock(OverdueService.SCAN_LOCK_KEY)).thenReturn(true);
+        when(checkpointRepository.findById(TODAY)).thenReturn(Optional.of(checkpoint));
+
+        assertEquals(0, service.scan());
+
+        verify(recordRepository, never()).findOverdueKeys(any(), any(), anyLong(), anyInt());
+        verifyNoInteractions(noticeRepository);
+    }
+
+    @Test
+    @DisplayName("TestScan_SkipsWhenAnotherNodeHoldsTheLock")
+    void testScan_SkipsWhenAnotherNodeHoldsTheLock() {
+        when(recordRepository.tryLock(OverdueService.SCAN_LOCK_KEY)).thenReturn(false);
+
+        assertThrows(BadRequestException.class, () -> service.scan());
+
+        verifyNoInteractions(checkpointRepository, noticeRepository);
+        verify(recordRepository, never()).findOverdueKeys(any(), any(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("TestScan_FailedChunkKeepsCheckpointBeforeIt")
+    void testScan_FailedChunkKeepsCheckpointBeforeIt() {
+        LocalDate dueDate = LocalDate.of(2024, 2, 1);
+        when(recordRepository.tryLock(OverdueService.SCAN_LOCK_KEY)).thenReturn(true);
+        when(checkpointRepository.findById(TODAY)).thenReturn(Optional.empty());
+        when(recordRepository.findOverdueKeys(TODAY, OverdueService.SCAN_START, 0L, 2))
+                .thenReturn(List.of(key(1L, dueDate), key(2L, dueDate)));
+        when(noticeRepository.insertForRecords(anyList(), any(Instant.class)))
+                .thenThrow(new IllegalStateException("connection reset"));
+
+        assertThrows(IllegalStateException.class, () -> service.scan());
+
+        verify(checkpointRepository, never()).save(argThat(OverdueScanCheckpoint::isCompleted));
+    }
+
+    @Test
+    @DisplayName("TestGetOverdueNotices_ReturnNoticesList")
+    void testGetOverdueNotices_ReturnNoticesList() {
+        List<OverdueNotice> notices = List.of(
+                new OverdueNotice(1L, 10L, 3L, 4L, LocalDate.of(2024, 2, 1), Instant.EPOCH)
+        );
+        Page<OverdueNotice> noticesPage = new PageImpl<>(notices);
+        when(noticeRepository.findAll(any(Pageable.class))).thenReturn(noticesPage);
+
+        ResponseEntity<List<OverdueNotice>> response = service.getOverdueNotices(-1, 0, "id");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertIterableEquals(notices, response.getBody());
+    }
+
+    @Test
+    @DisplayName("TestGetOverdueNotices_ThrowDataNotFoundException")
+    void testGetOverdueNotices_ThrowDataNotFoundException() {
+        when(noticeRepository.findAll(any(Pageable.class))).thenReturn(Page.empty());
+
+        assertThrows(DataNotFoundException.class, () -> service.getOverdueNotices(0, 5, "id"));
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.libraryManagementSystem.service;
+
+import com.example.libraryManagementSystem.dto.AlsoBorrowedDTO;
+import com.example.libraryManagementSystem.exceptionhandling.BadRequestException;
+import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundException;
+import com.example.libraryManagementSystem.model.Book;
+import com.example.libraryManagementSystem.recommendation.AlsoBorrowedIndex;
+import com.example.libraryManagementSystem.recommendation.AlsoBorrowedTable;
+import com.example.libraryManagementSystem.recommendation.BookNeighbour;
+import com.example.libraryManagementSystem.repository.BookRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecommendationServiceTest {
+
+    @Mock
+    private AlsoBorrowedIndex alsoBorrowedIndex;
+
+    @Mock
+    private AlsoBorrowedTable alsoBorrowedTable;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private RecommendationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new RecommendationService(alsoBorrowedIndex, bookRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service = null;
+    }
+
+    private static Book book(long id, String title) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setGenre("Drama");
+        return book;
+    }
+
+    @Test
+    @DisplayName("TestGetAlsoBorrowed_ReturnBooksInRankOrder")
+    void testGetAlsoBorrowed_ReturnBooksInRankOrder() {
+        when(alsoBorrowedIndex.getNeighbourLimit()).thenReturn(20);
+        when(bookRepository.existsById(1L)).thenReturn(true);
+        when(alsoBorrowedIndex.getTable()).thenReturn(alsoBorrowedTable);
+        when(alsoBorrowedTable.getNeighbours(1L, 10)).thenReturn(List.of(
+                new BookNeighbour(3L, 7), new BookNeighbour(2L, 4), new BookNeighbour(9L, 1)));
+        // Book 9 was deleted after the table was built
+        when(bookRepository.findAllById(List.of(3L, 2L, 9L))).thenReturn(List.of(book(2L, "Emma"), book(3L, "Dune")));
+
+        ResponseEntity<List<AlsoBorrowedDTO>> response = service.getAlsoBorrowed(1L, 10);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(
+                new AlsoBorrowedDTO(3L, "Dune", "Drama", 7),
+                new AlsoBorrowedDTO(2L, "Emma", "Drama", 4)), response.getBody());
+    }
+
+    @Test
+    @DisplayName("TestGetAlsoBorrowed_ThrowBadRequestException")
+    void testGetAlsoBorrowed_ThrowBadRequestException() {
+        when(alsoBorrowedIndex.getNeighbourLimit()).thenReturn(20);
+
+        assertThrows(BadRequestException.class, () -> service.getAlsoBorrowed(1L, 21));
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("TestGetAlsoBorrowed_ThrowDataNotFoundException")
+    void testGetAlsoBorrowed_ThrowDataNotFoundException() {
+        when(alsoBorrowedIndex.getNeighbourLimit()).thenReturn(20);
+        when(bookRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(DataNotFoundException.class, () -> service.getAlsoBorrowed(1L, 10));
+        verify(alsoBorrowedIndex, never()).getTable();
+    }
+}
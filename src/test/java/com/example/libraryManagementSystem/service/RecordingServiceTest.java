@@ -0,0 +1,141 @@
+package com.example.libraryManagementSystem.service;
+
+import com.example.libraryManagementSystem.dto.RecordingDTO;
+import com.example.libraryManagementSystem.exceptionhandling.BadRequestException;
+import com.example.libraryManagementSystem.exceptionhandling.DataAlreadyExistException;
+import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundException;
+import com.example.libraryManagementSystem.jfr.ContinuousRecording;
+import com.example.libraryManagementSystem.jfr.FlightRecordings;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecordingServiceTest {
+
+    private static final long MAX_SIZE = 104857600;
+
+    @Mock
+    private FlightRecordings flightRecordings;
+
+    @Mock
+    private ObjectProvider<ContinuousRecording> continuousRecording;
+
+    private RecordingService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new RecordingService(flightRecordings, continuousRecording, Duration.ofMinutes(10), MAX_SIZE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service = null;
+    }
+
+    private static Recording recording(RecordingState state) {
+        Recording recording = mock(Recording.class);
+        when(recording.getId()).thenReturn(3L);
+        when(recording.getName()).thenReturn("library-on-demand-3");
+        when(recording.getState()).thenReturn(state);
+        when(recording.getStartTime()).thenReturn(Instant.parse("2024-03-01T10:00:00Z"));
+        when(recording.getDuration()).thenReturn(Duration.ofMinutes(1));
+        return recording;
+    }
+
+    @Test
+    @DisplayName("TestStartRecording_ReturnRecording")
+    void testStartRecording_ReturnRecording() throws Exception {
+        Recording recording = recording(RecordingState.RUNNING);
+        when(flightRecordings.start(Duration.ofMinutes(1), MAX_SIZE, "profile")).thenReturn(Optional.of(recording));
+
+        ResponseEntity<RecordingDTO> response = service.startRecording(Duration.ofMinutes(1), "profile");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(3L, response.getBody().getId());
+        assertEquals("RUNNING", response.getBody().getState());
+        assertEquals(Duration.ofMinutes(1), response.getBody().getDuration());
+    }
+
+    @Test
+    @DisplayName("TestStartRecording_ThrowBadRequestException")
+    void testStartRecording_ThrowBadRequestException() {
+        assertThrows(BadRequestException.class, () -> service.startRecording(Duration.ofMinutes(11), "profile"));
+        assertThrows(BadRequestException.class, () -> service.startRecording(Duration.ZERO, "profile"));
+        assertThrows(BadRequestException.class, () -> service.startRecording(Duration.ofMinutes(1), "all"));
+
+        verifyNoInteractions(flightRecordings);
+    }
+
+    @Test
+    @DisplayName("TestStartRecording_ThrowDataAlreadyExistException")
+    void testStartRecording_ThrowDataAlreadyExistException() throws Exception {
+        when(flightRecordings.start(Duration.ofMinutes(1), MAX_SIZE, "default")).thenReturn(Optional.empty());
+
+        assertThrows(DataAlreadyExistException.class, () -> service.startRecording(Duration.ofMinutes(1), "default"));
+    }
+
+    @Test
+    @DisplayName("TestStopRecording_ThrowBadRequestException")
+    void testStopRecording_ThrowBadRequestException() {
+        Recording recording = mock(Recording.class);
+        when(recording.getState()).thenReturn(RecordingState.STOPPED);
+        when(flightRecordings.recording(3L)).thenReturn(Optional.of(recording));
+
+        assertThrows(BadRequestException.class, () -> service.stopRecording(3L));
+
+        verify(recording, never()).stop();
+    }
+
+    @Test
+    @DisplayName("TestGetRecordingFile_ReturnJfrAttachment")
+    void testGetRecordingFile_ReturnJfrAttachment() throws Exception {
+        Recording recording = mock(Recording.class);
+        when(recording.getState()).thenReturn(RecordingState.STOPPED);
+        when(recording.getName()).thenReturn("library-on-demand-3");
+        when(recording.getStream(null, null)).thenReturn(new ByteArrayInputStream(new byte[]{1, 2, 3}));
+        when(flightRecordings.recording(3L)).thenReturn(Optional.of(recording));
+
+        ResponseEntity<Resource> response = service.getRecordingFile(3L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_OCTET_STREAM, response.getHeaders().getContentType());
+        assertEquals("library-on-demand-3.jfr", response.getHeaders().getContentDisposition().getFilename());
+        assertArrayEquals(new byte[]{1, 2, 3}, response.getBody().getInputStream().readAllBytes());
+    }
+
+    @Test
+    @DisplayName("TestGetContinuousRecordingFile_ThrowDataNotFoundException")
+    void testGetContinuousRecordingFile_ThrowDataNotFoundException() {
+        when(continuousRecording.getIfAvailable()).thenReturn(null);
+
+        assertThrows(DataNotFoundException.class, () -> service.getContinuousRecordingFile(Duration.ofMinutes(15)));
+    }
+
+    @Test
+    @DisplayName("TestDeleteRecording_ThrowDataNotFoundException")
+    void testDeleteRecording_ThrowDataNotFoundException() {
+        when(flightRecordings.close(3L)).thenReturn(false);
+
+        assertThrows(DataNotFoundException.class, () -> service.deleteRecording(3L));
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.libraryManagementSystem.service;
+
+import com.example.libraryManagementSystem.dto.SpanDTO;
+import com.example.libraryManagementSystem.dto.TraceSummaryDTO;
+import com.example.libraryManagementSystem.exceptionhandling.BadRequestException;
+import com.example.libraryManagementSystem.exceptionhandling.DataNotFoundException;
+import com.example.libraryManagementSystem.tracing.TraceBuffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TraceServiceTest {
+
+    @Mock
+    private TraceBuffer traceBuffer;
+
+    private TraceService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TraceService(traceBuffer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service = null;
+    }
+
+    @Test
+    @DisplayName("TestGetRecentTraces_ReturnTracesList")
+    void testGetRecentTraces_ReturnTracesList() {
+        List<TraceSummaryDTO> traces = List.of(new TraceSummaryDTO("4bf92f3577b34da6a3ce929d0e0e4736",
+                "http get /api/v1/library/books", Instant.parse("2024-03-01T10:00:00Z"), 812.5, 104));
+        when(traceBuffer.recentTraces(Duration.ofMillis(500), "books", 20)).thenReturn(traces);
+
+        ResponseEntity<List<TraceSummaryDTO>> response = service.getRecentTraces(500, "books", 20);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertIterableEquals(traces, response.getBody());
+    }
+
+    @Test
+    @DisplayName("TestGetRecentTraces_ThrowBadRequestException")
+    void testGetRecentTraces_ThrowBadRequestException() {
+        assertThrows(BadRequestException.class, () -> service.getRecentTraces(-1, null, 20));
+        assertThrows(BadRequestException.class, () -> service.getRecentTraces(0, null, TraceService.MAX_LIMIT + 1));
+
+        verifyNoInteractions(traceBuffer);
+    }
+
+    @Test
+    @DisplayName("TestGetTraceById_ReturnSpansList")
+    void testGetTraceById_ReturnSpansList() {
+        List<SpanDTO> spans = List.of(new SpanDTO("00f067aa0ba902b7", null, "http get /api/v1/library/books/{id}",
+                Instant.parse("2024-03-01T10:00:00Z"), 12.0, false, Map.of("handler", "BookRestController.getBookById")));
+        when(traceBuffer.trace("4bf92f3577b34da6a3ce929d0e0e4736")).thenReturn(Optional.of(spans));
+
+        ResponseEntity<List<SpanDTO>> response = service.getTraceById("4bf92f3577b34da6a3ce929d0e0e4736");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertIterableEquals(spans, response.getBody());
+    }
+
+    @Test
+    @DisplayName("TestGetTraceById_ThrowDataNotFoundException")
+    void testGetTraceById_ThrowDataNotFoundException() {
+        when(traceBuffer.trace("4bf92f3577b34da6a3ce929d0e0e4736")).thenReturn(Optional.empty());
+
+        assertThrows(DataNotFoundException.class, () -> service.getTraceById("4bf92f3577b34da6a3ce929d0e0e4736"));
+    }
+}
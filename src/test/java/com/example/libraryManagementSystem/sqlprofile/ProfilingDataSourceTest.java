@@ -0,0 +1,151 @@
+package com.example.libraryManagementSystem.sqlprofile;
+
+import com.example.libraryManagementSystem.dto.SpanDTO;
+import com.example.libraryManagementSystem.tracing.TraceBuffer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProfilingDataSourceTest {
+
+    private DataSource target;
+    private Connection connection;
+    private ProfilingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        target = mock(DataSource.class);
+        connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+        dataSource = new ProfilingDataSource(target);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlProfile profile = SqlProfile.current();
+        if (profile != null)
+            profile.finish();
+    }
+
+    @Test
+    @DisplayName("TestExecute_RecordsStatementsOfCurrentProfile")
+    void testExecute_RecordsStatementsOfCurrentProfile() throws Exception {
+        PreparedStatement select = mock(PreparedStatement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(connection.prepareStatement("select * from book where id=?")).thenReturn(select);
+        when(select.executeQuery()).thenAnswer(invocation -> {
+            Thread.sleep(20);
+            return resultSet;
+        });
+        Statement update = mock(Statement.class);
+        when(connection.createStatement()).thenReturn(update);
+        when(update.executeUpdate("update book set available=false")).thenReturn(1);
+
+        SqlProfile profile = SqlProfile.start(1);
+        try (Connection profiled = dataSource.getConnection()) {
+            PreparedStatement statement = profiled.prepareStatement("select * from book where id=?");
+            statement.setLong(1, 7L);
+            assertSame(resultSet, statement.executeQuery());
+            assertEquals(1, profiled.createStatement().executeUpdate("update book set available=false"));
+        }
+        profile.finish();
+
+        assertEquals(2, profile.getStatements());
+        assertTrue(profile.getDatabaseNanos() >= 20_000_000L);
+        List<SqlProfile.Statement> slowest = profile.getSlowest();
+        assertEquals(1, slowest.size());
+        assertEquals("select * from book where id=?", slowest.get(0).sql());
+        verify(select).setLong(1, 7L);
+        verify(connection).close();
+        assertTrue(profile.toHeaderValue().startsWith("statements=2; db="));
+    }
+
+    @Test
+    @DisplayName("TestExecute_WithoutProfile_RunsUntouched")
+    void testExecute_WithoutProfile_RunsUntouched() throws Exception {
+        PreparedStatement select = mock(PreparedStatement.class);
+        when(connection.prepareStatement("select 1")).thenReturn(select);
+        when(select.execute()).thenReturn(true);
+
+        try (Connection profiled = dataSource.getConnection()) {
+            assertTrue(profiled.prepareStatement("select 1").execute());
+        }
+
+        assertNull(SqlProfile.current());
+        verify(select).execute();
+    }
+
+    @Test
+    @DisplayName("TestExecute_WithinTrace_AddsSpanPerStatementWithRows")
+    void testExecute_WithinTrace_AddsSpanPerStatementWithRows() throws Exception {
+        TraceBuffer buffer = new TraceBuffer(10, 10);
+        try (SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(buffer)).build()) {
+            Tracer tracer = new OtelTracer(tracerProvider.get("test"), new OtelCurrentTraceContext(), event -> {
+            });
+            dataSource = new ProfilingDataSource(target, () -> tracer);
+            PreparedStatement select = mock(PreparedStatement.class);
+            ResultSet resultSet = mock(ResultSet.class);
+            when(connection.prepareStatement("select b1_0.id from book b1_0 where b1_0.author_id=?")).thenReturn(select);
+            when(select.executeQuery()).thenReturn(resultSet);
+            when(resultSet.next()).thenReturn(true, true, false);
+            PreparedStatement update = mock(PreparedStatement.class);
+            when(connection.prepareStatement("update book set available=? where id=?")).thenReturn(update);
+            when(update.executeUpdate()).thenReturn(1);
+
+            Span request = tracer.nextSpan().name("request").start();
+            try (Tracer.SpanInScope scope = tracer.withSpan(request); Connection traced = dataSource.getConnection()) {
+                try (ResultSet rows = traced.prepareStatement("select b1_0.id from book b1_0 where b1_0.author_id=?").executeQuery()) {
+                    while (rows.next()) ;
+                }
+                traced.prepareStatement("update book set available=? where id=?").executeUpdate();
+            } finally {
+                request.end();
+            }
+
+            List<SpanDTO> spans = buffer.trace(request.context().traceId()).orElseThrow();
+            assertEquals(List.of("request", "select book", "update book"), spans.stream().map(SpanDTO::getName).toList());
+            assertEquals("2", spans.get(1).getAttributes().get("db.rows"));
+            assertEquals("select b1_0.id from book b1_0 where b1_0.author_id=?", spans.get(1).getAttributes().get("db.statement"));
+            assertEquals("1", spans.get(2).getAttributes().get("db.rows"));
+            assertEquals(request.context().spanId(), spans.get(2).getParentSpanId());
+        }
+    }
+
+    @Test
+    @DisplayName("TestSpanName_OperationAndTable")
+    void testSpanName_OperationAndTable() {
+        assertEquals("select book", ProfilingDataSource.spanName("select b1_0.id,b1_0.title from book b1_0 where b1_0.id=?"));
+        assertEquals("insert borrowing_record", ProfilingDataSource.spanName("insert into borrowing_record (book_id) values (?)"));
+        assertEquals("delete outbox_event", ProfilingDataSource.spanName("delete from outbox_event where id=?"));
+        assertEquals("call", ProfilingDataSource.spanName("call next value for book_seq"));
+    }
+
+    @Test
+    @DisplayName("TestUnwrap_ReachesTargetDataSource")
+    void testUnwrap_ReachesTargetDataSource() throws Exception {
+        when(target.isWrapperFor(Runnable.class)).thenReturn(true);
+        Runnable pool = mock(Runnable.class);
+        when(target.unwrap(Runnable.class)).thenReturn(pool);
+
+        assertTrue(dataSource.isWrapperFor(Runnable.class));
+        assertSame(pool, dataSource.unwrap(Runnable.class));
+    }
+}
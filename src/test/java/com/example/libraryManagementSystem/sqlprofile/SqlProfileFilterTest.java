@@ -0,0 +1,82 @@
+package com.example.libraryManagementSystem.sqlprofile;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlProfileFilterTest {
+
+    private final List<String> logged = new ArrayList<>();
+
+    private SqlProfileLogger profileLogger;
+
+    @BeforeEach
+    void setUp() {
+        // Formats on the calling thread, so the test sees the line right away
+        profileLogger = new SqlProfileLogger(1) {
+            @Override
+            public void log(String method, String uri, int status, long elapsedNanos, SqlProfile profile) {
+                logged.add(format(method, uri, status, elapsedNanos, profile, 0));
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        profileLogger.shutdown();
+    }
+
+    private MockHttpServletResponse perform(SqlProfileFilter filter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/library/books");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> {
+            SqlProfile.current().record("select * from book", 4_000_000L);
+            SqlProfile.current().record("select * from author where id=?", 9_000_000L);
+            ((HttpServletResponse) res).setStatus(HttpStatus.OK.value());
+            res.getWriter().write("[]");
+        });
+        return response;
+    }
+
+    @Test
+    @DisplayName("TestSlowRequest_LogsProfileWithSlowestStatements")
+    void testSlowRequest_LogsProfileWithSlowestStatements() throws Exception {
+        MockHttpServletResponse response = perform(new SqlProfileFilter(profileLogger, Duration.ZERO, 0, 1, false));
+
+        assertEquals(1, logged.size());
+        assertTrue(logged.get(0).startsWith("GET /api/v1/library/books 200 in "));
+        assertTrue(logged.get(0).contains("2 statements, 13.0 ms in the database"));
+        assertTrue(logged.get(0).contains("9.0 ms  select * from author where id=?"));
+        assertFalse(logged.get(0).contains("select * from book"));
+        assertNull(response.getHeader(SqlProfileFilter.PROFILE_HEADER));
+        assertNull(SqlProfile.current());
+    }
+
+    @Test
+    @DisplayName("TestFastRequest_NotSampled_LogsNothing")
+    void testFastRequest_NotSampled_LogsNothing() throws Exception {
+        perform(new SqlProfileFilter(profileLogger, Duration.ofMinutes(1), 0, 3, false));
+
+        assertTrue(logged.isEmpty());
+    }
+
+    @Test
+    @DisplayName("TestExposeHeader_AddsProfileHeaderAndKeepsBody")
+    void testExposeHeader_AddsProfileHeaderAndKeepsBody() throws Exception {
+        MockHttpServletResponse response = perform(new SqlProfileFilter(profileLogger, Duration.ofMinutes(1), 0, 3, true));
+
+        assertEquals("statements=2; db=13.0ms; slowest=9.0ms,4.0ms", response.getHeader(SqlProfileFilter.PROFILE_HEADER));
+        assertEquals("[]", response.getContentAsString());
+    }
+}
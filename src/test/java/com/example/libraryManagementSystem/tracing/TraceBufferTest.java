@@ -0,0 +1,99 @@
+package com.example.libraryManagementSystem.tracing;
+
+import com.example.libraryManagementSystem.dto.SpanDTO;
+import com.example.libraryManagementSystem.dto.TraceSummaryDTO;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceBufferTest {
+
+    private SdkTracerProvider tracerProvider;
+
+    private Tracer tracer(TraceBuffer buffer) {
+        tracerProvider = SdkTracerProvider.builder().addSpanProcessor(SimpleSpanProcessor.create(buffer)).build();
+        return tracerProvider.get("test");
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    // A request span of the given milliseconds with one child span; the child is exported first
+    private static String request(Tracer tracer, String name, long startMillis, long durationMillis) {
+        Span root = tracer.spanBuilder(name).setStartTimestamp(startMillis, TimeUnit.MILLISECONDS).startSpan();
+        Span child = tracer.spanBuilder("BookService.getBookById")
+                .setParent(Context.root().with(root))
+                .setStartTimestamp(startMillis + 1, TimeUnit.MILLISECONDS)
+                .setAttribute("id", 7L)
+                .startSpan();
+        child.setStatus(StatusCode.ERROR);
+        child.end(startMillis + 2, TimeUnit.MILLISECONDS);
+        root.end(startMillis + durationMillis, TimeUnit.MILLISECONDS);
+        return root.getSpanContext().getTraceId();
+    }
+
+    @Test
+    @DisplayName("TestRecentTraces_NewestFirstFilteredByDurationAndName")
+    void testRecentTraces_NewestFirstFilteredByDurationAndName() {
+        TraceBuffer buffer = new TraceBuffer(10, 10);
+        Tracer tracer = tracer(buffer);
+        String slowBooks = request(tracer, "http get /api/v1/library/books", 1_000, 800);
+        request(tracer, "http get /api/v1/library/books", 2_000, 5);
+        String slowAuthors = request(tracer, "http get /api/v1/library/authors", 3_000, 600);
+
+        List<TraceSummaryDTO> slow = buffer.recentTraces(Duration.ofMillis(500), null, 10);
+        assertEquals(List.of(slowAuthors, slowBooks), slow.stream().map(TraceSummaryDTO::getTraceId).toList());
+        assertEquals("http get /api/v1/library/authors", slow.get(0).getName());
+        assertEquals(600.0, slow.get(0).getDurationMillis());
+        assertEquals(2, slow.get(0).getSpans());
+
+        assertEquals(2, buffer.recentTraces(Duration.ZERO, "books", 10).size());
+        assertEquals(1, buffer.recentTraces(Duration.ZERO, null, 1).size());
+    }
+
+    @Test
+    @DisplayName("TestTrace_ReturnsSpansInOrderOfStart")
+    void testTrace_ReturnsSpansInOrderOfStart() {
+        TraceBuffer buffer = new TraceBuffer(10, 10);
+        String traceId = request(tracer(buffer), "http get /api/v1/library/books/{id}", 1_000, 10);
+
+        List<SpanDTO> spans = buffer.trace(traceId).orElseThrow();
+
+        assertEquals(2, spans.size());
+        assertNull(spans.get(0).getParentSpanId());
+        assertFalse(spans.get(0).isError());
+        assertEquals(spans.get(0).getSpanId(), spans.get(1).getParentSpanId());
+        assertEquals("7", spans.get(1).getAttributes().get("id"));
+        assertTrue(spans.get(1).isError());
+        assertTrue(buffer.trace("0af7651916cd43dd8448eb211c80319c").isEmpty());
+    }
+
+    @Test
+    @DisplayName("TestExport_DropsOldestTracesAndSpansPastTheLimits")
+    void testExport_DropsOldestTracesAndSpansPastTheLimits() {
+        TraceBuffer buffer = new TraceBuffer(2, 1);
+        Tracer tracer = tracer(buffer);
+        String first = request(tracer, "first", 1_000, 10);
+        String second = request(tracer, "second", 2_000, 10);
+        String third = request(tracer, "third", 3_000, 10);
+
+        assertTrue(buffer.trace(first).isEmpty());
+        assertEquals(1, buffer.trace(second).orElseThrow().size());
+        // Only the child span, exported first, is kept
+        assertEquals("BookService.getBookById", buffer.trace(third).orElseThrow().get(0).getName());
+    }
+}